@@ -0,0 +1,117 @@
+package com.echofinder.api.catalog;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import org.springframework.data.domain.Persistable;
+
+@Entity
+@Table(name = "events")
+public class Event implements Persistable<UUID> {
+
+  @Id private UUID id;
+
+  @Column(nullable = false)
+  private String title;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "venue_id", nullable = false)
+  private Venue venue;
+
+  @Column(name = "starts_at", nullable = false)
+  private OffsetDateTime startsAt;
+
+  /** ISO 4217 code; prices for this event are in its minor units. */
+  @Column(nullable = false)
+  private String currency;
+
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private OffsetDateTime createdAt;
+
+  @Column(name = "updated_at", nullable = false)
+  private OffsetDateTime updatedAt;
+
+  // Ids are assigned in code, so without this save() would merge and SELECT every new row first
+  @Transient private boolean isNew = true;
+
+  protected Event() {}
+
+  public Event(UUID id, String title, Venue venue, OffsetDateTime startsAt, String currency) {
+    this.id = id;
+    this.title = title;
+    this.venue = venue;
+    this.startsAt = startsAt;
+    this.currency = currency;
+  }
+
+  @PrePersist
+  protected void onCreate() {
+    OffsetDateTime now = OffsetDateTime.now();
+    this.createdAt = now;
+    this.updatedAt = now;
+  }
+
+  @PreUpdate
+  protected void onUpdate() {
+    this.updatedAt = OffsetDateTime.now();
+  }
+
+  @PostLoad
+  @PostPersist
+  protected void markNotNew() {
+    this.isNew = false;
+  }
+
+  @Override
+  public UUID getId() {
+    return id;
+  }
+
+  public String getTitle() {
+    return title;
+  }
+
+  public void setTitle(String title) {
+    this.title = title;
+  }
+
+  public Venue getVenue() {
+    return venue;
+  }
+
+  public OffsetDateTime getStartsAt() {
+    return startsAt;
+  }
+
+  public void setStartsAt(OffsetDateTime startsAt) {
+    this.startsAt = startsAt;
+  }
+
+  public String getCurrency() {
+    return currency;
+  }
+
+  public OffsetDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public OffsetDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  @Override
+  public boolean isNew() {
+    return isNew;
+  }
+}
@@ -0,0 +1,49 @@
+package com.echofinder.api.catalog;
+
+import com.echofinder.api.catalog.snapshot.CatalogEvent;
+import com.echofinder.api.catalog.snapshot.CatalogReader;
+import com.echofinder.api.catalog.snapshot.VersionedCatalogEvent;
+import com.echofinder.api.infra.ErrorCode;
+import com.echofinder.api.infra.PrecomputedErrorResponses;
+import com.echofinder.api.infra.http.ConditionalResponses;
+import com.echofinder.api.infra.http.EntityTags;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/api/events")
+public class EventController {
+
+  private final CatalogReader catalogReader;
+  private final PrecomputedErrorResponses errorResponses;
+  private final ConditionalResponses conditionalResponses;
+
+  public EventController(
+      CatalogReader catalogReader,
+      PrecomputedErrorResponses errorResponses,
+      ConditionalResponses conditionalResponses) {
+    this.catalogReader = catalogReader;
+    this.errorResponses = errorResponses;
+    this.conditionalResponses = conditionalResponses;
+  }
+
+  /**
+   * One event with its venue, from the mapped catalog snapshot and recent changes. The ETag is the
+   * last transaction that wrote the event or its venue.
+   */
+  @GetMapping("/{eventId}")
+  public ResponseEntity<?> event(@PathVariable UUID eventId, WebRequest request) {
+    Optional<VersionedCatalogEvent> found = catalogReader.versionedEvent(eventId);
+    if (found.isEmpty()) {
+      return errorResponses.entity(ErrorCode.NOT_FOUND);
+    }
+    String etag = EntityTags.ofVersion(eventId, found.get().version());
+    return conditionalResponses.<CatalogEvent>ok(request, etag, () -> found.get().event());
+  }
+}
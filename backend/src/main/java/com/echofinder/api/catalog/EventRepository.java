@@ -0,0 +1,15 @@
+package com.echofinder.api.catalog;
+
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface EventRepository extends JpaRepository<Event, UUID> {
+
+  @Transactional(readOnly = true)
+  @Query("SELECT v.city FROM Event e JOIN e.venue v WHERE e.id = :id")
+  Optional<String> findCityById(@Param("id") UUID id);
+}
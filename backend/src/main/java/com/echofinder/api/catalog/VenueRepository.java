@@ -0,0 +1,10 @@
+package com.echofinder.api.catalog;
+
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface VenueRepository extends JpaRepository<Venue, UUID> {
+
+  Optional<Venue> findFirstByNameIgnoreCaseAndCityIgnoreCase(String name, String city);
+}
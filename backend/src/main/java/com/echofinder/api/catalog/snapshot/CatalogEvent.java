@@ -0,0 +1,8 @@
+package com.echofinder.api.catalog.snapshot;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** An event with its venue, as served from the catalog snapshot. */
+public record CatalogEvent(
+    UUID id, String title, OffsetDateTime startsAt, String currency, CatalogVenue venue) {}
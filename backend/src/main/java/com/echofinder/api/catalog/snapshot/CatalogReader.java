@@ -0,0 +1,257 @@
+package com.echofinder.api.catalog.snapshot;
+
+import com.echofinder.api.catalog.snapshot.CatalogSnapshotStore.Changed;
+import com.echofinder.api.catalog.snapshot.CatalogSnapshotStore.Tombstone;
+import com.echofinder.api.infra.TransactionWatermarks;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Catalog lookups served from the mapped {@link CatalogSnapshot} plus an overlay of what changed in
+ * the database since it was written. The overlay holds rows written at or after the snapshot's
+ * version, with deletions as empty entries, and is topped up from exact {@code xid8} ranges on
+ * every refresh. When the shared pointer names a newer snapshot, refresh copies it to this pod's
+ * local directory, maps the copy and replaces the old one with a fresh overlay (see {@link
+ * CatalogSnapshotFiles}).
+ *
+ * <p>Without a usable snapshot (none published yet, unreadable, or older than {@code max-age}, past
+ * which tombstones may be gone) lookups go to the database.
+ */
+@Component
+public class CatalogReader {
+
+  private static final Logger log = LoggerFactory.getLogger(CatalogReader.class);
+
+  private final CatalogSnapshotStore store;
+  private final TransactionWatermarks watermarks;
+  private final CatalogSnapshotFiles files;
+  private final Duration maxAge;
+  private final boolean enabled;
+  private volatile View view = View.EMPTY;
+
+  public CatalogReader(
+      CatalogSnapshotStore store,
+      TransactionWatermarks watermarks,
+      MeterRegistry meterRegistry,
+      CatalogSnapshotFiles files,
+      @Value("${echo.catalog.snapshot.max-age:P7D}") Duration maxAge,
+      @Value("${echo.catalog.snapshot.enabled:true}") boolean enabled) {
+    this.store = store;
+    this.watermarks = watermarks;
+    this.files = files;
+    this.maxAge = maxAge;
+    this.enabled = enabled;
+    Gauge.builder("echo.catalog.snapshot.overlay", this, reader -> reader.view.overlaySize())
+        .description("Catalog rows changed since the mapped snapshot")
+        .register(meterRegistry);
+    Gauge.builder("echo.catalog.snapshot.events", this, reader -> reader.view.eventCount())
+        .description("Events in the mapped catalog snapshot")
+        .register(meterRegistry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onStartup() {
+    if (enabled) {
+      refresh();
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${echo.catalog.snapshot.refresh-interval-ms:5000}")
+  public void poll() {
+    if (enabled) {
+      refresh();
+    }
+  }
+
+  /**
+   * Maps a newer published snapshot if there is one, then applies database changes since the last
+   * call.
+   */
+  public synchronized void refresh() {
+    View current = view;
+    OptionalLong published = files.current();
+    if (published.isEmpty() && current.snapshot() != null) {
+      log.warn("No catalog snapshot is published any more, reading from the database");
+      view = View.EMPTY;
+      return;
+    }
+    if (published.isPresent()
+        && (current.snapshot() == null || published.getAsLong() != current.snapshot().version())) {
+      View opened = open(published.getAsLong());
+      if (opened != null) {
+        applyChanges(opened);
+        view = opened;
+        files.deleteLocalExcept(published.getAsLong());
+        return;
+      }
+    }
+    if (current.snapshot() != null) {
+      applyChanges(current);
+    }
+  }
+
+  public Optional<CatalogEvent> event(UUID id) {
+    return versionedEvent(id).map(VersionedCatalogEvent::event);
+  }
+
+  /**
+   * The event with the position it is current as of. The version is read before the rows, so a
+   * concurrent change can only pair an older version with newer rows, never the reverse: a stale
+   * tag costs a full response, a fresh tag on stale rows would be cached for good.
+   */
+  public Optional<VersionedCatalogEvent> versionedEvent(UUID id) {
+    View current = view;
+    if (current.snapshot() == null) {
+      Optional<Long> version = store.version(id);
+      return version.flatMap(
+          v ->
+              store
+                  .event(id)
+                  .flatMap(
+                      row ->
+                          store
+                              .venue(row.venueId())
+                              .map(venue -> new VersionedCatalogEvent(join(row, venue), v))));
+    }
+    long eventVersion = current.changedAt(id);
+    Optional<EventRow> row = current.events().get(id);
+    if (row == null) {
+      row = current.snapshot().event(id);
+    }
+    return row.flatMap(
+        found -> {
+          long version = Math.max(eventVersion, current.changedAt(found.venueId()));
+          return venue(current, found.venueId())
+              .map(venue -> new VersionedCatalogEvent(join(found, venue), version));
+        });
+  }
+
+  /** Version of the mapped snapshot, or empty when lookups go to the database. */
+  public Optional<Long> snapshotVersion() {
+    CatalogSnapshot snapshot = view.snapshot();
+    return snapshot == null ? Optional.empty() : Optional.of(snapshot.version());
+  }
+
+  private Optional<CatalogVenue> venue(View current, UUID id) {
+    Optional<CatalogVenue> venue = current.venues().get(id);
+    return venue != null ? venue : current.snapshot().venue(id);
+  }
+
+  private View open(long version) {
+    try {
+      CatalogSnapshot snapshot = CatalogSnapshot.open(files.copyToLocal(version));
+      if (snapshot.createdAt().isBefore(Instant.now().minus(maxAge))) {
+        log.warn("Ignoring catalog snapshot from {}, older than {}", snapshot.createdAt(), maxAge);
+        return null;
+      }
+      log.info(
+          "Mapped catalog snapshot {} with {} events and {} venues",
+          snapshot.version(),
+          snapshot.eventCount(),
+          snapshot.venueCount());
+      return new View(snapshot, snapshot.version());
+    } catch (IOException e) {
+      log.warn("Cannot map catalog snapshot {}: {}", version, e.getMessage());
+      return null;
+    }
+  }
+
+  private void applyChanges(View target) {
+    long to = watermarks.horizon();
+    long from = target.position();
+    if (to <= from) {
+      return;
+    }
+    // Tombstones first: a row that exists now is alive whatever happened to its id before
+    for (Tombstone tombstone : store.tombstones(from, to)) {
+      if (tombstone.kind().equals("venue")) {
+        target.venues().put(tombstone.id(), Optional.empty());
+      } else {
+        target.events().put(tombstone.id(), Optional.empty());
+      }
+    }
+    for (Changed<CatalogVenue> venue : store.venuesChanged(from, to)) {
+      target.venues().put(venue.row().id(), Optional.of(venue.row()));
+      target.changed(venue.row().id(), venue.txid());
+    }
+    for (Changed<EventRow> event : store.eventsChanged(from, to)) {
+      target.events().put(event.row().id(), Optional.of(event.row()));
+      target.changed(event.row().id(), event.txid());
+    }
+    target.advanceTo(to);
+  }
+
+  private static CatalogEvent join(EventRow row, CatalogVenue venue) {
+    return new CatalogEvent(row.id(), row.title(), row.startsAt(), row.currency(), venue);
+  }
+
+  /** A mapped snapshot and the changes applied on top of it. */
+  private static final class View {
+
+    static final View EMPTY = new View(null, 0);
+
+    private final CatalogSnapshot snapshot;
+    private final Map<UUID, Optional<EventRow>> events = new ConcurrentHashMap<>();
+    private final Map<UUID, Optional<CatalogVenue>> venues = new ConcurrentHashMap<>();
+    // Writing transaction of overlay rows, recorded after the row so readers never see it early
+    private final Map<UUID, Long> txids = new ConcurrentHashMap<>();
+    private volatile long position;
+
+    View(CatalogSnapshot snapshot, long position) {
+      this.snapshot = snapshot;
+      this.position = position;
+    }
+
+    CatalogSnapshot snapshot() {
+      return snapshot;
+    }
+
+    Map<UUID, Optional<EventRow>> events() {
+      return events;
+    }
+
+    Map<UUID, Optional<CatalogVenue>> venues() {
+      return venues;
+    }
+
+    /** Transaction that last wrote the row, or the snapshot version if it has not changed since. */
+    long changedAt(UUID id) {
+      return txids.getOrDefault(id, snapshot.version());
+    }
+
+    void changed(UUID id, long txid) {
+      txids.put(id, txid);
+    }
+
+    long position() {
+      return position;
+    }
+
+    void advanceTo(long to) {
+      position = to;
+    }
+
+    int overlaySize() {
+      return events.size() + venues.size();
+    }
+
+    int eventCount() {
+      return snapshot == null ? 0 : snapshot.eventCount();
+    }
+  }
+}
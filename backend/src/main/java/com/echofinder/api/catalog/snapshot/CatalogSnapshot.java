@@ -0,0 +1,178 @@
+package com.echofinder.api.catalog.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * A memory-mapped catalog snapshot written by {@link CatalogSnapshotWriter}. Opening maps the file
+ * and checks the header; nothing is parsed up front, and a lookup binary-searches the fixed-width
+ * records in place and decodes only the record it returns. Pages are loaded by the OS on first
+ * touch. Only map files on a local filesystem: a mapping of a file another NFS client replaces goes
+ * stale and faults with SIGBUS (see {@link CatalogSnapshotFiles}).
+ *
+ * <p>Layout, big-endian:
+ *
+ * <pre>
+ * header   80 bytes: magic, format, flags, version (xid8), created at (epoch ms),
+ *          string/venue/event counts, padding, venue/event/string-offset/string-data positions
+ * venues   40 bytes each, sorted by id: id, name and city (string ids), latitude, longitude
+ *          (NaN when absent)
+ * events   40 bytes each, sorted by id: id, title (string id), venue (index into venues),
+ *          starts at (epoch second), offset (seconds), currency (string id)
+ * strings  count + 1 int offsets, then UTF-8 bytes; repeated strings share one entry
+ * </pre>
+ *
+ * <p>Ids sort as unsigned bytes, the order Postgres uses for {@code uuid}. Mapped buffers are
+ * limited to 2 GiB, about 40 million events.
+ */
+public final class CatalogSnapshot {
+
+  static final long MAGIC = 0x4543_484F_4341_5431L; // "ECHOCAT1"
+  static final int FORMAT = 1;
+  static final int HEADER_BYTES = 80;
+  static final int VENUE_BYTES = 40;
+  static final int EVENT_BYTES = 40;
+
+  private final ByteBuffer buffer;
+  private final long version;
+  private final Instant createdAt;
+  private final int stringCount;
+  private final int venueCount;
+  private final int eventCount;
+  private final int venuesAt;
+  private final int eventsAt;
+  private final int stringOffsetsAt;
+  private final int stringDataAt;
+
+  private CatalogSnapshot(ByteBuffer buffer, Path path) throws IOException {
+    this.buffer = buffer;
+    if (buffer.capacity() < HEADER_BYTES
+        || buffer.getLong(0) != MAGIC
+        || buffer.getInt(8) != FORMAT) {
+      throw new IOException("Not a format " + FORMAT + " catalog snapshot: " + path);
+    }
+    this.version = buffer.getLong(16);
+    this.createdAt = Instant.ofEpochMilli(buffer.getLong(24));
+    this.stringCount = buffer.getInt(32);
+    this.venueCount = buffer.getInt(36);
+    this.eventCount = buffer.getInt(40);
+    this.venuesAt = Math.toIntExact(buffer.getLong(48));
+    this.eventsAt = Math.toIntExact(buffer.getLong(56));
+    this.stringOffsetsAt = Math.toIntExact(buffer.getLong(64));
+    this.stringDataAt = Math.toIntExact(buffer.getLong(72));
+    if (venuesAt != HEADER_BYTES
+        || eventsAt != venuesAt + venueCount * VENUE_BYTES
+        || stringOffsetsAt != eventsAt + eventCount * EVENT_BYTES
+        || stringDataAt != stringOffsetsAt + (stringCount + 1) * 4
+        || buffer.capacity() != stringDataAt + buffer.getInt(stringDataAt - 4)) {
+      throw new IOException("Truncated or inconsistent catalog snapshot: " + path);
+    }
+  }
+
+  public static CatalogSnapshot open(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException("Catalog snapshot over 2 GiB cannot be mapped: " + path);
+      }
+      // The mapping stays valid after the channel is closed
+      return new CatalogSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), path);
+    }
+  }
+
+  /** Transaction horizon the snapshot was taken at; every change at or after it is a delta. */
+  public long version() {
+    return version;
+  }
+
+  public Instant createdAt() {
+    return createdAt;
+  }
+
+  public int venueCount() {
+    return venueCount;
+  }
+
+  public int eventCount() {
+    return eventCount;
+  }
+
+  Optional<EventRow> event(UUID id) {
+    int index = search(eventsAt, EVENT_BYTES, eventCount, id);
+    if (index < 0) {
+      return Optional.empty();
+    }
+    int at = eventsAt + index * EVENT_BYTES;
+    int venueIndex = buffer.getInt(at + 20);
+    return Optional.of(
+        new EventRow(
+            id,
+            string(buffer.getInt(at + 16)),
+            uuidAt(venuesAt + venueIndex * VENUE_BYTES),
+            OffsetDateTime.ofInstant(
+                Instant.ofEpochSecond(buffer.getLong(at + 24)),
+                ZoneOffset.ofTotalSeconds(buffer.getInt(at + 32))),
+            string(buffer.getInt(at + 36))));
+  }
+
+  Optional<CatalogVenue> venue(UUID id) {
+    int index = search(venuesAt, VENUE_BYTES, venueCount, id);
+    if (index < 0) {
+      return Optional.empty();
+    }
+    int at = venuesAt + index * VENUE_BYTES;
+    double latitude = buffer.getDouble(at + 24);
+    double longitude = buffer.getDouble(at + 32);
+    return Optional.of(
+        new CatalogVenue(
+            id,
+            string(buffer.getInt(at + 16)),
+            string(buffer.getInt(at + 20)),
+            Double.isNaN(latitude) ? null : latitude,
+            Double.isNaN(longitude) ? null : longitude));
+  }
+
+  private int search(int sectionAt, int recordBytes, int count, UUID id) {
+    long msb = id.getMostSignificantBits();
+    long lsb = id.getLeastSignificantBits();
+    int low = 0;
+    int high = count - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int at = sectionAt + mid * recordBytes;
+      int cmp = Long.compareUnsigned(buffer.getLong(at), msb);
+      if (cmp == 0) {
+        cmp = Long.compareUnsigned(buffer.getLong(at + 8), lsb);
+      }
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  private UUID uuidAt(int at) {
+    return new UUID(buffer.getLong(at), buffer.getLong(at + 8));
+  }
+
+  private String string(int id) {
+    int start = buffer.getInt(stringOffsetsAt + id * 4);
+    int end = buffer.getInt(stringOffsetsAt + id * 4 + 4);
+    byte[] bytes = new byte[end - start];
+    buffer.get(stringDataAt + start, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
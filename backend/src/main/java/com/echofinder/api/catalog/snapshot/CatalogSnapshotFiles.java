@@ -0,0 +1,140 @@
+package com.echofinder.api.catalog.snapshot;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.OptionalLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Where catalog snapshots live. The shared directory, on a volume every pod mounts, holds immutable
+ * {@code catalog-<version>.snapshot} files and a {@code CURRENT} pointer naming the latest one.
+ * Pods never map a shared file: a file replaced or deleted by another NFS client leaves the mapping
+ * stale, and the next page fault kills the JVM with SIGBUS. Each pod copies the current version to
+ * its local directory and maps the copy, which stays valid until that pod lets go of it.
+ *
+ * <p>Superseded versions are deleted only after {@code grace}, so a pod that read the pointer just
+ * before it moved can still finish its copy.
+ */
+@Component
+public class CatalogSnapshotFiles {
+
+  private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotFiles.class);
+  private static final String PREFIX = "catalog-";
+  private static final String SUFFIX = ".snapshot";
+  private static final String POINTER = "CURRENT";
+
+  private final Path sharedDir;
+  private final Path localDir;
+  private final Duration grace;
+
+  public CatalogSnapshotFiles(
+      @Value("${echo.catalog.snapshot.dir:data/catalog}") Path sharedDir,
+      @Value("${echo.catalog.snapshot.local-dir:data/catalog-local}") Path localDir,
+      @Value("${echo.catalog.snapshot.grace:PT10M}") Duration grace) {
+    this.sharedDir = sharedDir;
+    this.localDir = localDir;
+    this.grace = grace;
+  }
+
+  /** Shared file a snapshot at {@code version} is written to. */
+  Path shared(long version) {
+    return sharedDir.resolve(name(version));
+  }
+
+  /** Version the pointer names, or empty when none has been published or it cannot be read. */
+  OptionalLong current() {
+    try {
+      return OptionalLong.of(
+          Long.parseLong(Files.readString(sharedDir.resolve(POINTER), StandardCharsets.UTF_8)));
+    } catch (NoSuchFileException e) {
+      return OptionalLong.empty();
+    } catch (IOException | NumberFormatException e) {
+      log.warn("Cannot read catalog snapshot pointer in {}: {}", sharedDir, e.getMessage());
+      return OptionalLong.empty();
+    }
+  }
+
+  /** When the pointer last moved, or null when nothing has been published. */
+  Instant publishedAt() {
+    try {
+      return Files.getLastModifiedTime(sharedDir.resolve(POINTER)).toInstant();
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  /** Points readers at {@code version}; the pointer is replaced atomically. */
+  void publish(long version) throws IOException {
+    Path pointer = sharedDir.resolve(POINTER);
+    Path temp = sharedDir.resolve(POINTER + ".tmp");
+    Files.writeString(temp, Long.toString(version), StandardCharsets.UTF_8);
+    Files.move(temp, pointer, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /**
+   * Deletes shared versions other than the current one once the pointer has left them for longer
+   * than the grace period. Only the elected writer calls this.
+   */
+  void purgeSuperseded() {
+    OptionalLong current = current();
+    Instant publishedAt = publishedAt();
+    if (current.isEmpty()
+        || publishedAt == null
+        || publishedAt.isAfter(Instant.now().minus(grace))) {
+      return;
+    }
+    deleteVersionsExcept(sharedDir, current.getAsLong());
+  }
+
+  /**
+   * Copies the shared {@code version} into the local directory, if it is not there yet, and returns
+   * the local copy.
+   */
+  Path copyToLocal(long version) throws IOException {
+    Path local = localDir.resolve(name(version));
+    if (!Files.exists(local)) {
+      Files.createDirectories(localDir);
+      Path temp = localDir.resolve(name(version) + ".tmp");
+      Files.copy(shared(version), temp, StandardCopyOption.REPLACE_EXISTING);
+      Files.move(temp, local, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+    return local;
+  }
+
+  /**
+   * Removes local copies other than {@code version}. Local files are only unlinked, so a snapshot
+   * still mapped from one stays readable until it is unmapped.
+   */
+  void deleteLocalExcept(long version) {
+    deleteVersionsExcept(localDir, version);
+  }
+
+  private static void deleteVersionsExcept(Path dir, long keep) {
+    if (!Files.isDirectory(dir)) {
+      return;
+    }
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, PREFIX + "*" + SUFFIX)) {
+      for (Path file : files) {
+        if (!file.getFileName().toString().equals(name(keep))) {
+          Files.deleteIfExists(file);
+        }
+      }
+    } catch (IOException e) {
+      log.warn("Cannot delete old catalog snapshots in {}: {}", dir, e.getMessage());
+    }
+  }
+
+  private static String name(long version) {
+    return PREFIX + version + SUFFIX;
+  }
+}
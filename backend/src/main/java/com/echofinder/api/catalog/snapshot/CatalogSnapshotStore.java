@@ -0,0 +1,155 @@
+package com.echofinder.api.catalog.snapshot;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Catalog reads for snapshots. Change ranges are {@code [from, to)} of {@code xid8} positions, as
+ * for the {@link com.echofinder.api.infra.TransactionWatermarks} jobs: every row carries the
+ * transaction that last wrote it (see {@code V7__catalog_snapshot.sql}), so rows below the horizon
+ * never change behind a reader's back.
+ */
+@Repository
+public class CatalogSnapshotStore {
+
+  /** Elects one snapshot writer across pods. */
+  static final long WRITER_LOCK = 0x1_ca7a_1095L;
+
+  private static final int FETCH_SIZE = 1000;
+  private static final String VENUE_COLUMNS = "id, name, city, latitude, longitude";
+  private static final String EVENT_COLUMNS = "id, title, venue_id, starts_at, currency";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public CatalogSnapshotStore(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /** Held until the surrounding transaction ends; false when another pod is writing. */
+  boolean tryLockWriter() {
+    return Boolean.TRUE.equals(
+        jdbcTemplate.queryForObject(
+            "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, WRITER_LOCK));
+  }
+
+  /** Every venue in id order; needs a transaction for the cursor to stream. */
+  void streamVenues(Consumer<CatalogVenue> consumer) {
+    stream(
+        "SELECT " + VENUE_COLUMNS + " FROM venues ORDER BY id",
+        (rs, rowNum) -> venue(rs),
+        consumer);
+  }
+
+  /** Every event in id order; needs a transaction for the cursor to stream. */
+  void streamEvents(Consumer<EventRow> consumer) {
+    stream(
+        "SELECT " + EVENT_COLUMNS + " FROM events ORDER BY id",
+        (rs, rowNum) -> event(rs),
+        consumer);
+  }
+
+  List<Changed<CatalogVenue>> venuesChanged(long from, long to) {
+    return jdbcTemplate.query(
+        "SELECT " + VENUE_COLUMNS + ", txid::text::bigint FROM venues" + changedBetween(),
+        (rs, rowNum) -> new Changed<>(venue(rs), rs.getLong(6)),
+        from,
+        to);
+  }
+
+  List<Changed<EventRow>> eventsChanged(long from, long to) {
+    return jdbcTemplate.query(
+        "SELECT " + EVENT_COLUMNS + ", txid::text::bigint FROM events" + changedBetween(),
+        (rs, rowNum) -> new Changed<>(event(rs), rs.getLong(6)),
+        from,
+        to);
+  }
+
+  List<Tombstone> tombstones(long from, long to) {
+    return jdbcTemplate.query(
+        "SELECT kind, id FROM catalog_tombstones" + changedBetween(),
+        (rs, rowNum) -> new Tombstone(rs.getString(1), rs.getObject(2, UUID.class)),
+        from,
+        to);
+  }
+
+  Optional<EventRow> event(UUID id) {
+    return jdbcTemplate
+        .query("SELECT " + EVENT_COLUMNS + " FROM events WHERE id = ?", (rs, n) -> event(rs), id)
+        .stream()
+        .findFirst();
+  }
+
+  /** Latest transaction that wrote the event or its venue, or empty when the event is gone. */
+  Optional<Long> version(UUID eventId) {
+    return jdbcTemplate
+        .queryForList(
+            "SELECT greatest(e.txid, v.txid)::text::bigint FROM events e"
+                + " JOIN venues v ON v.id = e.venue_id WHERE e.id = ?",
+            Long.class,
+            eventId)
+        .stream()
+        .findFirst();
+  }
+
+  Optional<CatalogVenue> venue(UUID id) {
+    return jdbcTemplate
+        .query("SELECT " + VENUE_COLUMNS + " FROM venues WHERE id = ?", (rs, n) -> venue(rs), id)
+        .stream()
+        .findFirst();
+  }
+
+  int purgeTombstones(Instant before) {
+    return jdbcTemplate.update(
+        "DELETE FROM catalog_tombstones WHERE deleted_at < ?", Timestamp.from(before));
+  }
+
+  private <T> void stream(String sql, RowMapper<T> mapper, Consumer<T> consumer) {
+    jdbcTemplate.query(
+        connection -> {
+          PreparedStatement statement = connection.prepareStatement(sql);
+          statement.setFetchSize(FETCH_SIZE);
+          return statement;
+        },
+        rs -> {
+          consumer.accept(mapper.mapRow(rs, 0));
+        });
+  }
+
+  private static String changedBetween() {
+    return " WHERE txid >= ?::text::xid8 AND txid < ?::text::xid8";
+  }
+
+  private static CatalogVenue venue(ResultSet rs) throws SQLException {
+    return new CatalogVenue(
+        rs.getObject(1, UUID.class),
+        rs.getString(2),
+        rs.getString(3),
+        rs.getObject(4, Double.class),
+        rs.getObject(5, Double.class));
+  }
+
+  private static EventRow event(ResultSet rs) throws SQLException {
+    return new EventRow(
+        rs.getObject(1, UUID.class),
+        rs.getString(2),
+        rs.getObject(3, UUID.class),
+        rs.getObject(4, OffsetDateTime.class),
+        rs.getString(5));
+  }
+
+  record Tombstone(String kind, UUID id) {}
+
+  /** A row changed in a range, with the transaction that last wrote it. */
+  record Changed<T>(T row, long txid) {}
+}
@@ -0,0 +1,150 @@
+package com.echofinder.api.catalog.snapshot;
+
+import com.echofinder.api.infra.TransactionWatermarks;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.OptionalLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes the catalog snapshot periodically. Venues and events are read in one repeatable-read
+ * transaction, so they are consistent with each other and with the version recorded in the header.
+ *
+ * <p>Snapshots go to a volume shared by every pod (see {@link CatalogSnapshotFiles} and {@code
+ * k8s/base}), so one full-catalog scan per interval serves all of them and new pods start from a
+ * file. Pods elect the writer with an advisory lock held for the write transaction, which therefore
+ * runs on the primary, and a pod finding a snapshot published less than half an interval ago leaves
+ * it alone. Each version is written once under its own name and then published by moving the
+ * pointer, so no file a reader may be copying is ever replaced.
+ */
+@Component
+public class CatalogSnapshotWorker {
+
+  private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotWorker.class);
+
+  private final CatalogSnapshotStore store;
+  private final TransactionWatermarks watermarks;
+  private final CatalogReader reader;
+  private final TransactionTemplate snapshotTransaction;
+  private final CatalogSnapshotFiles files;
+  private final Duration maxAge;
+  private final Duration interval;
+  private final boolean enabled;
+  private final Timer writeTimer;
+
+  public CatalogSnapshotWorker(
+      CatalogSnapshotStore store,
+      TransactionWatermarks watermarks,
+      CatalogReader reader,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      CatalogSnapshotFiles files,
+      @Value("${echo.catalog.snapshot.max-age:P7D}") Duration maxAge,
+      @Value("${echo.catalog.snapshot.interval-ms:3600000}") long intervalMillis,
+      @Value("${echo.catalog.snapshot.enabled:true}") boolean enabled) {
+    this.store = store;
+    this.watermarks = watermarks;
+    this.reader = reader;
+    this.files = files;
+    this.maxAge = maxAge;
+    this.interval = Duration.ofMillis(intervalMillis);
+    this.enabled = enabled;
+    this.snapshotTransaction = new TransactionTemplate(transactionManager);
+    snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    this.writeTimer =
+        Timer.builder("echo.catalog.snapshot.write")
+            .description("Time to write the catalog snapshot")
+            .register(meterRegistry);
+  }
+
+  @Scheduled(
+      initialDelayString = "${echo.catalog.snapshot.initial-delay-ms:60000}",
+      fixedDelayString = "${echo.catalog.snapshot.interval-ms:3600000}")
+  public void poll() {
+    if (enabled) {
+      writeIfStale();
+    }
+  }
+
+  /** Writes a snapshot unless the shared one is less than half an interval old. */
+  public OptionalLong writeIfStale() {
+    if (writtenSince(Instant.now().minus(interval.dividedBy(2)))) {
+      return OptionalLong.empty();
+    }
+    return write();
+  }
+
+  /**
+   * Writes a new snapshot, maps it, and purges tombstones no usable snapshot can need.
+   *
+   * @return the new snapshot's version, or empty when another pod is writing one
+   */
+  public OptionalLong write() {
+    Long version =
+        writeTimer.record(
+            () ->
+                snapshotTransaction.execute(
+                    status -> {
+                      if (!store.tryLockWriter()) {
+                        return null;
+                      }
+                      files.purgeSuperseded();
+                      long horizon = watermarks.horizon();
+                      Path target = files.shared(horizon);
+                      try {
+                        // Nothing committed since that version was written; publish it as is
+                        if (!Files.exists(target)) {
+                          try (CatalogSnapshotWriter writer =
+                              new CatalogSnapshotWriter(target, horizon)) {
+                            store.streamVenues(venue -> call(() -> writer.venue(venue)));
+                            store.streamEvents(event -> call(() -> writer.event(event)));
+                            writer.commit();
+                          }
+                        }
+                        files.publish(horizon);
+                      } catch (IOException e) {
+                        throw new UncheckedIOException(
+                            "Cannot write catalog snapshot " + target, e);
+                      }
+                      return horizon;
+                    }));
+    if (version == null) {
+      log.debug("Another pod is writing the catalog snapshot");
+      return OptionalLong.empty();
+    }
+    log.info("Published catalog snapshot {}", version);
+    reader.refresh();
+    store.purgeTombstones(Instant.now().minus(maxAge));
+    return OptionalLong.of(version);
+  }
+
+  private boolean writtenSince(Instant since) {
+    Instant publishedAt = files.publishedAt();
+    return publishedAt != null && publishedAt.isAfter(since);
+  }
+
+  private interface IoAction {
+    void run() throws IOException;
+  }
+
+  private static void call(IoAction action) {
+    try {
+      action.run();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,209 @@
+package com.echofinder.api.catalog.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Streams venues, then events, each in id order, into a {@link CatalogSnapshot} file. Records go
+ * straight to disk and strings to a side file, so memory is a few arrays per venue and one int per
+ * string, not the catalog. The file is written under a temporary name and moved into place on
+ * {@link #commit}, so readers never copy a partial snapshot.
+ */
+final class CatalogSnapshotWriter implements AutoCloseable {
+
+  /**
+   * Strings are deduplicated up to this many distinct values; rarer ones are stored as they come.
+   */
+  private static final int DICTIONARY_LIMIT = 100_000;
+
+  private final Path target;
+  private final Path recordsFile;
+  private final Path stringsFile;
+  private final long version;
+  private final DataOutputStream records;
+  private final DataOutputStream strings;
+  private final Map<String, Integer> dictionary = new HashMap<>();
+
+  private int[] stringOffsets = new int[1024];
+  private int stringCount;
+  private long[] venueIds = new long[256];
+  private int venueCount;
+  private int eventCount;
+  private UUID lastId;
+  private boolean committed;
+
+  CatalogSnapshotWriter(Path target, long version) throws IOException {
+    this.target = target;
+    this.version = version;
+    Files.createDirectories(target.toAbsolutePath().getParent());
+    this.recordsFile = target.resolveSibling(target.getFileName() + ".tmp");
+    this.stringsFile = target.resolveSibling(target.getFileName() + ".strings.tmp");
+    this.records = open(recordsFile);
+    this.strings = open(stringsFile);
+    records.write(new byte[CatalogSnapshot.HEADER_BYTES]);
+  }
+
+  void venue(CatalogVenue venue) throws IOException {
+    if (eventCount > 0) {
+      throw new IllegalStateException("Venues must be written before events");
+    }
+    checkOrder(venue.id());
+    if (venueCount * 2 == venueIds.length) {
+      venueIds = Arrays.copyOf(venueIds, venueIds.length * 2);
+    }
+    venueIds[venueCount * 2] = venue.id().getMostSignificantBits();
+    venueIds[venueCount * 2 + 1] = venue.id().getLeastSignificantBits();
+    venueCount++;
+    writeId(venue.id());
+    records.writeInt(string(venue.name()));
+    records.writeInt(string(venue.city()));
+    records.writeDouble(venue.latitude() == null ? Double.NaN : venue.latitude());
+    records.writeDouble(venue.longitude() == null ? Double.NaN : venue.longitude());
+  }
+
+  void event(EventRow event) throws IOException {
+    if (eventCount == 0) {
+      lastId = null;
+    }
+    checkOrder(event.id());
+    int venueIndex = venueIndex(event.venueId());
+    if (venueIndex < 0) {
+      throw new IllegalStateException(
+          "Event " + event.id() + " references venue " + event.venueId() + " not in the snapshot");
+    }
+    eventCount++;
+    writeId(event.id());
+    records.writeInt(string(event.title()));
+    records.writeInt(venueIndex);
+    records.writeLong(event.startsAt().toEpochSecond());
+    records.writeInt(event.startsAt().getOffset().getTotalSeconds());
+    records.writeInt(string(event.currency()));
+  }
+
+  /** Finishes the file and moves it over {@code target}. */
+  void commit() throws IOException {
+    long venuesAt = CatalogSnapshot.HEADER_BYTES;
+    long eventsAt = venuesAt + (long) venueCount * CatalogSnapshot.VENUE_BYTES;
+    long stringOffsetsAt = eventsAt + (long) eventCount * CatalogSnapshot.EVENT_BYTES;
+    long stringDataAt = stringOffsetsAt + (stringCount + 1L) * 4;
+    strings.close();
+    long stringBytes = Files.size(stringsFile);
+    if (stringDataAt + stringBytes > Integer.MAX_VALUE) {
+      throw new IllegalStateException("Catalog snapshot would exceed 2 GiB");
+    }
+    for (int i = 0; i <= stringCount; i++) {
+      records.writeInt(i == stringCount ? (int) stringBytes : stringOffsets[i]);
+    }
+    Files.copy(stringsFile, records);
+    records.close();
+
+    ByteBuffer header = ByteBuffer.allocate(CatalogSnapshot.HEADER_BYTES);
+    header
+        .putLong(CatalogSnapshot.MAGIC)
+        .putInt(CatalogSnapshot.FORMAT)
+        .putInt(0)
+        .putLong(version)
+        .putLong(Instant.now().toEpochMilli())
+        .putInt(stringCount)
+        .putInt(venueCount)
+        .putInt(eventCount)
+        .putInt(0)
+        .putLong(venuesAt)
+        .putLong(eventsAt)
+        .putLong(stringOffsetsAt)
+        .putLong(stringDataAt)
+        .flip();
+    try (FileChannel channel = FileChannel.open(recordsFile, StandardOpenOption.WRITE)) {
+      channel.write(header, 0);
+      channel.force(true);
+    }
+    Files.move(
+        recordsFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    Files.deleteIfExists(stringsFile);
+    committed = true;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (!committed) {
+      records.close();
+      strings.close();
+      Files.deleteIfExists(recordsFile);
+      Files.deleteIfExists(stringsFile);
+    }
+  }
+
+  private int string(String value) throws IOException {
+    Integer known = dictionary.get(value);
+    if (known != null) {
+      return known;
+    }
+    if (stringCount == stringOffsets.length) {
+      stringOffsets = Arrays.copyOf(stringOffsets, stringCount * 2);
+    }
+    stringOffsets[stringCount] = strings.size();
+    strings.write(value.getBytes(StandardCharsets.UTF_8));
+    if (dictionary.size() < DICTIONARY_LIMIT) {
+      dictionary.put(value, stringCount);
+    }
+    return stringCount++;
+  }
+
+  private int venueIndex(UUID id) {
+    long msb = id.getMostSignificantBits();
+    long lsb = id.getLeastSignificantBits();
+    int low = 0;
+    int high = venueCount - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int cmp = Long.compareUnsigned(venueIds[mid * 2], msb);
+      if (cmp == 0) {
+        cmp = Long.compareUnsigned(venueIds[mid * 2 + 1], lsb);
+      }
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  private void checkOrder(UUID id) {
+    if (lastId != null && compareUnsigned(lastId, id) >= 0) {
+      throw new IllegalArgumentException("Rows must arrive in ascending id order: " + id);
+    }
+    lastId = id;
+  }
+
+  private void writeId(UUID id) throws IOException {
+    records.writeLong(id.getMostSignificantBits());
+    records.writeLong(id.getLeastSignificantBits());
+  }
+
+  static int compareUnsigned(UUID a, UUID b) {
+    int cmp = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+    return cmp != 0
+        ? cmp
+        : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+  }
+
+  private static DataOutputStream open(Path path) throws IOException {
+    return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+  }
+}
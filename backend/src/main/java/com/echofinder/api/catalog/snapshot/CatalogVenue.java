@@ -0,0 +1,6 @@
+package com.echofinder.api.catalog.snapshot;
+
+import java.util.UUID;
+
+/** A venue as served from the catalog snapshot; coordinates are null when not geocoded. */
+public record CatalogVenue(UUID id, String name, String city, Double latitude, Double longitude) {}
@@ -0,0 +1,7 @@
+package com.echofinder.api.catalog.snapshot;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** An event row as stored, referencing its venue by id. */
+record EventRow(UUID id, String title, UUID venueId, OffsetDateTime startsAt, String currency) {}
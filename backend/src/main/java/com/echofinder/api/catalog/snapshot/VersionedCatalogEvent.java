@@ -0,0 +1,8 @@
+package com.echofinder.api.catalog.snapshot;
+
+/**
+ * A catalog event with the position it is current as of: the later of the transactions that last
+ * wrote the event and its venue, or the snapshot version for rows unchanged since the snapshot. It
+ * only moves forward, so it makes a cheap entity tag.
+ */
+public record VersionedCatalogEvent(CatalogEvent event, long version) {}
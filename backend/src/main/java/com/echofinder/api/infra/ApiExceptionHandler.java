@@ -1,11 +1,15 @@
 package com.echofinder.api.infra;
 
+import com.echofinder.api.infra.datasource.ConnectionBudgetExceededException;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.NestedExceptionUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -13,22 +17,30 @@ import org.springframework.web.servlet.NoHandlerFoundException;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 @RestControllerAdvice
+@Import(ErrorResponseConfig.class)
 public class ApiExceptionHandler {
 
   private static final Logger log = LoggerFactory.getLogger(ApiExceptionHandler.class);
 
+  private final PrecomputedErrorResponses responses;
+  private final ErrorLogSampler logSampler;
+
+  public ApiExceptionHandler(PrecomputedErrorResponses responses, ErrorLogSampler logSampler) {
+    this.responses = responses;
+    this.logSampler = logSampler;
+  }
+
   @ExceptionHandler(NoHandlerFoundException.class)
-  public ResponseEntity<ErrorEnvelope> handleNotFound(NoHandlerFoundException ex) {
-    log.warn("Path not found: {} {}", ex.getHttpMethod(), ex.getRequestURL());
-    return ResponseEntity.status(HttpStatus.NOT_FOUND)
-        .body(ErrorEnvelope.of(ErrorCode.NOT_FOUND, "The requested resource was not found"));
+  public ResponseEntity<byte[]> handleNotFound(NoHandlerFoundException ex) {
+    logSampler.warn(
+        log, ErrorCode.NOT_FOUND, "Path not found: {} {}", ex.getHttpMethod(), ex.getRequestURL());
+    return responses.entity(ErrorCode.NOT_FOUND);
   }
 
   @ExceptionHandler(NoResourceFoundException.class)
-  public ResponseEntity<ErrorEnvelope> handleNoResourceFound(NoResourceFoundException ex) {
-    log.warn("Resource not found: {}", ex.getResourcePath());
-    return ResponseEntity.status(HttpStatus.NOT_FOUND)
-        .body(ErrorEnvelope.of(ErrorCode.NOT_FOUND, "The requested resource was not found"));
+  public ResponseEntity<byte[]> handleNoResourceFound(NoResourceFoundException ex) {
+    logSampler.warn(log, ErrorCode.NOT_FOUND, "Resource not found: {}", ex.getResourcePath());
+    return responses.entity(ErrorCode.NOT_FOUND);
   }
 
   @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -38,20 +50,36 @@ public class ApiExceptionHandler {
         .getFieldErrors()
         .forEach(error -> details.put(error.getField(), error.getDefaultMessage()));
 
-    log.warn("Validation failed: {}", details);
+    logSampler.warn(log, ErrorCode.VALIDATION_ERROR, "Validation failed: {}", details);
     return ResponseEntity.status(HttpStatus.BAD_REQUEST)
         .body(ErrorEnvelope.of(ErrorCode.VALIDATION_ERROR, "Validation failed", details));
   }
 
+  @ExceptionHandler(HttpMessageNotReadableException.class)
+  public ResponseEntity<ErrorEnvelope> handleUnreadable(HttpMessageNotReadableException ex) {
+    logSampler.warn(
+        log, ErrorCode.VALIDATION_ERROR, "Unreadable request body: {}", ex.getMessage());
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+        .body(ErrorEnvelope.of(ErrorCode.VALIDATION_ERROR, "Malformed request body"));
+  }
+
   @ExceptionHandler(IllegalArgumentException.class)
   public ResponseEntity<ErrorEnvelope> handleIllegalArgument(IllegalArgumentException ex) {
-    log.warn("Bad request: {}", ex.getMessage());
+    logSampler.warn(log, ErrorCode.VALIDATION_ERROR, "Bad request: {}", ex.getMessage());
     return ResponseEntity.status(HttpStatus.BAD_REQUEST)
         .body(ErrorEnvelope.of(ErrorCode.VALIDATION_ERROR, ex.getMessage()));
   }
 
+  // Never sampled: unexpected errors are rare and each one needs its stack trace
   @ExceptionHandler(Exception.class)
-  public ResponseEntity<ErrorEnvelope> handleGeneric(Exception ex) {
+  public ResponseEntity<?> handleGeneric(Exception ex) {
+    // An exhausted tenant connection budget is an expected rejection, sampled like the others. It
+    // arrives wrapped in whatever data access exception the caller's stack translated it to
+    if (NestedExceptionUtils.getMostSpecificCause(ex)
+        instanceof ConnectionBudgetExceededException budget) {
+      logSampler.warn(log, ErrorCode.RATE_LIMITED, "{}", budget.getMessage());
+      return responses.entity(ErrorCode.RATE_LIMITED);
+    }
     log.error("Unexpected error", ex);
     return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
         .body(ErrorEnvelope.of(ErrorCode.INTERNAL, "An unexpected error occurred"));
@@ -1,5 +1,7 @@
 package com.echofinder.api.infra;
 
+import com.echofinder.api.infra.datasource.ReadYourWritesContext;
+import com.echofinder.api.infra.profiling.RequestEvent;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,6 +12,7 @@ import org.slf4j.MDC;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
 
 @Component
 @Order(1)
@@ -30,11 +33,25 @@ public class CorrelationIdFilter extends OncePerRequestFilter {
 
     MDC.put(CORRELATION_ID_MDC_KEY, correlationId);
     response.setHeader(CORRELATION_ID_HEADER, correlationId);
+    ReadYourWritesContext.open();
+    RequestEvent event = new RequestEvent();
+    event.begin();
 
     try {
       filterChain.doFilter(request, response);
     } finally {
+      event.end();
+      if (event.shouldCommit()) {
+        event.commit(request.getMethod() + " " + route(request), response.getStatus());
+      }
+      ReadYourWritesContext.close();
       MDC.remove(CORRELATION_ID_MDC_KEY);
     }
   }
+
+  /** The matched route template, so recordings group requests by endpoint rather than by URI. */
+  private static String route(HttpServletRequest request) {
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    return pattern != null ? pattern.toString() : request.getRequestURI();
+  }
 }
@@ -0,0 +1,93 @@
+package com.echofinder.api.infra;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+
+/**
+ * Caps how many log lines each {@link ErrorCode} may produce per second. Lines past the cap are
+ * counted instead of written, and the count is reported with the next line that gets through, so a
+ * flood of 404s shows up as a handful of lines instead of one per request.
+ *
+ * <p>The {@code warn} methods take a fixed number of arguments, so a suppressed line costs no
+ * allocation.
+ */
+public class ErrorLogSampler {
+
+  /** Returned by {@link #admit} when the event should not be logged. */
+  public static final long SUPPRESSED = -1;
+
+  private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+  private static final String SUPPRESSED_SUFFIX = " ({} similar suppressed)";
+
+  private final int permitsPerSecond;
+  private final LongSupplier nanoClock;
+  private final Window[] windows;
+
+  public ErrorLogSampler(int permitsPerSecond) {
+    this(permitsPerSecond, System::nanoTime);
+  }
+
+  ErrorLogSampler(int permitsPerSecond, LongSupplier nanoClock) {
+    if (permitsPerSecond < 0) {
+      throw new IllegalArgumentException("permitsPerSecond must not be negative");
+    }
+    this.permitsPerSecond = permitsPerSecond;
+    this.nanoClock = nanoClock;
+    this.windows = new Window[ErrorCode.values().length];
+    long now = nanoClock.getAsLong();
+    for (int i = 0; i < windows.length; i++) {
+      windows[i] = new Window(now);
+    }
+  }
+
+  /**
+   * Records one occurrence of {@code code}. Returns {@link #SUPPRESSED} when the caller should skip
+   * logging, otherwise the number of occurrences suppressed since the last admitted one.
+   */
+  public long admit(ErrorCode code) {
+    Window window = windows[code.ordinal()];
+    long now = nanoClock.getAsLong();
+    long start = window.start.get();
+    if (now - start >= WINDOW_NANOS && window.start.compareAndSet(start, now)) {
+      window.count.set(0);
+    }
+    if (window.count.incrementAndGet() <= permitsPerSecond) {
+      return window.suppressed.getAndSet(0);
+    }
+    window.suppressed.incrementAndGet();
+    return SUPPRESSED;
+  }
+
+  /** Logs {@code format} at WARN unless {@code code} is over its cap. */
+  public void warn(Logger log, ErrorCode code, String format, Object arg) {
+    long suppressed = admit(code);
+    if (suppressed == 0) {
+      log.warn(format, arg);
+    } else if (suppressed > 0) {
+      log.warn(format + SUPPRESSED_SUFFIX, arg, suppressed);
+    }
+  }
+
+  /** Logs {@code format} at WARN unless {@code code} is over its cap. */
+  public void warn(Logger log, ErrorCode code, String format, Object arg1, Object arg2) {
+    long suppressed = admit(code);
+    if (suppressed == 0) {
+      log.warn(format, arg1, arg2);
+    } else if (suppressed > 0) {
+      log.warn(format + SUPPRESSED_SUFFIX, arg1, arg2, suppressed);
+    }
+  }
+
+  private static final class Window {
+    final AtomicLong start;
+    final AtomicInteger count = new AtomicInteger();
+    final AtomicLong suppressed = new AtomicLong();
+
+    Window(long start) {
+      this.start = new AtomicLong(start);
+    }
+  }
+}
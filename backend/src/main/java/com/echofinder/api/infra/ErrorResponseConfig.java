@@ -0,0 +1,52 @@
+package com.echofinder.api.infra;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.HttpRequestHandler;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
+
+/**
+ * Shared error response machinery, plus a catch-all handler mapping consulted after every other
+ * mapping. Unknown paths are answered there with the precomputed 404 body, so the dispatcher never
+ * builds and throws a {@code NoHandlerFoundException} for them.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ErrorResponseConfig {
+
+  private static final Logger log = LoggerFactory.getLogger(ErrorResponseConfig.class);
+
+  @Bean
+  public PrecomputedErrorResponses precomputedErrorResponses(ObjectMapper objectMapper) {
+    return new PrecomputedErrorResponses(objectMapper);
+  }
+
+  @Bean
+  public ErrorLogSampler errorLogSampler(
+      @Value("${echo.errors.log-per-second:10}") int permitsPerSecond) {
+    return new ErrorLogSampler(permitsPerSecond);
+  }
+
+  @Bean
+  public SimpleUrlHandlerMapping unmatchedPathHandlerMapping(
+      PrecomputedErrorResponses responses, ErrorLogSampler logSampler) {
+    HttpRequestHandler notFound =
+        (request, response) -> {
+          logSampler.warn(
+              log,
+              ErrorCode.NOT_FOUND,
+              "Path not found: {} {}",
+              request.getMethod(),
+              request.getRequestURI());
+          responses.write(response, ErrorCode.NOT_FOUND);
+        };
+    SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping(Map.of("/**", notFound));
+    mapping.setOrder(Ordered.LOWEST_PRECEDENCE);
+    return mapping;
+  }
+}
@@ -0,0 +1,10 @@
+package com.echofinder.api.infra;
+
+public enum FlywayStartupMode {
+  /** Validate and apply pending migrations (Flyway's default behaviour). */
+  MIGRATE,
+  /** Skip validation and locking when the schema already has every migration applied. */
+  SKIP_IF_CURRENT,
+  /** Never touch the schema; used for build-time training runs without a database. */
+  SKIP
+}
@@ -0,0 +1,119 @@
+package com.echofinder.api.infra;
+
+import com.echofinder.api.catalog.Event;
+import com.echofinder.api.catalog.Venue;
+import com.echofinder.api.catalog.snapshot.CatalogEvent;
+import com.echofinder.api.catalog.snapshot.CatalogVenue;
+import com.echofinder.api.health.HealthResponse;
+import com.echofinder.api.ingest.FeedRecord;
+import com.echofinder.api.invite.Invite;
+import com.echofinder.api.outbox.NotificationType;
+import com.echofinder.api.outbox.OutboxMessage;
+import com.echofinder.api.outbox.OutboxStatus;
+import com.echofinder.api.price.PriceObservation;
+import com.echofinder.api.price.PricePoint;
+import com.echofinder.api.price.PriceSeries;
+import com.echofinder.api.price.RollupResolution;
+import com.echofinder.api.trending.TrendingEvent;
+import com.echofinder.api.trending.TrendingSignal;
+import com.echofinder.api.user.User;
+import com.echofinder.api.user.UserRole;
+import com.echofinder.api.user.UserStatus;
+import com.echofinder.api.user.UserSummary;
+import com.echofinder.api.watch.Watch;
+import com.echofinder.api.watch.WatchRequest;
+import java.sql.Connection;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.NativeDetector;
+
+/**
+ * Reachability metadata for the GraalVM native image ({@code mvn -Pnative native:compile}).
+ *
+ * <p>Spring AOT already covers beans and Spring Data repositories, and the GraalVM metadata
+ * repository covers Hibernate, Flyway and the Postgres driver. This adds what is specific to us:
+ * entities and enums that Hibernate instantiates reflectively, records that Jackson serializes, and
+ * the migration scripts Flyway scans for.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeImageConfig.Hints.class)
+@RegisterReflectionForBinding({
+  HealthResponse.class,
+  ErrorEnvelope.class,
+  ErrorEnvelope.ErrorDetail.class,
+  UserSummary.class,
+  PriceSeries.class,
+  PricePoint.class,
+  TrendingEvent.class,
+  FeedRecord.class,
+  CatalogEvent.class,
+  CatalogVenue.class,
+  Watch.class,
+  WatchRequest.class
+})
+public class NativeImageConfig {
+
+  /**
+   * Native images cannot define classes at runtime, so Hibernate must not generate proxies. The
+   * native build enhances entities at compile time instead (see the {@code native} Maven profile).
+   */
+  @Bean
+  public HibernatePropertiesCustomizer nativeBytecodeProvider() {
+    return properties -> {
+      if (NativeDetector.inNativeImage()) {
+        properties.put("hibernate.bytecode.provider", "none");
+      }
+    };
+  }
+
+  static class Hints implements RuntimeHintsRegistrar {
+
+    private static final Class<?>[] ENTITIES = {
+      User.class,
+      Invite.class,
+      OutboxMessage.class,
+      Venue.class,
+      Event.class,
+      PriceObservation.class,
+      // Instantiated by a JPQL constructor expression
+      UserSummary.class
+    };
+
+    private static final Class<?>[] ENUMS = {
+      UserRole.class,
+      UserStatus.class,
+      NotificationType.class,
+      OutboxStatus.class,
+      ErrorCode.class,
+      RollupResolution.class,
+      TrendingSignal.class
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+      for (Class<?> entity : ENTITIES) {
+        hints
+            .reflection()
+            .registerType(
+                entity,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_DECLARED_METHODS,
+                MemberCategory.DECLARED_FIELDS);
+      }
+      for (Class<?> type : ENUMS) {
+        hints
+            .reflection()
+            .registerType(type, MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.PUBLIC_FIELDS);
+      }
+      // Connections handed out under a tenant's connection budget
+      hints.proxies().registerJdkProxy(Connection.class);
+      hints.resources().registerPattern("db/migration/*.sql");
+    }
+  }
+}
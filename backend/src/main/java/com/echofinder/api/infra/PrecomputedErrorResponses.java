@@ -0,0 +1,72 @@
+package com.echofinder.api.infra;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Error envelopes for the fixed-message rejections, serialized once at startup. Writing one of
+ * these costs a header set and a byte copy, which matters when bot scans turn most traffic into
+ * 404s or when a rate limiter turns it into 429s.
+ */
+public class PrecomputedErrorResponses {
+
+  public static final String NOT_FOUND_MESSAGE = "The requested resource was not found";
+  public static final String RATE_LIMITED_MESSAGE = "Too many requests, retry later";
+
+  private final Map<ErrorCode, byte[]> bodies = new EnumMap<>(ErrorCode.class);
+
+  public PrecomputedErrorResponses(ObjectMapper objectMapper) {
+    bodies.put(
+        ErrorCode.NOT_FOUND, serialize(objectMapper, ErrorCode.NOT_FOUND, NOT_FOUND_MESSAGE));
+    bodies.put(
+        ErrorCode.RATE_LIMITED,
+        serialize(objectMapper, ErrorCode.RATE_LIMITED, RATE_LIMITED_MESSAGE));
+  }
+
+  /** Returns the shared body bytes; callers must not modify the array. */
+  public byte[] body(ErrorCode code) {
+    byte[] body = bodies.get(code);
+    if (body == null) {
+      throw new IllegalArgumentException("No precomputed body for " + code);
+    }
+    return body;
+  }
+
+  public ResponseEntity<byte[]> entity(ErrorCode code) {
+    return ResponseEntity.status(status(code))
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(body(code));
+  }
+
+  /** Writes the rejection directly, for filters and handlers that answer without throwing. */
+  public void write(HttpServletResponse response, ErrorCode code) throws IOException {
+    byte[] body = body(code);
+    response.setStatus(status(code).value());
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setContentLength(body.length);
+    response.getOutputStream().write(body);
+  }
+
+  private static HttpStatus status(ErrorCode code) {
+    return switch (code) {
+      case NOT_FOUND -> HttpStatus.NOT_FOUND;
+      case RATE_LIMITED -> HttpStatus.TOO_MANY_REQUESTS;
+      default -> throw new IllegalArgumentException("No precomputed body for " + code);
+    };
+  }
+
+  private static byte[] serialize(ObjectMapper objectMapper, ErrorCode code, String message) {
+    try {
+      return objectMapper.writeValueAsBytes(ErrorEnvelope.of(code, message));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to serialize " + code + " envelope", e);
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package com.echofinder.api.infra;
+
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** Startup behaviour shared by the regular, lazy and AOT/CDS launch modes. */
+@Configuration(proxyBeanMethods = false)
+public class StartupConfig {
+
+  private static final Logger log = LoggerFactory.getLogger(StartupConfig.class);
+
+  /**
+   * Applies {@code echo.flyway.startup-mode}. Replicas joining a scale-out can use {@link
+   * FlywayStartupMode#SKIP_IF_CURRENT} to avoid re-validating every script and contending for the
+   * schema history lock once the first instance has migrated.
+   */
+  @Bean
+  public FlywayMigrationStrategy flywayMigrationStrategy(
+      @Value("${echo.flyway.startup-mode:MIGRATE}") FlywayStartupMode mode) {
+    return flyway -> {
+      switch (mode) {
+        case MIGRATE -> flyway.migrate();
+        case SKIP_IF_CURRENT -> migrateIfPending(flyway);
+        case SKIP -> log.info("Skipping Flyway on startup (echo.flyway.startup-mode=SKIP)");
+      }
+    };
+  }
+
+  private static void migrateIfPending(Flyway flyway) {
+    if (flyway.info().pending().length == 0) {
+      log.info("Schema is current, skipping Flyway validation");
+      return;
+    }
+    flyway.migrate();
+  }
+
+  /**
+   * Keeps migrations eager under {@code spring.main.lazy-initialization}, so the schema is in place
+   * before the pod reports ready rather than on the first request. Scheduled beans are already kept
+   * eager by Spring Boot.
+   */
+  @Bean
+  public static LazyInitializationExcludeFilter eagerFlywayMigration() {
+    return LazyInitializationExcludeFilter.forBeanTypes(FlywayMigrationInitializer.class);
+  }
+}
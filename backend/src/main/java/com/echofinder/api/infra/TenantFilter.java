@@ -0,0 +1,74 @@
+package com.echofinder.api.infra;
+
+import com.echofinder.api.tenant.TenantBudget;
+import com.echofinder.api.tenant.TenantContext;
+import com.echofinder.api.tenant.TenantRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Optional;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Resolves the partner brand a request is for and holds it to that tenant's request rate.
+ * Registered by {@link TenantFilterConfig}, right after {@link CorrelationIdFilter}.
+ *
+ * <p>The tenant comes from the host the request was routed for ({@code tenant_hosts}); hosts no
+ * partner claims belong to the default tenant. Nothing the client sends beyond the host it asked
+ * for is trusted, so a user of one brand cannot act as another's or spend another's budget. This
+ * assumes the only way in is the ingress (the backend Service is ClusterIP, see {@code
+ * k8s/base/backend-service.yaml}), which routes partner hosts here and overwrites {@code
+ * X-Forwarded-Host} with the host it routed; Tomcat takes that header only from internal proxies
+ * ({@code server.forward-headers-strategy}).
+ *
+ * <p>Health checks are the platform's, not a partner's: they are neither resolved to a tenant nor
+ * counted against one, so partner traffic using up the default tenant's budget cannot fail probes
+ * and get healthy pods restarted.
+ */
+public class TenantFilter extends OncePerRequestFilter {
+
+  public static final String TENANT_MDC_KEY = "tenantId";
+
+  // Liveness, readiness and startup probes (k8s/base/backend-deployment.yaml)
+  private static final String HEALTH_PATH = "/api/health";
+
+  private final TenantRegistry registry;
+  private final PrecomputedErrorResponses responses;
+
+  public TenantFilter(TenantRegistry registry, PrecomputedErrorResponses responses) {
+    this.registry = registry;
+    this.responses = responses;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    String path = request.getRequestURI();
+    return path.equals(HEALTH_PATH) || path.startsWith("/actuator/");
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    Optional<TenantBudget> tenant = registry.forHost(request.getServerName());
+    if (tenant.isEmpty()) {
+      responses.write(response, ErrorCode.NOT_FOUND);
+      return;
+    }
+    if (!tenant.get().tryAdmitRequest()) {
+      registry.recordRejection(tenant.get().id());
+      responses.write(response, ErrorCode.RATE_LIMITED);
+      return;
+    }
+
+    MDC.put(TENANT_MDC_KEY, tenant.get().id());
+    try (TenantContext.Scope scope = TenantContext.enter(tenant.get())) {
+      filterChain.doFilter(request, response);
+    } finally {
+      MDC.remove(TENANT_MDC_KEY);
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package com.echofinder.api.infra;
+
+import com.echofinder.api.tenant.TenantRegistry;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers {@link TenantFilter} from configuration rather than as a component, so web slice tests
+ * of single controllers do not need the tenant registry and its database.
+ */
+@Configuration(proxyBeanMethods = false)
+public class TenantFilterConfig {
+
+  @Bean
+  public FilterRegistrationBean<TenantFilter> tenantFilter(
+      TenantRegistry registry, PrecomputedErrorResponses responses) {
+    FilterRegistrationBean<TenantFilter> registration =
+        new FilterRegistrationBean<>(new TenantFilter(registry, responses));
+    // Right after CorrelationIdFilter, so rejections still carry a correlation id
+    registration.setOrder(2);
+    return registration;
+  }
+}
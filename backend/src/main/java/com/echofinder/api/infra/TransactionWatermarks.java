@@ -0,0 +1,63 @@
+package com.echofinder.api.infra;
+
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Watermarks of the jobs that work through committed rows in transaction order (price rollups,
+ * price alerts), one {@code rollup_watermarks} row per job name. Positions are {@code xid8}
+ * transaction ids carried as longs; every row such a job reads records the transaction that wrote
+ * it, and once a position is below the oldest running transaction no further rows can ever appear
+ * beneath it. That makes {@code [watermark, horizon)} an exact "committed since last run" range,
+ * which an id or timestamp watermark is not when writers commit out of order.
+ */
+@Repository
+public class TransactionWatermarks {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public TransactionWatermarks(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Locks the job's watermark row and returns its position, or {@code null} when another worker
+   * holds it. Must be called inside a transaction.
+   */
+  public Long tryLock(String job) {
+    List<Long> positions =
+        jdbcTemplate.queryForList(
+            "SELECT position::text::bigint FROM rollup_watermarks WHERE name = ?"
+                + " FOR UPDATE SKIP LOCKED",
+            Long.class,
+            job);
+    return positions.isEmpty() ? null : positions.get(0);
+  }
+
+  /** Locks the job's watermark row, waiting for a running worker, and returns its position. */
+  public long lock(String job) {
+    return jdbcTemplate.queryForObject(
+        "SELECT position::text::bigint FROM rollup_watermarks WHERE name = ? FOR UPDATE",
+        Long.class,
+        job);
+  }
+
+  public long read(String job) {
+    return jdbcTemplate.queryForObject(
+        "SELECT position::text::bigint FROM rollup_watermarks WHERE name = ?", Long.class, job);
+  }
+
+  public void advance(String job, long position) {
+    jdbcTemplate.update(
+        "UPDATE rollup_watermarks SET position = ?::text::xid8, updated_at = now() WHERE name = ?",
+        position,
+        job);
+  }
+
+  /** Oldest transaction still running; every row below it is committed or gone for good. */
+  public long horizon() {
+    return jdbcTemplate.queryForObject(
+        "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint", Long.class);
+  }
+}
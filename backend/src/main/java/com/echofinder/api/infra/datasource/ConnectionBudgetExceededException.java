@@ -0,0 +1,11 @@
+package com.echofinder.api.infra.datasource;
+
+import java.sql.SQLTransientConnectionException;
+
+/** A tenant already holds every connection its budget allows and none was returned in time. */
+public class ConnectionBudgetExceededException extends SQLTransientConnectionException {
+
+  public ConnectionBudgetExceededException(String tenantId) {
+    super("Tenant " + tenantId + " is at its connection budget");
+  }
+}
@@ -0,0 +1,6 @@
+package com.echofinder.api.infra.datasource;
+
+public enum DataSourceRole {
+  PRIMARY,
+  REPLICA
+}
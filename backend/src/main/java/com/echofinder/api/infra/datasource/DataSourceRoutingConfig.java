@@ -0,0 +1,100 @@
+package com.echofinder.api.infra.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Replaces Boot's single datasource with a primary pool plus an optional read replica.
+ *
+ * <p>{@code spring.datasource.*} keeps configuring the primary, which also runs Flyway. The replica
+ * is only created when {@code echo.datasource.replica.enabled} is true; it is read at runtime
+ * rather than through a bean condition so the same build works with and without a replica.
+ */
+@Configuration(proxyBeanMethods = false)
+public class DataSourceRoutingConfig {
+
+  @Bean
+  @FlywayDataSource
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(
+      DataSourceProperties properties, Environment environment) {
+    HikariDataSource dataSource =
+        properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    dataSource.setPoolName("primary");
+    applyPoolSizing(environment, dataSource);
+    return dataSource;
+  }
+
+  @Bean
+  public ReplicaRoutingDataSource routingDataSource(
+      HikariDataSource primaryDataSource,
+      Environment environment,
+      MeterRegistry meterRegistry,
+      @Value("${echo.datasource.replica.enabled:false}") boolean replicaEnabled,
+      @Value("${echo.datasource.replica.max-lag:PT5S}") Duration maxLag,
+      @Value("${echo.datasource.replica.lag-check-interval-ms:2000}") long lagCheckIntervalMillis) {
+    HikariDataSource replica =
+        replicaEnabled ? replicaDataSource(environment, meterRegistry) : null;
+    // A few missed probes and the last measured lag is too old to trust
+    Duration maxProbeAge = Duration.ofMillis(lagCheckIntervalMillis * 3 + 2000);
+    return new ReplicaRoutingDataSource(
+        primaryDataSource, replica, maxLag, maxProbeAge, meterRegistry);
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(
+      ReplicaRoutingDataSource routingDataSource,
+      @Value("${echo.tenancy.connection-timeout:PT2S}") Duration tenantConnectionTimeout) {
+    return new LazyConnectionDataSourceProxy(
+        new TenantConnectionBudget(routingDataSource, tenantConnectionTimeout));
+  }
+
+  private static HikariDataSource replicaDataSource(
+      Environment environment, MeterRegistry meterRegistry) {
+    String url = environment.getProperty("echo.datasource.replica.url");
+    if (url == null || url.isBlank()) {
+      throw new IllegalArgumentException(
+          "ECHO_DB_REPLICA_URL must be configured when read replicas are enabled");
+    }
+    HikariDataSource replica =
+        DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .url(url)
+            .username(environment.getProperty("echo.datasource.replica.username"))
+            .password(environment.getProperty("echo.datasource.replica.password"))
+            .build();
+    applyPoolSizing(environment, replica);
+    Binder.get(environment).bind("echo.datasource.replica.hikari", Bindable.ofInstance(replica));
+    replica.setPoolName("replica");
+    replica.setReadOnly(true);
+    replica.setMetricRegistry(meterRegistry);
+    return replica;
+  }
+
+  private static void applyPoolSizing(Environment environment, HikariDataSource dataSource) {
+    if (!environment.getProperty("echo.datasource.pool.auto-size", Boolean.class, false)) {
+      return;
+    }
+    new PoolSizing(
+            Runtime.getRuntime().availableProcessors(),
+            environment.getProperty("echo.datasource.pool.db-max-connections", Integer.class, 100),
+            environment.getProperty("echo.datasource.pool.reserved-connections", Integer.class, 10),
+            environment.getProperty("echo.datasource.pool.max-instances", Integer.class, 4))
+        .applyTo(dataSource);
+  }
+}
@@ -0,0 +1,54 @@
+package com.echofinder.api.infra.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes {@code echo.db.pool.saturation} per pool: threads holding or waiting for a connection
+ * divided by the pool size.
+ *
+ * <p>Below 1 the pool has headroom; at 1 every connection is busy; above 1 requests are queueing
+ * for {@code connection-timeout}. This single number is what alerts and autoscaling should watch,
+ * rather than combining the raw {@code hikaricp.connections.*} gauges.
+ */
+@Component
+public class PoolSaturationMetrics implements MeterBinder {
+
+  private final HikariDataSource primaryDataSource;
+  private final ReplicaRoutingDataSource routingDataSource;
+
+  public PoolSaturationMetrics(
+      HikariDataSource primaryDataSource, ReplicaRoutingDataSource routingDataSource) {
+    this.primaryDataSource = primaryDataSource;
+    this.routingDataSource = routingDataSource;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    register(registry, primaryDataSource);
+    if (routingDataSource.getReplica() instanceof HikariDataSource replica) {
+      register(registry, replica);
+    }
+  }
+
+  private static void register(MeterRegistry registry, HikariDataSource dataSource) {
+    Gauge.builder("echo.db.pool.saturation", dataSource, PoolSaturationMetrics::saturation)
+        .description("(active + pending connections) / maximum pool size")
+        .tag("pool", dataSource.getPoolName())
+        .register(registry);
+  }
+
+  static double saturation(HikariDataSource dataSource) {
+    HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+    if (pool == null) {
+      // Pool not started yet
+      return 0;
+    }
+    return (pool.getActiveConnections() + pool.getThreadsAwaitingConnection())
+        / (double) dataSource.getMaximumPoolSize();
+  }
+}
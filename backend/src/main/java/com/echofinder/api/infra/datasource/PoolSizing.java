@@ -0,0 +1,44 @@
+package com.echofinder.api.infra.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+
+/**
+ * Derives a connection pool size from the pod's CPU budget and the database's connection limit.
+ *
+ * <p>The CPU bound follows HikariCP's guidance of roughly {@code cores * 2 + 1} connections per
+ * instance; beyond that, extra connections only queue inside Postgres. The database bound splits
+ * {@code max_connections}, minus a reserve for migrations and admin sessions, evenly across the
+ * most instances the deployment can scale to, so a full scale-out cannot exhaust the server.
+ *
+ * @param cpuCount processors available to this JVM
+ * @param dbMaxConnections the server's {@code max_connections}
+ * @param reservedConnections connections kept free for migrations and operators
+ * @param maxInstances upper bound on pods sharing the database
+ */
+public record PoolSizing(
+    int cpuCount, int dbMaxConnections, int reservedConnections, int maxInstances) {
+
+  public PoolSizing {
+    if (cpuCount < 1 || maxInstances < 1) {
+      throw new IllegalArgumentException("CPU count and instance count must be positive");
+    }
+    if (dbMaxConnections - reservedConnections < maxInstances) {
+      throw new IllegalArgumentException(
+          "Database connection limit leaves less than one connection per instance");
+    }
+  }
+
+  public int maximumPoolSize() {
+    int cpuBound = cpuCount * 2 + 1;
+    int dbBound = (dbMaxConnections - reservedConnections) / maxInstances;
+    return Math.max(1, Math.min(cpuBound, dbBound));
+  }
+
+  /**
+   * Sets the computed size on a pool. Call before the pool's own properties are bound so that an
+   * explicit {@code maximum-pool-size} still wins.
+   */
+  public void applyTo(HikariConfig config) {
+    config.setMaximumPoolSize(maximumPoolSize());
+  }
+}
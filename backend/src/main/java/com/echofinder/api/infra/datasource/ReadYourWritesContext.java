@@ -0,0 +1,41 @@
+package com.echofinder.api.infra.datasource;
+
+/**
+ * Per-request record of whether the request has written to the primary.
+ *
+ * <p>{@link com.echofinder.api.infra.CorrelationIdFilter} opens a scope for every request and
+ * closes it when the request completes. Once a read-write transaction runs inside the scope, later
+ * read-only transactions in the same request are kept on the primary, so the request never reads a
+ * replica that has not yet replayed its own write. Outside a scope (scheduled jobs, startup)
+ * nothing is pinned.
+ */
+public final class ReadYourWritesContext {
+
+  private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+  private ReadYourWritesContext() {}
+
+  public static void open() {
+    CURRENT.set(new Scope());
+  }
+
+  public static void close() {
+    CURRENT.remove();
+  }
+
+  static void recordWrite() {
+    Scope scope = CURRENT.get();
+    if (scope != null) {
+      scope.wrote = true;
+    }
+  }
+
+  public static boolean hasWritten() {
+    Scope scope = CURRENT.get();
+    return scope != null && scope.wrote;
+  }
+
+  private static final class Scope {
+    private boolean wrote;
+  }
+}
@@ -0,0 +1,52 @@
+package com.echofinder.api.infra.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically measures replication lag on the read replica and feeds it to {@link
+ * ReplicaRoutingDataSource}.
+ *
+ * <p>Lag is the age of the last replayed transaction, or zero when the replica has replayed
+ * everything it has received (an idle primary would otherwise look like a growing lag).
+ */
+@Component
+public class ReplicaLagMonitor {
+
+  static final String LAG_QUERY =
+      "SELECT CASE"
+          + " WHEN NOT pg_is_in_recovery() THEN 0"
+          + " WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+          + " ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)"
+          + " END";
+
+  private final ReplicaRoutingDataSource routingDataSource;
+
+  public ReplicaLagMonitor(ReplicaRoutingDataSource routingDataSource) {
+    this.routingDataSource = routingDataSource;
+  }
+
+  @Scheduled(fixedDelayString = "${echo.datasource.replica.lag-check-interval-ms:2000}")
+  public void check() {
+    DataSource replica = routingDataSource.getReplica();
+    if (replica == null) {
+      return;
+    }
+    try (Connection connection = replica.getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.setQueryTimeout(2);
+      try (ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+        rs.next();
+        routingDataSource.onReplicaLag(Duration.ofMillis((long) (rs.getDouble(1) * 1000)));
+      }
+    } catch (SQLException e) {
+      routingDataSource.onReplicaUnavailable(e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,146 @@
+package com.echofinder.api.infra.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ *
+ * <p>Routing is decided when a connection is first used, so this must sit behind a {@link
+ * org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}; otherwise the transaction
+ * manager would fetch the connection before the read-only flag is visible.
+ *
+ * <p>Reads fall back to the primary when no replica is configured, when {@link ReplicaLagMonitor}
+ * reports the replica as unreachable or lagging by more than {@code maxLag}, when its last probe is
+ * older than {@code maxProbeAge} (a stalled monitor says nothing about the lag now), or when the
+ * current request has already written (see {@link ReadYourWritesContext}).
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+  private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+  private final DataSource replica;
+  private final Duration maxLag;
+  private final long maxProbeAgeNanos;
+  private final LongSupplier nanoClock;
+
+  private volatile boolean replicaUsable;
+  private volatile long lastProbeNanos;
+  private volatile double lastLagSeconds = Double.NaN;
+
+  private final Counter primaryCounter;
+  private final Counter replicaCounter;
+
+  public ReplicaRoutingDataSource(
+      DataSource primary,
+      DataSource replica,
+      Duration maxLag,
+      Duration maxProbeAge,
+      MeterRegistry meterRegistry) {
+    this(primary, replica, maxLag, maxProbeAge, meterRegistry, System::nanoTime);
+  }
+
+  ReplicaRoutingDataSource(
+      DataSource primary,
+      DataSource replica,
+      Duration maxLag,
+      Duration maxProbeAge,
+      MeterRegistry meterRegistry,
+      LongSupplier nanoClock) {
+    this.replica = replica;
+    this.maxLag = maxLag;
+    this.maxProbeAgeNanos = maxProbeAge.toNanos();
+    this.nanoClock = nanoClock;
+
+    Map<Object, Object> targets = new HashMap<>();
+    targets.put(DataSourceRole.PRIMARY, primary);
+    if (replica != null) {
+      targets.put(DataSourceRole.REPLICA, replica);
+    }
+    setTargetDataSources(targets);
+    setDefaultTargetDataSource(primary);
+    setLenientFallback(false);
+
+    this.primaryCounter = routingCounter(meterRegistry, DataSourceRole.PRIMARY);
+    this.replicaCounter = routingCounter(meterRegistry, DataSourceRole.REPLICA);
+    Gauge.builder("echo.db.replica.lag", this, ds -> ds.lastLagSeconds)
+        .description("Replication lag of the read replica as last observed")
+        .baseUnit("seconds")
+        .register(meterRegistry);
+    Gauge.builder("echo.db.replica.usable", this, ds -> ds.isReplicaUsable() ? 1 : 0)
+        .description("Whether read-only transactions are currently routed to the replica")
+        .register(meterRegistry);
+  }
+
+  private static Counter routingCounter(MeterRegistry meterRegistry, DataSourceRole role) {
+    return Counter.builder("echo.db.routing")
+        .description("Connections handed out by routing target")
+        .tag("target", role.name().toLowerCase())
+        .register(meterRegistry);
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      if (isReplicaUsable() && !ReadYourWritesContext.hasWritten()) {
+        replicaCounter.increment();
+        return DataSourceRole.REPLICA;
+      }
+    } else if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      ReadYourWritesContext.recordWrite();
+    }
+    primaryCounter.increment();
+    return DataSourceRole.PRIMARY;
+  }
+
+  /** The replica pool, or {@code null} when read replicas are disabled. */
+  public DataSource getReplica() {
+    return replica;
+  }
+
+  public boolean isReplicaUsable() {
+    return replicaUsable && nanoClock.getAsLong() - lastProbeNanos <= maxProbeAgeNanos;
+  }
+
+  /** Records a successful lag probe; the replica is used only while lag stays within bounds. */
+  public void onReplicaLag(Duration lag) {
+    lastLagSeconds = lag.toMillis() / 1000.0;
+    lastProbeNanos = nanoClock.getAsLong();
+    setReplicaUsable(replica != null && lag.compareTo(maxLag) <= 0, "lag " + lag);
+  }
+
+  /** Records a failed lag probe; reads go to the primary until the next successful probe. */
+  public void onReplicaUnavailable(String reason) {
+    lastLagSeconds = Double.NaN;
+    setReplicaUsable(false, reason);
+  }
+
+  private void setReplicaUsable(boolean usable, String reason) {
+    if (usable != replicaUsable) {
+      if (usable) {
+        log.info("Routing read-only transactions to replica ({})", reason);
+      } else {
+        log.warn("Routing read-only transactions to primary ({})", reason);
+      }
+    }
+    replicaUsable = usable;
+  }
+
+  @Override
+  public void destroy() throws Exception {
+    if (replica instanceof AutoCloseable closeable) {
+      closeable.close();
+    }
+  }
+}
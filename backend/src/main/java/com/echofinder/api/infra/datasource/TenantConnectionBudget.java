@@ -0,0 +1,102 @@
+package com.echofinder.api.infra.datasource;
+
+import com.echofinder.api.tenant.TenantBudget;
+import com.echofinder.api.tenant.TenantContext;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Holds each tenant to its share of the pools. A request for a tenant with a connection budget
+ * takes a permit before borrowing a pooled connection and gives it back when the connection is
+ * closed, so a partner's bulk import waits on its own permits rather than draining the pool that
+ * every other tenant shares. Work outside a tenant is not budgeted.
+ *
+ * <p>Sits under the {@code LazyConnectionDataSourceProxy}, so a permit is only taken once a
+ * statement actually needs a connection.
+ */
+public class TenantConnectionBudget extends DelegatingDataSource {
+
+  private final long timeoutNanos;
+
+  public TenantConnectionBudget(DataSource target, Duration timeout) {
+    super(target);
+    this.timeoutNanos = timeout.toNanos();
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    TenantBudget tenant = acquire();
+    return tenant == null ? super.getConnection() : budgeted(tenant, super::getConnection);
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    TenantBudget tenant = acquire();
+    return tenant == null
+        ? super.getConnection(username, password)
+        : budgeted(tenant, () -> super.getConnection(username, password));
+  }
+
+  private TenantBudget acquire() throws SQLException {
+    TenantBudget tenant = TenantContext.current();
+    if (tenant == null || !tenant.limitsConnections()) {
+      return null;
+    }
+    try {
+      if (!tenant.tryAcquireConnection(timeoutNanos)) {
+        throw new ConnectionBudgetExceededException(tenant.id());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ConnectionBudgetExceededException(tenant.id());
+    }
+    return tenant;
+  }
+
+  private static Connection budgeted(TenantBudget tenant, ConnectionSupplier target)
+      throws SQLException {
+    Connection connection;
+    try {
+      connection = target.get();
+    } catch (SQLException | RuntimeException e) {
+      tenant.releaseConnection();
+      throw e;
+    }
+    AtomicBoolean released = new AtomicBoolean();
+    return (Connection)
+        Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+              if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                try {
+                  return invoke(connection, method, args);
+                } finally {
+                  tenant.releaseConnection();
+                }
+              }
+              return invoke(connection, method, args);
+            });
+  }
+
+  private static Object invoke(Connection connection, Method method, Object[] args)
+      throws Throwable {
+    try {
+      return method.invoke(connection, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  @FunctionalInterface
+  private interface ConnectionSupplier {
+    Connection get() throws SQLException;
+  }
+}
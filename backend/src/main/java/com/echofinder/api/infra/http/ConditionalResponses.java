@@ -0,0 +1,53 @@
+package com.echofinder.api.infra.http;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.function.Supplier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Answers conditional GETs. Controllers compute a cheap ETag first (see {@link EntityTags}); when
+ * the client's {@code If-None-Match} matches, the response is a bodiless 304 and the body supplier
+ * is never called, so neither the load nor the serialization happens.
+ *
+ * <p>Outcomes are counted in {@code echo.http.conditional}: {@code hit} (304), {@code miss} (the
+ * client sent a stale tag) and {@code unconditional} (no tag sent). The hit rate is hit / (hit +
+ * miss).
+ */
+@Component
+public class ConditionalResponses {
+
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter unconditional;
+
+  public ConditionalResponses(MeterRegistry meterRegistry) {
+    this.hits = counter(meterRegistry, "hit");
+    this.misses = counter(meterRegistry, "miss");
+    this.unconditional = counter(meterRegistry, "unconditional");
+  }
+
+  /**
+   * Returns {@code null} once a 304 has been written to {@code request}; Spring MVC treats a null
+   * {@code ResponseEntity} as a handled request. Otherwise returns 200 with the tag and the body.
+   */
+  public <T> ResponseEntity<T> ok(WebRequest request, String etag, Supplier<T> body) {
+    boolean conditional = request.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+    if (request.checkNotModified(etag)) {
+      hits.increment();
+      return null;
+    }
+    (conditional ? misses : unconditional).increment();
+    return ResponseEntity.ok().eTag(etag).body(body.get());
+  }
+
+  private static Counter counter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("echo.http.conditional")
+        .description("Conditional GET outcomes for ETag-aware endpoints")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+}
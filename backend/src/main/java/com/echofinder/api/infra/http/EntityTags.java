@@ -0,0 +1,59 @@
+package com.echofinder.api.infra.http;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+
+/**
+ * Weak ETags derived from data the database already keeps, so a tag can be checked before the
+ * response body is loaded. Tags are weak because they identify the resource state, not the exact
+ * bytes; Tomcat also refuses to gzip responses that carry a strong tag.
+ */
+public final class EntityTags {
+
+  private EntityTags() {}
+
+  /** Tag for a single row, from its id and {@code updated_at}. */
+  public static String of(Object id, OffsetDateTime updatedAt) {
+    return weak(id + "-" + micros(updatedAt));
+  }
+
+  /** Tag for a single row with an optimistic-lock version column. */
+  public static String ofVersion(Object id, long version) {
+    return weak(id + "-v" + Long.toHexString(version));
+  }
+
+  /**
+   * Tag for a listing, from the row count and latest {@code updated_at} of the rows it covers.
+   * {@code scope} identifies the query (path and filters) so different listings never share tags;
+   * it goes into the tag as the first 64 bits of its SHA-256, as it may hold characters a tag
+   * cannot. Inserts and updates move the timestamp and deletes change the count; an insert paired
+   * with a delete in the same microsecond is the only change this can miss.
+   */
+  public static String ofCollection(String scope, long count, OffsetDateTime latestUpdate) {
+    String latest = latestUpdate == null ? "0" : micros(latestUpdate);
+    return weak(digest(scope) + "-" + Long.toHexString(count) + "-" + latest);
+  }
+
+  private static String digest(String scope) {
+    try {
+      byte[] hash =
+          MessageDigest.getInstance("SHA-256").digest(scope.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(hash, 0, Long.BYTES);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private static String micros(OffsetDateTime time) {
+    return Long.toHexString(ChronoUnit.MICROS.between(Instant.EPOCH, time.toInstant()));
+  }
+
+  private static String weak(String value) {
+    return "W/\"" + value + "\"";
+  }
+}
@@ -0,0 +1,103 @@
+package com.echofinder.api.infra.http;
+
+import com.echofinder.api.tenant.TenantBudget;
+import com.echofinder.api.tenant.TenantContext;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Writes large result sets as a JSON array straight from a repository {@code Stream}, one element
+ * at a time, instead of materializing a {@code List} and serializing it whole. Memory use is
+ * bounded by the JDBC fetch size and the flush interval, not by the number of rows.
+ *
+ * <p>The stream is opened inside a read-only transaction on the MVC async thread that writes the
+ * body, which keeps the database cursor open for the length of the response (and routes it to the
+ * replica when one is configured). Errors after the first flush cannot change the status code; the
+ * client sees a truncated array.
+ */
+@Component
+public class JsonArrayStreamer {
+
+  static final int FLUSH_EVERY = 1_000;
+
+  private final JsonWriters writers;
+  private final TransactionTemplate readOnlyTransaction;
+  private final EntityManager entityManager;
+
+  public JsonArrayStreamer(
+      JsonWriters writers,
+      PlatformTransactionManager transactionManager,
+      EntityManager entityManager) {
+    this.writers = writers;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.entityManager = entityManager;
+  }
+
+  /**
+   * Returns a response body that writes every element of {@code rows} as a JSON array. The supplier
+   * is called when the body is written, not now, so it must open the stream itself.
+   */
+  public <T> StreamingResponseBody array(Class<T> type, Supplier<Stream<T>> rows) {
+    ObjectWriter writer = writers.forType(type);
+    // The body is written on another thread, which must query as the requesting tenant
+    TenantBudget tenant = TenantContext.current();
+    return out -> {
+      try (TenantContext.Scope scope = TenantContext.enter(tenant)) {
+        write(writer, rows, out);
+      }
+    };
+  }
+
+  /** Writes {@code rows} to {@code out} synchronously and returns the number of elements. */
+  public <T> long write(Class<T> type, Supplier<Stream<T>> rows, OutputStream out)
+      throws IOException {
+    return write(writers.forType(type), rows, out);
+  }
+
+  private <T> long write(ObjectWriter writer, Supplier<Stream<T>> rows, OutputStream out)
+      throws IOException {
+    try {
+      Long count =
+          readOnlyTransaction.execute(
+              status -> {
+                try (Stream<T> stream = rows.get();
+                    JsonGenerator generator = writer.createGenerator(out)) {
+                  return writeArray(writer, stream.iterator(), generator);
+                } catch (IOException e) {
+                  throw new UncheckedIOException(e);
+                }
+              });
+      return count == null ? 0 : count;
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  private <T> long writeArray(ObjectWriter writer, Iterator<T> rows, JsonGenerator generator)
+      throws IOException {
+    long count = 0;
+    generator.writeStartArray();
+    while (rows.hasNext()) {
+      writer.writeValue(generator, rows.next());
+      if (++count % FLUSH_EVERY == 0) {
+        generator.flush();
+        // Entity streams would otherwise keep every row in the persistence context
+        entityManager.clear();
+      }
+    }
+    generator.writeEndArray();
+    return count;
+  }
+}
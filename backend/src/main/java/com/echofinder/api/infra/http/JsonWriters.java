@@ -0,0 +1,40 @@
+package com.echofinder.api.infra.http;
+
+import com.echofinder.api.health.HealthResponse;
+import com.echofinder.api.infra.ErrorEnvelope;
+import com.echofinder.api.price.PriceSeries;
+import com.echofinder.api.user.UserSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link ObjectWriter}s per response type, built from the application's {@link ObjectMapper}. The
+ * DTO records listed here are resolved at startup; their serializers go into the mapper's shared
+ * cache, so the first request that returns one, through MVC's message converter or a stream, does
+ * not pay for introspecting it.
+ */
+@Component
+public class JsonWriters {
+
+  private static final List<Class<?>> PRERESOLVED =
+      List.of(HealthResponse.class, ErrorEnvelope.class, UserSummary.class, PriceSeries.class);
+
+  private final ObjectMapper objectMapper;
+  private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+  public JsonWriters(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+    PRERESOLVED.forEach(this::forType);
+  }
+
+  /** Writers here never flush per value; callers writing many values flush when they choose. */
+  public ObjectWriter forType(Class<?> type) {
+    return writers.computeIfAbsent(
+        type, t -> objectMapper.writerFor(t).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE));
+  }
+}
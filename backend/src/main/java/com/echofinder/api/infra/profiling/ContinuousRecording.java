@@ -0,0 +1,110 @@
+package com.echofinder.api.infra.profiling;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * A flight recording that runs for the life of the pod, so when production slows down the recent
+ * past is already recorded and only needs dumping (see {@link FlightRecordingEndpoint}).
+ *
+ * <p>JFR's {@code default} settings cost around one percent of CPU; {@code profile} samples more
+ * often at about twice that. The application's events are recorded above {@code
+ * echo.profiling.threshold}, except token hashing: a hash takes microseconds, so a shared threshold
+ * would never record one, and it has its own ({@code token-hash-threshold}, every hash by default).
+ * JFR writes the recording to its repository under the temp directory in chunks, dropping the
+ * oldest beyond {@code max-age} or {@code max-size}.
+ */
+@Component
+@Lazy(false)
+public class ContinuousRecording implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(ContinuousRecording.class);
+
+  static final String NAME = "echofinder";
+
+  private static final List<Class<? extends Event>> EVENTS =
+      List.of(RepositoryCallEvent.class, RequestEvent.class, ScoringEvent.class);
+
+  // null when disabled, or when the runtime has no flight recorder (a native image built without
+  // it)
+  private final Recording recording;
+
+  public ContinuousRecording(
+      @Value("${echo.profiling.enabled:true}") boolean enabled,
+      @Value("${echo.profiling.settings:default}") String settings,
+      @Value("${echo.profiling.threshold:10ms}") Duration threshold,
+      @Value("${echo.profiling.token-hash-threshold:0ms}") Duration tokenHashThreshold,
+      @Value("${echo.profiling.max-age:PT6H}") Duration maxAge,
+      @Value("${echo.profiling.max-size:256MB}") DataSize maxSize) {
+    if (!enabled) {
+      this.recording = null;
+    } else if (!FlightRecorder.isAvailable()) {
+      log.warn("Flight recorder not available; continuous recording is off");
+      this.recording = null;
+    } else {
+      this.recording = start(settings, threshold, tokenHashThreshold, maxAge, maxSize);
+    }
+  }
+
+  private static Recording start(
+      String settings,
+      Duration threshold,
+      Duration tokenHashThreshold,
+      Duration maxAge,
+      DataSize maxSize) {
+    Configuration configuration;
+    try {
+      configuration = Configuration.getConfiguration(settings);
+    } catch (IOException | ParseException e) {
+      throw new IllegalArgumentException("Unknown echo.profiling.settings: " + settings, e);
+    }
+    Recording recording = new Recording(configuration);
+    recording.setName(NAME);
+    recording.setToDisk(true);
+    recording.setMaxAge(maxAge);
+    recording.setMaxSize(maxSize.toBytes());
+    for (Class<? extends Event> event : EVENTS) {
+      recording.enable(event).withThreshold(threshold);
+    }
+    recording.enable(TokenHashEvent.class).withThreshold(tokenHashThreshold);
+    recording.start();
+    log.info(
+        "Continuous flight recording started ({} settings, keeping {} up to {})",
+        settings,
+        maxAge,
+        maxSize);
+    return recording;
+  }
+
+  public boolean isRunning() {
+    return recording != null;
+  }
+
+  /** Writes everything recorded so far to {@code file}; the recording keeps running. */
+  public void dump(Path file) throws IOException {
+    if (recording == null) {
+      throw new IllegalStateException("Continuous recording is not running");
+    }
+    recording.dump(file);
+  }
+
+  @Override
+  public void close() {
+    if (recording != null) {
+      recording.close();
+    }
+  }
+}
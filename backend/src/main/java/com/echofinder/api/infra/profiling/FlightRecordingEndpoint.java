@@ -0,0 +1,122 @@
+package com.echofinder.api.infra.profiling;
+
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Dumps the {@link ContinuousRecording}: {@code GET /actuator/flightrecording} on the management
+ * port with {@code Authorization: Bearer <echo.profiling.dump-token>} returns a {@code .jfr} file
+ * for JDK Mission Control, the JDK's {@code jfr} tool or {@link FlightRecordingSummary}.
+ *
+ * <p>A recording shows SQL, routes and correlation IDs, so every dump is refused while no token is
+ * configured. One dump is written at a time; concurrent requests get 429.
+ */
+@Component
+@WebEndpoint(id = "flightrecording")
+public class FlightRecordingEndpoint {
+
+  private static final String BEARER = "Bearer ";
+
+  private final ContinuousRecording recording;
+  private final byte[] token;
+  private final Lock lock = new ReentrantLock();
+
+  public FlightRecordingEndpoint(
+      ContinuousRecording recording, @Value("${echo.profiling.dump-token:}") String token) {
+    this.recording = recording;
+    this.token = token.getBytes(StandardCharsets.UTF_8);
+  }
+
+  @ReadOperation(produces = "application/octet-stream")
+  public WebEndpointResponse<Resource> dump() throws IOException {
+    if (token.length == 0) {
+      return new WebEndpointResponse<>(HttpServletResponse.SC_FORBIDDEN);
+    }
+    if (!authorized()) {
+      return new WebEndpointResponse<>(HttpServletResponse.SC_UNAUTHORIZED);
+    }
+    if (!recording.isRunning()) {
+      return new WebEndpointResponse<>(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+    }
+    if (!lock.tryLock()) {
+      return new WebEndpointResponse<>(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+    }
+    try {
+      Path file = Files.createTempFile("echofinder-", ".jfr");
+      try {
+        recording.dump(file);
+      } catch (IOException | RuntimeException e) {
+        Files.deleteIfExists(file);
+        throw e;
+      }
+      return new WebEndpointResponse<>(new TemporaryFileResource(file));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private boolean authorized() {
+    if (!(RequestContextHolder.getRequestAttributes()
+        instanceof ServletRequestAttributes request)) {
+      return false;
+    }
+    String header = request.getRequest().getHeader(HttpHeaders.AUTHORIZATION);
+    return header != null
+        && header.startsWith(BEARER)
+        && MessageDigest.isEqual(
+            token, header.substring(BEARER.length()).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** Deletes the dump once the response has been streamed. */
+  private static final class TemporaryFileResource extends FileSystemResource {
+
+    TemporaryFileResource(Path file) {
+      super(file);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+      return new FilterInputStream(super.getInputStream()) {
+        @Override
+        public void close() throws IOException {
+          try {
+            super.close();
+          } finally {
+            Files.deleteIfExists(getFile().toPath());
+          }
+        }
+      };
+    }
+
+    @Override
+    public ReadableByteChannel readableChannel() throws IOException {
+      return Channels.newChannel(getInputStream());
+    }
+
+    @Override
+    public boolean isFile() {
+      // Keeps converters on getInputStream(), which deletes the file when done
+      return false;
+    }
+  }
+}
@@ -0,0 +1,178 @@
+package com.echofinder.api.infra.profiling;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Summarizes a flight recording: the sites where the application's events spent the most time, the
+ * methods CPU samples landed in most, and the methods allocation samples charge the most bytes to.
+ *
+ * <p>Samples are charged to their first frame in application code, so time or memory spent in the
+ * JDK or a library counts against the application method that called it; samples without an
+ * application frame are charged to their top frame. Proxies and the {@link RepositoryCallRecorder},
+ * which sit on every repository call's stack, are skipped.
+ *
+ * <p>Uses nothing but the JDK, so it also runs outside the application: {@code java -cp
+ * target/classes com.echofinder.api.infra.profiling.FlightRecordingSummary dump.jfr [top]}.
+ */
+public record FlightRecordingSummary(
+    List<LatencySite> latency, List<SampledSite> cpu, List<SampledSite> allocation) {
+
+  static final String APPLICATION_PACKAGE = "com.echofinder.";
+
+  // By name: loading the class would need Spring on the class path
+  private static final String RECORDER =
+      "com.echofinder.api.infra.profiling.RepositoryCallRecorder";
+
+  public record LatencySite(
+      String event, String site, long count, Duration total, Duration p99, Duration max) {}
+
+  /** Execution samples, or allocation samples and the bytes they stand for. */
+  public record SampledSite(String frame, long samples, long bytes) {}
+
+  public static FlightRecordingSummary read(Path file, int top) throws IOException {
+    Map<List<String>, Durations> latency = new HashMap<>();
+    Map<String, long[]> cpu = new HashMap<>();
+    Map<String, long[]> allocation = new HashMap<>();
+
+    try (RecordingFile recording = new RecordingFile(file)) {
+      while (recording.hasMoreEvents()) {
+        RecordedEvent event = recording.readEvent();
+        String type = event.getEventType().getName();
+        if (event.getEventType().getCategoryNames().contains("EchoFinder")) {
+          latency
+              .computeIfAbsent(
+                  List.of(event.getEventType().getLabel(), String.valueOf(event.getString("site"))),
+                  key -> new Durations())
+              .add(event.getDuration().toNanos());
+        } else if (type.equals("jdk.ExecutionSample")) {
+          cpu.computeIfAbsent(frame(event.getStackTrace()), key -> new long[2])[0]++;
+        } else if (type.equals("jdk.ObjectAllocationSample")) {
+          long[] site =
+              allocation.computeIfAbsent(frame(event.getStackTrace()), key -> new long[2]);
+          site[0]++;
+          site[1] += event.getLong("weight");
+        }
+      }
+    }
+
+    return new FlightRecordingSummary(
+        latency.entrySet().stream()
+            .map(e -> e.getValue().site(e.getKey().get(0), e.getKey().get(1)))
+            .sorted(Comparator.comparing(LatencySite::total).reversed())
+            .limit(top)
+            .toList(),
+        sampled(cpu, Comparator.comparingLong(SampledSite::samples), top),
+        sampled(allocation, Comparator.comparingLong(SampledSite::bytes), top));
+  }
+
+  public void print(PrintStream out) {
+    out.println("Latency by site (application events)");
+    out.printf("%10s %8s %9s %9s  %s%n", "total ms", "count", "p99 ms", "max ms", "event / site");
+    for (LatencySite site : latency) {
+      out.printf(
+          "%10.1f %8d %9.2f %9.2f  %s / %s%n",
+          millis(site.total()),
+          site.count(),
+          millis(site.p99()),
+          millis(site.max()),
+          site.event(),
+          site.site());
+    }
+    out.println();
+    out.println("CPU by method (execution samples)");
+    out.printf("%10s  %s%n", "samples", "method");
+    for (SampledSite site : cpu) {
+      out.printf("%10d  %s%n", site.samples(), site.frame());
+    }
+    out.println();
+    out.println("Allocation by method (allocation samples)");
+    out.printf("%10s %8s  %s%n", "MiB", "samples", "method");
+    for (SampledSite site : allocation) {
+      out.printf("%10.1f %8d  %s%n", site.bytes() / 1048576.0, site.samples(), site.frame());
+    }
+  }
+
+  /** The first application frame, or the top frame when there is none. */
+  static String frame(RecordedStackTrace stackTrace) {
+    if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+      return "<no stack trace>";
+    }
+    for (RecordedFrame frame : stackTrace.getFrames()) {
+      String type = frame.getMethod().getType().getName();
+      if (type.startsWith(APPLICATION_PACKAGE)
+          && !type.contains("$$")
+          && !type.startsWith(RECORDER)) {
+        return name(frame);
+      }
+    }
+    return name(stackTrace.getFrames().get(0));
+  }
+
+  private static String name(RecordedFrame frame) {
+    return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+  }
+
+  private static List<SampledSite> sampled(
+      Map<String, long[]> sites, Comparator<SampledSite> order, int top) {
+    return sites.entrySet().stream()
+        .map(e -> new SampledSite(e.getKey(), e.getValue()[0], e.getValue()[1]))
+        .sorted(order.reversed())
+        .limit(top)
+        .toList();
+  }
+
+  private static double millis(Duration duration) {
+    return duration.toNanos() / 1e6;
+  }
+
+  private static final class Durations {
+
+    private long[] nanos = new long[16];
+    private int size;
+
+    void add(long duration) {
+      if (size == nanos.length) {
+        nanos = Arrays.copyOf(nanos, size * 2);
+      }
+      nanos[size++] = duration;
+    }
+
+    LatencySite site(String event, String site) {
+      long[] sorted = Arrays.copyOf(nanos, size);
+      Arrays.sort(sorted);
+      long total = 0;
+      for (long duration : sorted) {
+        total += duration;
+      }
+      int p99 = Math.max(0, (int) Math.ceil(size * 0.99) - 1);
+      return new LatencySite(
+          event,
+          site,
+          size,
+          Duration.ofNanos(total),
+          Duration.ofNanos(sorted[p99]),
+          Duration.ofNanos(sorted[size - 1]));
+    }
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1) {
+      System.err.println("Usage: FlightRecordingSummary <recording.jfr> [top]");
+      System.exit(2);
+    }
+    int top = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+    read(Path.of(args[0]), top).print(System.out);
+  }
+}
@@ -0,0 +1,37 @@
+package com.echofinder.api.infra.profiling;
+
+import com.echofinder.api.infra.CorrelationIdFilter;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import org.slf4j.MDC;
+
+/**
+ * Base for the application's flight recorder events: where the time went ({@code site}) and the
+ * correlation ID of the request it went to, so a slow call in a recording can be matched to the
+ * request's log lines.
+ *
+ * <p>Create the event, {@link #begin()}, do the work, then {@link #commit(String)}. While no
+ * recording has the event enabled both are close to free, and the correlation ID is only looked up
+ * for events over the recording's threshold. Callers whose site is costly to build check {@link
+ * #shouldCommit()} after {@link #end()} first.
+ */
+@Category("EchoFinder")
+public abstract class ProfiledEvent extends Event {
+
+  @Label("Site")
+  String site;
+
+  @Label("Correlation ID")
+  String correlationId;
+
+  /** Ends the event and records it against {@code site} if it is over the threshold. */
+  public final void commit(String site) {
+    end();
+    if (shouldCommit()) {
+      this.site = site;
+      this.correlationId = MDC.get(CorrelationIdFilter.CORRELATION_ID_MDC_KEY);
+      commit();
+    }
+  }
+}
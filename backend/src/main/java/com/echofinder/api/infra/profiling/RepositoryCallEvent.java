@@ -0,0 +1,10 @@
+package com.echofinder.api.infra.profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("echofinder.RepositoryCall")
+@Label("Repository Call")
+@Description("A call into a @Repository bean; the site is <bean>.<method>")
+public class RepositoryCallEvent extends ProfiledEvent {}
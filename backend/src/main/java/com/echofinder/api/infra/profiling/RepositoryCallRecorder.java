@@ -0,0 +1,56 @@
+package com.echofinder.api.infra.profiling;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Records every call into a {@code @Repository} bean as a {@link RepositoryCallEvent}, for the
+ * JdbcTemplate stores and the Spring Data repositories (whose implementation is a {@code
+ * Repository}) alike. Both are already proxied for exception translation, so the recorder adds an
+ * outermost advisor to the existing proxy rather than wrapping it again.
+ */
+@Component
+public class RepositoryCallRecorder implements BeanPostProcessor {
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    Class<?> type = AopUtils.getTargetClass(bean);
+    if (!AnnotatedElementUtils.hasAnnotation(type, Repository.class)) {
+      return bean;
+    }
+    Advisor advisor = new DefaultPointcutAdvisor(new Interceptor(beanName));
+    if (bean instanceof Advised advised && !advised.isFrozen()) {
+      advised.addAdvisor(0, advisor);
+      return bean;
+    }
+    ProxyFactory proxyFactory = new ProxyFactory(bean);
+    proxyFactory.addAdvisor(advisor);
+    return proxyFactory.getProxy(type.getClassLoader());
+  }
+
+  private record Interceptor(String repository) implements MethodInterceptor {
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+      RepositoryCallEvent event = new RepositoryCallEvent();
+      event.begin();
+      try {
+        return invocation.proceed();
+      } finally {
+        event.end();
+        if (event.shouldCommit()) {
+          event.commit(repository + "." + invocation.getMethod().getName());
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package com.echofinder.api.infra.profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("echofinder.Request")
+@Label("HTTP Request")
+@Description("A request through the filter chain; the site is the method and route template")
+@StackTrace(false)
+public class RequestEvent extends ProfiledEvent {
+
+  @Label("Status")
+  int status;
+
+  public void commit(String site, int status) {
+    this.status = status;
+    commit(site);
+  }
+}
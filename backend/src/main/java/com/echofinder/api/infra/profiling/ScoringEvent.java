@@ -0,0 +1,19 @@
+package com.echofinder.api.infra.profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("echofinder.Scoring")
+@Label("Scoring")
+@Description("Scoring and ranking a set of candidates; the site names the scorer")
+public class ScoringEvent extends ProfiledEvent {
+
+  @Label("Candidates")
+  int candidates;
+
+  public void commit(String site, int candidates) {
+    this.candidates = candidates;
+    commit(site);
+  }
+}
@@ -0,0 +1,10 @@
+package com.echofinder.api.infra.profiling;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("echofinder.TokenHash")
+@Label("Token Hash")
+@Description("Salted SHA-256 of an invite, reset or API token")
+public class TokenHashEvent extends ProfiledEvent {}
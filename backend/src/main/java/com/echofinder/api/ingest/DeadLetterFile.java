@@ -0,0 +1,58 @@
+package com.echofinder.api.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Newline-delimited JSON of the records a feed run could not ingest, with the stage and error, so
+ * they can be fixed and replayed. Created on the first failure; a clean run leaves no file.
+ */
+final class DeadLetterFile implements AutoCloseable {
+
+  private final Path path;
+  private final ObjectMapper objectMapper;
+  private BufferedWriter writer;
+  private long count;
+
+  DeadLetterFile(Path path, ObjectMapper objectMapper) {
+    this.path = path;
+    this.objectMapper = objectMapper;
+  }
+
+  synchronized void write(long line, String stage, Exception error, String raw) {
+    Map<String, Object> entry = new LinkedHashMap<>();
+    entry.put("line", line);
+    entry.put("stage", stage);
+    entry.put("error", error.getClass().getSimpleName() + ": " + error.getMessage());
+    entry.put("record", raw);
+    try {
+      if (writer == null) {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+      }
+      writer.write(objectMapper.writeValueAsString(entry));
+      writer.newLine();
+      count++;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot write dead letter to " + path, e);
+    }
+  }
+
+  synchronized long count() {
+    return count;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (writer != null) {
+      writer.close();
+    }
+  }
+}
@@ -0,0 +1,125 @@
+package com.echofinder.api.ingest;
+
+import com.echofinder.api.ingest.EventSourceStore.Candidate;
+import com.echofinder.api.ingest.EventSourceStore.SourceRef;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Finds which incoming events describe the same show, among themselves and against canonical events
+ * already in the catalog, without comparing every pair.
+ *
+ * <p>{@link #sign} is pure CPU work and safe to run in parallel. {@link #resolve} clusters a batch
+ * with {@link LshClusterer}, then looks up canonical events sharing an LSH bucket with any record.
+ * A cluster merges into, in order of preference: the event a member's source record was merged into
+ * before, the most similar existing event above the threshold, or a new event created from its
+ * first record.
+ */
+@Component
+public class EventDeduplicator {
+
+  private final MinHasher minHasher;
+  private final LshBands lshBands;
+  private final double threshold;
+  private final EventSourceStore store;
+
+  public EventDeduplicator(
+      EventSourceStore store,
+      @Value("${echo.ingest.dedup.hashes:32}") int hashes,
+      @Value("${echo.ingest.dedup.bands:8}") int bands,
+      @Value("${echo.ingest.dedup.threshold:0.7}") double threshold) {
+    if (threshold <= 0 || threshold > 1) {
+      throw new IllegalArgumentException("echo.ingest.dedup.threshold must be in (0, 1]");
+    }
+    this.store = store;
+    this.minHasher = new MinHasher(hashes);
+    this.lshBands = new LshBands(bands, hashes);
+    this.threshold = threshold;
+  }
+
+  /**
+   * Signs the event and keys it by its UTC start date: sources give the same start in different
+   * offsets, and the local date of an evening show can differ between them.
+   */
+  public SignedEvent sign(IncomingEvent event) {
+    int[] signature = minHasher.sign(EventKey.of(event.title(), event.venueName()));
+    long epochDay = LocalDate.ofInstant(event.startsAt().toInstant(), ZoneOffset.UTC).toEpochDay();
+    return new SignedEvent(event, signature, lshBands.keys(signature, epochDay));
+  }
+
+  /** One resolution per record, in batch order. Reads the catalog but writes nothing. */
+  public List<Resolution> resolve(List<SignedEvent> batch) {
+    int[] groups =
+        LshClusterer.cluster(
+            batch.size(),
+            lshBands.bands(),
+            (i, band) -> batch.get(i).lshKeys()[band],
+            (a, b) -> similar(batch.get(a).signature(), batch.get(b).signature()));
+
+    Set<SourceRef> refs = new HashSet<>();
+    Set<Integer> keys = new HashSet<>();
+    for (SignedEvent signed : batch) {
+      refs.add(new SourceRef(signed.event().source(), signed.event().externalId()));
+      for (int key : signed.lshKeys()) {
+        keys.add(key);
+      }
+    }
+    Map<SourceRef, Candidate> known = store.knownSources(refs);
+    Map<Integer, List<Candidate>> candidates = store.candidates(keys);
+
+    Map<Integer, Candidate> targets = new HashMap<>();
+    Map<Integer, Double> scores = new HashMap<>();
+    for (int i = 0; i < batch.size(); i++) {
+      SignedEvent signed = batch.get(i);
+      Candidate previous =
+          known.get(new SourceRef(signed.event().source(), signed.event().externalId()));
+      if (previous != null) {
+        targets.put(groups[i], previous);
+        scores.put(groups[i], Double.POSITIVE_INFINITY);
+        continue;
+      }
+      for (int key : signed.lshKeys()) {
+        for (Candidate candidate : candidates.getOrDefault(key, List.of())) {
+          double similarity = MinHasher.similarity(signed.signature(), candidate.signature());
+          if (similarity >= threshold
+              && similarity > scores.getOrDefault(groups[i], Double.NEGATIVE_INFINITY)) {
+            targets.put(groups[i], candidate);
+            scores.put(groups[i], similarity);
+          }
+        }
+      }
+    }
+
+    // A group's first record is its root, so it is seen before the rest of the group
+    List<Resolution> resolutions = new ArrayList<>(batch.size());
+    for (int i = 0; i < batch.size(); i++) {
+      SignedEvent signed = batch.get(i);
+      Candidate target = targets.get(groups[i]);
+      if (target == null) {
+        target = new Candidate(UUID.randomUUID(), signed.signature());
+        targets.put(groups[i], target);
+        resolutions.add(new Resolution(signed, target.eventId(), true, 1.0));
+        continue;
+      }
+      double similarity =
+          target.signature() == null
+              ? 1.0
+              : MinHasher.similarity(signed.signature(), target.signature());
+      resolutions.add(new Resolution(signed, target.eventId(), false, similarity));
+    }
+    return resolutions;
+  }
+
+  private boolean similar(int[] a, int[] b) {
+    return MinHasher.similarity(a, b) >= threshold;
+  }
+}
@@ -0,0 +1,106 @@
+package com.echofinder.api.ingest;
+
+import com.echofinder.api.catalog.Event;
+import com.echofinder.api.catalog.EventRepository;
+import com.echofinder.api.catalog.Venue;
+import com.echofinder.api.catalog.VenueRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes ingested events into the catalog, one canonical event per show. Resolution and writes run
+ * in one transaction under an advisory lock, so a batch always sees the canonical events created by
+ * the batch before it.
+ */
+@Service
+public class EventIngestService {
+
+  private final EventDeduplicator deduplicator;
+  private final EventSourceStore store;
+  private final EventRepository eventRepository;
+  private final VenueRepository venueRepository;
+  private final Counter created;
+  private final Counter merged;
+
+  public EventIngestService(
+      EventDeduplicator deduplicator,
+      EventSourceStore store,
+      EventRepository eventRepository,
+      VenueRepository venueRepository,
+      MeterRegistry meterRegistry) {
+    this.deduplicator = deduplicator;
+    this.store = store;
+    this.eventRepository = eventRepository;
+    this.venueRepository = venueRepository;
+    this.created = counter(meterRegistry, "created");
+    this.merged = counter(meterRegistry, "merged");
+  }
+
+  @Transactional
+  public IngestSummary ingest(List<IncomingEvent> batch) {
+    return ingestSigned(batch.stream().map(deduplicator::sign).toList());
+  }
+
+  /** For callers that signed the batch already, e.g. on another thread. */
+  @Transactional
+  public IngestSummary ingestSigned(List<SignedEvent> batch) {
+    return ingestLocated(batch.stream().map(signed -> new LocatedEvent(signed, null)).toList());
+  }
+
+  /** As {@link #ingestSigned}, also storing coordinates on the venues it creates or finds. */
+  @Transactional
+  public IngestSummary ingestLocated(List<LocatedEvent> batch) {
+    store.lockIngest();
+    List<Resolution> resolutions =
+        deduplicator.resolve(batch.stream().map(LocatedEvent::signed).toList());
+    List<Resolution> creating = new ArrayList<>();
+    for (int i = 0; i < resolutions.size(); i++) {
+      Resolution resolution = resolutions.get(i);
+      if (!resolution.creates()) {
+        continue;
+      }
+      creating.add(resolution);
+      IncomingEvent incoming = resolution.signed().event();
+      eventRepository.save(
+          new Event(
+              resolution.eventId(),
+              incoming.title(),
+              venue(incoming, batch.get(i).location()),
+              incoming.startsAt(),
+              incoming.currency()));
+    }
+    eventRepository.flush();
+    store.saveSignatures(creating);
+    store.saveSources(resolutions);
+
+    created.increment(creating.size());
+    merged.increment(resolutions.size() - creating.size());
+    return new IngestSummary(creating.size(), resolutions.size() - creating.size());
+  }
+
+  private Venue venue(IncomingEvent incoming, GeoPoint location) {
+    Venue venue =
+        venueRepository
+            .findFirstByNameIgnoreCaseAndCityIgnoreCase(incoming.venueName(), incoming.city())
+            .orElseGet(
+                () ->
+                    venueRepository.save(
+                        new Venue(UUID.randomUUID(), incoming.venueName(), incoming.city())));
+    if (location != null && venue.getLatitude() == null) {
+      venue.setLocation(location.latitude(), location.longitude());
+    }
+    return venue;
+  }
+
+  private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+    return Counter.builder("echo.ingest.events")
+        .description("Ingested event records by dedup outcome")
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+}
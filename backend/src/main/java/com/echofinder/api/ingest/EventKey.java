@@ -0,0 +1,56 @@
+package com.echofinder.api.ingest;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalized text that sources agree on for the same event: accents, case, punctuation and filler
+ * words removed from title and venue. The date is kept apart; it partitions LSH buckets instead of
+ * being shingled, so the same show on consecutive nights is never merged.
+ */
+public final class EventKey {
+
+  private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+  private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{Alnum}]+");
+  private static final Set<String> FILLER =
+      Set.of("the", "at", "live", "in", "and", "feat", "ft", "presents", "tickets");
+
+  private EventKey() {}
+
+  public static String of(String title, String venueName) {
+    return normalize(title) + " " + normalize(venueName);
+  }
+
+  static String normalize(String text) {
+    // Decomposition is the expensive step and a no-op for plain ASCII, which most titles are
+    String decomposed =
+        isAscii(text)
+            ? text
+            : COMBINING_MARKS
+                .matcher(Normalizer.normalize(text, Normalizer.Form.NFKD))
+                .replaceAll("");
+    String folded = decomposed.replace("&", " and ").toLowerCase(Locale.ROOT);
+    StringBuilder out = new StringBuilder(folded.length());
+    for (String word : NON_ALPHANUMERIC.split(folded)) {
+      if (word.isEmpty() || FILLER.contains(word)) {
+        continue;
+      }
+      if (!out.isEmpty()) {
+        out.append(' ');
+      }
+      out.append(word);
+    }
+    return out.toString();
+  }
+
+  private static boolean isAscii(String text) {
+    for (int i = 0; i < text.length(); i++) {
+      if (text.charAt(i) > 0x7f) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,149 @@
+package com.echofinder.api.ingest;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/** Signatures, LSH keys and provenance of ingested events; see {@code V5__event_dedup.sql}. */
+@Repository
+public class EventSourceStore {
+
+  /** Serializes ingestion so two batches cannot both create the same canonical event. */
+  private static final long INGEST_LOCK = 0x1_7e57_d3d0L;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public EventSourceStore(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /** Held until the surrounding transaction ends. */
+  public void lockIngest() {
+    jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", rs -> null, INGEST_LOCK);
+  }
+
+  /** Canonical event already recorded for each known {@code source/externalId}. */
+  public Map<SourceRef, Candidate> knownSources(Collection<SourceRef> refs) {
+    Map<SourceRef, Candidate> known = new HashMap<>();
+    if (refs.isEmpty()) {
+      return known;
+    }
+    List<String> sources = new ArrayList<>(refs.size());
+    List<String> externalIds = new ArrayList<>(refs.size());
+    for (SourceRef ref : refs) {
+      sources.add(ref.source());
+      externalIds.add(ref.externalId());
+    }
+    jdbcTemplate.query(
+        connection -> {
+          var statement =
+              connection.prepareStatement(
+                  "SELECT s.source, s.external_id, s.event_id, e.minhash FROM event_sources s"
+                      + " JOIN events e ON e.id = s.event_id"
+                      + " JOIN unnest(?::text[], ?::text[]) AS r(source, external_id)"
+                      + " ON s.source = r.source AND s.external_id = r.external_id");
+          statement.setArray(1, connection.createArrayOf("text", sources.toArray()));
+          statement.setArray(2, connection.createArrayOf("text", externalIds.toArray()));
+          return statement;
+        },
+        rs -> {
+          byte[] signature = rs.getBytes(4);
+          known.put(
+              new SourceRef(rs.getString(1), rs.getString(2)),
+              new Candidate(
+                  rs.getObject(3, UUID.class),
+                  signature == null ? null : MinHasher.fromBytes(signature)));
+        });
+    return known;
+  }
+
+  /** Canonical events in any of the given LSH buckets, grouped by bucket key. */
+  public Map<Integer, List<Candidate>> candidates(Collection<Integer> lshKeys) {
+    Map<Integer, List<Candidate>> byKey = new HashMap<>();
+    if (lshKeys.isEmpty()) {
+      return byKey;
+    }
+    jdbcTemplate.query(
+        connection -> {
+          var statement =
+              connection.prepareStatement(
+                  "SELECT k.lsh_key, k.event_id, e.minhash FROM event_lsh_keys k"
+                      + " JOIN events e ON e.id = k.event_id WHERE k.lsh_key = ANY(?)");
+          Array keys = connection.createArrayOf("integer", lshKeys.toArray());
+          statement.setArray(1, keys);
+          return statement;
+        },
+        rs -> {
+          byKey
+              .computeIfAbsent(rs.getInt(1), key -> new ArrayList<>())
+              .add(new Candidate(rs.getObject(2, UUID.class), MinHasher.fromBytes(rs.getBytes(3))));
+        });
+    return byKey;
+  }
+
+  public void saveSignatures(List<Resolution> created) {
+    jdbcTemplate.batchUpdate(
+        "UPDATE events SET minhash = ? WHERE id = ?",
+        created,
+        500,
+        (ps, resolution) -> {
+          ps.setBytes(1, MinHasher.toBytes(resolution.signed().signature()));
+          ps.setObject(2, resolution.eventId());
+        });
+    List<Object[]> keys = new ArrayList<>();
+    for (Resolution resolution : created) {
+      for (int key : resolution.signed().lshKeys()) {
+        keys.add(new Object[] {key, resolution.eventId()});
+      }
+    }
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO event_lsh_keys (lsh_key, event_id) VALUES (?, ?) ON CONFLICT DO NOTHING",
+        keys);
+  }
+
+  /**
+   * Records or refreshes the provenance of every resolved record. A record repeated in the batch is
+   * saved once, as its last occurrence: rewritten into one multi-row statement, the upsert would
+   * otherwise hit the same row twice, which Postgres rejects.
+   */
+  public void saveSources(List<Resolution> resolutions) {
+    Map<SourceRef, Resolution> latest = new LinkedHashMap<>();
+    for (Resolution resolution : resolutions) {
+      IncomingEvent event = resolution.signed().event();
+      latest.put(new SourceRef(event.source(), event.externalId()), resolution);
+    }
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO event_sources"
+            + " (source, external_id, event_id, title, venue_name, starts_at, similarity)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?)"
+            + " ON CONFLICT (source, external_id) DO UPDATE SET event_id = EXCLUDED.event_id,"
+            + " title = EXCLUDED.title, venue_name = EXCLUDED.venue_name,"
+            + " starts_at = EXCLUDED.starts_at, similarity = EXCLUDED.similarity,"
+            + " last_seen_at = now()",
+        latest.values(),
+        500,
+        (ps, resolution) -> {
+          IncomingEvent event = resolution.signed().event();
+          ps.setString(1, event.source());
+          ps.setString(2, event.externalId());
+          ps.setObject(3, resolution.eventId());
+          ps.setString(4, event.title());
+          ps.setString(5, event.venueName());
+          ps.setTimestamp(6, Timestamp.from(event.startsAt().toInstant()));
+          ps.setFloat(7, (float) resolution.similarity());
+        });
+  }
+
+  public record SourceRef(String source, String externalId) {}
+
+  /** A canonical event; {@code signature} is null for events that were not ingested. */
+  public record Candidate(UUID eventId, int[] signature) {}
+}
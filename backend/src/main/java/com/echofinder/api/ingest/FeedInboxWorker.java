@@ -0,0 +1,122 @@
+package com.echofinder.api.ingest;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Picks up feed files dropped into the inbox directory. A file named {@code
+ * <source>.<anything>.ndjson} is ingested as {@code <source>}, then moved to {@code done/}; records
+ * that failed are written to {@code failed/} under the same file name.
+ *
+ * <p>A feed whose run fails as a whole (unreadable, aborted by a stage error, timed out) is moved
+ * to {@code failed/} in place of its partial dead letters, with the error next to it in {@code
+ * <name>.error}, and the next feed is ingested; one bad file does not hold up the inbox.
+ *
+ * <p>A large feed takes minutes, so the scheduler only hands the inbox to a thread of its own and
+ * returns; the other scheduled jobs (outbox, rollups, replica lag probes) keep running meanwhile.
+ */
+@Component
+public class FeedInboxWorker implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(FeedInboxWorker.class);
+
+  private final FeedPipeline pipeline;
+  private final Path inbox;
+  private final boolean enabled;
+  private final ExecutorService executor =
+      Executors.newSingleThreadExecutor(
+          Thread.ofPlatform().daemon().name("ingest-inbox").factory());
+  private final AtomicBoolean draining = new AtomicBoolean();
+
+  public FeedInboxWorker(
+      FeedPipeline pipeline,
+      @Value("${echo.ingest.inbox.path:data/inbox}") Path inbox,
+      @Value("${echo.ingest.inbox.enabled:true}") boolean enabled) {
+    this.pipeline = pipeline;
+    this.inbox = inbox;
+    this.enabled = enabled;
+  }
+
+  @Scheduled(fixedDelayString = "${echo.ingest.inbox.interval-ms:60000}")
+  public void poll() {
+    if (enabled && Files.isDirectory(inbox) && draining.compareAndSet(false, true)) {
+      executor.execute(
+          () -> {
+            try {
+              drain();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            } catch (IOException | RuntimeException e) {
+              log.error("Draining the feed inbox failed", e);
+            } finally {
+              draining.set(false);
+            }
+          });
+    }
+  }
+
+  /** Ingests every feed currently in the inbox, oldest name first. */
+  public List<FeedRunSummary> drain() throws IOException, InterruptedException {
+    List<Path> feeds = new ArrayList<>();
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(inbox, "*.ndjson")) {
+      files.forEach(feeds::add);
+    }
+    feeds.sort(null);
+    List<FeedRunSummary> summaries = new ArrayList<>();
+    for (Path feed : feeds) {
+      if (!pipeline.isRunning()) {
+        // Shutting down: the rest is picked up after the restart
+        break;
+      }
+      String fileName = feed.getFileName().toString();
+      String source = fileName.substring(0, fileName.indexOf('.'));
+      Path failed = inbox.resolve("failed").resolve(fileName);
+      FeedRunSummary summary;
+      try {
+        summary = pipeline.run(source, feed, failed);
+      } catch (FeedRunException | IOException e) {
+        log.error("Ingesting {} failed, moving it to {}", fileName, failed, e);
+        Files.createDirectories(failed.getParent());
+        Files.move(feed, failed, StandardCopyOption.REPLACE_EXISTING);
+        try (PrintWriter error =
+            new PrintWriter(
+                Files.newBufferedWriter(
+                    failed.resolveSibling(fileName + ".error"), StandardCharsets.UTF_8))) {
+          e.printStackTrace(error);
+        }
+        continue;
+      }
+      Path done = Files.createDirectories(inbox.resolve("done")).resolve(fileName);
+      Files.move(feed, done, StandardCopyOption.REPLACE_EXISTING);
+      log.info(
+          "Ingested {}: {} records, {} new events, {} merged, {} dead-lettered",
+          fileName,
+          summary.records(),
+          summary.created(),
+          summary.merged(),
+          summary.deadLettered());
+      summaries.add(summary);
+    }
+    return summaries;
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,12 @@
+package com.echofinder.api.ingest;
+
+/**
+ * A record travelling through the {@link FeedPipeline}: the current stage's input plus what is
+ * needed to dead-letter it (its run, line number and raw text) and to measure queueing lag.
+ */
+record FeedItem<T>(FeedRun run, long line, String raw, T value, long enqueuedNanos) {
+
+  <R> FeedItem<R> next(R nextValue) {
+    return new FeedItem<>(run, line, raw, nextValue, System.nanoTime());
+  }
+}
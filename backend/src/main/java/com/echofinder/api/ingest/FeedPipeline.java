@@ -0,0 +1,209 @@
+package com.echofinder.api.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ingests feed files through five stages, each with its own bounded queue and threads:
+ *
+ * <ol>
+ *   <li>{@code parse}: JSON line to {@link FeedRecord}
+ *   <li>{@code normalize}: validation and cleanup into an {@link IncomingEvent}
+ *   <li>{@code dedup}: MinHash signature and LSH keys, the CPU-heavy part of deduplication
+ *   <li>{@code geocode}: city coordinates from the {@link LocalGeocoder} table
+ *   <li>{@code persist}: batches resolved against the catalog and written in one transaction
+ * </ol>
+ *
+ * <p>Only signing is CPU-bound, so it gets all cores but one by default; the other stages are cheap
+ * or wait on the database. That keeps a core and most of the connection pool for request threads
+ * while a feed runs. Persistence defaults to one thread because ingest transactions are serialized
+ * by an advisory lock anyway; throughput there comes from the batch size.
+ *
+ * <p>Records that fail any stage are written to the run's dead-letter file and do not stop the run.
+ * One feed runs at a time.
+ */
+@Component
+public class FeedPipeline implements SmartLifecycle {
+
+  private final ObjectMapper objectMapper;
+  private final LocalGeocoder geocoder;
+  private final PipelineStage<String, FeedRecord> parse;
+  private final List<PipelineStage<?, ?>> stages;
+  private final ReentrantLock runLock = new ReentrantLock();
+  private final Duration runTimeout;
+  private volatile boolean running;
+
+  public FeedPipeline(
+      EventDeduplicator deduplicator,
+      LocalGeocoder geocoder,
+      EventIngestService ingestService,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      @Value("${echo.ingest.pipeline.queue-capacity:1000}") int capacity,
+      @Value("${echo.ingest.pipeline.parse-threads:1}") int parseThreads,
+      @Value("${echo.ingest.pipeline.normalize-threads:1}") int normalizeThreads,
+      @Value("${echo.ingest.pipeline.dedup-threads:0}") int dedupThreads,
+      @Value("${echo.ingest.pipeline.geocode-threads:1}") int geocodeThreads,
+      @Value("${echo.ingest.pipeline.persist-threads:1}") int persistThreads,
+      @Value("${echo.ingest.pipeline.persist-batch-size:500}") int persistBatchSize,
+      @Value("${echo.ingest.pipeline.persist-linger-ms:200}") long persistLingerMillis,
+      @Value("${echo.ingest.pipeline.run-timeout:PT1H}") Duration runTimeout) {
+    this.objectMapper = objectMapper;
+    this.runTimeout = runTimeout;
+    this.geocoder = geocoder;
+    ObjectReader reader = objectMapper.readerFor(FeedRecord.class);
+
+    PipelineStage<LocatedEvent, Void> persist =
+        new PipelineStage<>(
+            "persist",
+            persistThreads,
+            capacity,
+            persistBatchSize,
+            persistLingerMillis,
+            items -> {
+              IngestSummary summary =
+                  ingestService.ingestLocated(items.stream().map(FeedItem::value).toList());
+              // A run completes before the next starts, so a batch never spans two runs
+              items.get(0).run().ingested(summary);
+              return List.of();
+            },
+            null,
+            meterRegistry);
+    PipelineStage<SignedEvent, LocatedEvent> geocode =
+        new PipelineStage<>(
+            "geocode",
+            geocodeThreads,
+            capacity,
+            1,
+            0,
+            PipelineStage.each(
+                item ->
+                    new LocatedEvent(
+                        item.value(),
+                        geocoder.locate(
+                            item.value().event().country(), item.value().event().city()))),
+            persist,
+            meterRegistry);
+    PipelineStage<IncomingEvent, SignedEvent> dedup =
+        new PipelineStage<>(
+            "dedup",
+            dedupThreads > 0
+                ? dedupThreads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+            capacity,
+            1,
+            0,
+            PipelineStage.each(item -> deduplicator.sign(item.value())),
+            geocode,
+            meterRegistry);
+    PipelineStage<FeedRecord, IncomingEvent> normalize =
+        new PipelineStage<>(
+            "normalize",
+            normalizeThreads,
+            capacity,
+            1,
+            0,
+            PipelineStage.each(
+                item -> FeedRecordNormalizer.normalize(item.run().source(), item.value())),
+            dedup,
+            meterRegistry);
+    this.parse =
+        new PipelineStage<>(
+            "parse",
+            parseThreads,
+            capacity,
+            1,
+            0,
+            PipelineStage.each(item -> reader.<FeedRecord>readValue(item.value())),
+            normalize,
+            meterRegistry);
+    this.stages = List.of(parse, normalize, dedup, geocode, persist);
+  }
+
+  /**
+   * Ingests a newline-delimited JSON feed and blocks until every record is persisted or
+   * dead-lettered.
+   *
+   * @throws IllegalStateException when another feed is running or the pipeline is stopped
+   * @throws FeedRunException when the feed cannot be read, or the run is aborted or outlasts {@code
+   *     echo.ingest.pipeline.run-timeout}
+   */
+  public FeedRunSummary run(String source, Path feed, Path deadLetterPath)
+      throws IOException, InterruptedException {
+    if (!running) {
+      throw new IllegalStateException("Feed pipeline is not running");
+    }
+    if (!runLock.tryLock()) {
+      throw new IllegalStateException("Another feed is being ingested");
+    }
+    try (DeadLetterFile deadLetters = new DeadLetterFile(deadLetterPath, objectMapper);
+        BufferedReader lines = Files.newBufferedReader(feed, StandardCharsets.UTF_8)) {
+      geocoder.refresh();
+      FeedRun run = new FeedRun(source, deadLetters);
+      long lineNumber = 0;
+      long records = 0;
+      String line;
+      try {
+        // An aborted run stops reading; its completion holds the error
+        while (!run.aborted() && (line = lines.readLine()) != null) {
+          lineNumber++;
+          if (line.isBlank()) {
+            continue;
+          }
+          records++;
+          run.read();
+          parse.put(new FeedItem<>(run, lineNumber, line, line, System.nanoTime()));
+        }
+      } catch (IOException e) {
+        // Drops what was queued of an unreadable feed, as for a timeout
+        run.abort(e);
+        throw new FeedRunException("Cannot read feed " + feed, e);
+      }
+      run.readFinished();
+      try {
+        run.completion().get(runTimeout.toMillis(), TimeUnit.MILLISECONDS);
+      } catch (TimeoutException e) {
+        // Drops the run's records still queued so they cannot end up in the next run's batches
+        run.abort(e);
+        throw new FeedRunException("Feed run did not finish within " + runTimeout, e);
+      }
+      return new FeedRunSummary(source, records, run.created(), run.merged(), deadLetters.count());
+    } catch (ExecutionException e) {
+      throw new FeedRunException("Feed run failed", e.getCause());
+    } finally {
+      runLock.unlock();
+    }
+  }
+
+  @Override
+  public void start() {
+    stages.forEach(PipelineStage::start);
+    running = true;
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    stages.forEach(PipelineStage::stop);
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+}
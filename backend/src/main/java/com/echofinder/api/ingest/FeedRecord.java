@@ -0,0 +1,17 @@
+package com.echofinder.api.ingest;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * One line of a feed file as the source sent it; validated by {@link FeedRecordNormalizer}. {@code
+ * country} is an optional ISO 3166 alpha-2 code.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record FeedRecord(
+    String id,
+    String title,
+    String venue,
+    String city,
+    String country,
+    String startsAt,
+    String currency) {}
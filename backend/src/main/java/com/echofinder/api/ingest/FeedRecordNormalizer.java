@@ -0,0 +1,57 @@
+package com.echofinder.api.ingest;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Turns a raw feed record into an {@link IncomingEvent}: required fields present, whitespace
+ * collapsed, currency and country upper-cased, start time parsed. Rejections throw {@link
+ * IllegalArgumentException} and end up in the feed's dead-letter file.
+ */
+public final class FeedRecordNormalizer {
+
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+  private static final Pattern CURRENCY = Pattern.compile("[A-Z]{3}");
+  private static final Pattern COUNTRY = Pattern.compile("[A-Z]{2}");
+
+  private FeedRecordNormalizer() {}
+
+  public static IncomingEvent normalize(String source, FeedRecord record) {
+    String currency = required("currency", record.currency()).toUpperCase(Locale.ROOT);
+    if (!CURRENCY.matcher(currency).matches()) {
+      throw new IllegalArgumentException("currency must be an ISO 4217 code: " + currency);
+    }
+    String country = record.country() == null ? "" : record.country().strip();
+    if (!country.isEmpty()) {
+      country = country.toUpperCase(Locale.ROOT);
+      if (!COUNTRY.matcher(country).matches()) {
+        throw new IllegalArgumentException("country must be an ISO 3166 alpha-2 code: " + country);
+      }
+    }
+    OffsetDateTime startsAt;
+    try {
+      startsAt = OffsetDateTime.parse(required("startsAt", record.startsAt()));
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("startsAt must be an ISO-8601 offset date-time", e);
+    }
+    return new IncomingEvent(
+        source,
+        required("id", record.id()),
+        required("title", record.title()),
+        required("venue", record.venue()),
+        required("city", record.city()),
+        country.isEmpty() ? null : country,
+        startsAt,
+        currency);
+  }
+
+  private static String required(String field, String value) {
+    String collapsed = value == null ? "" : WHITESPACE.matcher(value.strip()).replaceAll(" ");
+    if (collapsed.isEmpty()) {
+      throw new IllegalArgumentException(field + " is required");
+    }
+    return collapsed;
+  }
+}
@@ -0,0 +1,97 @@
+package com.echofinder.api.ingest;
+
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bookkeeping for one feed going through the pipeline. Every record read is pending until it is
+ * persisted or dead-lettered; the run is complete once reading has finished and nothing is pending,
+ * or aborted when a stage fails in a way no single record can be blamed for.
+ */
+final class FeedRun {
+
+  private static final Logger log = LoggerFactory.getLogger(FeedRun.class);
+
+  private final String source;
+  private final DeadLetterFile deadLetters;
+  private final AtomicLong pending = new AtomicLong();
+  private final AtomicInteger created = new AtomicInteger();
+  private final AtomicInteger merged = new AtomicInteger();
+  private final CompletableFuture<Void> completion = new CompletableFuture<>();
+  private volatile boolean readFinished;
+
+  FeedRun(String source, DeadLetterFile deadLetters) {
+    this.source = source;
+    this.deadLetters = deadLetters;
+  }
+
+  String source() {
+    return source;
+  }
+
+  DeadLetterFile deadLetters() {
+    return deadLetters;
+  }
+
+  void read() {
+    pending.incrementAndGet();
+  }
+
+  void readFinished() {
+    readFinished = true;
+    if (pending.get() == 0) {
+      completion.complete(null);
+    }
+  }
+
+  void ingested(IngestSummary summary) {
+    created.addAndGet(summary.created());
+    merged.addAndGet(summary.merged());
+  }
+
+  /** A record left the last stage. */
+  void completed() {
+    done();
+  }
+
+  void failed(long line, String stage, Exception error, String raw) {
+    try {
+      deadLetters.write(line, stage, error, raw);
+    } catch (UncheckedIOException e) {
+      log.error("Lost dead letter for {} line {}: {}", source, line, error.getMessage(), e);
+    } finally {
+      done();
+    }
+  }
+
+  /** Ends the run with an error; its records still in the pipeline are dropped. */
+  void abort(Throwable error) {
+    completion.completeExceptionally(error);
+  }
+
+  boolean aborted() {
+    return completion.isCompletedExceptionally();
+  }
+
+  CompletableFuture<Void> completion() {
+    return completion;
+  }
+
+  int created() {
+    return created.get();
+  }
+
+  int merged() {
+    return merged.get();
+  }
+
+  private void done() {
+    if (pending.decrementAndGet() == 0 && readFinished) {
+      completion.complete(null);
+    }
+  }
+}
@@ -0,0 +1,9 @@
+package com.echofinder.api.ingest;
+
+/** A feed run that could not read its feed, was aborted or timed out; it may be partly ingested. */
+public class FeedRunException extends IllegalStateException {
+
+  public FeedRunException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,5 @@
+package com.echofinder.api.ingest;
+
+/** Outcome of one feed file: every record read was either persisted or dead-lettered. */
+public record FeedRunSummary(
+    String source, long records, int created, int merged, long deadLettered) {}
@@ -0,0 +1,3 @@
+package com.echofinder.api.ingest;
+
+public record GeoPoint(double latitude, double longitude) {}
@@ -0,0 +1,17 @@
+package com.echofinder.api.ingest;
+
+import java.time.OffsetDateTime;
+
+/**
+ * One event as a ticket source describes it, before deduplication. {@code country} is an ISO 3166
+ * alpha-2 code, or null when the source does not say.
+ */
+public record IncomingEvent(
+    String source,
+    String externalId,
+    String title,
+    String venueName,
+    String city,
+    String country,
+    OffsetDateTime startsAt,
+    String currency) {}
@@ -0,0 +1,4 @@
+package com.echofinder.api.ingest;
+
+/** Outcome of one ingested batch: records that created a canonical event or merged into one. */
+public record IngestSummary(int created, int merged) {}
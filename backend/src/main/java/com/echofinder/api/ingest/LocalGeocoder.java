@@ -0,0 +1,62 @@
+package com.echofinder.api.ingest;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * City to coordinates from the {@code geo_places} table, held in memory: a city list is small
+ * enough that a lookup per record should not cost a query, let alone a remote call. Places are
+ * keyed by country and city; a city name found in more than one country is only resolved when the
+ * record names its country.
+ */
+@Component
+public class LocalGeocoder {
+
+  private final JdbcTemplate jdbcTemplate;
+  private volatile Places places = new Places(Map.of(), Map.of());
+
+  public LocalGeocoder(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /** Reloads the table; called before each feed so gazetteer updates apply without a restart. */
+  public void refresh() {
+    Map<String, GeoPoint> byCountry = new HashMap<>();
+    Map<String, GeoPoint> byCity = new HashMap<>();
+    Set<String> ambiguous = new HashSet<>();
+    jdbcTemplate.query(
+        "SELECT country_code, city_key, latitude, longitude FROM geo_places",
+        rs -> {
+          String city = rs.getString(2);
+          GeoPoint point = new GeoPoint(rs.getDouble(3), rs.getDouble(4));
+          byCountry.put(key(rs.getString(1), city), point);
+          if (byCity.putIfAbsent(city, point) != null) {
+            ambiguous.add(city);
+          }
+        });
+    byCity.keySet().removeAll(ambiguous);
+    places = new Places(Map.copyOf(byCountry), Map.copyOf(byCity));
+  }
+
+  /**
+   * Coordinates of {@code city} in {@code country}, or null when the gazetteer does not know it.
+   * Without a country only a city name no two countries share is resolved.
+   */
+  public GeoPoint locate(String country, String city) {
+    Places current = places;
+    String cityKey = EventKey.normalize(city);
+    return country == null
+        ? current.byCity().get(cityKey)
+        : current.byCountry().get(key(country, cityKey));
+  }
+
+  private static String key(String country, String cityKey) {
+    return country + ":" + cityKey;
+  }
+
+  private record Places(Map<String, GeoPoint> byCountry, Map<String, GeoPoint> byCity) {}
+}
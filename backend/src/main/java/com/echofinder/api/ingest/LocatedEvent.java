@@ -0,0 +1,4 @@
+package com.echofinder.api.ingest;
+
+/** A signed event and its city's coordinates; {@code location} is null when the city is unknown. */
+public record LocatedEvent(SignedEvent signed, GeoPoint location) {}
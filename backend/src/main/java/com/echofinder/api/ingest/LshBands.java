@@ -0,0 +1,45 @@
+package com.echofinder.api.ingest;
+
+/**
+ * Locality-sensitive hashing over MinHash signatures: {@code bands} groups of {@code rows}
+ * positions, each hashed to one key. Two events become candidates when any band key matches, which
+ * happens with probability {@code 1 - (1 - s^rows)^bands} for similarity {@code s}; the curve is
+ * steepest around {@code (1/bands)^(1/rows)}.
+ *
+ * <p>Keys also hash the band index and the event date, so one integer key is enough to look up a
+ * bucket and events on different days never collide except by chance.
+ */
+public final class LshBands {
+
+  private final int bands;
+  private final int rows;
+
+  public LshBands(int bands, int signatureLength) {
+    if (bands < 1 || signatureLength % bands != 0) {
+      throw new IllegalArgumentException("bands must divide the signature length");
+    }
+    this.bands = bands;
+    this.rows = signatureLength / bands;
+  }
+
+  public int bands() {
+    return bands;
+  }
+
+  /** Similarity at which an event pair becomes a candidate with probability about one half. */
+  public double threshold() {
+    return Math.pow(1.0 / bands, 1.0 / rows);
+  }
+
+  public int[] keys(int[] signature, long epochDay) {
+    int[] keys = new int[bands];
+    for (int band = 0; band < bands; band++) {
+      long hash = MinHasher.mix(epochDay * 31 + band);
+      for (int row = band * rows; row < (band + 1) * rows; row++) {
+        hash = MinHasher.mix(hash ^ signature[row]);
+      }
+      keys[band] = (int) hash;
+    }
+    return keys;
+  }
+}
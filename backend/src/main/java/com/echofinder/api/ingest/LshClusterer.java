@@ -0,0 +1,84 @@
+package com.echofinder.api.ingest;
+
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Groups records whose LSH keys collide and that pass a similarity check, in {@code O(bands * n log
+ * n)}. Each band's keys are packed with the record index into one {@code long[]} and sorted, so
+ * records sharing a bucket end up adjacent; only neighbours in a run are compared, and pairs
+ * already in the same group are not compared at all. Memory beyond the caller's data is one {@code
+ * long} and one {@code int} per record.
+ */
+public final class LshClusterer {
+
+  @FunctionalInterface
+  public interface PairTest {
+    boolean test(int a, int b);
+  }
+
+  private LshClusterer() {}
+
+  /**
+   * Returns each record's group as the index of the group's first record.
+   *
+   * @param bandKey LSH key of record {@code i} in band {@code b}
+   * @param sameEvent final check for a candidate pair
+   */
+  public static int[] cluster(int size, int bands, IntBinaryOperator bandKey, PairTest sameEvent) {
+    int[] parent = new int[size];
+    for (int i = 0; i < size; i++) {
+      parent[i] = i;
+    }
+    long[] packed = new long[size];
+    for (int band = 0; band < bands; band++) {
+      for (int i = 0; i < size; i++) {
+        packed[i] = ((long) bandKey.applyAsInt(i, band) << 32) | i;
+      }
+      Arrays.sort(packed);
+      int runStart = 0;
+      for (int i = 1; i <= size; i++) {
+        if (i < size && (packed[i] >>> 32) == (packed[runStart] >>> 32)) {
+          continue;
+        }
+        // Compare each member with the run's first member and its predecessor: linear in the run,
+        // and enough to connect runs whose members chain together
+        int first = (int) packed[runStart];
+        for (int j = runStart + 1; j < i; j++) {
+          int member = (int) packed[j];
+          union(parent, first, member, sameEvent);
+          if (j > runStart + 1) {
+            union(parent, (int) packed[j - 1], member, sameEvent);
+          }
+        }
+        runStart = i;
+      }
+    }
+    for (int i = 0; i < size; i++) {
+      parent[i] = find(parent, i);
+    }
+    return parent;
+  }
+
+  private static void union(int[] parent, int a, int b, PairTest sameEvent) {
+    int rootA = find(parent, a);
+    int rootB = find(parent, b);
+    if (rootA == rootB || !sameEvent.test(a, b)) {
+      return;
+    }
+    // The smaller index becomes the root, so groups are named by their first record
+    if (rootA < rootB) {
+      parent[rootB] = rootA;
+    } else {
+      parent[rootA] = rootB;
+    }
+  }
+
+  private static int find(int[] parent, int i) {
+    while (parent[i] != i) {
+      parent[i] = parent[parent[i]];
+      i = parent[i];
+    }
+    return i;
+  }
+}
@@ -0,0 +1,97 @@
+package com.echofinder.api.ingest;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures over character shingles. The fraction of positions where two signatures agree
+ * estimates the Jaccard similarity of the two shingle sets, with standard error {@code
+ * sqrt(s(1-s)/hashes)}.
+ *
+ * <p>Signatures are stored with canonical events, so the hash functions are derived from a fixed
+ * seed and must not change once signatures exist.
+ */
+public final class MinHasher {
+
+  private static final long SEED = 0x5eed_ec40_f1d3_12L;
+  static final int SHINGLE = 3;
+
+  private final long[] multipliers;
+  private final long[] offsets;
+
+  public MinHasher(int hashes) {
+    if (hashes < 1) {
+      throw new IllegalArgumentException("hashes must be positive");
+    }
+    SplittableRandom random = new SplittableRandom(SEED);
+    this.multipliers = new long[hashes];
+    this.offsets = new long[hashes];
+    for (int i = 0; i < hashes; i++) {
+      multipliers[i] = random.nextLong() | 1;
+      offsets[i] = random.nextLong();
+    }
+  }
+
+  public int hashes() {
+    return multipliers.length;
+  }
+
+  public int[] sign(CharSequence text) {
+    int[] signature = new int[multipliers.length];
+    Arrays.fill(signature, Integer.MAX_VALUE);
+    int shingles = Math.max(1, text.length() - SHINGLE + 1);
+    for (int start = 0; start < shingles; start++) {
+      long shingle = shingleHash(text, start, Math.min(text.length(), start + SHINGLE));
+      for (int i = 0; i < multipliers.length; i++) {
+        // Multiply-shift: the high 31 bits of a*x + b are pairwise independent for odd a
+        int hash = (int) ((multipliers[i] * shingle + offsets[i]) >>> 33);
+        if (hash < signature[i]) {
+          signature[i] = hash;
+        }
+      }
+    }
+    return signature;
+  }
+
+  /** Fraction of agreeing positions; an estimate of Jaccard similarity. */
+  public static double similarity(int[] a, int[] b) {
+    if (a.length != b.length) {
+      throw new IllegalArgumentException("Signatures have different lengths");
+    }
+    int equal = 0;
+    for (int i = 0; i < a.length; i++) {
+      if (a[i] == b[i]) {
+        equal++;
+      }
+    }
+    return (double) equal / a.length;
+  }
+
+  public static byte[] toBytes(int[] signature) {
+    ByteBuffer buffer = ByteBuffer.allocate(signature.length * 4);
+    buffer.asIntBuffer().put(signature);
+    return buffer.array();
+  }
+
+  public static int[] fromBytes(byte[] bytes) {
+    int[] signature = new int[bytes.length / 4];
+    ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+    return signature;
+  }
+
+  private static long shingleHash(CharSequence text, int from, int to) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = from; i < to; i++) {
+      hash = (hash ^ text.charAt(i)) * 0x100000001b3L;
+    }
+    return mix(hash);
+  }
+
+  // SplitMix64 finalizer
+  static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+}
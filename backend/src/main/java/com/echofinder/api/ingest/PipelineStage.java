@@ -0,0 +1,227 @@
+package com.echofinder.api.ingest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * One stage of the {@link FeedPipeline}: a bounded queue drained by a fixed number of threads. A
+ * full queue blocks whoever feeds it, so a slow stage throttles the reader instead of the feed
+ * piling up in memory.
+ *
+ * <p>Workers take up to {@code batchSize} items, waiting at most {@code linger} for a batch to
+ * fill. When a batch fails its items are retried one at a time, so only the bad record goes to the
+ * dead-letter file. Anything else a batch throws, an {@link Error} included, aborts the runs its
+ * items belong to and the worker carries on with the next batch.
+ */
+final class PipelineStage<I, O> {
+
+  private static final Logger log = LoggerFactory.getLogger(PipelineStage.class);
+
+  /** Processes a batch; returns one output per item, or nothing for the last stage. */
+  @FunctionalInterface
+  interface Step<I, O> {
+    List<O> apply(List<FeedItem<I>> items) throws Exception;
+  }
+
+  @FunctionalInterface
+  interface ItemStep<I, O> {
+    O apply(FeedItem<I> item) throws Exception;
+  }
+
+  private final String name;
+  private final int parallelism;
+  private final int batchSize;
+  private final long lingerNanos;
+  private final BlockingQueue<FeedItem<I>> queue;
+  private final Step<I, O> step;
+  private final PipelineStage<O, ?> downstream;
+  private final List<Thread> workers = new ArrayList<>();
+
+  private final Counter succeeded;
+  private final Counter failed;
+  private final Timer lag;
+  private final Timer busy;
+
+  PipelineStage(
+      String name,
+      int parallelism,
+      int capacity,
+      int batchSize,
+      long lingerMillis,
+      Step<I, O> step,
+      PipelineStage<O, ?> downstream,
+      MeterRegistry meterRegistry) {
+    if (parallelism < 1 || capacity < 1 || batchSize < 1) {
+      throw new IllegalArgumentException(
+          "Stage " + name + " needs positive parallelism, capacity and batch size");
+    }
+    this.name = name;
+    this.parallelism = parallelism;
+    this.batchSize = batchSize;
+    this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.step = step;
+    this.downstream = downstream;
+    this.succeeded = counter(meterRegistry, "ok");
+    this.failed = counter(meterRegistry, "failed");
+    this.lag =
+        Timer.builder("echo.ingest.stage.lag")
+            .description("Time records wait in a stage's queue")
+            .tag("stage", name)
+            .register(meterRegistry);
+    this.busy =
+        Timer.builder("echo.ingest.stage.batch")
+            .description("Time a stage spends processing one batch")
+            .tag("stage", name)
+            .register(meterRegistry);
+    Gauge.builder("echo.ingest.stage.queue", queue, BlockingQueue::size)
+        .description("Records waiting in a stage's queue")
+        .tag("stage", name)
+        .register(meterRegistry);
+  }
+
+  /** Adapts a per-record function; records are processed and fail independently. */
+  static <I, O> Step<I, O> each(ItemStep<I, O> itemStep) {
+    return items -> {
+      List<O> outputs = new ArrayList<>(items.size());
+      for (FeedItem<I> item : items) {
+        outputs.add(itemStep.apply(item));
+      }
+      return outputs;
+    };
+  }
+
+  String name() {
+    return name;
+  }
+
+  void put(FeedItem<I> item) throws InterruptedException {
+    queue.put(item);
+  }
+
+  synchronized void start() {
+    for (int i = 0; i < parallelism; i++) {
+      workers.add(Thread.ofPlatform().daemon().name("ingest-" + name + "-" + i).start(this::work));
+    }
+  }
+
+  synchronized void stop() {
+    workers.forEach(Thread::interrupt);
+    for (Thread worker : workers) {
+      try {
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    workers.clear();
+  }
+
+  private void work() {
+    List<FeedItem<I>> batch = new ArrayList<>(batchSize);
+    try {
+      while (true) {
+        batch.add(queue.take());
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < batchSize) {
+          FeedItem<I> next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+          if (next == null) {
+            break;
+          }
+          batch.add(next);
+        }
+        try {
+          process(batch);
+        } catch (RuntimeException | Error e) {
+          abort(batch, e);
+        }
+        batch.clear();
+      }
+    } catch (InterruptedException e) {
+      if (!batch.isEmpty()) {
+        log.warn("Ingest stage {} stopped with {} records in hand", name, batch.size());
+      }
+    }
+  }
+
+  private void process(List<FeedItem<I>> batch) throws InterruptedException {
+    batch.removeIf(item -> item.run().aborted());
+    if (batch.isEmpty()) {
+      return;
+    }
+    long now = System.nanoTime();
+    for (FeedItem<I> item : batch) {
+      lag.record(now - item.enqueuedNanos(), TimeUnit.NANOSECONDS);
+    }
+    List<O> outputs = apply(batch);
+    if (outputs != null) {
+      forward(batch, outputs);
+      return;
+    }
+    if (batch.size() == 1) {
+      return;
+    }
+    for (FeedItem<I> item : batch) {
+      List<FeedItem<I>> single = List.of(item);
+      List<O> output = apply(single);
+      if (output != null) {
+        forward(single, output);
+      }
+    }
+  }
+
+  /** Runs the step; on failure dead-letters a single record and returns null. */
+  private List<O> apply(List<FeedItem<I>> items) {
+    long started = System.nanoTime();
+    try {
+      return step.apply(items);
+    } catch (Exception e) {
+      if (items.size() == 1) {
+        FeedItem<I> item = items.get(0);
+        failed.increment();
+        item.run().failed(item.line(), name, e, item.raw());
+      }
+      return null;
+    } finally {
+      busy.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private void abort(List<FeedItem<I>> batch, Throwable error) {
+    failed.increment(batch.size());
+    for (FeedRun run : batch.stream().map(FeedItem::run).distinct().toList()) {
+      log.error("Ingest stage {} aborted the {} feed run", name, run.source(), error);
+      run.abort(error);
+    }
+  }
+
+  private void forward(List<FeedItem<I>> items, List<O> outputs) throws InterruptedException {
+    succeeded.increment(items.size());
+    for (int i = 0; i < items.size(); i++) {
+      FeedItem<I> item = items.get(i);
+      if (downstream == null) {
+        item.run().completed();
+      } else {
+        downstream.put(item.next(outputs.get(i)));
+      }
+    }
+  }
+
+  private Counter counter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("echo.ingest.stage.records")
+        .description("Records processed per ingest stage")
+        .tag("stage", name)
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+}
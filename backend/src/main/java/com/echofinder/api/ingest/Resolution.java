@@ -0,0 +1,10 @@
+package com.echofinder.api.ingest;
+
+import java.util.UUID;
+
+/**
+ * Where one incoming event goes: the canonical event it merges into, or a new canonical event when
+ * {@code creates} is set. {@code similarity} is the estimated Jaccard similarity to the canonical
+ * event, 1.0 for the record that creates it.
+ */
+public record Resolution(SignedEvent signed, UUID eventId, boolean creates, double similarity) {}
@@ -0,0 +1,4 @@
+package com.echofinder.api.ingest;
+
+/** An incoming event with its MinHash signature and LSH keys; see {@link EventDeduplicator}. */
+public record SignedEvent(IncomingEvent event, int[] signature, int[] lshKeys) {}
@@ -14,6 +14,7 @@ import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import java.time.OffsetDateTime;
 import java.util.UUID;
+import org.hibernate.annotations.TenantId;
 
 @Entity
 @Table(name = "invites")
@@ -21,10 +22,15 @@ public class Invite {
 
   @Id private UUID id;
 
+  // Always the inviter's tenant
+  @TenantId
+  @Column(name = "tenant_id", nullable = false, updatable = false)
+  private String tenantId;
+
   @Column(nullable = false)
   private String email;
 
-  @Column(name = "token_hash", nullable = false, unique = true)
+  @Column(name = "token_hash", nullable = false)
   private String tokenHash;
 
   @Enumerated(EnumType.STRING)
@@ -57,6 +63,7 @@ public class Invite {
       User inviter,
       OffsetDateTime expiresAt) {
     this.id = id;
+    this.tenantId = inviter.getTenantId();
     this.email = email;
     this.tokenHash = tokenHash;
     this.invitedRole = invitedRole;
@@ -82,6 +89,10 @@ public class Invite {
     this.id = id;
   }
 
+  public String getTenantId() {
+    return tenantId;
+  }
+
   public String getEmail() {
     return email;
   }
@@ -3,8 +3,23 @@ package com.echofinder.api.invite;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface InviteRepository extends JpaRepository<Invite, UUID> {
 
+  // Hibernate restricts queries to the current tenant but not loads by primary key
+  @Override
+  @Transactional(readOnly = true)
+  @Query("SELECT i FROM Invite i WHERE i.id = :id")
+  Optional<Invite> findById(@Param("id") UUID id);
+
+  @Override
+  @Transactional(readOnly = true)
+  @Query("SELECT count(i) > 0 FROM Invite i WHERE i.id = :id")
+  boolean existsById(@Param("id") UUID id);
+
+  @Transactional(readOnly = true)
   Optional<Invite> findByTokenHash(String tokenHash);
 }
@@ -0,0 +1,86 @@
+package com.echofinder.api.outbox;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stand-in for a real mail/push provider.
+ *
+ * <p>Appends one tab-separated line per message to {@code echo.outbox.sink-file} when configured,
+ * otherwise logs the message. Replace by declaring another {@link NotificationSender} bean.
+ */
+@Component
+public class LocalSinkNotificationSender implements NotificationSender, DisposableBean {
+
+  private static final Logger log = LoggerFactory.getLogger(LocalSinkNotificationSender.class);
+
+  private final BufferedWriter writer;
+
+  public LocalSinkNotificationSender(@Value("${echo.outbox.sink-file:}") String sinkFile) {
+    if (sinkFile == null || sinkFile.isBlank()) {
+      this.writer = null;
+      return;
+    }
+    try {
+      Path path = Path.of(sinkFile);
+      if (path.getParent() != null) {
+        Files.createDirectories(path.getParent());
+      }
+      this.writer =
+          Files.newBufferedWriter(
+              path,
+              StandardCharsets.UTF_8,
+              StandardOpenOption.CREATE,
+              StandardOpenOption.APPEND,
+              StandardOpenOption.WRITE);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot open notification sink " + sinkFile, e);
+    }
+  }
+
+  @Override
+  public void send(OutboxMessage message) {
+    if (writer == null) {
+      log.info(
+          "Notification {} {} to {}", message.getType(), message.getId(), message.getRecipient());
+      return;
+    }
+    String line =
+        Instant.now()
+            + "\t"
+            + message.getType()
+            + "\t"
+            + message.getId()
+            + "\t"
+            + message.getRecipient()
+            + "\t"
+            + message.getPayload().replace('\n', ' ')
+            + "\n";
+    try {
+      synchronized (writer) {
+        writer.write(line);
+        writer.flush();
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to write notification " + message.getId(), e);
+    }
+  }
+
+  @Override
+  public void destroy() throws IOException {
+    if (writer != null) {
+      writer.close();
+    }
+  }
+}
@@ -0,0 +1,13 @@
+package com.echofinder.api.outbox;
+
+/**
+ * Delivers a single outbox message to its channel (SMTP, push, ...).
+ *
+ * <p>Implementations signal a failed delivery by throwing; the dispatcher then schedules a retry.
+ * Delivery is at-least-once, so a message may be handed to the sender more than once if a
+ * dispatcher dies between sending and committing.
+ */
+public interface NotificationSender {
+
+  void send(OutboxMessage message);
+}
@@ -0,0 +1,6 @@
+package com.echofinder.api.outbox;
+
+public enum NotificationType {
+  INVITE_EMAIL,
+  PRICE_ALERT
+}
@@ -0,0 +1,37 @@
+package com.echofinder.api.outbox;
+
+import java.time.Duration;
+
+/**
+ * Exponential retry schedule: {@code initial * 2^(attempt - 1)}, capped at {@code max}.
+ *
+ * @param initial delay before the first retry
+ * @param max upper bound for any single delay
+ */
+public record OutboxBackoff(Duration initial, Duration max) {
+
+  public OutboxBackoff {
+    if (initial == null || initial.isNegative() || initial.isZero()) {
+      throw new IllegalArgumentException("Initial backoff must be positive");
+    }
+    if (max == null || max.compareTo(initial) < 0) {
+      throw new IllegalArgumentException("Max backoff must be at least the initial backoff");
+    }
+  }
+
+  /**
+   * Returns the delay to wait after the given number of failed attempts.
+   *
+   * @param attempts failed attempts so far, starting at 1
+   */
+  public Duration delayAfter(int attempts) {
+    if (attempts < 1) {
+      throw new IllegalArgumentException("Attempts must be at least 1");
+    }
+    int exponent = Math.min(attempts - 1, 62);
+    if (initial.toMillis() > (max.toMillis() >> exponent)) {
+      return max;
+    }
+    return Duration.ofMillis(initial.toMillis() << exponent);
+  }
+}
@@ -0,0 +1,166 @@
+package com.echofinder.api.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Drains the outbox in batches.
+ *
+ * <p>Each batch is claimed with {@code FOR UPDATE SKIP LOCKED} and delivered inside the claiming
+ * transaction, so any number of replicas can poll concurrently without double-sending, and rows
+ * held by a pod that dies are released as soon as its connection drops. Failed deliveries are
+ * retried with {@link OutboxBackoff} until {@code echo.outbox.max-attempts} is reached, after which
+ * the row is parked as {@link OutboxStatus#DEAD}.
+ */
+@Component
+public class OutboxDispatcher {
+
+  private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+  private final OutboxRepository outboxRepository;
+  private final NotificationSender sender;
+  private final TransactionTemplate transactionTemplate;
+  private final OutboxBackoff backoff;
+  private final boolean enabled;
+  private final int batchSize;
+  private final int maxBatchesPerPoll;
+  private final int maxAttempts;
+  private final Duration retention;
+
+  private final Counter sentCounter;
+  private final Counter retryCounter;
+  private final Counter deadCounter;
+  private final Timer batchTimer;
+
+  public OutboxDispatcher(
+      OutboxRepository outboxRepository,
+      NotificationSender sender,
+      TransactionTemplate transactionTemplate,
+      MeterRegistry meterRegistry,
+      @Value("${echo.outbox.enabled:true}") boolean enabled,
+      @Value("${echo.outbox.batch-size:500}") int batchSize,
+      @Value("${echo.outbox.max-batches-per-poll:20}") int maxBatchesPerPoll,
+      @Value("${echo.outbox.max-attempts:8}") int maxAttempts,
+      @Value("${echo.outbox.initial-backoff:PT5S}") Duration initialBackoff,
+      @Value("${echo.outbox.max-backoff:PT1H}") Duration maxBackoff,
+      @Value("${echo.outbox.retention:P7D}") Duration retention) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("echo.outbox.batch-size must be positive");
+    }
+    this.outboxRepository = outboxRepository;
+    this.sender = sender;
+    this.transactionTemplate = transactionTemplate;
+    this.backoff = new OutboxBackoff(initialBackoff, maxBackoff);
+    this.enabled = enabled;
+    this.batchSize = batchSize;
+    this.maxBatchesPerPoll = maxBatchesPerPoll;
+    this.maxAttempts = maxAttempts;
+    this.retention = retention;
+
+    this.sentCounter = deliveryCounter(meterRegistry, "sent");
+    this.retryCounter = deliveryCounter(meterRegistry, "retry");
+    this.deadCounter = deliveryCounter(meterRegistry, "dead");
+    this.batchTimer =
+        Timer.builder("echo.outbox.batch")
+            .description("Time to claim and deliver one outbox batch")
+            .register(meterRegistry);
+  }
+
+  private static Counter deliveryCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("echo.outbox.deliveries")
+        .description("Outbox delivery attempts by result")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  /** Keeps claiming batches until the backlog is empty or the per-poll cap is hit. */
+  @Scheduled(fixedDelayString = "${echo.outbox.poll-interval-ms:500}")
+  public void poll() {
+    if (!enabled) {
+      return;
+    }
+    for (int i = 0; i < maxBatchesPerPoll; i++) {
+      if (dispatchBatch() < batchSize) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Claims and delivers a single batch.
+   *
+   * @return number of messages claimed, whether or not delivery succeeded
+   */
+  public int dispatchBatch() {
+    Integer claimed = batchTimer.record(() -> transactionTemplate.execute(status -> deliver()));
+    return claimed == null ? 0 : claimed;
+  }
+
+  private int deliver() {
+    List<OutboxMessage> batch = outboxRepository.claimBatch(batchSize);
+    if (batch.isEmpty()) {
+      return 0;
+    }
+
+    OffsetDateTime now = OffsetDateTime.now();
+    List<UUID> sentIds = new ArrayList<>(batch.size());
+    for (OutboxMessage message : batch) {
+      try {
+        sender.send(message);
+        sentIds.add(message.getId());
+      } catch (RuntimeException e) {
+        int attempt = message.getAttempts() + 1;
+        message.markFailed(e.getMessage(), now.plus(backoff.delayAfter(attempt)), maxAttempts);
+        if (message.getStatus() == OutboxStatus.DEAD) {
+          deadCounter.increment();
+          log.error(
+              "Giving up on {} {} after {} attempts",
+              message.getType(),
+              message.getId(),
+              attempt,
+              e);
+        } else {
+          retryCounter.increment();
+          log.warn(
+              "Delivery of {} {} failed (attempt {}): {}",
+              message.getType(),
+              message.getId(),
+              attempt,
+              e.getMessage());
+        }
+      }
+    }
+
+    if (!sentIds.isEmpty()) {
+      outboxRepository.markSent(sentIds, now);
+      sentCounter.increment(sentIds.size());
+    }
+    return batch.size();
+  }
+
+  /** Deletes delivered rows older than {@code echo.outbox.retention}, a chunk at a time. */
+  @Scheduled(fixedDelayString = "${echo.outbox.purge-interval-ms:3600000}")
+  public void purge() {
+    if (!enabled) {
+      return;
+    }
+    OffsetDateTime cutoff = OffsetDateTime.now().minus(retention);
+    int deleted;
+    do {
+      deleted =
+          transactionTemplate.execute(status -> outboxRepository.purgeSentBefore(cutoff, 5_000));
+    } while (deleted == 5_000);
+  }
+}
@@ -0,0 +1,117 @@
+package com.echofinder.api.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "outbox")
+public class OutboxMessage {
+
+  @Id private UUID id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private NotificationType type;
+
+  @Column(nullable = false)
+  private String recipient;
+
+  @Column(nullable = false)
+  private String payload;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private OutboxStatus status;
+
+  @Column(nullable = false)
+  private int attempts;
+
+  @Column(name = "available_at", nullable = false)
+  private OffsetDateTime availableAt;
+
+  @Column(name = "last_error")
+  private String lastError;
+
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private OffsetDateTime createdAt;
+
+  @Column(name = "sent_at")
+  private OffsetDateTime sentAt;
+
+  protected OutboxMessage() {}
+
+  public OutboxMessage(UUID id, NotificationType type, String recipient, String payload) {
+    this.id = id;
+    this.type = type;
+    this.recipient = recipient;
+    this.payload = payload;
+    this.status = OutboxStatus.PENDING;
+  }
+
+  @PrePersist
+  protected void onCreate() {
+    OffsetDateTime now = OffsetDateTime.now();
+    this.createdAt = now;
+    if (this.availableAt == null) {
+      this.availableAt = now;
+    }
+  }
+
+  /** Records a failed delivery attempt and schedules the next one, or gives up. */
+  public void markFailed(String error, OffsetDateTime retryAt, int maxAttempts) {
+    this.attempts++;
+    this.lastError = error;
+    if (attempts >= maxAttempts) {
+      this.status = OutboxStatus.DEAD;
+    } else {
+      this.availableAt = retryAt;
+    }
+  }
+
+  public UUID getId() {
+    return id;
+  }
+
+  public NotificationType getType() {
+    return type;
+  }
+
+  public String getRecipient() {
+    return recipient;
+  }
+
+  public String getPayload() {
+    return payload;
+  }
+
+  public OutboxStatus getStatus() {
+    return status;
+  }
+
+  public int getAttempts() {
+    return attempts;
+  }
+
+  public OffsetDateTime getAvailableAt() {
+    return availableAt;
+  }
+
+  public String getLastError() {
+    return lastError;
+  }
+
+  public OffsetDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public OffsetDateTime getSentAt() {
+    return sentAt;
+  }
+}
@@ -0,0 +1,41 @@
+package com.echofinder.api.outbox;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface OutboxRepository extends JpaRepository<OutboxMessage, UUID> {
+
+  /**
+   * Locks up to {@code limit} deliverable rows. Rows already locked by another dispatcher are
+   * skipped rather than waited on, so replicas drain disjoint batches concurrently. Must be called
+   * inside a transaction; the locks are held until it commits.
+   */
+  @Query(
+      value =
+          "SELECT * FROM outbox WHERE status = 'PENDING' AND available_at <= now()"
+              + " ORDER BY available_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+      nativeQuery = true)
+  List<OutboxMessage> claimBatch(@Param("limit") int limit);
+
+  @Modifying
+  @Query(
+      "UPDATE OutboxMessage m SET m.status = com.echofinder.api.outbox.OutboxStatus.SENT,"
+          + " m.sentAt = :sentAt, m.attempts = m.attempts + 1 WHERE m.id IN :ids")
+  int markSent(@Param("ids") Collection<UUID> ids, @Param("sentAt") OffsetDateTime sentAt);
+
+  @Modifying
+  @Query(
+      value =
+          "DELETE FROM outbox WHERE id IN (SELECT id FROM outbox WHERE status = 'SENT'"
+              + " AND sent_at < :cutoff LIMIT :limit)",
+      nativeQuery = true)
+  int purgeSentBefore(@Param("cutoff") OffsetDateTime cutoff, @Param("limit") int limit);
+
+  long countByStatus(OutboxStatus status);
+}
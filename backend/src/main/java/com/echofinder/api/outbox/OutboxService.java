@@ -0,0 +1,37 @@
+package com.echofinder.api.outbox;
+
+import java.util.UUID;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Entry point for queueing notifications.
+ *
+ * <p>Messages are written to the {@code outbox} table in the caller's transaction, so a
+ * notification exists if and only if the change that triggered it was committed. Delivery happens
+ * later on {@link OutboxDispatcher}, never on the request thread.
+ */
+@Service
+public class OutboxService {
+
+  private final OutboxRepository outboxRepository;
+
+  public OutboxService(OutboxRepository outboxRepository) {
+    this.outboxRepository = outboxRepository;
+  }
+
+  /**
+   * Queues a notification as part of the current transaction.
+   *
+   * @throws org.springframework.transaction.IllegalTransactionStateException if called outside a
+   *     transaction
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public OutboxMessage enqueue(NotificationType type, String recipient, String payload) {
+    if (recipient == null || recipient.isBlank()) {
+      throw new IllegalArgumentException("Notification recipient cannot be null or blank");
+    }
+    return outboxRepository.save(new OutboxMessage(UUID.randomUUID(), type, recipient, payload));
+  }
+}
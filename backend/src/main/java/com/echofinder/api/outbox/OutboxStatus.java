@@ -0,0 +1,7 @@
+package com.echofinder.api.outbox;
+
+public enum OutboxStatus {
+  PENDING,
+  SENT,
+  DEAD
+}
@@ -0,0 +1,19 @@
+package com.echofinder.api.price;
+
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+public class PriceConfig {
+
+  @Bean
+  public RollupRetention rollupRetention(
+      @Value("${echo.prices.retention.raw:P30D}") Duration raw,
+      @Value("${echo.prices.retention.hourly:P30D}") Duration hourly,
+      @Value("${echo.prices.retention.daily:P730D}") Duration daily,
+      @Value("${echo.prices.retention.weekly:0s}") Duration weekly) {
+    return new RollupRetention(raw, hourly, daily, weekly);
+  }
+}
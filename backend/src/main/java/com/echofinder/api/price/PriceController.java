@@ -0,0 +1,67 @@
+package com.echofinder.api.price;
+
+import com.echofinder.api.infra.http.ConditionalResponses;
+import com.echofinder.api.infra.http.EntityTags;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/api/events")
+public class PriceController {
+
+  static final Duration DEFAULT_RANGE = Duration.ofDays(90);
+
+  private final PriceSeriesService priceSeriesService;
+  private final ConditionalResponses conditionalResponses;
+
+  public PriceController(
+      PriceSeriesService priceSeriesService, ConditionalResponses conditionalResponses) {
+    this.priceSeriesService = priceSeriesService;
+    this.conditionalResponses = conditionalResponses;
+  }
+
+  /**
+   * Price history for one event. Defaults to the last 90 days; the resolution is chosen from the
+   * range. The ETag covers the buckets in the range, so it only changes when one of them does; it
+   * is read before the series, so a concurrent rollup can only make it older than the body.
+   */
+  @GetMapping("/{eventId}/prices")
+  public ResponseEntity<PriceSeries> prices(
+      @PathVariable UUID eventId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          Instant from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          Instant to,
+      WebRequest request) {
+    // Open-ended ranges stop at the next hour boundary so repeated requests share an ETag
+    Instant end = to != null ? to : RollupResolution.HOURLY.ceil(Instant.now());
+    Instant start = from != null ? from : end.minus(DEFAULT_RANGE);
+    if (!start.isBefore(end)) {
+      throw new IllegalArgumentException("from must be before to");
+    }
+    SeriesVersion version = priceSeriesService.version(eventId, start, end);
+    String etag =
+        EntityTags.ofVersion(
+            eventId
+                + ":"
+                + start
+                + ":"
+                + end
+                + ":"
+                + version.resolution()
+                + ":"
+                + version.buckets(),
+            version.txid());
+    return conditionalResponses.ok(
+        request, etag, () -> priceSeriesService.series(eventId, start, end));
+  }
+}
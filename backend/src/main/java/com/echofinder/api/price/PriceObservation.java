@@ -0,0 +1,72 @@
+package com.echofinder.api.price;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * One ticket price seen on one source. Rows are append-only; the rollup worker folds them into
+ * {@link RollupResolution} buckets and retention deletes them once they have been folded.
+ */
+@Entity
+@Table(name = "price_observations")
+public class PriceObservation {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "price_observations_seq")
+  @SequenceGenerator(
+      name = "price_observations_seq",
+      sequenceName = "price_observations_seq",
+      allocationSize = 50)
+  private Long id;
+
+  @Column(name = "event_id", nullable = false, updatable = false)
+  private UUID eventId;
+
+  @Column(nullable = false, updatable = false)
+  private String source;
+
+  @Column(name = "price_cents", nullable = false, updatable = false)
+  private long priceCents;
+
+  @Column(name = "observed_at", nullable = false, updatable = false)
+  private OffsetDateTime observedAt;
+
+  protected PriceObservation() {}
+
+  public PriceObservation(UUID eventId, String source, long priceCents, OffsetDateTime observedAt) {
+    if (priceCents < 0) {
+      throw new IllegalArgumentException("priceCents must not be negative");
+    }
+    this.eventId = eventId;
+    this.source = source;
+    this.priceCents = priceCents;
+    this.observedAt = observedAt;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public UUID getEventId() {
+    return eventId;
+  }
+
+  public String getSource() {
+    return source;
+  }
+
+  public long getPriceCents() {
+    return priceCents;
+  }
+
+  public OffsetDateTime getObservedAt() {
+    return observedAt;
+  }
+}
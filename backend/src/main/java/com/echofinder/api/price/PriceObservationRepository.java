@@ -0,0 +1,5 @@
+package com.echofinder.api.price;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PriceObservationRepository extends JpaRepository<PriceObservation, Long> {}
@@ -0,0 +1,7 @@
+package com.echofinder.api.price;
+
+import java.time.Instant;
+
+/** Aggregated prices for one bucket, in minor units of the event's currency. */
+public record PricePoint(
+    Instant bucketStart, long observations, long minCents, long maxCents, long avgCents) {}
@@ -0,0 +1,29 @@
+package com.echofinder.api.price;
+
+import java.time.Instant;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Operator entry point for rebuilding rollups after a historical import: {@code POST
+ * /actuator/pricerollups} with {@code {"from": "...", "to": "..."}}. Not exposed unless added to
+ * {@code management.endpoints.web.exposure.include}.
+ */
+@Component
+@Endpoint(id = "pricerollups", enableByDefault = false)
+public class PriceRollupEndpoint {
+
+  private final PriceRollupWorker worker;
+
+  public PriceRollupEndpoint(PriceRollupWorker worker) {
+    this.worker = worker;
+  }
+
+  @WriteOperation
+  public Map<String, Object> backfill(Instant from, Instant to) {
+    worker.backfill(from, to);
+    return Map.of("from", from, "to", to, "status", "rebuilt");
+  }
+}
@@ -0,0 +1,143 @@
+package com.echofinder.api.price;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * SQL for the price rollups. Ranges are {@code [from, to)} of {@code xid8} positions; see {@code
+ * TransactionWatermarks}.
+ *
+ * <p>Table names come from {@link RollupResolution} constants, never from input.
+ */
+@Repository
+public class PriceRollupStore {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public PriceRollupStore(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * End of a chunk starting at {@code from} that holds about {@code maxRows} raw rows and stops at
+   * {@code horizon}. Chunks end on transaction boundaries, so one transaction that wrote more rows
+   * than that still goes in a single chunk.
+   */
+  public long chunkEnd(long from, long horizon, int maxRows) {
+    List<Long> next =
+        jdbcTemplate.queryForList(
+            "SELECT txid::text::bigint FROM price_observations"
+                + " WHERE txid >= ?::text::xid8 AND txid < ?::text::xid8"
+                + " ORDER BY txid OFFSET ? LIMIT 1",
+            Long.class,
+            from,
+            horizon,
+            maxRows);
+    if (next.isEmpty()) {
+      return horizon;
+    }
+    return next.get(0) > from ? next.get(0) : next.get(0) + 1;
+  }
+
+  /** Folds raw rows written in {@code [from, to)} into existing buckets. */
+  public int applyRange(RollupResolution resolution, long from, long to) {
+    return jdbcTemplate.update(
+        "INSERT INTO "
+            + resolution.table()
+            + " AS r (event_id, bucket_start, observations, sum_cents, min_cents, max_cents)"
+            + " SELECT event_id, date_trunc('"
+            + resolution.truncUnit()
+            + "', observed_at, 'UTC'), count(*), sum(price_cents), min(price_cents),"
+            + " max(price_cents)"
+            + " FROM price_observations WHERE txid >= ?::text::xid8 AND txid < ?::text::xid8"
+            + " GROUP BY 1, 2"
+            + " ON CONFLICT (event_id, bucket_start) DO UPDATE SET"
+            + " observations = r.observations + EXCLUDED.observations,"
+            + " sum_cents = r.sum_cents + EXCLUDED.sum_cents,"
+            + " min_cents = LEAST(r.min_cents, EXCLUDED.min_cents),"
+            + " max_cents = GREATEST(r.max_cents, EXCLUDED.max_cents)",
+        from,
+        to);
+  }
+
+  /**
+   * Rebuilds the buckets in {@code [from, to)} (bucket-aligned) from the raw rows below {@code
+   * watermark}; rows above it are still to be applied incrementally.
+   */
+  public int rebuild(RollupResolution resolution, Instant from, Instant to, long watermark) {
+    jdbcTemplate.update(
+        "DELETE FROM " + resolution.table() + " WHERE bucket_start >= ? AND bucket_start < ?",
+        Timestamp.from(from),
+        Timestamp.from(to));
+    return jdbcTemplate.update(
+        "INSERT INTO "
+            + resolution.table()
+            + " (event_id, bucket_start, observations, sum_cents, min_cents, max_cents)"
+            + " SELECT event_id, date_trunc('"
+            + resolution.truncUnit()
+            + "', observed_at, 'UTC'), count(*), sum(price_cents), min(price_cents),"
+            + " max(price_cents)"
+            + " FROM price_observations"
+            + " WHERE observed_at >= ? AND observed_at < ? AND txid < ?::text::xid8"
+            + " GROUP BY 1, 2",
+        Timestamp.from(from),
+        Timestamp.from(to),
+        watermark);
+  }
+
+  public int deleteBucketsBefore(RollupResolution resolution, Instant cutoff, int limit) {
+    return jdbcTemplate.update(
+        "DELETE FROM "
+            + resolution.table()
+            + " WHERE (event_id, bucket_start) IN (SELECT event_id, bucket_start FROM "
+            + resolution.table()
+            + " WHERE bucket_start < ? LIMIT ?)",
+        Timestamp.from(cutoff),
+        limit);
+  }
+
+  /** Deletes raw rows observed before {@code cutoff} that are already folded into the rollups. */
+  public int deleteRawBefore(Instant cutoff, long watermark, int limit) {
+    return jdbcTemplate.update(
+        "DELETE FROM price_observations WHERE id IN (SELECT id FROM price_observations"
+            + " WHERE observed_at < ? AND txid < ?::text::xid8 LIMIT ?)",
+        Timestamp.from(cutoff),
+        watermark,
+        limit);
+  }
+
+  SeriesVersion version(RollupResolution resolution, UUID eventId, Instant from, Instant to) {
+    return jdbcTemplate.queryForObject(
+        "SELECT count(*), coalesce(max(txid)::text::bigint, 0) FROM "
+            + resolution.table()
+            + " WHERE event_id = ? AND bucket_start >= ? AND bucket_start < ?",
+        (rs, rowNum) -> new SeriesVersion(resolution, rs.getLong(1), rs.getLong(2)),
+        eventId,
+        Timestamp.from(resolution.floor(from)),
+        Timestamp.from(to));
+  }
+
+  public List<PricePoint> series(
+      RollupResolution resolution, UUID eventId, Instant from, Instant to) {
+    return jdbcTemplate.query(
+        "SELECT bucket_start, observations, min_cents, max_cents, sum_cents / observations"
+            + " FROM "
+            + resolution.table()
+            + " WHERE event_id = ? AND bucket_start >= ? AND bucket_start < ?"
+            + " ORDER BY bucket_start",
+        (rs, rowNum) ->
+            new PricePoint(
+                rs.getTimestamp(1).toInstant(),
+                rs.getLong(2),
+                rs.getLong(3),
+                rs.getLong(4),
+                rs.getLong(5)),
+        eventId,
+        Timestamp.from(resolution.floor(from)),
+        Timestamp.from(to));
+  }
+}
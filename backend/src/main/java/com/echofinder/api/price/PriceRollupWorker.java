@@ -0,0 +1,185 @@
+package com.echofinder.api.price;
+
+import com.echofinder.api.infra.TransactionWatermarks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.IntSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the price rollups current.
+ *
+ * <p>Each run folds the raw rows committed since the last run into every {@link RollupResolution}
+ * in chunks of about {@code chunk-rows} rows. A chunk locks the watermark row, updates every level
+ * and moves the watermark in one transaction, so a crash leaves either all levels updated for the
+ * chunk or none, and a backlog (an outage, a long transaction holding back the horizon) is worked
+ * off in statements that each stay within the query timeout. Replicas skip the run when another one
+ * holds the lock. {@link #backfill} rebuilds a historical range from raw data under the same lock,
+ * one window per transaction.
+ */
+@Component
+public class PriceRollupWorker {
+
+  static final String WATERMARK = "price_rollups";
+
+  private static final Logger log = LoggerFactory.getLogger(PriceRollupWorker.class);
+  private static final int PURGE_CHUNK = 5_000;
+  private static final Duration MIN_BACKFILL_WINDOW = Duration.ofDays(1);
+
+  private enum Chunk {
+    SKIPPED,
+    MORE,
+    CAUGHT_UP
+  }
+
+  private final PriceRollupStore store;
+  private final TransactionWatermarks watermarks;
+  private final TransactionTemplate transactionTemplate;
+  private final RollupRetention retention;
+  private final boolean enabled;
+  private final int chunkRows;
+
+  private final Timer runTimer;
+  private final Map<RollupResolution, Counter> bucketCounters =
+      new EnumMap<>(RollupResolution.class);
+
+  public PriceRollupWorker(
+      PriceRollupStore store,
+      TransactionWatermarks watermarks,
+      TransactionTemplate transactionTemplate,
+      RollupRetention retention,
+      MeterRegistry meterRegistry,
+      @Value("${echo.prices.rollup.enabled:true}") boolean enabled,
+      @Value("${echo.prices.rollup.chunk-rows:50000}") int chunkRows) {
+    this.store = store;
+    this.watermarks = watermarks;
+    this.transactionTemplate = transactionTemplate;
+    this.retention = retention;
+    this.enabled = enabled;
+    this.chunkRows = chunkRows;
+    this.runTimer =
+        Timer.builder("echo.prices.rollup.run")
+            .description("Time to fold newly committed price observations into the rollups")
+            .register(meterRegistry);
+    for (RollupResolution resolution : RollupResolution.values()) {
+      bucketCounters.put(
+          resolution,
+          Counter.builder("echo.prices.rollup.buckets")
+              .description("Rollup buckets inserted or updated")
+              .tag("resolution", resolution.name().toLowerCase())
+              .register(meterRegistry));
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${echo.prices.rollup.interval-ms:10000}")
+  public void poll() {
+    if (enabled) {
+      rollUp();
+    }
+  }
+
+  /**
+   * Folds everything committed since the last run into the rollups.
+   *
+   * @return whether this call did the work (false when another worker holds the watermark)
+   */
+  public boolean rollUp() {
+    Chunk chunk;
+    do {
+      chunk = runTimer.record(() -> transactionTemplate.execute(status -> rollUpChunk()));
+      if (chunk == Chunk.SKIPPED) {
+        return false;
+      }
+    } while (chunk == Chunk.MORE);
+    return true;
+  }
+
+  private Chunk rollUpChunk() {
+    Long from = watermarks.tryLock(WATERMARK);
+    if (from == null) {
+      return Chunk.SKIPPED;
+    }
+    long horizon = watermarks.horizon();
+    if (horizon <= from) {
+      return Chunk.CAUGHT_UP;
+    }
+    long to = store.chunkEnd(from, horizon, chunkRows);
+    for (RollupResolution resolution : RollupResolution.values()) {
+      bucketCounters.get(resolution).increment(store.applyRange(resolution, from, to));
+    }
+    watermarks.advance(WATERMARK, to);
+    return to < horizon ? Chunk.MORE : Chunk.CAUGHT_UP;
+  }
+
+  /**
+   * Recomputes every rollup level over {@code [from, to)} from raw observations, widening the range
+   * to whole buckets at each level. Use after importing history or to repair a range; buckets whose
+   * raw rows have already aged out are rebuilt from what remains, so keep backfills inside the raw
+   * retention window.
+   */
+  public void backfill(Instant from, Instant to) {
+    if (!from.isBefore(to)) {
+      throw new IllegalArgumentException("from must be before to");
+    }
+    for (RollupResolution resolution : RollupResolution.values()) {
+      Instant alignedFrom = resolution.floor(from);
+      Instant alignedTo = resolution.ceil(to);
+      // Whole buckets per window, so each window's rebuild replaces complete buckets
+      Duration window =
+          resolution.bucket().compareTo(MIN_BACKFILL_WINDOW) < 0
+              ? MIN_BACKFILL_WINDOW
+              : resolution.bucket();
+      int buckets = 0;
+      for (Instant start = alignedFrom; start.isBefore(alignedTo); start = start.plus(window)) {
+        Instant windowStart = start;
+        Instant windowEnd = start.plus(window).isBefore(alignedTo) ? start.plus(window) : alignedTo;
+        buckets +=
+            transactionTemplate.execute(
+                status ->
+                    store.rebuild(resolution, windowStart, windowEnd, watermarks.lock(WATERMARK)));
+      }
+      log.info(
+          "Rebuilt {} {} rollup buckets in [{}, {})", buckets, resolution, alignedFrom, alignedTo);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${echo.prices.rollup.purge-interval-ms:3600000}")
+  public void purge() {
+    if (enabled) {
+      applyRetention();
+    }
+  }
+
+  /** Applies {@link RollupRetention} to every rollup level and to already-folded raw rows. */
+  public void applyRetention() {
+    Instant now = Instant.now();
+    for (RollupResolution resolution : RollupResolution.values()) {
+      if (!retention.of(resolution).isZero()) {
+        Instant cutoff = resolution.floor(now.minus(retention.of(resolution)));
+        purgeInChunks(() -> store.deleteBucketsBefore(resolution, cutoff, PURGE_CHUNK));
+      }
+    }
+    if (!retention.raw().isZero()) {
+      Instant cutoff = now.minus(retention.raw());
+      long watermark = watermarks.read(WATERMARK);
+      purgeInChunks(() -> store.deleteRawBefore(cutoff, watermark, PURGE_CHUNK));
+    }
+  }
+
+  private void purgeInChunks(IntSupplier deleteChunk) {
+    int deleted;
+    do {
+      deleted = transactionTemplate.execute(status -> deleteChunk.getAsInt());
+    } while (deleted == PURGE_CHUNK);
+  }
+}
@@ -0,0 +1,8 @@
+package com.echofinder.api.price;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record PriceSeries(
+    UUID eventId, RollupResolution resolution, Instant from, Instant to, List<PricePoint> points) {}
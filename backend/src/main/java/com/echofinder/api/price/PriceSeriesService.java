@@ -0,0 +1,36 @@
+package com.echofinder.api.price;
+
+import java.time.Instant;
+import java.util.UUID;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Serves price history from the rollup level that suits the requested range. */
+@Service
+public class PriceSeriesService {
+
+  private final PriceRollupStore store;
+  private final RollupRetention retention;
+
+  public PriceSeriesService(PriceRollupStore store, RollupRetention retention) {
+    this.store = store;
+    this.retention = retention;
+  }
+
+  @Transactional(readOnly = true)
+  public PriceSeries series(UUID eventId, Instant from, Instant to) {
+    RollupResolution resolution = RollupResolution.forRange(from, to, Instant.now(), retention);
+    return new PriceSeries(
+        eventId, resolution, from, to, store.series(resolution, eventId, from, to));
+  }
+
+  /**
+   * Changes only when a bucket of this series does; one indexed aggregate over the same rows {@link
+   * #series} reads, cheap enough to compute per request.
+   */
+  @Transactional(readOnly = true)
+  SeriesVersion version(UUID eventId, Instant from, Instant to) {
+    RollupResolution resolution = RollupResolution.forRange(from, to, Instant.now(), retention);
+    return store.version(resolution, eventId, from, to);
+  }
+}
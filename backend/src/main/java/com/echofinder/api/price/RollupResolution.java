@@ -0,0 +1,81 @@
+package com.echofinder.api.price;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Bucket sizes the price rollups are kept at. Buckets are UTC-aligned and weeks start on Monday,
+ * matching Postgres {@code date_trunc(unit, ts, 'UTC')}.
+ */
+public enum RollupResolution {
+  HOURLY("price_rollups_hourly", "hour", Duration.ofHours(1), Duration.ofDays(3)),
+  DAILY("price_rollups_daily", "day", Duration.ofDays(1), Duration.ofDays(180)),
+  WEEKLY("price_rollups_weekly", "week", Duration.ofDays(7), null);
+
+  private final String table;
+  private final String truncUnit;
+  private final Duration bucket;
+  private final Duration maxSpan;
+
+  RollupResolution(String table, String truncUnit, Duration bucket, Duration maxSpan) {
+    this.table = table;
+    this.truncUnit = truncUnit;
+    this.bucket = bucket;
+    this.maxSpan = maxSpan;
+  }
+
+  String table() {
+    return table;
+  }
+
+  String truncUnit() {
+    return truncUnit;
+  }
+
+  public Duration bucket() {
+    return bucket;
+  }
+
+  /** Start of the bucket containing {@code instant}. */
+  public Instant floor(Instant instant) {
+    return switch (this) {
+      case HOURLY -> instant.truncatedTo(ChronoUnit.HOURS);
+      case DAILY -> instant.truncatedTo(ChronoUnit.DAYS);
+      case WEEKLY ->
+          instant
+              .atOffset(ZoneOffset.UTC)
+              .truncatedTo(ChronoUnit.DAYS)
+              .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+              .toInstant();
+    };
+  }
+
+  /** Start of the first bucket at or after {@code instant}. */
+  public Instant ceil(Instant instant) {
+    Instant floor = floor(instant);
+    return floor.equals(instant) ? floor : floor.plus(bucket);
+  }
+
+  /**
+   * Picks the finest resolution that keeps a chart over {@code [from, to)} to roughly a hundred
+   * points and whose retention still covers {@code from}.
+   */
+  public static RollupResolution forRange(
+      Instant from, Instant to, Instant now, RollupRetention retention) {
+    if (!from.isBefore(to)) {
+      throw new IllegalArgumentException("from must be before to");
+    }
+    Duration span = Duration.between(from, to);
+    for (RollupResolution resolution : values()) {
+      boolean fits = resolution.maxSpan == null || span.compareTo(resolution.maxSpan) <= 0;
+      if (fits && retention.covers(resolution, from, now)) {
+        return resolution;
+      }
+    }
+    return WEEKLY;
+  }
+}
@@ -0,0 +1,33 @@
+package com.echofinder.api.price;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * How long raw observations and each rollup level are kept. A zero duration keeps data forever. Raw
+ * rows are only deleted once they have been folded into the rollups.
+ */
+public record RollupRetention(Duration raw, Duration hourly, Duration daily, Duration weekly) {
+
+  public RollupRetention {
+    for (Duration duration : new Duration[] {raw, hourly, daily, weekly}) {
+      if (duration == null || duration.isNegative()) {
+        throw new IllegalArgumentException("Retention must be zero or positive");
+      }
+    }
+  }
+
+  public Duration of(RollupResolution resolution) {
+    return switch (resolution) {
+      case HOURLY -> hourly;
+      case DAILY -> daily;
+      case WEEKLY -> weekly;
+    };
+  }
+
+  /** Whether buckets of {@code resolution} starting at {@code from} are still retained. */
+  public boolean covers(RollupResolution resolution, Instant from, Instant now) {
+    Duration keep = of(resolution);
+    return keep.isZero() || !resolution.floor(from).isBefore(now.minus(keep));
+  }
+}
@@ -0,0 +1,8 @@
+package com.echofinder.api.price;
+
+/**
+ * State of the buckets a price series covers: the resolution they come from, how many there are and
+ * the latest transaction that wrote one. New or updated buckets move the transaction and retention
+ * deletes change the count, so equal versions mean an equal series.
+ */
+record SeriesVersion(RollupResolution resolution, long buckets, long txid) {}
@@ -1,5 +1,6 @@
 package com.echofinder.api.security;
 
+import com.echofinder.api.infra.profiling.TokenHashEvent;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -47,6 +48,8 @@ public class TokenHasher {
     }
 
     String salted = prefixSalt + value + suffixSalt;
+    TokenHashEvent event = new TokenHashEvent();
+    event.begin();
 
     try {
       MessageDigest digest = MessageDigest.getInstance("SHA-256");
@@ -55,6 +58,8 @@ public class TokenHasher {
     } catch (NoSuchAlgorithmException e) {
       // SHA-256 is guaranteed to be available in all Java implementations
       throw new RuntimeException("SHA-256 algorithm not available", e);
+    } finally {
+      event.commit("TokenHasher.hash");
     }
   }
 
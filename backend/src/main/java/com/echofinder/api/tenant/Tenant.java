@@ -0,0 +1,10 @@
+package com.echofinder.api.tenant;
+
+/**
+ * A partner brand. Budgets are {@code null} when the tenant uses the {@code echo.tenancy} defaults.
+ */
+public record Tenant(String id, String name, Integer maxConnections, Integer requestsPerSecond) {
+
+  /** Owns everything written before tenancy, and requests for hosts no partner is served on. */
+  public static final String DEFAULT_ID = "default";
+}
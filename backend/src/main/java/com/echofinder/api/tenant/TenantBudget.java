@@ -0,0 +1,95 @@
+package com.echofinder.api.tenant;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * A tenant's share of this pod: how many database connections it may hold at once and how many
+ * requests per second it may make, so one partner's bulk import queues behind its own budget
+ * instead of the whole pool. A limit of 0 means unlimited.
+ *
+ * <p>The request rate is a generic cell rate algorithm: each admitted request pushes a theoretical
+ * arrival time one interval further, and a request is refused when that time would run more than a
+ * second ahead of the clock. This admits bursts of up to one second's worth of requests and needs a
+ * single compare-and-set per request.
+ */
+public final class TenantBudget {
+
+  private static final long BURST_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final String id;
+  private final int maxConnections;
+  private final int requestsPerSecond;
+  private final Semaphore connections;
+  private final long intervalNanos;
+  private final AtomicLong arrival;
+  private final LongSupplier nanoClock;
+
+  public TenantBudget(String id, int maxConnections, int requestsPerSecond) {
+    this(id, maxConnections, requestsPerSecond, System::nanoTime);
+  }
+
+  TenantBudget(String id, int maxConnections, int requestsPerSecond, LongSupplier nanoClock) {
+    if (maxConnections < 0 || requestsPerSecond < 0) {
+      throw new IllegalArgumentException("Tenant budgets must not be negative");
+    }
+    this.id = id;
+    this.maxConnections = maxConnections;
+    this.requestsPerSecond = requestsPerSecond;
+    this.connections = maxConnections > 0 ? new Semaphore(maxConnections) : null;
+    this.intervalNanos = requestsPerSecond > 0 ? BURST_NANOS / requestsPerSecond : 0;
+    this.nanoClock = nanoClock;
+    this.arrival = new AtomicLong(nanoClock.getAsLong());
+  }
+
+  public String id() {
+    return id;
+  }
+
+  public int maxConnections() {
+    return maxConnections;
+  }
+
+  public int requestsPerSecond() {
+    return requestsPerSecond;
+  }
+
+  /** Counts one request against the rate; false when the tenant is over it. */
+  public boolean tryAdmitRequest() {
+    if (intervalNanos == 0) {
+      return true;
+    }
+    long now = nanoClock.getAsLong();
+    while (true) {
+      long current = arrival.get();
+      long next = Math.max(current, now) + intervalNanos;
+      if (next - now > BURST_NANOS) {
+        return false;
+      }
+      if (arrival.compareAndSet(current, next)) {
+        return true;
+      }
+    }
+  }
+
+  public boolean limitsConnections() {
+    return connections != null;
+  }
+
+  /** Takes one of the tenant's connections, waiting up to {@code timeoutNanos} for one. */
+  public boolean tryAcquireConnection(long timeoutNanos) throws InterruptedException {
+    return connections == null || connections.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void releaseConnection() {
+    if (connections != null) {
+      connections.release();
+    }
+  }
+
+  boolean sameLimits(int maxConnections, int requestsPerSecond) {
+    return this.maxConnections == maxConnections && this.requestsPerSecond == requestsPerSecond;
+  }
+}
@@ -0,0 +1,55 @@
+package com.echofinder.api.tenant;
+
+/**
+ * The tenant the current thread works for.
+ *
+ * <p>{@link com.echofinder.api.infra.TenantFilter} enters a tenant for every request. Outside one
+ * (scheduled jobs, startup) there is no tenant: JPA queries see every tenant's rows, and new users
+ * belong to the {@link Tenant#DEFAULT_ID default} tenant unless given one.
+ */
+public final class TenantContext {
+
+  private static final ThreadLocal<TenantBudget> CURRENT = new ThreadLocal<>();
+
+  private TenantContext() {}
+
+  /**
+   * Makes {@code tenant} current until the returned scope is closed, which restores the previous
+   * one. A {@code null} tenant leaves the thread without one.
+   */
+  public static Scope enter(TenantBudget tenant) {
+    TenantBudget previous = CURRENT.get();
+    set(tenant);
+    return () -> set(previous);
+  }
+
+  public static TenantBudget current() {
+    return CURRENT.get();
+  }
+
+  /** The current tenant's id, or {@code null} outside a tenant. */
+  public static String currentId() {
+    TenantBudget tenant = CURRENT.get();
+    return tenant == null ? null : tenant.id();
+  }
+
+  /** The tenant new rows belong to: the current one, or the default tenant outside a tenant. */
+  public static String idOrDefault() {
+    TenantBudget tenant = CURRENT.get();
+    return tenant == null ? Tenant.DEFAULT_ID : tenant.id();
+  }
+
+  private static void set(TenantBudget tenant) {
+    if (tenant == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(tenant);
+    }
+  }
+
+  @FunctionalInterface
+  public interface Scope extends AutoCloseable {
+    @Override
+    void close();
+  }
+}
@@ -0,0 +1,40 @@
+package com.echofinder.api.tenant;
+
+import java.util.Map;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands the current tenant to Hibernate, which adds it to every query on an entity with a
+ * {@code @TenantId} and writes it on insert. Outside a tenant the resolver answers with the root
+ * tenant, which Hibernate does not filter on, so scheduled jobs see every tenant's rows.
+ */
+@Component
+public class TenantIdentifierResolver
+    implements CurrentTenantIdentifierResolver<String>, HibernatePropertiesCustomizer {
+
+  static final String ROOT = "*";
+
+  @Override
+  public String resolveCurrentTenantIdentifier() {
+    String id = TenantContext.currentId();
+    return id != null ? id : ROOT;
+  }
+
+  @Override
+  public boolean validateExistingCurrentSessions() {
+    return false;
+  }
+
+  @Override
+  public boolean isRoot(String tenantId) {
+    return ROOT.equals(tenantId);
+  }
+
+  @Override
+  public void customize(Map<String, Object> hibernateProperties) {
+    hibernateProperties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, this);
+  }
+}
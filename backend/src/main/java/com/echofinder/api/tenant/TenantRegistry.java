@@ -0,0 +1,96 @@
+package com.echofinder.api.tenant;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Every tenant, its budget on this pod and the hosts it is served on, loaded on first use and
+ * reloaded periodically so new partners, hosts and changed budgets apply without a restart. A
+ * budget whose limits did not change is kept, along with the connections and request rate already
+ * counted against it.
+ */
+@Component
+public class TenantRegistry {
+
+  private static final Logger log = LoggerFactory.getLogger(TenantRegistry.class);
+
+  private final TenantStore store;
+  private final MeterRegistry meterRegistry;
+  private final int defaultMaxConnections;
+  private final int defaultRequestsPerSecond;
+
+  private volatile Map<String, TenantBudget> budgets;
+  private volatile Map<String, String> hosts = Map.of();
+
+  public TenantRegistry(
+      TenantStore store,
+      MeterRegistry meterRegistry,
+      @Value("${echo.tenancy.max-connections:0}") int defaultMaxConnections,
+      @Value("${echo.tenancy.requests-per-second:0}") int defaultRequestsPerSecond) {
+    this.store = store;
+    this.meterRegistry = meterRegistry;
+    this.defaultMaxConnections = defaultMaxConnections;
+    this.defaultRequestsPerSecond = defaultRequestsPerSecond;
+  }
+
+  /** The tenant served on {@code host}; hosts no partner claims belong to the default tenant. */
+  public Optional<TenantBudget> forHost(String host) {
+    if (budgets == null) {
+      refresh();
+    }
+    return find(hosts.getOrDefault(host.toLowerCase(Locale.ROOT), Tenant.DEFAULT_ID));
+  }
+
+  public Optional<TenantBudget> find(String id) {
+    Map<String, TenantBudget> current = budgets;
+    if (current == null) {
+      current = refresh();
+    }
+    return Optional.ofNullable(current.get(id));
+  }
+
+  /** Counts a request refused for exceeding the tenant's request rate. */
+  public void recordRejection(String tenantId) {
+    Counter.builder("echo.tenancy.rejected")
+        .description("Requests refused for exceeding their tenant's request rate")
+        .tag("tenant", tenantId)
+        .register(meterRegistry)
+        .increment();
+  }
+
+  @Scheduled(fixedDelayString = "${echo.tenancy.refresh-interval-ms:30000}")
+  public synchronized Map<String, TenantBudget> refresh() {
+    Map<String, TenantBudget> previous = budgets == null ? Map.of() : budgets;
+    Map<String, TenantBudget> loaded = new HashMap<>();
+    for (Tenant tenant : store.findAll()) {
+      int maxConnections =
+          tenant.maxConnections() != null ? tenant.maxConnections() : defaultMaxConnections;
+      int requestsPerSecond =
+          tenant.requestsPerSecond() != null
+              ? tenant.requestsPerSecond()
+              : defaultRequestsPerSecond;
+      TenantBudget existing = previous.get(tenant.id());
+      loaded.put(
+          tenant.id(),
+          existing != null && existing.sameLimits(maxConnections, requestsPerSecond)
+              ? existing
+              : new TenantBudget(tenant.id(), maxConnections, requestsPerSecond));
+    }
+    if (loaded.size() != previous.size()) {
+      log.info("Loaded {} tenants", loaded.size());
+    }
+    hosts = Map.copyOf(store.findHosts());
+    Map<String, TenantBudget> result = Map.copyOf(loaded);
+    budgets = result;
+    return result;
+  }
+}
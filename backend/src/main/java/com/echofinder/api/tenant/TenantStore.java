@@ -0,0 +1,39 @@
+package com.echofinder.api.tenant;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class TenantStore {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public TenantStore(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public List<Tenant> findAll() {
+    return jdbcTemplate.query(
+        "SELECT id, name, max_connections, requests_per_second FROM tenants",
+        (rs, rowNum) ->
+            new Tenant(
+                rs.getString(1),
+                rs.getString(2),
+                rs.getObject(3, Integer.class),
+                rs.getObject(4, Integer.class)));
+  }
+
+  /** Tenant id by host, for the hosts partner brands are served on. */
+  public Map<String, String> findHosts() {
+    Map<String, String> hosts = new HashMap<>();
+    jdbcTemplate.query(
+        "SELECT host, tenant_id FROM tenant_hosts",
+        rs -> {
+          hosts.put(rs.getString(1), rs.getString(2));
+        });
+    return hosts;
+  }
+}
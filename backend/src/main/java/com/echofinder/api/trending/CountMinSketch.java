@@ -0,0 +1,119 @@
+package com.echofinder.api.trending;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min Sketch over event ids: {@code depth} rows of {@code width} counters. Estimates never
+ * undercount; they overcount by at most {@code e / width} of the total with probability {@code 1 -
+ * e^-depth}. Memory is fixed at {@code width * depth} longs whatever the number of distinct events,
+ * and two sketches of the same shape merge by adding counters, which is how pods combine theirs.
+ *
+ * <p>Counters are atomic so request threads can add without locking.
+ */
+public final class CountMinSketch {
+
+  private final int width;
+  private final int depth;
+  private final AtomicLongArray counters;
+
+  public CountMinSketch(int width, int depth) {
+    if (width < 1 || depth < 1) {
+      throw new IllegalArgumentException("width and depth must be positive");
+    }
+    this.width = width;
+    this.depth = depth;
+    this.counters = new AtomicLongArray(Math.multiplyExact(width, depth));
+  }
+
+  public int width() {
+    return width;
+  }
+
+  public int depth() {
+    return depth;
+  }
+
+  public void add(UUID key, long count) {
+    long h1 = mix(key.getMostSignificantBits() ^ mix(key.getLeastSignificantBits()));
+    long h2 = mix(h1) | 1;
+    for (int row = 0; row < depth; row++) {
+      counters.addAndGet(row * width + index(h1 + row * h2), count);
+    }
+  }
+
+  public long estimate(UUID key) {
+    long h1 = mix(key.getMostSignificantBits() ^ mix(key.getLeastSignificantBits()));
+    long h2 = mix(h1) | 1;
+    long min = Long.MAX_VALUE;
+    for (int row = 0; row < depth; row++) {
+      min = Math.min(min, counters.get(row * width + index(h1 + row * h2)));
+    }
+    return min;
+  }
+
+  /** Adds {@code other}'s counters into this sketch. */
+  public void merge(CountMinSketch other) {
+    if (!sameShape(other)) {
+      throw new IllegalArgumentException(
+          "Cannot merge a "
+              + other.width
+              + "x"
+              + other.depth
+              + " sketch into "
+              + width
+              + "x"
+              + depth);
+    }
+    for (int i = 0; i < counters.length(); i++) {
+      long value = other.counters.get(i);
+      if (value != 0) {
+        counters.addAndGet(i, value);
+      }
+    }
+  }
+
+  public boolean sameShape(CountMinSketch other) {
+    return width == other.width && depth == other.depth;
+  }
+
+  public void clear() {
+    for (int i = 0; i < counters.length(); i++) {
+      counters.set(i, 0);
+    }
+  }
+
+  /** Shape header followed by the counters, big-endian. */
+  public byte[] toBytes() {
+    ByteBuffer buffer = ByteBuffer.allocate(8 + counters.length() * 8);
+    buffer.putInt(width).putInt(depth);
+    for (int i = 0; i < counters.length(); i++) {
+      buffer.putLong(counters.get(i));
+    }
+    return buffer.array();
+  }
+
+  public static CountMinSketch fromBytes(byte[] bytes) {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    CountMinSketch sketch = new CountMinSketch(buffer.getInt(), buffer.getInt());
+    if (buffer.remaining() != sketch.counters.length() * 8) {
+      throw new IllegalArgumentException("Sketch payload does not match its header");
+    }
+    for (int i = 0; i < sketch.counters.length(); i++) {
+      sketch.counters.set(i, buffer.getLong());
+    }
+    return sketch;
+  }
+
+  private int index(long hash) {
+    return (int) Long.remainderUnsigned(hash, width);
+  }
+
+  // SplitMix64 finalizer
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -0,0 +1,50 @@
+package com.echofinder.api.trending;
+
+import com.echofinder.api.catalog.EventRepository;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Event id to city, for attributing view beacons without a database read per view. Bounded LRU;
+ * events do not move between cities often enough to need invalidation.
+ */
+@Component
+public class EventCityCache {
+
+  private final EventRepository eventRepository;
+  private final Map<UUID, String> cities;
+
+  public EventCityCache(
+      EventRepository eventRepository,
+      @Value("${echo.trending.city-cache-size:100000}") int maxEntries) {
+    this.eventRepository = eventRepository;
+    this.cities =
+        new LinkedHashMap<>(1024, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<UUID, String> eldest) {
+            return size() > maxEntries;
+          }
+        };
+  }
+
+  public Optional<String> cityOf(UUID eventId) {
+    synchronized (cities) {
+      String city = cities.get(eventId);
+      if (city != null) {
+        return Optional.of(city);
+      }
+    }
+    Optional<String> loaded = eventRepository.findCityById(eventId);
+    loaded.ifPresent(
+        city -> {
+          synchronized (cities) {
+            cities.put(eventId, city);
+          }
+        });
+    return loaded;
+  }
+}
@@ -0,0 +1,115 @@
+package com.echofinder.api.trending;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A ring of {@link CountMinSketch}es, one per time bucket, covering a sliding window of {@code
+ * buckets * bucketSize}. A slot is cleared and reused when time moves past the bucket it held, so
+ * memory stays at {@code buckets} sketches.
+ *
+ * <p>Adds are lock-free once a bucket is current; only rotation and snapshotting lock. An add that
+ * races a rotation of the same slot may be lost, which is within what the sketch tolerates anyway.
+ */
+final class TimeBucketedSketch {
+
+  private final long bucketMillis;
+  private final CountMinSketch[] ring;
+  private final AtomicLongArray starts;
+  private final AtomicIntegerArray dirty;
+
+  TimeBucketedSketch(Duration bucketSize, int buckets, int width, int depth) {
+    if (buckets < 1 || bucketSize.toMillis() < 1) {
+      throw new IllegalArgumentException("buckets and bucketSize must be positive");
+    }
+    this.bucketMillis = bucketSize.toMillis();
+    this.ring = new CountMinSketch[buckets];
+    this.starts = new AtomicLongArray(buckets);
+    this.dirty = new AtomicIntegerArray(buckets);
+    for (int i = 0; i < buckets; i++) {
+      ring[i] = new CountMinSketch(width, depth);
+      starts.set(i, Long.MIN_VALUE);
+    }
+  }
+
+  Instant bucketStart(Instant time) {
+    return Instant.ofEpochMilli(Math.floorDiv(time.toEpochMilli(), bucketMillis) * bucketMillis);
+  }
+
+  /** Start of the oldest bucket still inside the window at {@code now}. */
+  Instant windowStart(Instant now) {
+    return bucketStart(now).minusMillis(bucketMillis * (ring.length - 1));
+  }
+
+  void add(UUID key, long count, Instant now) {
+    int slot = currentSlot(now.toEpochMilli());
+    ring[slot].add(key, count);
+    // Marked after the add so a snapshot taken in between cannot miss it
+    if (dirty.get(slot) == 0) {
+      dirty.set(slot, 1);
+    }
+  }
+
+  /** Sum of the key's estimates over every bucket in the window at {@code now}. */
+  long estimate(UUID key, Instant now) {
+    long oldest = windowStart(now).toEpochMilli();
+    long total = 0;
+    for (int i = 0; i < ring.length; i++) {
+      if (starts.get(i) >= oldest) {
+        total += ring[i].estimate(key);
+      }
+    }
+    return total;
+  }
+
+  /**
+   * Overwrites the bucket starting at {@code start} with {@code sketch}'s counters, unless its slot
+   * already holds a newer bucket.
+   */
+  synchronized void replace(Instant start, CountMinSketch sketch) {
+    int slot = slot(start.toEpochMilli());
+    if (starts.get(slot) > start.toEpochMilli()) {
+      return;
+    }
+    ring[slot].clear();
+    ring[slot].merge(sketch);
+    starts.set(slot, start.toEpochMilli());
+  }
+
+  /** Buckets written since the previous call, with their current (cumulative) counters. */
+  synchronized List<Bucket> drainDirty() {
+    List<Bucket> changed = new ArrayList<>();
+    for (int i = 0; i < ring.length; i++) {
+      // Clear the flag before copying so an add that lands mid-copy marks the bucket again
+      if (dirty.compareAndSet(i, 1, 0)) {
+        changed.add(new Bucket(Instant.ofEpochMilli(starts.get(i)), ring[i].toBytes()));
+      }
+    }
+    return changed;
+  }
+
+  private int currentSlot(long millis) {
+    long start = Math.floorDiv(millis, bucketMillis) * bucketMillis;
+    int slot = slot(start);
+    if (starts.get(slot) != start) {
+      synchronized (this) {
+        if (starts.get(slot) != start) {
+          ring[slot].clear();
+          starts.set(slot, start);
+        }
+      }
+    }
+    return slot;
+  }
+
+  private int slot(long start) {
+    return (int) Math.floorMod(Math.floorDiv(start, bucketMillis), (long) ring.length);
+  }
+
+  record Bucket(Instant start, byte[] sketch) {}
+}
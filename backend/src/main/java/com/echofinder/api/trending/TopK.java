@@ -0,0 +1,60 @@
+package com.echofinder.api.trending;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.ToLongFunction;
+
+/**
+ * Heavy-hitter candidates for one city: at most {@code capacity} event ids with their last known
+ * scores. When full, a new id displaces the lowest-scored one if it scores higher. Capacities are
+ * small (tens), so eviction scans instead of maintaining a heap.
+ */
+final class TopK {
+
+  private final int capacity;
+  private final Map<UUID, Long> scores;
+
+  TopK(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+    this.capacity = capacity;
+    this.scores = new HashMap<>(capacity * 2);
+  }
+
+  synchronized void offer(UUID id, long score) {
+    if (scores.containsKey(id) || scores.size() < capacity) {
+      scores.put(id, score);
+      return;
+    }
+    UUID lowest = null;
+    long lowestScore = Long.MAX_VALUE;
+    for (Map.Entry<UUID, Long> entry : scores.entrySet()) {
+      if (entry.getValue() < lowestScore) {
+        lowest = entry.getKey();
+        lowestScore = entry.getValue();
+      }
+    }
+    if (score > lowestScore) {
+      scores.remove(lowest);
+      scores.put(id, score);
+    }
+  }
+
+  /** Re-scores every candidate and drops those that scored zero (aged out of the window). */
+  synchronized void rescore(ToLongFunction<UUID> scorer) {
+    scores.replaceAll((id, old) -> scorer.applyAsLong(id));
+    scores.values().removeIf(score -> score <= 0);
+  }
+
+  synchronized List<UUID> ids() {
+    return new ArrayList<>(scores.keySet());
+  }
+
+  synchronized boolean isEmpty() {
+    return scores.isEmpty();
+  }
+}
@@ -0,0 +1,50 @@
+package com.echofinder.api.trending;
+
+import com.echofinder.api.infra.ErrorCode;
+import com.echofinder.api.infra.PrecomputedErrorResponses;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api")
+public class TrendingController {
+
+  private final TrendingService trendingService;
+  private final EventCityCache eventCityCache;
+  private final PrecomputedErrorResponses errorResponses;
+
+  public TrendingController(
+      TrendingService trendingService,
+      EventCityCache eventCityCache,
+      PrecomputedErrorResponses errorResponses) {
+    this.trendingService = trendingService;
+    this.eventCityCache = eventCityCache;
+    this.errorResponses = errorResponses;
+  }
+
+  @GetMapping("/trending")
+  public List<TrendingEvent> trending(
+      @RequestParam String city, @RequestParam(defaultValue = "10") int limit) {
+    return trendingService.top(city, limit);
+  }
+
+  /** View beacon from event pages; counted in memory only. */
+  @PostMapping("/events/{eventId}/views")
+  public ResponseEntity<byte[]> view(@PathVariable UUID eventId) {
+    return eventCityCache
+        .cityOf(eventId)
+        .map(
+            city -> {
+              trendingService.record(eventId, city, TrendingSignal.VIEW);
+              return ResponseEntity.accepted().<byte[]>build();
+            })
+        .orElseGet(() -> errorResponses.entity(ErrorCode.NOT_FOUND));
+  }
+}
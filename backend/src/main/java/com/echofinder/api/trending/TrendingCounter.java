@@ -0,0 +1,106 @@
+package com.echofinder.api.trending;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One pod's trending counts: a time-bucketed Count-Min Sketch of weighted interactions per event,
+ * plus a bounded set of heavy-hitter candidates per city. Memory is fixed by the sketch shape, the
+ * number of buckets, {@code maxCities} and {@code candidatesPerCity}; cities beyond the cap still
+ * count, they just cannot nominate candidates until an existing city empties.
+ */
+public class TrendingCounter {
+
+  private final TimeBucketedSketch sketch;
+  private final Map<String, TopK> candidatesByCity = new ConcurrentHashMap<>();
+  private final int maxCities;
+  private final int candidatesPerCity;
+
+  public TrendingCounter(
+      Duration bucketSize,
+      int buckets,
+      int width,
+      int depth,
+      int maxCities,
+      int candidatesPerCity) {
+    this.sketch = new TimeBucketedSketch(bucketSize, buckets, width, depth);
+    this.maxCities = maxCities;
+    this.candidatesPerCity = candidatesPerCity;
+  }
+
+  public void record(UUID eventId, String city, long weight, Instant now) {
+    sketch.add(eventId, weight, now);
+    TopK candidates = candidatesByCity.get(city);
+    if (candidates == null) {
+      if (candidatesByCity.size() >= maxCities) {
+        return;
+      }
+      candidates = candidatesByCity.computeIfAbsent(city, c -> new TopK(candidatesPerCity));
+    }
+    candidates.offer(eventId, sketch.estimate(eventId, now));
+  }
+
+  public long estimate(UUID eventId, Instant now) {
+    return sketch.estimate(eventId, now);
+  }
+
+  /** Buckets changed since the last call, for snapshotting. */
+  List<TimeBucketedSketch.Bucket> drainChangedBuckets() {
+    return sketch.drainDirty();
+  }
+
+  /**
+   * Re-scores candidates against the current window, drops cities left without any, and returns the
+   * remainder encoded for {@link #decodeCandidates}.
+   */
+  byte[] refreshCandidates(Instant now) {
+    candidatesByCity.values().forEach(topK -> topK.rescore(id -> sketch.estimate(id, now)));
+    candidatesByCity.values().removeIf(TopK::isEmpty);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(candidatesByCity.size());
+      for (Map.Entry<String, TopK> entry : candidatesByCity.entrySet()) {
+        List<UUID> ids = entry.getValue().ids();
+        out.writeUTF(entry.getKey());
+        out.writeInt(ids.size());
+        for (UUID id : ids) {
+          out.writeLong(id.getMostSignificantBits());
+          out.writeLong(id.getLeastSignificantBits());
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  /** Adds the candidates in {@code encoded} to {@code into}, keyed by city. */
+  static void decodeCandidates(byte[] encoded, Map<String, Set<UUID>> into) {
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded))) {
+      int cities = in.readInt();
+      for (int c = 0; c < cities; c++) {
+        String city = in.readUTF();
+        int count = in.readInt();
+        Set<UUID> ids = into.computeIfAbsent(city, k -> new HashSet<>());
+        for (int i = 0; i < count; i++) {
+          ids.add(new UUID(in.readLong(), in.readLong()));
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
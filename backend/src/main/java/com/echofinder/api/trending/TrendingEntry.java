@@ -0,0 +1,5 @@
+package com.echofinder.api.trending;
+
+import java.util.UUID;
+
+public record TrendingEntry(UUID eventId, long score) {}
@@ -0,0 +1,7 @@
+package com.echofinder.api.trending;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** One entry of a city's trending list; {@code score} is the weighted interaction count. */
+public record TrendingEvent(UUID eventId, String title, OffsetDateTime startsAt, long score) {}
@@ -0,0 +1,175 @@
+package com.echofinder.api.trending;
+
+import com.echofinder.api.catalog.Event;
+import com.echofinder.api.catalog.EventRepository;
+import com.echofinder.api.infra.profiling.ScoringEvent;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Trending events per city over a sliding window.
+ *
+ * <p>Interactions are counted in this pod's {@link TrendingCounter} only. Every sync, the pod
+ * upserts the buckets it changed and its candidate lists under its own pod id, then rebuilds the
+ * merged view: buckets any pod changed recently are re-summed from all pods' rows, and each city's
+ * candidates from all pods are ranked by the merged estimate. Rows are cumulative per pod, so
+ * re-merging is idempotent and a restarted pod (which gets a fresh id) never overwrites the counts
+ * of its previous life.
+ */
+@Service
+public class TrendingService {
+
+  private static final Logger log = LoggerFactory.getLogger(TrendingService.class);
+
+  /** Re-merge buckets written slightly before the last sync, to catch late commits. */
+  private static final Duration RESYNC_OVERLAP = Duration.ofMinutes(1);
+
+  private final TrendingCounter local;
+  private final TimeBucketedSketch merged;
+  private final TrendingSnapshotStore store;
+  private final EventRepository eventRepository;
+  private final String podId;
+  private final int width;
+  private final int depth;
+  private final int topK;
+  private final boolean enabled;
+
+  private volatile Map<String, List<TrendingEntry>> view = Map.of();
+  private Instant lastPull = Instant.EPOCH;
+
+  public TrendingService(
+      TrendingSnapshotStore store,
+      EventRepository eventRepository,
+      @Value("${echo.trending.enabled:true}") boolean enabled,
+      @Value("${echo.trending.pod-id:}") String podId,
+      @Value("${echo.trending.bucket:PT1H}") Duration bucket,
+      @Value("${echo.trending.buckets:24}") int buckets,
+      @Value("${echo.trending.width:2048}") int width,
+      @Value("${echo.trending.depth:4}") int depth,
+      @Value("${echo.trending.max-cities:1000}") int maxCities,
+      @Value("${echo.trending.top-k:50}") int topK) {
+    if (topK < 1) {
+      throw new IllegalArgumentException("echo.trending.top-k must be positive");
+    }
+    this.store = store;
+    this.eventRepository = eventRepository;
+    this.enabled = enabled;
+    this.podId =
+        (podId.isBlank() ? "pod" : podId) + "-" + UUID.randomUUID().toString().substring(0, 8);
+    this.width = width;
+    this.depth = depth;
+    this.topK = topK;
+    this.local = new TrendingCounter(bucket, buckets, width, depth, maxCities, topK * 2);
+    this.merged = new TimeBucketedSketch(bucket, buckets, width, depth);
+  }
+
+  public void record(UUID eventId, String city, TrendingSignal signal) {
+    local.record(eventId, normalize(city), signal.weight(), Instant.now());
+  }
+
+  /** Top {@code limit} events in {@code city} as of the last sync, with event details. */
+  public List<TrendingEvent> top(String city, int limit) {
+    if (limit < 1 || limit > topK) {
+      throw new IllegalArgumentException("limit must be between 1 and " + topK);
+    }
+    List<TrendingEntry> entries =
+        view.getOrDefault(normalize(city), List.of()).stream().limit(limit).toList();
+    Map<UUID, Event> events =
+        eventRepository.findAllById(entries.stream().map(TrendingEntry::eventId).toList()).stream()
+            .collect(Collectors.toMap(Event::getId, Function.identity()));
+    return entries.stream()
+        .filter(entry -> events.containsKey(entry.eventId()))
+        .map(
+            entry -> {
+              Event event = events.get(entry.eventId());
+              return new TrendingEvent(
+                  event.getId(), event.getTitle(), event.getStartsAt(), entry.score());
+            })
+        .toList();
+  }
+
+  @Scheduled(fixedDelayString = "${echo.trending.sync-interval-ms:30000}")
+  public void poll() {
+    if (enabled) {
+      synchronize(Instant.now());
+    }
+  }
+
+  /** Publishes this pod's counts and rebuilds the merged view from every pod's snapshots. */
+  public synchronized void synchronize(Instant now) {
+    for (TimeBucketedSketch.Bucket bucket : local.drainChangedBuckets()) {
+      store.saveSketch(podId, bucket.start(), bucket.sketch());
+    }
+    store.saveCandidates(podId, local.refreshCandidates(now));
+
+    Instant pulledAt = store.now();
+    Instant windowStart = merged.windowStart(now);
+    for (Instant bucketStart : store.changedBuckets(windowStart, lastPull.minus(RESYNC_OVERLAP))) {
+      merged.replace(bucketStart, sum(store.sketches(bucketStart)));
+    }
+    lastPull = pulledAt;
+
+    Map<String, Set<UUID>> candidates = new HashMap<>();
+    for (byte[] encoded : store.candidates(windowStart)) {
+      TrendingCounter.decodeCandidates(encoded, candidates);
+    }
+    ScoringEvent scoring = new ScoringEvent();
+    scoring.begin();
+    Map<String, List<TrendingEntry>> next = new HashMap<>();
+    candidates.forEach(
+        (city, ids) ->
+            next.put(
+                city,
+                ids.stream()
+                    .map(id -> new TrendingEntry(id, merged.estimate(id, now)))
+                    .filter(entry -> entry.score() > 0)
+                    .sorted(Comparator.comparingLong(TrendingEntry::score).reversed())
+                    .limit(topK)
+                    .toList()));
+    scoring.commit("trending", candidates.values().stream().mapToInt(Set::size).sum());
+    view = next;
+
+    store.purgeBefore(windowStart);
+  }
+
+  String podId() {
+    return podId;
+  }
+
+  private CountMinSketch sum(List<byte[]> sketches) {
+    CountMinSketch total = new CountMinSketch(width, depth);
+    for (byte[] bytes : sketches) {
+      CountMinSketch sketch = CountMinSketch.fromBytes(bytes);
+      if (!total.sameShape(sketch)) {
+        // A pod with a different echo.trending shape, e.g. mid-rollout; its counts are skipped
+        log.warn(
+            "Skipping {}x{} trending sketch, expected {}x{}",
+            sketch.width(),
+            sketch.depth(),
+            width,
+            depth);
+        continue;
+      }
+      total.merge(sketch);
+    }
+    return total;
+  }
+
+  private static String normalize(String city) {
+    return city.trim().toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,17 @@
+package com.echofinder.api.trending;
+
+/** Interactions that count towards an event trending, with their weight in the score. */
+public enum TrendingSignal {
+  VIEW(1),
+  WATCH(5);
+
+  private final int weight;
+
+  TrendingSignal(int weight) {
+    this.weight = weight;
+  }
+
+  public int weight() {
+    return weight;
+  }
+}
@@ -0,0 +1,75 @@
+package com.echofinder.api.trending;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/** Per-pod trending snapshots in Postgres; see {@code V4__trending.sql}. */
+@Repository
+public class TrendingSnapshotStore {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public TrendingSnapshotStore(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public void saveSketch(String podId, Instant bucketStart, byte[] sketch) {
+    jdbcTemplate.update(
+        "INSERT INTO trending_sketches (pod_id, bucket_start, sketch) VALUES (?, ?, ?)"
+            + " ON CONFLICT (bucket_start, pod_id)"
+            + " DO UPDATE SET sketch = EXCLUDED.sketch, updated_at = now()",
+        podId,
+        Timestamp.from(bucketStart),
+        sketch);
+  }
+
+  public void saveCandidates(String podId, byte[] candidates) {
+    jdbcTemplate.update(
+        "INSERT INTO trending_candidates (pod_id, candidates) VALUES (?, ?)"
+            + " ON CONFLICT (pod_id) DO UPDATE SET candidates = EXCLUDED.candidates,"
+            + " updated_at = now()",
+        podId,
+        candidates);
+  }
+
+  /** Database time, so change detection does not depend on pod clocks agreeing. */
+  public Instant now() {
+    return jdbcTemplate.queryForObject("SELECT now()", Timestamp.class).toInstant();
+  }
+
+  /** Starts of buckets at or after {@code windowStart} that any pod wrote since {@code since}. */
+  public List<Instant> changedBuckets(Instant windowStart, Instant since) {
+    return jdbcTemplate.query(
+        "SELECT DISTINCT bucket_start FROM trending_sketches"
+            + " WHERE bucket_start >= ? AND updated_at >= ?",
+        (rs, rowNum) -> rs.getTimestamp(1).toInstant(),
+        Timestamp.from(windowStart),
+        Timestamp.from(since));
+  }
+
+  /** Every pod's sketch for one bucket. */
+  public List<byte[]> sketches(Instant bucketStart) {
+    return jdbcTemplate.query(
+        "SELECT sketch FROM trending_sketches WHERE bucket_start = ?",
+        (rs, rowNum) -> rs.getBytes(1),
+        Timestamp.from(bucketStart));
+  }
+
+  /** Candidate lists from pods that published since {@code since}. */
+  public List<byte[]> candidates(Instant since) {
+    return jdbcTemplate.query(
+        "SELECT candidates FROM trending_candidates WHERE updated_at >= ?",
+        (rs, rowNum) -> rs.getBytes(1),
+        Timestamp.from(since));
+  }
+
+  public int purgeBefore(Instant windowStart) {
+    return jdbcTemplate.update(
+            "DELETE FROM trending_sketches WHERE bucket_start < ?", Timestamp.from(windowStart))
+        + jdbcTemplate.update(
+            "DELETE FROM trending_candidates WHERE updated_at < ?", Timestamp.from(windowStart));
+  }
+}
@@ -1,5 +1,6 @@
 package com.echofinder.api.user;
 
+import com.echofinder.api.tenant.TenantContext;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -10,6 +11,7 @@ import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import java.time.OffsetDateTime;
 import java.util.UUID;
+import org.hibernate.annotations.TenantId;
 
 @Entity
 @Table(name = "users")
@@ -17,6 +19,10 @@ public class User {
 
   @Id private UUID id;
 
+  @TenantId
+  @Column(name = "tenant_id", nullable = false, updatable = false)
+  private String tenantId;
+
   @Column(nullable = false)
   private String email;
 
@@ -41,6 +47,7 @@ public class User {
 
   public User(UUID id, String email, UserRole role, UserStatus status) {
     this.id = id;
+    this.tenantId = TenantContext.idOrDefault();
     this.email = email;
     this.role = role;
     this.status = status;
@@ -66,6 +73,10 @@ public class User {
     this.id = id;
   }
 
+  public String getTenantId() {
+    return tenantId;
+  }
+
   public String getEmail() {
     return email;
   }
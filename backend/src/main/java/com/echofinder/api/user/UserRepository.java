@@ -1,13 +1,40 @@
 package com.echofinder.api.user;
 
+import jakarta.persistence.QueryHint;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
 
+  // Hibernate restricts queries to the current tenant but not loads by primary key
+  @Override
+  @Transactional(readOnly = true)
+  @Query("SELECT u FROM User u WHERE u.id = :id")
+  Optional<User> findById(@Param("id") UUID id);
+
+  @Override
+  @Transactional(readOnly = true)
+  @Query("SELECT count(u) > 0 FROM User u WHERE u.id = :id")
+  boolean existsById(@Param("id") UUID id);
+
+  @Transactional(readOnly = true)
   @Query("SELECT u FROM User u WHERE LOWER(u.email) = LOWER(:email)")
   Optional<User> findByEmail(@Param("email") String email);
+
+  /**
+   * Streams every user as a projection, fetched from a server-side cursor 1000 rows at a time. Must
+   * be consumed inside a transaction, which keeps the cursor open; see {@code JsonArrayStreamer}.
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query(
+      "SELECT new com.echofinder.api.user.UserSummary(u.id, u.email, u.displayName, u.role,"
+          + " u.status, u.createdAt) FROM User u ORDER BY u.id")
+  Stream<UserSummary> streamSummaries();
 }
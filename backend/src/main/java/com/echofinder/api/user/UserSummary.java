@@ -0,0 +1,13 @@
+package com.echofinder.api.user;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** Read-only projection of a user for listings and exports; never attached to a session. */
+public record UserSummary(
+    UUID id,
+    String email,
+    String displayName,
+    UserRole role,
+    UserStatus status,
+    OffsetDateTime createdAt) {}
@@ -0,0 +1,117 @@
+package com.echofinder.api.watch;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * The armed watches on one event as a sorted {@code long[]}: threshold in the high 32 bits, user
+ * slot in the low 32. Thresholds fit in 31 bits, so entries are non-negative and sort by threshold
+ * first; the watches an observation fires are the suffix at or above {@code price << 32}.
+ */
+final class EventWatches {
+
+  static final long MAX_THRESHOLD_CENTS = Integer.MAX_VALUE;
+  private static final int INITIAL_CAPACITY = 4;
+
+  private long[] entries = new long[INITIAL_CAPACITY];
+  private int size;
+  private boolean sorted = true;
+
+  static long checkThreshold(long thresholdCents) {
+    if (thresholdCents < 1 || thresholdCents > MAX_THRESHOLD_CENTS) {
+      throw new IllegalArgumentException(
+          "thresholdCents must be between 1 and " + MAX_THRESHOLD_CENTS);
+    }
+    return thresholdCents;
+  }
+
+  static long pack(long thresholdCents, int userSlot) {
+    return thresholdCents << 32 | (userSlot & 0xFFFFFFFFL);
+  }
+
+  static long threshold(long entry) {
+    return entry >>> 32;
+  }
+
+  static int slot(long entry) {
+    return (int) entry;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /** Appends without keeping order; call {@link #sort} before anything else. For bulk loads. */
+  void append(long entry) {
+    grow();
+    entries[size++] = entry;
+    sorted = false;
+  }
+
+  void sort() {
+    if (!sorted) {
+      Arrays.sort(entries, 0, size);
+      sorted = true;
+    }
+  }
+
+  /** Inserts in order, replacing the user's existing watch if there is one. */
+  void put(long entry) {
+    remove(slot(entry));
+    int at = lowerBound(entry);
+    grow();
+    System.arraycopy(entries, at, entries, at + 1, size - at);
+    entries[at] = entry;
+    size++;
+  }
+
+  /** Drops the user's watch. Linear: entries are ordered by threshold, not by user. */
+  boolean remove(int userSlot) {
+    for (int i = 0; i < size; i++) {
+      if (slot(entries[i]) == userSlot) {
+        System.arraycopy(entries, i + 1, entries, i, size - i - 1);
+        size--;
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Fires and disarms every watch with a threshold at or above {@code priceCents}.
+   *
+   * @return the number of watches fired
+   */
+  int fire(UUID eventId, long priceCents, WatchSink sink) {
+    if (priceCents > MAX_THRESHOLD_CENTS) {
+      return 0;
+    }
+    int from = lowerBound(priceCents << 32);
+    for (int i = from; i < size; i++) {
+      sink.matched(eventId, slot(entries[i]), threshold(entries[i]), priceCents);
+    }
+    int fired = size - from;
+    size = from;
+    return fired;
+  }
+
+  private int lowerBound(long key) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (entries[mid] < key) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private void grow() {
+    if (size == entries.length) {
+      entries = Arrays.copyOf(entries, size + (size >> 1) + 1);
+    }
+  }
+}
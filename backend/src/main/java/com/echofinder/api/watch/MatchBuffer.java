@@ -0,0 +1,30 @@
+package com.echofinder.api.watch;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/** Collects one shard's fired watches into parallel arrays; growth is the only allocation. */
+final class MatchBuffer implements WatchSink {
+
+  UUID[] eventIds = new UUID[64];
+  int[] userSlots = new int[64];
+  long[] thresholdsCents = new long[64];
+  long[] pricesCents = new long[64];
+  int size;
+
+  @Override
+  public void matched(UUID eventId, int userSlot, long thresholdCents, long priceCents) {
+    if (size == eventIds.length) {
+      int capacity = size * 2;
+      eventIds = Arrays.copyOf(eventIds, capacity);
+      userSlots = Arrays.copyOf(userSlots, capacity);
+      thresholdsCents = Arrays.copyOf(thresholdsCents, capacity);
+      pricesCents = Arrays.copyOf(pricesCents, capacity);
+    }
+    eventIds[size] = eventId;
+    userSlots[size] = userSlot;
+    thresholdsCents[size] = thresholdCents;
+    pricesCents[size] = priceCents;
+    size++;
+  }
+}
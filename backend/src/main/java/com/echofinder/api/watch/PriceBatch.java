@@ -0,0 +1,22 @@
+package com.echofinder.api.watch;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/** Observations to resolve against the index, as parallel arrays for {@link WatchIndex#fireAll}. */
+final class PriceBatch {
+
+  UUID[] eventIds = new UUID[256];
+  long[] pricesCents = new long[256];
+  int size;
+
+  void add(UUID eventId, long priceCents) {
+    if (size == eventIds.length) {
+      eventIds = Arrays.copyOf(eventIds, size * 2);
+      pricesCents = Arrays.copyOf(pricesCents, size * 2);
+    }
+    eventIds[size] = eventId;
+    pricesCents[size] = priceCents;
+    size++;
+  }
+}
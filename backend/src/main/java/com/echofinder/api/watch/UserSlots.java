@@ -0,0 +1,47 @@
+package com.echofinder.api.watch;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Dense int slots for user ids, so an index entry holds 4 bytes of user instead of a 16-byte UUID
+ * and an object header. Slots are never reused; there is one per user that ever had an armed watch
+ * since the index was loaded. Confined to the index's writer.
+ */
+final class UserSlots {
+
+  private final Map<UUID, Integer> slots = new HashMap<>();
+  private UUID[] users = new UUID[1024];
+  private int size;
+
+  int slotOf(UUID userId) {
+    Integer slot = slots.get(userId);
+    if (slot != null) {
+      return slot;
+    }
+    if (size == users.length) {
+      users = Arrays.copyOf(users, size * 2);
+    }
+    users[size] = userId;
+    slots.put(userId, size);
+    return size++;
+  }
+
+  /** The user's slot, or -1 when they have none. */
+  int find(UUID userId) {
+    Integer slot = slots.get(userId);
+    return slot == null ? -1 : slot;
+  }
+
+  UUID userId(int slot) {
+    return users[slot];
+  }
+
+  void clear() {
+    slots.clear();
+    users = new UUID[1024];
+    size = 0;
+  }
+}
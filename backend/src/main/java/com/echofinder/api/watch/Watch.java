@@ -0,0 +1,8 @@
+package com.echofinder.api.watch;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** A user's price watch on one event; {@code triggeredAt} is set once it has fired. */
+public record Watch(
+    UUID eventId, long thresholdCents, OffsetDateTime triggeredAt, OffsetDateTime createdAt) {}
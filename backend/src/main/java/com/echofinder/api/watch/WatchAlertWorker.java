@@ -0,0 +1,208 @@
+package com.echofinder.api.watch;
+
+import com.echofinder.api.infra.TransactionWatermarks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Turns price observations into price alerts.
+ *
+ * <p>Every pod keeps a {@link WatchIndex} of all armed watches, loaded once and then kept current
+ * from the watch rows changed since the last run. The pod that wins the alert watermark resolves
+ * the observations committed since the previous run against its index, marks the fired watches and
+ * queues their alerts in the outbox, and moves the watermark, all in one transaction. If that
+ * transaction fails the index has already disarmed watches that are still armed in the database, so
+ * it is reloaded.
+ */
+@Component
+public class WatchAlertWorker {
+
+  static final String WATERMARK = "watch_alerts";
+
+  private static final Logger log = LoggerFactory.getLogger(WatchAlertWorker.class);
+
+  private final WatchStore store;
+  private final TransactionWatermarks watermarks;
+  private final WatchIndex index;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean enabled;
+  private final Duration deletedRetention;
+
+  private final Timer runTimer;
+  private final Counter firedCounter;
+  private final Counter alertCounter;
+
+  // Position up to which watch changes are in the index; -1 until the first load
+  private long syncedTo = -1;
+  private Instant syncedAt = Instant.EPOCH;
+
+  public WatchAlertWorker(
+      WatchStore store,
+      TransactionWatermarks watermarks,
+      WatchIndex index,
+      TransactionTemplate transactionTemplate,
+      MeterRegistry meterRegistry,
+      @Value("${echo.watches.enabled:true}") boolean enabled,
+      @Value("${echo.watches.deleted-retention:P1D}") Duration deletedRetention) {
+    this.store = store;
+    this.watermarks = watermarks;
+    this.index = index;
+    this.transactionTemplate = transactionTemplate;
+    this.enabled = enabled;
+    this.deletedRetention = deletedRetention;
+    this.runTimer =
+        Timer.builder("echo.watches.run")
+            .description("Time to resolve newly committed price observations against watches")
+            .register(meterRegistry);
+    this.firedCounter =
+        Counter.builder("echo.watches.fired")
+            .description("Watches fired by price observations")
+            .register(meterRegistry);
+    this.alertCounter =
+        Counter.builder("echo.watches.alerts")
+            .description("Price alerts queued for fired watches")
+            .register(meterRegistry);
+    Gauge.builder("echo.watches.armed", index, WatchIndex::size)
+        .description("Armed watches in this pod's index")
+        .register(meterRegistry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onStartup() {
+    if (enabled) {
+      reload();
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${echo.watches.interval-ms:2000}")
+  public void poll() {
+    if (enabled) {
+      run();
+    }
+  }
+
+  /** Rebuilds the index from every armed watch in the database. */
+  public synchronized void reload() {
+    long started = System.nanoTime();
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          long to = watermarks.horizon();
+          index.clear();
+          store.streamArmed(
+              watch -> index.append(watch.userId(), watch.eventId(), watch.thresholdCents()));
+          index.seal();
+          syncedTo = to;
+          syncedAt = Instant.now();
+        });
+    log.info(
+        "Loaded {} armed watches in {} ms",
+        index.size(),
+        (System.nanoTime() - started) / 1_000_000);
+  }
+
+  /**
+   * Applies watch changes, then, unless another pod holds the watermark, fires the watches matched
+   * by everything observed since the last run.
+   *
+   * @return the number of alerts queued
+   */
+  public synchronized int run() {
+    // Soft deletes are purged after the retention; an index that fell further behind reloads
+    if (syncedTo < 0 || syncedAt.isBefore(Instant.now().minus(deletedRetention.dividedBy(2)))) {
+      reload();
+    }
+    try {
+      Integer alerts =
+          runTimer.record(
+              () ->
+                  transactionTemplate.execute(
+                      status -> {
+                        Long from = watermarks.tryLock(WATERMARK);
+                        long to = watermarks.horizon();
+                        sync(to);
+                        if (from == null || to <= from) {
+                          return 0;
+                        }
+                        int queued = fire(store.lowestPrices(from, to));
+                        watermarks.advance(WATERMARK, to);
+                        return queued;
+                      }));
+      return alerts == null ? 0 : alerts;
+    } catch (RuntimeException e) {
+      reload();
+      throw e;
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${echo.watches.purge-interval-ms:3600000}")
+  public void purge() {
+    if (enabled) {
+      purgeDeleted();
+    }
+  }
+
+  public int purgeDeleted() {
+    return transactionTemplate.execute(
+        status -> store.purgeDeleted(Instant.now().minus(deletedRetention)));
+  }
+
+  private void sync(long to) {
+    if (to <= syncedTo) {
+      return;
+    }
+    store.changed(
+        syncedTo,
+        to,
+        watch -> {
+          if (watch.armed()) {
+            index.put(watch.userId(), watch.eventId(), watch.thresholdCents());
+          } else {
+            index.remove(watch.userId(), watch.eventId());
+          }
+        });
+    syncedTo = to;
+    syncedAt = Instant.now();
+  }
+
+  private int fire(PriceBatch batch) {
+    MatchBuffer[] buffers = new MatchBuffer[index.shardCount()];
+    for (int i = 0; i < buffers.length; i++) {
+      buffers[i] = new MatchBuffer();
+    }
+    int fired = index.fireAll(batch.eventIds, batch.pricesCents, batch.size, buffers);
+    if (fired == 0) {
+      return 0;
+    }
+    firedCounter.increment(fired);
+
+    UUID[] userIds = new UUID[fired];
+    UUID[] eventIds = new UUID[fired];
+    Long[] thresholds = new Long[fired];
+    Long[] prices = new Long[fired];
+    int at = 0;
+    for (MatchBuffer buffer : buffers) {
+      for (int i = 0; i < buffer.size; i++, at++) {
+        userIds[at] = index.userId(buffer.userSlots[i]);
+        eventIds[at] = buffer.eventIds[i];
+        thresholds[at] = buffer.thresholdsCents[i];
+        prices[at] = buffer.pricesCents[i];
+      }
+    }
+    int queued = store.trigger(userIds, eventIds, thresholds, prices);
+    alertCounter.increment(queued);
+    return queued;
+  }
+}
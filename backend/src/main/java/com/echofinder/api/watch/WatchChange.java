@@ -0,0 +1,6 @@
+package com.echofinder.api.watch;
+
+import java.util.UUID;
+
+/** A watch row as the index sees it: armed at a threshold, or not (fired or deleted). */
+record WatchChange(UUID userId, UUID eventId, long thresholdCents, boolean armed) {}
@@ -0,0 +1,53 @@
+package com.echofinder.api.watch;
+
+import com.echofinder.api.infra.ErrorCode;
+import com.echofinder.api.infra.PrecomputedErrorResponses;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/users/{userId}/watches")
+public class WatchController {
+
+  private final WatchService watchService;
+  private final PrecomputedErrorResponses errorResponses;
+
+  public WatchController(WatchService watchService, PrecomputedErrorResponses errorResponses) {
+    this.watchService = watchService;
+    this.errorResponses = errorResponses;
+  }
+
+  @GetMapping
+  public List<Watch> watches(@PathVariable UUID userId) {
+    return watchService.watches(userId);
+  }
+
+  /** Arms a price alert: 201 for a new watch, 200 when an existing one was re-armed. */
+  @PutMapping("/{eventId}")
+  public ResponseEntity<?> watch(
+      @PathVariable UUID userId, @PathVariable UUID eventId, @RequestBody WatchRequest request) {
+    return watchService
+        .watch(userId, eventId, request.thresholdCents())
+        .<ResponseEntity<?>>map(
+            saved ->
+                ResponseEntity.status(saved.created() ? HttpStatus.CREATED : HttpStatus.OK)
+                    .body(saved.watch()))
+        .orElseGet(() -> errorResponses.entity(ErrorCode.NOT_FOUND));
+  }
+
+  @DeleteMapping("/{eventId}")
+  public ResponseEntity<?> unwatch(@PathVariable UUID userId, @PathVariable UUID eventId) {
+    return watchService.unwatch(userId, eventId)
+        ? ResponseEntity.noContent().build()
+        : errorResponses.entity(ErrorCode.NOT_FOUND);
+  }
+}
@@ -0,0 +1,256 @@
+package com.echofinder.api.watch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Inverted index from event to the armed watches on it, so a price observation is resolved in
+ * memory: one hash lookup and a binary search over that event's {@link EventWatches}, handing each
+ * fired watch to a {@link WatchSink} without allocating.
+ *
+ * <p>Events are spread over shards by id. {@link #fireAll} resolves a batch of observations with
+ * one task per shard, so shards run on separate cores and share nothing. The index has a single
+ * writer, {@link WatchAlertWorker}, which applies watch changes and fires batches in turn; nothing
+ * else may call the mutating methods.
+ */
+@Component
+public class WatchIndex implements AutoCloseable {
+
+  private final Shard[] shards;
+  private final int mask;
+  private final UserSlots users = new UserSlots();
+  private final ExecutorService executor;
+
+  public WatchIndex(@Value("${echo.watches.shards:0}") int shards) {
+    if (shards < 0) {
+      throw new IllegalArgumentException("shards must not be negative");
+    }
+    int requested = shards == 0 ? Runtime.getRuntime().availableProcessors() : shards;
+    // A power of two so the shard is a mask of the hash; rounded down to stay within the cores
+    int count = Integer.highestOneBit(requested);
+    this.shards = new Shard[count];
+    for (int i = 0; i < count; i++) {
+      this.shards[i] = new Shard();
+    }
+    this.mask = count - 1;
+    this.executor =
+        count == 1
+            ? null
+            : Executors.newFixedThreadPool(
+                count, Thread.ofPlatform().daemon().name("watch-shard-", 0).factory());
+  }
+
+  public int shardCount() {
+    return shards.length;
+  }
+
+  /** Armed watches in the index. */
+  public long size() {
+    long size = 0;
+    for (Shard shard : shards) {
+      size += shard.watches;
+    }
+    return size;
+  }
+
+  public UUID userId(int userSlot) {
+    return users.userId(userSlot);
+  }
+
+  /** Arms the user's watch on the event at {@code thresholdCents}, replacing any previous one. */
+  public void put(UUID userId, UUID eventId, long thresholdCents) {
+    shardOf(eventId)
+        .put(
+            eventId,
+            EventWatches.pack(EventWatches.checkThreshold(thresholdCents), users.slotOf(userId)));
+  }
+
+  public void remove(UUID userId, UUID eventId) {
+    int slot = users.find(userId);
+    if (slot >= 0) {
+      shardOf(eventId).remove(eventId, slot);
+    }
+  }
+
+  /**
+   * Fires every watch on the event with a threshold at or above the observed price. Fired watches
+   * are disarmed.
+   *
+   * @return the number of watches fired
+   */
+  public int fire(UUID eventId, long priceCents, WatchSink sink) {
+    return shardOf(eventId).fire(eventId, priceCents, sink);
+  }
+
+  /**
+   * Resolves {@code count} observations in parallel, one task per shard. Matches from shard {@code
+   * i} go to {@code sinks[i]}, so sinks need not be thread-safe.
+   *
+   * @return the number of watches fired
+   */
+  public int fireAll(UUID[] eventIds, long[] pricesCents, int count, WatchSink[] sinks) {
+    if (sinks.length != shards.length) {
+      throw new IllegalArgumentException("Need one sink per shard");
+    }
+    // Counting sort of observation positions by shard
+    int[] shardOf = new int[count];
+    int[] starts = new int[shards.length + 1];
+    for (int i = 0; i < count; i++) {
+      shardOf[i] = shardIndex(eventIds[i]);
+      starts[shardOf[i] + 1]++;
+    }
+    for (int s = 0; s < shards.length; s++) {
+      starts[s + 1] += starts[s];
+    }
+    int[] order = new int[count];
+    int[] next = starts.clone();
+    for (int i = 0; i < count; i++) {
+      order[next[shardOf[i]]++] = i;
+    }
+
+    List<Callable<Integer>> tasks = new ArrayList<>();
+    for (int s = 0; s < shards.length; s++) {
+      if (starts[s] == starts[s + 1]) {
+        continue;
+      }
+      Shard shard = shards[s];
+      WatchSink sink = sinks[s];
+      int from = starts[s];
+      int to = starts[s + 1];
+      tasks.add(
+          () -> {
+            int fired = 0;
+            for (int k = from; k < to; k++) {
+              int i = order[k];
+              fired += shard.fire(eventIds[i], pricesCents[i], sink);
+            }
+            return fired;
+          });
+    }
+    return run(tasks);
+  }
+
+  /** Adds a watch without keeping order; {@link #seal} must follow before the index is used. */
+  void append(UUID userId, UUID eventId, long thresholdCents) {
+    shardOf(eventId)
+        .append(
+            eventId,
+            EventWatches.pack(EventWatches.checkThreshold(thresholdCents), users.slotOf(userId)));
+  }
+
+  /** Sorts everything added by {@link #append}. */
+  void seal() {
+    List<Callable<Integer>> tasks = new ArrayList<>();
+    for (Shard shard : shards) {
+      tasks.add(
+          () -> {
+            shard.events.values().forEach(EventWatches::sort);
+            return 0;
+          });
+    }
+    run(tasks);
+  }
+
+  void clear() {
+    for (Shard shard : shards) {
+      shard.events.clear();
+      shard.watches = 0;
+    }
+    users.clear();
+  }
+
+  @Override
+  public void close() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  private int run(List<Callable<Integer>> tasks) {
+    int total = 0;
+    if (executor == null || tasks.size() == 1) {
+      for (Callable<Integer> task : tasks) {
+        try {
+          total += task.call();
+        } catch (Exception e) {
+          throw new IllegalStateException("Watch shard task failed", e);
+        }
+      }
+      return total;
+    }
+    try {
+      for (Future<Integer> result : executor.invokeAll(tasks)) {
+        total += result.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while resolving watches", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Watch shard task failed", e.getCause());
+    }
+    return total;
+  }
+
+  private Shard shardOf(UUID eventId) {
+    return shards[shardIndex(eventId)];
+  }
+
+  private int shardIndex(UUID eventId) {
+    int hash = eventId.hashCode();
+    return (hash ^ hash >>> 16) & mask;
+  }
+
+  private static final class Shard {
+
+    private final Map<UUID, EventWatches> events = new HashMap<>();
+    // Written by one thread at a time; volatile so size() can be read from anywhere
+    private volatile long watches;
+
+    void put(UUID eventId, long entry) {
+      EventWatches watchList = events.computeIfAbsent(eventId, id -> new EventWatches());
+      int before = watchList.size();
+      watchList.put(entry);
+      watches += watchList.size() - before;
+    }
+
+    void append(UUID eventId, long entry) {
+      events.computeIfAbsent(eventId, id -> new EventWatches()).append(entry);
+      watches++;
+    }
+
+    void remove(UUID eventId, int userSlot) {
+      EventWatches watchList = events.get(eventId);
+      if (watchList != null && watchList.remove(userSlot)) {
+        watches--;
+        if (watchList.size() == 0) {
+          events.remove(eventId);
+        }
+      }
+    }
+
+    int fire(UUID eventId, long priceCents, WatchSink sink) {
+      EventWatches watchList = events.get(eventId);
+      if (watchList == null) {
+        return 0;
+      }
+      int fired = watchList.fire(eventId, priceCents, sink);
+      if (fired > 0) {
+        watches -= fired;
+        if (watchList.size() == 0) {
+          events.remove(eventId);
+        }
+      }
+      return fired;
+    }
+  }
+}
@@ -0,0 +1,4 @@
+package com.echofinder.api.watch;
+
+/** Body of {@code PUT /api/users/{userId}/watches/{eventId}}. */
+public record WatchRequest(Long thresholdCents) {}
@@ -0,0 +1,72 @@
+package com.echofinder.api.watch;
+
+import com.echofinder.api.tenant.TenantContext;
+import com.echofinder.api.trending.EventCityCache;
+import com.echofinder.api.trending.TrendingService;
+import com.echofinder.api.trending.TrendingSignal;
+import com.echofinder.api.user.User;
+import com.echofinder.api.user.UserRepository;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.stereotype.Service;
+
+/**
+ * Watch changes from the API. They are written to the database only; {@link WatchAlertWorker}
+ * applies them to its in-memory index on its next run, on every pod alike.
+ */
+@Service
+public class WatchService {
+
+  private final WatchStore store;
+  private final UserRepository userRepository;
+  private final EventCityCache eventCityCache;
+  private final TrendingService trendingService;
+
+  public WatchService(
+      WatchStore store,
+      UserRepository userRepository,
+      EventCityCache eventCityCache,
+      TrendingService trendingService) {
+    this.store = store;
+    this.userRepository = userRepository;
+    this.eventCityCache = eventCityCache;
+    this.trendingService = trendingService;
+  }
+
+  /**
+   * Arms a watch at the threshold, or re-arms an existing one. New watches count towards the
+   * event's trending score.
+   *
+   * @return the saved watch, or empty when the user or event does not exist
+   */
+  public Optional<WatchStore.SavedWatch> watch(UUID userId, UUID eventId, Long thresholdCents) {
+    if (thresholdCents == null) {
+      throw new IllegalArgumentException("thresholdCents is required");
+    }
+    EventWatches.checkThreshold(thresholdCents);
+    // Only finds users of the current tenant; their tenant owns the watch
+    Optional<User> user = userRepository.findById(userId);
+    if (user.isEmpty()) {
+      return Optional.empty();
+    }
+    Optional<String> city = eventCityCache.cityOf(eventId);
+    if (city.isEmpty()) {
+      return Optional.empty();
+    }
+    WatchStore.SavedWatch saved =
+        store.upsert(user.get().getTenantId(), userId, eventId, thresholdCents);
+    if (saved.created()) {
+      trendingService.record(eventId, city.get(), TrendingSignal.WATCH);
+    }
+    return Optional.of(saved);
+  }
+
+  public boolean unwatch(UUID userId, UUID eventId) {
+    return store.delete(TenantContext.idOrDefault(), userId, eventId);
+  }
+
+  public List<Watch> watches(UUID userId) {
+    return store.list(TenantContext.idOrDefault(), userId);
+  }
+}
@@ -0,0 +1,14 @@
+package com.echofinder.api.watch;
+
+import java.util.UUID;
+
+/**
+ * Receives the watches an observation fires. Arguments are primitives and the caller's own event
+ * id, so resolving matches allocates nothing; map {@code userSlot} back with {@link
+ * WatchIndex#userId}.
+ */
+@FunctionalInterface
+public interface WatchSink {
+
+  void matched(UUID eventId, int userSlot, long thresholdCents, long priceCents);
+}
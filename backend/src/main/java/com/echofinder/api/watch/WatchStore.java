@@ -0,0 +1,192 @@
+package com.echofinder.api.watch;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * SQL for watches and price alerts. Like the price rollups, alerting keeps an {@code xid8}
+ * watermark over {@code price_observations}, and every watch row carries the transaction that last
+ * wrote it, so both "observations since" and "watch changes since" are exact {@code [from, to)}
+ * ranges (see {@code TransactionWatermarks}).
+ *
+ * <p>API calls pass the caller's tenant and only see that tenant's watches; the alert worker works
+ * across tenants, as a watch's user id identifies it on its own.
+ */
+@Repository
+public class WatchStore {
+
+  private static final int FETCH_SIZE = 1000;
+  private static final String COLUMNS = "event_id, threshold_cents, triggered_at, created_at";
+  private static final String ARMED = "triggered_at IS NULL AND deleted_at IS NULL";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public WatchStore(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /** Arms the user's watch, re-arming it if it had fired or been deleted. */
+  public SavedWatch upsert(String tenantId, UUID userId, UUID eventId, long thresholdCents) {
+    return jdbcTemplate.queryForObject(
+        "INSERT INTO watches AS w (tenant_id, user_id, event_id, threshold_cents)"
+            + " VALUES (?, ?, ?, ?)"
+            + " ON CONFLICT (user_id, event_id) DO UPDATE SET"
+            + " threshold_cents = EXCLUDED.threshold_cents, triggered_at = NULL,"
+            + " created_at = CASE WHEN w.deleted_at IS NULL THEN w.created_at ELSE now() END,"
+            + " deleted_at = NULL, updated_at = now()"
+            // xmax is 0 only on a freshly inserted row
+            + " RETURNING "
+            + COLUMNS
+            + ", xmax = 0",
+        (rs, rowNum) -> new SavedWatch(watch(rs), rs.getBoolean(5)),
+        tenantId,
+        userId,
+        eventId,
+        thresholdCents);
+  }
+
+  /** Soft-deletes the watch so indexes on other pods see the change; false when there is none. */
+  public boolean delete(String tenantId, UUID userId, UUID eventId) {
+    return jdbcTemplate.update(
+            "UPDATE watches SET deleted_at = now(), updated_at = now()"
+                + " WHERE tenant_id = ? AND user_id = ? AND event_id = ? AND deleted_at IS NULL",
+            tenantId,
+            userId,
+            eventId)
+        > 0;
+  }
+
+  public List<Watch> list(String tenantId, UUID userId) {
+    return jdbcTemplate.query(
+        "SELECT "
+            + COLUMNS
+            + " FROM watches WHERE tenant_id = ? AND user_id = ? AND deleted_at IS NULL"
+            + " ORDER BY created_at",
+        (rs, rowNum) -> watch(rs),
+        tenantId,
+        userId);
+  }
+
+  /** Every armed watch; needs a transaction for the cursor to stream. */
+  void streamArmed(Consumer<WatchChange> consumer) {
+    jdbcTemplate.query(
+        connection -> {
+          PreparedStatement statement =
+              connection.prepareStatement(
+                  "SELECT user_id, event_id, threshold_cents, true FROM watches WHERE " + ARMED);
+          statement.setFetchSize(FETCH_SIZE);
+          return statement;
+        },
+        rs -> {
+          consumer.accept(change(rs));
+        });
+  }
+
+  /**
+   * Watches written in {@code [from, to)}, after the watches removed outright in that range (by a
+   * user or event delete, see {@code V12__watch_tombstones.sql}) as disarmed changes.
+   */
+  void changed(long from, long to, Consumer<WatchChange> consumer) {
+    jdbcTemplate.query(
+        "SELECT user_id, event_id, 0, false FROM watch_tombstones"
+            + " WHERE txid >= ?::text::xid8 AND txid < ?::text::xid8",
+        rs -> {
+          consumer.accept(change(rs));
+        },
+        from,
+        to);
+    jdbcTemplate.query(
+        "SELECT user_id, event_id, threshold_cents, "
+            + ARMED
+            + " FROM watches WHERE txid >= ?::text::xid8 AND txid < ?::text::xid8",
+        rs -> {
+          consumer.accept(change(rs));
+        },
+        from,
+        to);
+  }
+
+  /**
+   * The lowest price per event among observations written in {@code [from, to)}. A watch fires at
+   * most once per run, and it fires on the lowest price if it fires on any.
+   */
+  PriceBatch lowestPrices(long from, long to) {
+    PriceBatch batch = new PriceBatch();
+    jdbcTemplate.query(
+        "SELECT event_id, min(price_cents) FROM price_observations"
+            + " WHERE txid >= ?::text::xid8 AND txid < ?::text::xid8 GROUP BY event_id",
+        rs -> {
+          batch.add(rs.getObject(1, UUID.class), rs.getLong(2));
+        },
+        from,
+        to);
+    return batch;
+  }
+
+  /**
+   * Marks fired watches triggered and queues a price alert for each, in one statement. A watch
+   * whose threshold changed or that fired elsewhere since the index saw it no longer matches and is
+   * skipped; disabled users get no alert.
+   *
+   * @return the number of alerts queued
+   */
+  int trigger(UUID[] userIds, UUID[] eventIds, Long[] thresholdsCents, Long[] pricesCents) {
+    return jdbcTemplate.update(
+        connection -> {
+          PreparedStatement statement =
+              connection.prepareStatement(
+                  "WITH fired AS ("
+                      + " UPDATE watches w SET triggered_at = now(), updated_at = now()"
+                      + " FROM unnest(?::uuid[], ?::uuid[], ?::bigint[], ?::bigint[])"
+                      + " AS m(user_id, event_id, threshold_cents, price_cents)"
+                      + " WHERE w.user_id = m.user_id AND w.event_id = m.event_id"
+                      + " AND w.threshold_cents = m.threshold_cents"
+                      + " AND w.triggered_at IS NULL AND w.deleted_at IS NULL"
+                      + " RETURNING w.tenant_id, w.user_id, w.event_id, w.threshold_cents,"
+                      + " m.price_cents)"
+                      + " INSERT INTO outbox (id, type, recipient, payload, status)"
+                      + " SELECT gen_random_uuid(), 'PRICE_ALERT', u.email,"
+                      + " json_build_object('eventId', f.event_id, 'thresholdCents',"
+                      + " f.threshold_cents, 'priceCents', f.price_cents)::text, 'PENDING'"
+                      + " FROM fired f JOIN users u"
+                      + " ON u.tenant_id = f.tenant_id AND u.id = f.user_id"
+                      + " WHERE u.status = 'ACTIVE'");
+          statement.setArray(1, connection.createArrayOf("uuid", userIds));
+          statement.setArray(2, connection.createArrayOf("uuid", eventIds));
+          statement.setArray(3, connection.createArrayOf("bigint", thresholdsCents));
+          statement.setArray(4, connection.createArrayOf("bigint", pricesCents));
+          return statement;
+        });
+  }
+
+  /** Removes soft-deleted rows and tombstones once every index has had time to apply them. */
+  int purgeDeleted(Instant before) {
+    return jdbcTemplate.update("DELETE FROM watches WHERE deleted_at < ?", Timestamp.from(before))
+        + jdbcTemplate.update(
+            "DELETE FROM watch_tombstones WHERE deleted_at < ?", Timestamp.from(before));
+  }
+
+  private static Watch watch(ResultSet rs) throws SQLException {
+    return new Watch(
+        rs.getObject(1, UUID.class),
+        rs.getLong(2),
+        rs.getObject(3, OffsetDateTime.class),
+        rs.getObject(4, OffsetDateTime.class));
+  }
+
+  private static WatchChange change(ResultSet rs) throws SQLException {
+    return new WatchChange(
+        rs.getObject(1, UUID.class), rs.getObject(2, UUID.class), rs.getLong(3), rs.getBoolean(4));
+  }
+
+  public record SavedWatch(Watch watch, boolean created) {}
+}
@@ -0,0 +1,15 @@
+-- V10__price_rollup_txids.sql
+-- Every rollup bucket carries the transaction that last wrote it, so a price series can be tagged
+-- by the buckets it covers instead of the rollup watermark, which moves on every run
+
+ALTER TABLE price_rollups_hourly ADD COLUMN txid XID8 NOT NULL DEFAULT pg_current_xact_id();
+ALTER TABLE price_rollups_daily ADD COLUMN txid XID8 NOT NULL DEFAULT pg_current_xact_id();
+ALTER TABLE price_rollups_weekly ADD COLUMN txid XID8 NOT NULL DEFAULT pg_current_xact_id();
+
+-- Folding observations into an existing bucket is an ON CONFLICT update
+CREATE TRIGGER price_rollups_hourly_stamp_txid BEFORE UPDATE ON price_rollups_hourly
+    FOR EACH ROW EXECUTE FUNCTION stamp_txid();
+CREATE TRIGGER price_rollups_daily_stamp_txid BEFORE UPDATE ON price_rollups_daily
+    FOR EACH ROW EXECUTE FUNCTION stamp_txid();
+CREATE TRIGGER price_rollups_weekly_stamp_txid BEFORE UPDATE ON price_rollups_weekly
+    FOR EACH ROW EXECUTE FUNCTION stamp_txid();
@@ -0,0 +1,11 @@
+-- V11__tenant_hosts.sql
+-- Tenants are resolved from the host a request was routed for, not from a header the client can
+-- set: each partner brand is served on its own hosts, and any other host is the default tenant
+
+CREATE TABLE tenant_hosts (
+    host TEXT PRIMARY KEY,
+    tenant_id TEXT NOT NULL,
+
+    CONSTRAINT tenant_hosts_tenant_fk FOREIGN KEY (tenant_id) REFERENCES tenants(id),
+    CONSTRAINT tenant_hosts_host_check CHECK (host = lower(host))
+);
@@ -0,0 +1,27 @@
+-- V12__watch_tombstones.sql
+-- Deleting a user or an event removes their watches through ON DELETE CASCADE, which bypasses the
+-- soft delete every pod's watch index syncs from. As for catalog rows (V7), removed watches leave
+-- a tombstone the index applies from the txid range; the foreign keys keep their integrity
+
+CREATE TABLE watch_tombstones (
+    user_id UUID NOT NULL,
+    event_id UUID NOT NULL,
+    txid XID8 NOT NULL DEFAULT pg_current_xact_id(),
+    deleted_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_watch_tombstones_txid ON watch_tombstones(txid);
+CREATE INDEX idx_watch_tombstones_deleted_at ON watch_tombstones(deleted_at);
+
+-- Soft-deleted watches were already synced as deleted, so purging them leaves no tombstone
+CREATE FUNCTION record_watch_tombstone() RETURNS trigger AS $$
+BEGIN
+    IF OLD.deleted_at IS NULL THEN
+        INSERT INTO watch_tombstones (user_id, event_id) VALUES (OLD.user_id, OLD.event_id);
+    END IF;
+    RETURN OLD;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER watches_record_tombstone AFTER DELETE ON watches
+    FOR EACH ROW EXECUTE FUNCTION record_watch_tombstone();
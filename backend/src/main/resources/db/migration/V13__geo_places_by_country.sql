@@ -0,0 +1,7 @@
+-- V13__geo_places_by_country.sql
+-- City names repeat across countries (Paris, France and Paris, Texas), so places are keyed by
+-- country as well; records that name no country are only geocoded when the city is unambiguous.
+-- Loaders keep one place per normalized name within a country, the most populous
+
+ALTER TABLE geo_places DROP CONSTRAINT geo_places_pkey;
+ALTER TABLE geo_places ADD PRIMARY KEY (country_code, city_key);
@@ -0,0 +1,24 @@
+-- V2__outbox.sql
+-- Transactional outbox for notifications (invite emails, price alerts)
+
+CREATE TABLE outbox (
+    id UUID PRIMARY KEY,
+    type TEXT NOT NULL,
+    recipient TEXT NOT NULL,
+    payload TEXT NOT NULL,
+    status TEXT NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    available_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    last_error TEXT,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    sent_at TIMESTAMPTZ,
+
+    CONSTRAINT outbox_type_check CHECK (type IN ('INVITE_EMAIL', 'PRICE_ALERT')),
+    CONSTRAINT outbox_status_check CHECK (status IN ('PENDING', 'SENT', 'DEAD'))
+);
+
+-- Partial index so dispatcher claims only scan undelivered rows
+CREATE INDEX idx_outbox_pending ON outbox(available_at) WHERE status = 'PENDING';
+
+-- Index on sent_at for purging delivered rows
+CREATE INDEX idx_outbox_sent_at ON outbox(sent_at) WHERE status = 'SENT';
@@ -0,0 +1,81 @@
+-- V3__catalog_and_prices.sql
+-- Event catalog, raw ticket price observations and their hourly/daily/weekly rollups
+
+CREATE TABLE venues (
+    id UUID PRIMARY KEY,
+    name TEXT NOT NULL,
+    city TEXT NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+-- Index on lowercase city for per-city discovery
+CREATE INDEX idx_venues_city ON venues(LOWER(city));
+
+CREATE TABLE events (
+    id UUID PRIMARY KEY,
+    title TEXT NOT NULL,
+    venue_id UUID NOT NULL,
+    starts_at TIMESTAMPTZ NOT NULL,
+    currency TEXT NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+
+    CONSTRAINT events_venue_fk FOREIGN KEY (venue_id) REFERENCES venues(id),
+    CONSTRAINT events_currency_check CHECK (currency ~ '^[A-Z]{3}$')
+);
+
+CREATE INDEX idx_events_venue ON events(venue_id);
+CREATE INDEX idx_events_starts_at ON events(starts_at);
+
+-- Allocated in blocks of 50 so Hibernate can batch observation inserts
+CREATE SEQUENCE price_observations_seq INCREMENT BY 50;
+
+-- Prices are in minor units of the event's currency
+CREATE TABLE price_observations (
+    id BIGINT PRIMARY KEY,
+    event_id UUID NOT NULL,
+    source TEXT NOT NULL,
+    price_cents BIGINT NOT NULL,
+    observed_at TIMESTAMPTZ NOT NULL,
+    -- Writing transaction; the rollup worker uses it as an exact "committed since" watermark
+    txid XID8 NOT NULL DEFAULT pg_current_xact_id(),
+
+    CONSTRAINT price_observations_event_fk FOREIGN KEY (event_id) REFERENCES events(id),
+    CONSTRAINT price_observations_price_check CHECK (price_cents >= 0)
+);
+
+CREATE INDEX idx_price_observations_txid ON price_observations(txid);
+CREATE INDEX idx_price_observations_event_observed ON price_observations(event_id, observed_at);
+
+-- Index on observed_at for backfills and raw retention
+CREATE INDEX idx_price_observations_observed_at ON price_observations(observed_at);
+
+-- One table per resolution; buckets are UTC-aligned (weeks start on Monday)
+CREATE TABLE price_rollups_hourly (
+    event_id UUID NOT NULL,
+    bucket_start TIMESTAMPTZ NOT NULL,
+    observations BIGINT NOT NULL,
+    sum_cents BIGINT NOT NULL,
+    min_cents BIGINT NOT NULL,
+    max_cents BIGINT NOT NULL,
+
+    PRIMARY KEY (event_id, bucket_start)
+);
+
+CREATE TABLE price_rollups_daily (LIKE price_rollups_hourly INCLUDING ALL);
+CREATE TABLE price_rollups_weekly (LIKE price_rollups_hourly INCLUDING ALL);
+
+-- Indexes on bucket_start for retention
+CREATE INDEX idx_price_rollups_hourly_bucket ON price_rollups_hourly(bucket_start);
+CREATE INDEX idx_price_rollups_daily_bucket ON price_rollups_daily(bucket_start);
+CREATE INDEX idx_price_rollups_weekly_bucket ON price_rollups_weekly(bucket_start);
+
+-- Position up to which raw rows have been folded into the rollups (exclusive)
+CREATE TABLE rollup_watermarks (
+    name TEXT PRIMARY KEY,
+    position XID8 NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+INSERT INTO rollup_watermarks (name, position) VALUES ('price_rollups', '0');
@@ -0,0 +1,22 @@
+-- V4__trending.sql
+-- Snapshots of the in-process trending counters, one row per pod and time bucket
+
+-- Count-Min Sketch counters for one bucket, cumulative for the pod that wrote them
+CREATE TABLE trending_sketches (
+    pod_id TEXT NOT NULL,
+    bucket_start TIMESTAMPTZ NOT NULL,
+    sketch BYTEA NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+
+    PRIMARY KEY (bucket_start, pod_id)
+);
+
+-- Index on updated_at so pods re-merge only the buckets that changed
+CREATE INDEX idx_trending_sketches_updated_at ON trending_sketches(updated_at);
+
+-- Heavy-hitter candidates per city, as last published by each pod
+CREATE TABLE trending_candidates (
+    pod_id TEXT PRIMARY KEY,
+    candidates BYTEA NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
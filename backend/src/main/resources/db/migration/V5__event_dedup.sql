@@ -0,0 +1,32 @@
+-- V5__event_dedup.sql
+-- MinHash signatures and LSH band keys for deduplicating ingested events, plus provenance
+
+-- Signature of the canonical event's normalized title and venue; NULL for events not ingested
+ALTER TABLE events ADD COLUMN minhash BYTEA;
+
+-- One row per LSH band of each canonical event; the key also encodes the band and the event date
+CREATE TABLE event_lsh_keys (
+    lsh_key INTEGER NOT NULL,
+    event_id UUID NOT NULL,
+
+    PRIMARY KEY (lsh_key, event_id),
+    CONSTRAINT event_lsh_keys_event_fk FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE
+);
+
+-- Every source record and the canonical event it was merged into
+CREATE TABLE event_sources (
+    source TEXT NOT NULL,
+    external_id TEXT NOT NULL,
+    event_id UUID NOT NULL,
+    title TEXT NOT NULL,
+    venue_name TEXT NOT NULL,
+    starts_at TIMESTAMPTZ NOT NULL,
+    similarity REAL NOT NULL,
+    first_seen_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    last_seen_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+
+    PRIMARY KEY (source, external_id),
+    CONSTRAINT event_sources_event_fk FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_event_sources_event ON event_sources(event_id);
@@ -0,0 +1,15 @@
+-- V6__feed_pipeline.sql
+-- Local gazetteer for geocoding ingested venues, and venue coordinates
+
+-- Loaded out of band from an offline city list (e.g. GeoNames cities15000); never called remotely.
+-- city_key is the city name normalized the same way as event keys
+CREATE TABLE geo_places (
+    city_key TEXT PRIMARY KEY,
+    city TEXT NOT NULL,
+    country_code CHAR(2) NOT NULL,
+    latitude DOUBLE PRECISION NOT NULL,
+    longitude DOUBLE PRECISION NOT NULL
+);
+
+ALTER TABLE venues ADD COLUMN latitude DOUBLE PRECISION;
+ALTER TABLE venues ADD COLUMN longitude DOUBLE PRECISION;
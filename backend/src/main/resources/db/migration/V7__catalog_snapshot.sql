@@ -0,0 +1,45 @@
+-- V7__catalog_snapshot.sql
+-- Change tracking for catalog snapshots: every venue and event row carries the transaction that
+-- last wrote it, and deletions leave tombstones, so a reader can apply exactly what changed since
+-- the snapshot it mapped
+
+CREATE FUNCTION stamp_txid() RETURNS trigger AS $$
+BEGIN
+    NEW.txid := pg_current_xact_id();
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE venues ADD COLUMN txid XID8 NOT NULL DEFAULT pg_current_xact_id();
+ALTER TABLE events ADD COLUMN txid XID8 NOT NULL DEFAULT pg_current_xact_id();
+
+CREATE TRIGGER venues_stamp_txid BEFORE UPDATE ON venues
+    FOR EACH ROW EXECUTE FUNCTION stamp_txid();
+CREATE TRIGGER events_stamp_txid BEFORE UPDATE ON events
+    FOR EACH ROW EXECUTE FUNCTION stamp_txid();
+
+CREATE INDEX idx_venues_txid ON venues(txid);
+CREATE INDEX idx_events_txid ON events(txid);
+
+-- kind is 'venue' or 'event'; purged once older than any snapshot a reader would still map
+CREATE TABLE catalog_tombstones (
+    kind TEXT NOT NULL,
+    id UUID NOT NULL,
+    txid XID8 NOT NULL DEFAULT pg_current_xact_id(),
+    deleted_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_catalog_tombstones_txid ON catalog_tombstones(txid);
+CREATE INDEX idx_catalog_tombstones_deleted_at ON catalog_tombstones(deleted_at);
+
+CREATE FUNCTION record_tombstone() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO catalog_tombstones (kind, id) VALUES (TG_ARGV[0], OLD.id);
+    RETURN OLD;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER venues_tombstone AFTER DELETE ON venues
+    FOR EACH ROW EXECUTE FUNCTION record_tombstone('venue');
+CREATE TRIGGER events_tombstone AFTER DELETE ON events
+    FOR EACH ROW EXECUTE FUNCTION record_tombstone('event');
@@ -0,0 +1,34 @@
+-- V8__watchlists.sql
+-- Price watches: a user is alerted once when an event's price drops to their threshold
+
+-- Thresholds are minor units, capped so the in-memory index can pack them into 31 bits.
+-- A watch fires once (triggered_at) and is re-armed by setting a threshold again; deletes are soft
+-- so every pod's index can apply them from the txid range like any other change
+CREATE TABLE watches (
+    user_id UUID NOT NULL,
+    event_id UUID NOT NULL,
+    threshold_cents BIGINT NOT NULL,
+    triggered_at TIMESTAMPTZ,
+    deleted_at TIMESTAMPTZ,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    txid XID8 NOT NULL DEFAULT pg_current_xact_id(),
+
+    PRIMARY KEY (user_id, event_id),
+    CONSTRAINT watches_user_fk FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT watches_event_fk FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE,
+    CONSTRAINT watches_threshold_check CHECK (threshold_cents BETWEEN 1 AND 2147483647)
+);
+
+CREATE TRIGGER watches_stamp_txid BEFORE UPDATE ON watches
+    FOR EACH ROW EXECUTE FUNCTION stamp_txid();
+
+CREATE INDEX idx_watches_event ON watches(event_id);
+CREATE INDEX idx_watches_txid ON watches(txid);
+
+-- Index on deleted_at for purging soft-deleted rows
+CREATE INDEX idx_watches_deleted_at ON watches(deleted_at) WHERE deleted_at IS NOT NULL;
+
+-- Alerts start from observations committed after this migration, not from all history
+INSERT INTO rollup_watermarks (name, position)
+VALUES ('watch_alerts', pg_snapshot_xmin(pg_current_snapshot()));
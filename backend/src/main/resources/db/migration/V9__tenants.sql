@@ -0,0 +1,116 @@
+-- V9__tenants.sql
+-- Partner brands as tenants: users and invites are hash-partitioned by tenant
+
+-- Budgets left NULL fall back to echo.tenancy.*
+CREATE TABLE tenants (
+    id TEXT PRIMARY KEY,
+    name TEXT NOT NULL,
+    max_connections INTEGER,
+    requests_per_second INTEGER,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+
+    CONSTRAINT tenants_id_check CHECK (id ~ '^[a-z0-9][a-z0-9-]{0,31}$'),
+    CONSTRAINT tenants_max_connections_check CHECK (max_connections > 0),
+    CONSTRAINT tenants_requests_per_second_check CHECK (requests_per_second > 0)
+);
+
+-- Existing rows, requests without X-Tenant-Id and rows written without a tenant belong here
+INSERT INTO tenants (id, name) VALUES ('default', 'Default');
+
+-- Move the unpartitioned tables aside; their rows are copied over below
+ALTER TABLE invites DROP CONSTRAINT invites_inviter_fk;
+ALTER TABLE watches DROP CONSTRAINT watches_user_fk;
+
+ALTER TABLE users RENAME TO users_unpartitioned;
+ALTER TABLE users_unpartitioned DROP CONSTRAINT users_pkey;
+DROP INDEX idx_users_email_unique;
+DROP INDEX idx_users_status;
+
+ALTER TABLE invites RENAME TO invites_unpartitioned;
+ALTER TABLE invites_unpartitioned DROP CONSTRAINT invites_pkey;
+ALTER TABLE invites_unpartitioned DROP CONSTRAINT invites_token_hash_unique;
+DROP INDEX idx_invites_email;
+DROP INDEX idx_invites_expires_at;
+
+-- Each tenant's rows, indexes and vacuum work live in one partition, shared with at most the
+-- tenants that hash alongside it. Keys lead with tenant_id so lookups prune to that partition;
+-- user ids stay unique in practice as random UUIDs
+CREATE TABLE users (
+    tenant_id TEXT NOT NULL DEFAULT 'default',
+    id UUID NOT NULL,
+    email TEXT NOT NULL,
+    display_name TEXT,
+    role TEXT NOT NULL,
+    status TEXT NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+
+    PRIMARY KEY (tenant_id, id),
+    CONSTRAINT users_tenant_fk FOREIGN KEY (tenant_id) REFERENCES tenants(id),
+    CONSTRAINT users_role_check CHECK (role IN ('USER', 'ADMIN')),
+    CONSTRAINT users_status_check CHECK (status IN ('ACTIVE', 'PENDING', 'DISABLED'))
+) PARTITION BY HASH (tenant_id);
+
+-- The same address may sign up with several brands
+CREATE UNIQUE INDEX idx_users_email_unique ON users(tenant_id, LOWER(email));
+CREATE INDEX idx_users_status ON users(tenant_id, status);
+
+-- Inviter and invitee are always in the same tenant; token hashes are looked up per tenant
+CREATE TABLE invites (
+    tenant_id TEXT NOT NULL DEFAULT 'default',
+    id UUID NOT NULL,
+    email TEXT NOT NULL,
+    token_hash TEXT NOT NULL,
+    invited_role TEXT NOT NULL,
+    inviter_user_id UUID NOT NULL,
+    expires_at TIMESTAMPTZ NOT NULL,
+    used_at TIMESTAMPTZ,
+    revoked_at TIMESTAMPTZ,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+
+    PRIMARY KEY (tenant_id, id),
+    CONSTRAINT invites_token_hash_unique UNIQUE (tenant_id, token_hash),
+    CONSTRAINT invites_invited_role_check CHECK (invited_role IN ('USER', 'ADMIN')),
+    CONSTRAINT invites_inviter_fk FOREIGN KEY (tenant_id, inviter_user_id)
+        REFERENCES users(tenant_id, id)
+) PARTITION BY HASH (tenant_id);
+
+CREATE INDEX idx_invites_email ON invites(tenant_id, email);
+CREATE INDEX idx_invites_expires_at ON invites(expires_at);
+
+DO $$
+BEGIN
+    FOR i IN 0..7 LOOP
+        EXECUTE format(
+            'CREATE TABLE users_p%s PARTITION OF users FOR VALUES WITH (MODULUS 8, REMAINDER %s)',
+            i, i);
+        EXECUTE format(
+            'CREATE TABLE invites_p%s PARTITION OF invites FOR VALUES WITH (MODULUS 8, REMAINDER %s)',
+            i, i);
+    END LOOP;
+END $$;
+
+INSERT INTO users (id, email, display_name, role, status, created_at, updated_at)
+SELECT id, email, display_name, role, status, created_at, updated_at FROM users_unpartitioned;
+
+INSERT INTO invites (id, email, token_hash, invited_role, inviter_user_id, expires_at, used_at,
+                     revoked_at, created_at)
+SELECT id, email, token_hash, invited_role, inviter_user_id, expires_at, used_at, revoked_at,
+       created_at
+FROM invites_unpartitioned;
+
+DROP TABLE invites_unpartitioned;
+DROP TABLE users_unpartitioned;
+
+-- Watches belong to their user's tenant
+ALTER TABLE watches ADD COLUMN tenant_id TEXT NOT NULL DEFAULT 'default';
+ALTER TABLE watches ADD CONSTRAINT watches_user_fk FOREIGN KEY (tenant_id, user_id)
+    REFERENCES users(tenant_id, id) ON DELETE CASCADE;
+
+-- The catalog is shared by every brand: ingest merges a show from all feeds into one event. A
+-- tenant_id marks a partner's own listing and stays NULL for the shared catalog
+ALTER TABLE venues ADD COLUMN tenant_id TEXT REFERENCES tenants(id);
+ALTER TABLE events ADD COLUMN tenant_id TEXT REFERENCES tenants(id);
+
+CREATE INDEX idx_venues_tenant ON venues(tenant_id) WHERE tenant_id IS NOT NULL;
+CREATE INDEX idx_events_tenant ON events(tenant_id) WHERE tenant_id IS NOT NULL;
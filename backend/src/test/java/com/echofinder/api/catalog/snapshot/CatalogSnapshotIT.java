@@ -0,0 +1,227 @@
+package com.echofinder.api.catalog.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.echofinder.api.catalog.Event;
+import com.echofinder.api.catalog.EventRepository;
+import com.echofinder.api.catalog.Venue;
+import com.echofinder.api.catalog.VenueRepository;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.FileSystemUtils;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class CatalogSnapshotIT {
+
+  @Autowired private CatalogSnapshotWorker worker;
+  @Autowired private CatalogReader reader;
+  @Autowired private CatalogSnapshotFiles files;
+  @Autowired private EventRepository eventRepository;
+  @Autowired private VenueRepository venueRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private DataSource dataSource;
+  @Autowired private TestRestTemplate restTemplate;
+
+  @Value("${echo.catalog.snapshot.dir}")
+  private Path sharedDir;
+
+  @Value("${echo.catalog.snapshot.local-dir}")
+  private Path localDir;
+
+  private Venue venue;
+  private Event concert;
+  private Event opera;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    deleteSnapshots();
+    reader.refresh();
+    venue = venueRepository.save(new Venue(UUID.randomUUID(), "Arena", "Berlin"));
+    OffsetDateTime startsAt = OffsetDateTime.now().plusMonths(1).truncatedTo(ChronoUnit.SECONDS);
+    concert = eventRepository.save(new Event(UUID.randomUUID(), "Concert", venue, startsAt, "EUR"));
+    opera = eventRepository.save(new Event(UUID.randomUUID(), "Opera", venue, startsAt, "EUR"));
+  }
+
+  @AfterEach
+  void cleanUp() throws Exception {
+    jdbcTemplate.update("DELETE FROM events WHERE venue_id = ?", venue.getId());
+    venueRepository.deleteById(venue.getId());
+    jdbcTemplate.update("DELETE FROM catalog_tombstones");
+    deleteSnapshots();
+  }
+
+  private void deleteSnapshots() throws Exception {
+    FileSystemUtils.deleteRecursively(sharedDir);
+    FileSystemUtils.deleteRecursively(localDir);
+  }
+
+  @Test
+  void servesFromDatabaseUntilSnapshotExists() {
+    assertThat(reader.event(concert.getId()))
+        .hasValueSatisfying(event -> assertThat(event.title()).isEqualTo("Concert"));
+  }
+
+  @Test
+  void servesSnapshotWithChangesSinceItWasWritten() {
+    long version = worker.write().orElseThrow();
+    assertThat(reader.snapshotVersion()).contains(version);
+    assertThat(reader.event(concert.getId()))
+        .hasValueSatisfying(
+            event -> {
+              assertThat(event.title()).isEqualTo("Concert");
+              assertThat(event.venue().city()).isEqualTo("Berlin");
+              assertThat(event.startsAt().toInstant()).isEqualTo(concert.getStartsAt().toInstant());
+            });
+
+    jdbcTemplate.update(
+        "UPDATE events SET title = 'Concert (moved)' WHERE id = ?", concert.getId());
+    jdbcTemplate.update("UPDATE venues SET city = 'Potsdam' WHERE id = ?", venue.getId());
+    jdbcTemplate.update("DELETE FROM events WHERE id = ?", opera.getId());
+    Event added =
+        eventRepository.save(
+            new Event(UUID.randomUUID(), "Ballet", venue, concert.getStartsAt(), "EUR"));
+    reader.refresh();
+
+    assertThat(reader.snapshotVersion()).contains(version);
+    assertThat(reader.event(concert.getId()))
+        .hasValueSatisfying(
+            event -> {
+              assertThat(event.title()).isEqualTo("Concert (moved)");
+              assertThat(event.venue().city()).isEqualTo("Potsdam");
+            });
+    assertThat(reader.event(opera.getId())).isEmpty();
+    assertThat(reader.event(added.getId())).isPresent();
+  }
+
+  @Test
+  void onlyOnePodWritesAtATime() throws Exception {
+    try (Connection otherPod = dataSource.getConnection();
+        Statement statement = otherPod.createStatement()) {
+      statement.execute("SELECT pg_advisory_lock(" + CatalogSnapshotStore.WRITER_LOCK + ")");
+
+      assertThat(worker.write()).isEmpty();
+      assertThat(files.current()).isEmpty();
+
+      statement.execute("SELECT pg_advisory_unlock(" + CatalogSnapshotStore.WRITER_LOCK + ")");
+    }
+    assertThat(worker.write()).isPresent();
+  }
+
+  @Test
+  void freshSharedSnapshotIsNotRewritten() throws Exception {
+    worker.write();
+    Instant published = files.publishedAt();
+
+    assertThat(worker.writeIfStale()).isEmpty();
+    assertThat(files.publishedAt()).isEqualTo(published);
+  }
+
+  @Test
+  void mapsALocalCopyThatOutlivesTheSharedFile() throws Exception {
+    long version = worker.write().orElseThrow();
+    assertThat(localDir.resolve("catalog-" + version + ".snapshot")).exists();
+
+    Files.delete(files.shared(version));
+    reader.refresh();
+
+    assertThat(reader.snapshotVersion()).contains(version);
+    assertThat(reader.event(concert.getId()))
+        .hasValueSatisfying(event -> assertThat(event.title()).isEqualTo("Concert"));
+  }
+
+  @Test
+  void purgesSupersededVersionsAfterTheGracePeriod() {
+    long first = worker.write().orElseThrow();
+    // Any commit moves the horizon, so each write is a new version
+    jdbcTemplate.update("UPDATE events SET title = 'Concert 2' WHERE id = ?", concert.getId());
+    long second = worker.write().orElseThrow();
+    jdbcTemplate.update("UPDATE events SET title = 'Concert 3' WHERE id = ?", concert.getId());
+    long third = worker.write().orElseThrow();
+
+    assertThat(files.current()).hasValue(third);
+    assertThat(files.shared(first)).doesNotExist();
+    assertThat(files.shared(second)).exists();
+    assertThat(files.shared(third)).exists();
+    assertThat(localDir.resolve("catalog-" + second + ".snapshot")).doesNotExist();
+    assertThat(reader.event(concert.getId()))
+        .hasValueSatisfying(event -> assertThat(event.title()).isEqualTo("Concert 3"));
+  }
+
+  @Test
+  void eventEndpoint() {
+    worker.write();
+
+    ResponseEntity<CatalogEvent> found =
+        restTemplate.getForEntity("/api/events/" + concert.getId(), CatalogEvent.class);
+    ResponseEntity<String> missing =
+        restTemplate.getForEntity("/api/events/" + UUID.randomUUID(), String.class);
+
+    assertThat(found.getBody().title()).isEqualTo("Concert");
+    assertThat(found.getBody().venue().name()).isEqualTo("Arena");
+    assertThat(missing.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    assertThat(missing.getBody()).contains("NOT_FOUND");
+  }
+
+  @Test
+  void eventEndpointAnswersConditionalRequests() {
+    worker.write();
+    String url = "/api/events/" + concert.getId();
+    String etag = restTemplate.getForEntity(url, String.class).getHeaders().getETag();
+    assertThat(etag).isNotNull();
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setIfNoneMatch(etag);
+    assertThat(get(url, headers).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+    // Another event changing leaves the tag alone; the venue changing moves it
+    jdbcTemplate.update("UPDATE events SET title = 'Opera (new cast)' WHERE id = ?", opera.getId());
+    reader.refresh();
+    assertThat(get(url, headers).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+    jdbcTemplate.update("UPDATE venues SET city = 'Potsdam' WHERE id = ?", venue.getId());
+    reader.refresh();
+    ResponseEntity<String> changed = get(url, headers);
+    assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(changed.getBody()).contains("Potsdam");
+    assertThat(changed.getHeaders().getETag()).isNotEqualTo(etag);
+  }
+
+  @Test
+  void eventEndpointTagsDatabaseReadsToo() {
+    String url = "/api/events/" + concert.getId();
+    String etag = restTemplate.getForEntity(url, String.class).getHeaders().getETag();
+    HttpHeaders headers = new HttpHeaders();
+    headers.setIfNoneMatch(etag);
+    assertThat(get(url, headers).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+    jdbcTemplate.update(
+        "UPDATE events SET title = 'Concert (moved)' WHERE id = ?", concert.getId());
+    assertThat(get(url, headers).getStatusCode()).isEqualTo(HttpStatus.OK);
+  }
+
+  private ResponseEntity<String> get(String url, HttpHeaders headers) {
+    return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+  }
+}
@@ -0,0 +1,125 @@
+package com.echofinder.api.catalog.snapshot;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CatalogSnapshotTest {
+
+  private static final OffsetDateTime STARTS_AT = OffsetDateTime.parse("2026-06-12T20:00:00+02:00");
+
+  @TempDir Path dir;
+
+  @Test
+  void roundTripsVenuesAndEvents() throws IOException {
+    List<CatalogVenue> venues = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      venues.add(
+          new CatalogVenue(
+              UUID.randomUUID(),
+              "Venue " + i,
+              i % 2 == 0 ? "Berlin" : "Paris",
+              i == 0 ? null : 52.5 + i,
+              i == 0 ? null : 13.4));
+    }
+    venues.sort(Comparator.comparing(CatalogVenue::id, CatalogSnapshotWriter::compareUnsigned));
+    List<EventRow> events = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      events.add(
+          new EventRow(
+              UUID.randomUUID(),
+              "Show " + i + " – ünïcode",
+              venues.get(i % 50).id(),
+              STARTS_AT.plusHours(i),
+              "EUR"));
+    }
+    events.sort(Comparator.comparing(EventRow::id, CatalogSnapshotWriter::compareUnsigned));
+    Path file = dir.resolve("catalog.snapshot");
+
+    try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(file, 42)) {
+      for (CatalogVenue venue : venues) {
+        writer.venue(venue);
+      }
+      for (EventRow event : events) {
+        writer.event(event);
+      }
+      writer.commit();
+    }
+    CatalogSnapshot snapshot = CatalogSnapshot.open(file);
+
+    assertEquals(42, snapshot.version());
+    assertEquals(1000, snapshot.eventCount());
+    for (EventRow event : events) {
+      assertEquals(Optional.of(event), snapshot.event(event.id()));
+    }
+    for (CatalogVenue venue : venues) {
+      assertEquals(Optional.of(venue), snapshot.venue(venue.id()));
+    }
+    assertTrue(snapshot.event(UUID.randomUUID()).isEmpty());
+    assertFalse(Files.exists(dir.resolve("catalog.snapshot.tmp")));
+  }
+
+  @Test
+  void emptySnapshotIsValid() throws IOException {
+    Path file = dir.resolve("empty.snapshot");
+    try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(file, 1)) {
+      writer.commit();
+    }
+
+    CatalogSnapshot snapshot = CatalogSnapshot.open(file);
+
+    assertEquals(0, snapshot.eventCount());
+    assertTrue(snapshot.event(UUID.randomUUID()).isEmpty());
+  }
+
+  @Test
+  void rejectsRowsOutOfOrder() throws IOException {
+    UUID low = new UUID(0, 1);
+    UUID high = new UUID(0, 2);
+    try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(dir.resolve("x"), 1)) {
+      writer.venue(new CatalogVenue(high, "B", "Berlin", null, null));
+
+      assertThrows(
+          IllegalArgumentException.class,
+          () -> writer.venue(new CatalogVenue(low, "A", "Berlin", null, null)));
+    }
+    assertFalse(Files.exists(dir.resolve("x.tmp")));
+  }
+
+  @Test
+  void rejectsEventWithUnknownVenue() throws IOException {
+    try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(dir.resolve("x"), 1)) {
+      assertThrows(
+          IllegalStateException.class,
+          () ->
+              writer.event(
+                  new EventRow(UUID.randomUUID(), "Show", UUID.randomUUID(), STARTS_AT, "EUR")));
+    }
+  }
+
+  @Test
+  void rejectsFileThatIsNotASnapshot() throws IOException {
+    Path file = Files.write(dir.resolve("garbage"), new byte[200]);
+
+    assertThrows(IOException.class, () -> CatalogSnapshot.open(file));
+  }
+
+  @Test
+  void uuidOrderMatchesPostgres() {
+    // Postgres compares uuids as unsigned bytes, so 8000... sorts after 7fff...
+    UUID high = UUID.fromString("80000000-0000-0000-0000-000000000000");
+    UUID low = UUID.fromString("7fffffff-ffff-ffff-ffff-ffffffffffff");
+
+    assertTrue(CatalogSnapshotWriter.compareUnsigned(low, high) < 0);
+  }
+}
@@ -1,5 +1,6 @@
 package com.echofinder.api.health;
 
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -44,4 +45,15 @@ class HealthControllerMockMvcTest {
         .andExpect(status().isOk())
         .andExpect(header().string("X-Correlation-Id", correlationId));
   }
+
+  @Test
+  void unknownPathReturnsNotFoundEnvelope() throws Exception {
+    mockMvc
+        .perform(get("/api/nonexistent"))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.error.code").value("NOT_FOUND"))
+        .andExpect(jsonPath("$.error.message").exists())
+        .andExpect(header().exists("X-Correlation-Id"))
+        .andExpect(result -> assertNull(result.getResolvedException()));
+  }
 }
@@ -0,0 +1,72 @@
+package com.echofinder.api.infra;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+class ErrorLogSamplerTest {
+
+  private final AtomicLong clock = new AtomicLong();
+  private final ErrorLogSampler sampler = new ErrorLogSampler(2, clock::get);
+
+  @Test
+  void admitsUpToPermitsPerSecond() {
+    assertEquals(0, sampler.admit(ErrorCode.NOT_FOUND));
+    assertEquals(0, sampler.admit(ErrorCode.NOT_FOUND));
+    assertEquals(ErrorLogSampler.SUPPRESSED, sampler.admit(ErrorCode.NOT_FOUND));
+  }
+
+  @Test
+  void reportsSuppressedCountWithNextAdmittedEvent() {
+    for (int i = 0; i < 7; i++) {
+      sampler.admit(ErrorCode.NOT_FOUND);
+    }
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+    assertEquals(5, sampler.admit(ErrorCode.NOT_FOUND));
+    assertEquals(0, sampler.admit(ErrorCode.NOT_FOUND));
+  }
+
+  @Test
+  void codesHaveIndependentBudgets() {
+    sampler.admit(ErrorCode.NOT_FOUND);
+    sampler.admit(ErrorCode.NOT_FOUND);
+
+    assertEquals(ErrorLogSampler.SUPPRESSED, sampler.admit(ErrorCode.NOT_FOUND));
+    assertEquals(0, sampler.admit(ErrorCode.VALIDATION_ERROR));
+  }
+
+  @Test
+  void warnMentionsSuppressedLinesOnlyWhenThereWereAny() {
+    Logger log = mock(Logger.class);
+
+    sampler.warn(log, ErrorCode.NOT_FOUND, "Path not found: {}", "/a");
+    sampler.warn(log, ErrorCode.NOT_FOUND, "Path not found: {}", "/b");
+    sampler.warn(log, ErrorCode.NOT_FOUND, "Path not found: {}", "/c");
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    sampler.warn(log, ErrorCode.NOT_FOUND, "Path not found: {}", "/d");
+
+    verify(log).warn("Path not found: {}", "/a");
+    verify(log).warn("Path not found: {}", "/b");
+    verify(log).warn("Path not found: {} ({} similar suppressed)", "/d", 1L);
+    verifyNoMoreInteractions(log);
+  }
+
+  @Test
+  void zeroPermitsSuppressesEverything() {
+    ErrorLogSampler silent = new ErrorLogSampler(0, clock::get);
+
+    assertEquals(ErrorLogSampler.SUPPRESSED, silent.admit(ErrorCode.RATE_LIMITED));
+  }
+
+  @Test
+  void constructorThrowsForNegativePermits() {
+    assertThrows(IllegalArgumentException.class, () -> new ErrorLogSampler(-1));
+  }
+}
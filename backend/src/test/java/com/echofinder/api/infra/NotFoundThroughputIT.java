@@ -0,0 +1,83 @@
+package com.echofinder.api.infra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Measures 404 throughput over HTTP, the response bot scans generate most. Each client thread
+ * requests a distinct unknown path so nothing along the way can cache the rejection. The floor
+ * suits a single-core CI runner, where the handler does about 3,000 requests per second; raise it
+ * with {@code -Decho.bench.not-found.min-per-second} on real hardware.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class NotFoundThroughputIT {
+
+  private static final Logger log = LoggerFactory.getLogger(NotFoundThroughputIT.class);
+  private static final int THREADS = 8;
+  private static final int WARMUP_REQUESTS = 20_000;
+  private static final int REQUESTS = 50_000;
+  private static final int MIN_REQUESTS_PER_SECOND =
+      Integer.getInteger("echo.bench.not-found.min-per-second", 1_000);
+
+  @LocalServerPort private int port;
+
+  @Test
+  void unknownPathsAreRejectedWithEnvelope() throws Exception {
+    HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    run(client, WARMUP_REQUESTS);
+    long started = System.nanoTime();
+    run(client, REQUESTS);
+    double perSecond = REQUESTS / ((System.nanoTime() - started) / 1e9);
+
+    log.info("404 throughput: {} req/s over {} requests", Math.round(perSecond), REQUESTS);
+    assertThat(perSecond).isGreaterThan(MIN_REQUESTS_PER_SECOND);
+  }
+
+  private void run(HttpClient client, int requests) throws Exception {
+    List<Callable<Void>> workers = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      int thread = t;
+      workers.add(
+          () -> {
+            for (int i = 0; i < requests / THREADS; i++) {
+              HttpResponse<String> response =
+                  client.send(
+                      HttpRequest.newBuilder(
+                              URI.create(
+                                  "http://localhost:" + port + "/wp-admin/" + thread + "/" + i))
+                          .build(),
+                      HttpResponse.BodyHandlers.ofString());
+              assertThat(response.statusCode()).isEqualTo(404);
+              assertThat(response.body()).contains("\"NOT_FOUND\"");
+            }
+            return null;
+          });
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      for (Future<Void> result : executor.invokeAll(workers)) {
+        result.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package com.echofinder.api.infra;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class PrecomputedErrorResponsesTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final PrecomputedErrorResponses responses = new PrecomputedErrorResponses(objectMapper);
+
+  @Test
+  void notFoundBodyMatchesSerializedEnvelope() throws Exception {
+    byte[] expected =
+        objectMapper.writeValueAsBytes(
+            ErrorEnvelope.of(ErrorCode.NOT_FOUND, PrecomputedErrorResponses.NOT_FOUND_MESSAGE));
+
+    assertArrayEquals(expected, responses.body(ErrorCode.NOT_FOUND));
+  }
+
+  @Test
+  void entityCarriesStatusAndContentType() {
+    ResponseEntity<byte[]> entity = responses.entity(ErrorCode.RATE_LIMITED);
+
+    assertEquals(HttpStatus.TOO_MANY_REQUESTS, entity.getStatusCode());
+    assertEquals(MediaType.APPLICATION_JSON, entity.getHeaders().getContentType());
+    assertSame(responses.body(ErrorCode.RATE_LIMITED), entity.getBody());
+  }
+
+  @Test
+  void writeSetsStatusAndBody() throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    responses.write(response, ErrorCode.NOT_FOUND);
+
+    assertEquals(404, response.getStatus());
+    assertEquals(MediaType.APPLICATION_JSON_VALUE, response.getContentType());
+    assertArrayEquals(responses.body(ErrorCode.NOT_FOUND), response.getContentAsByteArray());
+  }
+
+  @Test
+  void bodyThrowsForCodesWithoutFixedMessage() {
+    assertThrows(IllegalArgumentException.class, () -> responses.body(ErrorCode.VALIDATION_ERROR));
+  }
+}
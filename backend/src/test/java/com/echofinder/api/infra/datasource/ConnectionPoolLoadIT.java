@@ -0,0 +1,183 @@
+package com.echofinder.api.infra.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.echofinder.api.EchoFinderApplication;
+import com.echofinder.api.outbox.NotificationType;
+import com.echofinder.api.outbox.OutboxMessage;
+import com.echofinder.api.outbox.OutboxRepository;
+import com.echofinder.api.user.UserRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Compares plain pgjdbc/Hikari/Hibernate defaults with the settings in {@code application-prod.yml}
+ * on two repository hot paths: {@code UserRepository.findByEmail} and batches of outbox messages
+ * saved through {@code OutboxRepository}. Each configuration gets its own application context on
+ * the same database, and each starts from the seeded users and an empty outbox.
+ */
+@Testcontainers
+class ConnectionPoolLoadIT {
+
+  private static final Logger log = LoggerFactory.getLogger(ConnectionPoolLoadIT.class);
+
+  private static final String PROD_DRIVER_PREFIX =
+      "spring.datasource.hikari.data-source-properties.";
+  private static final int THREADS = 8;
+  private static final int USERS = 5_000;
+  private static final int LOOKUPS = 10_000;
+  private static final int INSERTS = 40_000;
+  private static final int BATCH_SIZE = 100;
+
+  @Container
+  static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  @BeforeAll
+  static void migrateAndSeed() {
+    Flyway.configure()
+        .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+        .load()
+        .migrate();
+    JdbcTemplate jdbcTemplate =
+        new JdbcTemplate(
+            new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword()));
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO users (id, email, role, status) VALUES (?, ?, 'USER', 'ACTIVE')",
+        IntStream.range(0, USERS)
+            .mapToObj(i -> new Object[] {UUID.randomUUID(), "user" + i + "@example.com"})
+            .toList());
+  }
+
+  @Test
+  void prodDriverSettingsSpeedUpRepositoryHotPaths() throws Exception {
+    Result defaults = measure("test");
+    Result tuned = measure("test", "prod");
+
+    log.info(
+        "Default pool: {} lookups/s, {} inserts/s; prod pool: {} lookups/s, {} inserts/s",
+        Math.round(defaults.lookupsPerSecond()),
+        Math.round(defaults.insertsPerSecond()),
+        Math.round(tuned.lookupsPerSecond()),
+        Math.round(tuned.insertsPerSecond()));
+
+    assertThat(prodDriverProperties()).containsEntry("reWriteBatchedInserts", "true");
+    // Batched, multi-row INSERTs are the dominant effect and large enough to assert on
+    assertThat(tuned.insertsPerSecond()).isGreaterThan(defaults.insertsPerSecond());
+  }
+
+  private static Properties prodDriverProperties() {
+    YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+    yaml.setResources(new ClassPathResource("application-prod.yml"));
+    Properties driver = new Properties();
+    yaml.getObject()
+        .forEach(
+            (key, value) -> {
+              String name = key.toString();
+              if (name.startsWith(PROD_DRIVER_PREFIX)) {
+                driver.setProperty(name.substring(PROD_DRIVER_PREFIX.length()), value.toString());
+              }
+            });
+    return driver;
+  }
+
+  /** Boots the application with {@code profiles} against the container and runs both paths. */
+  private static Result measure(String... profiles) throws Exception {
+    try (ConfigurableApplicationContext context =
+        new SpringApplicationBuilder(EchoFinderApplication.class)
+            .web(WebApplicationType.NONE)
+            .profiles(profiles)
+            .run(
+                "--spring.datasource.url=" + POSTGRES.getJdbcUrl(),
+                "--spring.datasource.username=" + POSTGRES.getUsername(),
+                "--spring.datasource.password=" + POSTGRES.getPassword(),
+                "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                "--spring.datasource.hikari.maximum-pool-size=" + THREADS,
+                "--echo.datasource.pool.auto-size=false")) {
+      UserRepository users = context.getBean(UserRepository.class);
+      OutboxRepository outbox = context.getBean(OutboxRepository.class);
+      TransactionTemplate transaction =
+          new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+      // The other configuration's messages would make this one's inserts and indexes heavier
+      context.getBean(JdbcTemplate.class).execute("TRUNCATE outbox");
+
+      // Warm-up pass so both configurations are measured with a hot JIT and open connections
+      runConcurrently(LOOKUPS / 4, operations -> lookups(users, operations));
+      double lookupSeconds = runConcurrently(LOOKUPS, operations -> lookups(users, operations));
+      double insertSeconds =
+          runConcurrently(INSERTS, operations -> inserts(outbox, transaction, operations));
+      assertThat(outbox.count()).isEqualTo(INSERTS);
+      return new Result(LOOKUPS / lookupSeconds, INSERTS / insertSeconds);
+    }
+  }
+
+  private interface Workload {
+    void run(int operations);
+  }
+
+  private static double runConcurrently(int total, Workload workload) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    long start = System.nanoTime();
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < THREADS; t++) {
+        futures.add(executor.submit(() -> workload.run(total / THREADS)));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    return (System.nanoTime() - start) / 1_000_000_000.0;
+  }
+
+  private static void lookups(UserRepository users, int operations) {
+    for (int i = 0; i < operations; i++) {
+      if (users.findByEmail("USER" + (i % USERS) + "@EXAMPLE.COM").isEmpty()) {
+        throw new IllegalStateException("Seeded user missing");
+      }
+    }
+  }
+
+  private static void inserts(
+      OutboxRepository outbox, TransactionTemplate transaction, int operations) {
+    for (int done = 0; done < operations; done += BATCH_SIZE) {
+      List<OutboxMessage> batch = new ArrayList<>();
+      for (int i = done; i < Math.min(done + BATCH_SIZE, operations); i++) {
+        batch.add(
+            new OutboxMessage(
+                UUID.randomUUID(),
+                NotificationType.PRICE_ALERT,
+                "load" + i + "@example.com",
+                "{}"));
+      }
+      transaction.executeWithoutResult(status -> outbox.saveAll(batch));
+    }
+  }
+
+  private record Result(double lookupsPerSecond, double insertsPerSecond) {}
+}
@@ -0,0 +1,42 @@
+package com.echofinder.api.infra.datasource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.zaxxer.hikari.HikariConfig;
+import org.junit.jupiter.api.Test;
+
+class PoolSizingTest {
+
+  @Test
+  void smallPodIsBoundByCpu() {
+    PoolSizing sizing = new PoolSizing(2, 200, 10, 4);
+
+    assertEquals(5, sizing.maximumPoolSize());
+  }
+
+  @Test
+  void wideScaleOutIsBoundByDatabaseLimit() {
+    PoolSizing sizing = new PoolSizing(8, 100, 10, 10);
+
+    assertEquals(9, sizing.maximumPoolSize());
+  }
+
+  @Test
+  void applyToSetsMaximumPoolSize() {
+    HikariConfig config = new HikariConfig();
+
+    new PoolSizing(1, 100, 10, 4).applyTo(config);
+
+    assertEquals(3, config.getMaximumPoolSize());
+  }
+
+  @Test
+  void constructorThrowsWhenDatabaseCannotServeEveryInstance() {
+    assertThrows(IllegalArgumentException.class, () -> new PoolSizing(4, 20, 10, 20));
+  }
+
+  @Test
+  void constructorThrowsWhenCpuCountIsNotPositive() {
+    assertThrows(IllegalArgumentException.class, () -> new PoolSizing(0, 100, 10, 4));
+  }
+}
@@ -0,0 +1,158 @@
+package com.echofinder.api.infra.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.echofinder.api.user.User;
+import com.echofinder.api.user.UserRepository;
+import com.echofinder.api.user.UserRole;
+import com.echofinder.api.user.UserStatus;
+import java.time.Duration;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/** Runs against a real streaming-replication pair: a primary and a hot standby. */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers
+class ReadReplicaRoutingIT {
+
+  private static final String IMAGE = "bitnami/postgresql:16";
+  private static final Network NETWORK = Network.newNetwork();
+
+  @Container
+  static final GenericContainer<?> PRIMARY =
+      new GenericContainer<>(IMAGE)
+          .withNetwork(NETWORK)
+          .withNetworkAliases("pg-primary")
+          .withEnv("POSTGRESQL_REPLICATION_MODE", "master")
+          .withEnv("POSTGRESQL_REPLICATION_USER", "repl")
+          .withEnv("POSTGRESQL_REPLICATION_PASSWORD", "repl")
+          .withEnv("POSTGRESQL_USERNAME", "test")
+          .withEnv("POSTGRESQL_PASSWORD", "test")
+          .withEnv("POSTGRESQL_DATABASE", "echofinder")
+          .withExposedPorts(5432)
+          .waitingFor(Wait.forLogMessage(".*ready to accept connections.*", 1));
+
+  @Container
+  static final GenericContainer<?> REPLICA =
+      new GenericContainer<>(IMAGE)
+          .withNetwork(NETWORK)
+          .dependsOn(PRIMARY)
+          .withEnv("POSTGRESQL_REPLICATION_MODE", "slave")
+          .withEnv("POSTGRESQL_MASTER_HOST", "pg-primary")
+          .withEnv("POSTGRESQL_MASTER_PORT_NUMBER", "5432")
+          .withEnv("POSTGRESQL_REPLICATION_USER", "repl")
+          .withEnv("POSTGRESQL_REPLICATION_PASSWORD", "repl")
+          .withEnv("POSTGRESQL_PASSWORD", "test")
+          .withExposedPorts(5432)
+          .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*", 1));
+
+  @DynamicPropertySource
+  static void datasources(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", () -> jdbcUrl(PRIMARY));
+    registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    registry.add("echo.datasource.replica.enabled", () -> "true");
+    registry.add("echo.datasource.replica.url", () -> jdbcUrl(REPLICA));
+    registry.add("echo.datasource.replica.username", () -> "test");
+    registry.add("echo.datasource.replica.password", () -> "test");
+    registry.add("echo.datasource.replica.lag-check-interval-ms", () -> "200");
+  }
+
+  private static String jdbcUrl(GenericContainer<?> container) {
+    return "jdbc:postgresql://"
+        + container.getHost()
+        + ":"
+        + container.getMappedPort(5432)
+        + "/echofinder";
+  }
+
+  @Autowired private ReplicaRoutingDataSource routingDataSource;
+  @Autowired private UserRepository userRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  private TransactionTemplate readOnly;
+  private TransactionTemplate readWrite;
+
+  @BeforeEach
+  void setUp() throws InterruptedException {
+    readWrite = new TransactionTemplate(transactionManager);
+    readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+    awaitReplicaUsable();
+  }
+
+  @AfterEach
+  void tearDown() {
+    ReadYourWritesContext.close();
+  }
+
+  @Test
+  void readOnlyTransactionRunsOnReplica() {
+    assertThat(inRecovery(readOnly)).isTrue();
+  }
+
+  @Test
+  void readWriteTransactionRunsOnPrimary() {
+    assertThat(inRecovery(readWrite)).isFalse();
+  }
+
+  @Test
+  void readOnlyRepositoryMethodSeesReplicatedRows() throws InterruptedException {
+    String email = "replicated-" + UUID.randomUUID() + "@example.com";
+    userRepository.save(new User(UUID.randomUUID(), email, UserRole.USER, UserStatus.ACTIVE));
+
+    long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+    while (userRepository.findByEmail(email).isEmpty() && System.nanoTime() < deadline) {
+      Thread.sleep(50);
+    }
+
+    assertThat(userRepository.findByEmail(email)).isPresent();
+  }
+
+  @Test
+  void readsAfterWriteInSameRequestStayOnPrimary() {
+    ReadYourWritesContext.open();
+    String email = "sticky-" + UUID.randomUUID() + "@example.com";
+
+    userRepository.save(new User(UUID.randomUUID(), email, UserRole.USER, UserStatus.ACTIVE));
+
+    assertThat(inRecovery(readOnly)).isFalse();
+    assertThat(userRepository.findByEmail(email)).isPresent();
+  }
+
+  @Test
+  void laggingReplicaFallsBackToPrimary() {
+    routingDataSource.onReplicaLag(Duration.ofMinutes(5));
+
+    assertThat(inRecovery(readOnly)).isFalse();
+  }
+
+  private Boolean inRecovery(TransactionTemplate template) {
+    return template.execute(
+        status -> jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class));
+  }
+
+  private void awaitReplicaUsable() throws InterruptedException {
+    long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+    while (!routingDataSource.isReplicaUsable() && System.nanoTime() < deadline) {
+      Thread.sleep(100);
+    }
+    assertThat(routingDataSource.isReplicaUsable()).isTrue();
+  }
+}
@@ -0,0 +1,146 @@
+package com.echofinder.api.infra.datasource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ReplicaRoutingDataSourceTest {
+
+  private final DataSource primary = mock(DataSource.class);
+  private final DataSource replica = mock(DataSource.class);
+  private final Connection primaryConnection = mock(Connection.class);
+  private final Connection replicaConnection = mock(Connection.class);
+
+  private final AtomicLong clock = new AtomicLong();
+
+  private ReplicaRoutingDataSource routing;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    when(primary.getConnection()).thenReturn(primaryConnection);
+    when(replica.getConnection()).thenReturn(replicaConnection);
+    routing =
+        new ReplicaRoutingDataSource(
+            primary,
+            replica,
+            Duration.ofSeconds(5),
+            Duration.ofSeconds(8),
+            new SimpleMeterRegistry(),
+            clock::get);
+    routing.afterPropertiesSet();
+    routing.onReplicaLag(Duration.ZERO);
+  }
+
+  @AfterEach
+  void tearDown() {
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    TransactionSynchronizationManager.setActualTransactionActive(false);
+    ReadYourWritesContext.close();
+  }
+
+  @Test
+  void readOnlyTransactionUsesReplica() throws Exception {
+    inTransaction(true);
+
+    assertSame(replicaConnection, routing.getConnection());
+  }
+
+  @Test
+  void readWriteTransactionUsesPrimary() throws Exception {
+    inTransaction(false);
+
+    assertSame(primaryConnection, routing.getConnection());
+  }
+
+  @Test
+  void connectionOutsideTransactionUsesPrimary() throws Exception {
+    assertSame(primaryConnection, routing.getConnection());
+  }
+
+  @Test
+  void readOnlyTransactionFallsBackToPrimaryWhenReplicaLags() throws Exception {
+    routing.onReplicaLag(Duration.ofSeconds(30));
+    inTransaction(true);
+
+    assertFalse(routing.isReplicaUsable());
+    assertSame(primaryConnection, routing.getConnection());
+  }
+
+  @Test
+  void readOnlyTransactionFallsBackToPrimaryWhenReplicaIsDown() throws Exception {
+    routing.onReplicaUnavailable("connection refused");
+    inTransaction(true);
+
+    assertSame(primaryConnection, routing.getConnection());
+  }
+
+  @Test
+  void replicaIsUsedAgainOnceLagRecovers() throws Exception {
+    routing.onReplicaLag(Duration.ofSeconds(30));
+    routing.onReplicaLag(Duration.ofMillis(200));
+    inTransaction(true);
+
+    assertSame(replicaConnection, routing.getConnection());
+  }
+
+  @Test
+  void readOnlyTransactionFallsBackToPrimaryWhenLagProbeIsStale() throws Exception {
+    clock.addAndGet(Duration.ofSeconds(9).toNanos());
+    inTransaction(true);
+
+    assertFalse(routing.isReplicaUsable());
+    assertSame(primaryConnection, routing.getConnection());
+
+    routing.onReplicaLag(Duration.ZERO);
+    assertSame(replicaConnection, routing.getConnection());
+  }
+
+  @Test
+  void readsAfterWriteInSameRequestStayOnPrimary() throws Exception {
+    ReadYourWritesContext.open();
+
+    inTransaction(false);
+    routing.getConnection();
+    inTransaction(true);
+
+    assertTrue(ReadYourWritesContext.hasWritten());
+    assertSame(primaryConnection, routing.getConnection());
+  }
+
+  @Test
+  void writeOutsideRequestScopeDoesNotPinLaterReads() throws Exception {
+    inTransaction(false);
+    routing.getConnection();
+    inTransaction(true);
+
+    assertSame(replicaConnection, routing.getConnection());
+  }
+
+  @Test
+  void readOnlyTransactionUsesPrimaryWhenNoReplicaConfigured() throws Exception {
+    ReplicaRoutingDataSource primaryOnly =
+        new ReplicaRoutingDataSource(
+            primary, null, Duration.ofSeconds(5), Duration.ofSeconds(8), new SimpleMeterRegistry());
+    primaryOnly.afterPropertiesSet();
+    primaryOnly.onReplicaLag(Duration.ZERO);
+    inTransaction(true);
+
+    assertFalse(primaryOnly.isReplicaUsable());
+    assertSame(primaryConnection, primaryOnly.getConnection());
+  }
+
+  private static void inTransaction(boolean readOnly) {
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+  }
+}
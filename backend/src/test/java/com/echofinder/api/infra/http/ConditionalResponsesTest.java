@@ -0,0 +1,81 @@
+package com.echofinder.api.infra.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+class ConditionalResponsesTest {
+
+  private static final String ETAG = "W/\"42-abc\"";
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ConditionalResponses responses = new ConditionalResponses(meterRegistry);
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @Test
+  void matchingTagAnswers304WithoutLoadingBody() {
+    MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+    ResponseEntity<String> entity = responses.ok(request(ETAG, servletResponse), ETAG, this::load);
+
+    assertNull(entity);
+    assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+    assertEquals(ETAG, servletResponse.getHeader("ETag"));
+    assertEquals(0, loads.get());
+    assertEquals(1, count("hit"));
+  }
+
+  @Test
+  void strongFormOfSameTagAlsoMatches() {
+    ResponseEntity<String> entity =
+        responses.ok(request("\"42-abc\"", new MockHttpServletResponse()), ETAG, this::load);
+
+    assertNull(entity);
+    assertEquals(0, loads.get());
+  }
+
+  @Test
+  void staleTagLoadsBodyAndCountsMiss() {
+    ResponseEntity<String> entity =
+        responses.ok(request("W/\"42-old\"", new MockHttpServletResponse()), ETAG, this::load);
+
+    assertEquals(HttpStatus.OK, entity.getStatusCode());
+    assertEquals(ETAG, entity.getHeaders().getETag());
+    assertEquals("body", entity.getBody());
+    assertEquals(1, count("miss"));
+  }
+
+  @Test
+  void requestWithoutTagCountsUnconditional() {
+    ResponseEntity<String> entity =
+        responses.ok(request(null, new MockHttpServletResponse()), ETAG, this::load);
+
+    assertEquals("body", entity.getBody());
+    assertEquals(1, count("unconditional"));
+    assertEquals(0, count("hit") + count("miss"));
+  }
+
+  private String load() {
+    loads.incrementAndGet();
+    return "body";
+  }
+
+  private ServletWebRequest request(String ifNoneMatch, MockHttpServletResponse response) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/things/42");
+    if (ifNoneMatch != null) {
+      request.addHeader("If-None-Match", ifNoneMatch);
+    }
+    return new ServletWebRequest(request, response);
+  }
+
+  private double count(String result) {
+    return meterRegistry.counter("echo.http.conditional", "result", result).count();
+  }
+}
@@ -0,0 +1,64 @@
+package com.echofinder.api.infra.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class EntityTagsTest {
+
+  private static final UUID ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+  private static final OffsetDateTime UPDATED =
+      OffsetDateTime.of(2024, 5, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+  @Test
+  void tagsAreWeak() {
+    assertTrue(EntityTags.of(ID, UPDATED).startsWith("W/\""));
+    assertTrue(EntityTags.ofVersion(ID, 3).startsWith("W/\""));
+    assertTrue(EntityTags.ofCollection("/api/events", 10, UPDATED).startsWith("W/\""));
+  }
+
+  @Test
+  void sameInstantInDifferentZonesGivesSameTag() {
+    OffsetDateTime sameInstant = UPDATED.withOffsetSameInstant(ZoneOffset.ofHours(2));
+
+    assertEquals(EntityTags.of(ID, UPDATED), EntityTags.of(ID, sameInstant));
+  }
+
+  @Test
+  void updateChangesTag() {
+    assertNotEquals(EntityTags.of(ID, UPDATED), EntityTags.of(ID, UPDATED.plusNanos(1_000)));
+  }
+
+  @Test
+  void versionChangesTag() {
+    assertNotEquals(EntityTags.ofVersion(ID, 1), EntityTags.ofVersion(ID, 2));
+  }
+
+  @Test
+  void collectionTagDependsOnScopeCountAndLatestUpdate() {
+    String tag = EntityTags.ofCollection("/api/events?city=berlin", 10, UPDATED);
+
+    assertNotEquals(tag, EntityTags.ofCollection("/api/events?city=paris", 10, UPDATED));
+    assertNotEquals(tag, EntityTags.ofCollection("/api/events?city=berlin", 9, UPDATED));
+    assertNotEquals(
+        tag, EntityTags.ofCollection("/api/events?city=berlin", 10, UPDATED.plusSeconds(1)));
+  }
+
+  @Test
+  void scopesWithEqualHashCodesGetDifferentTags() {
+    assertEquals("/api/events?city=Aa".hashCode(), "/api/events?city=BB".hashCode());
+    assertNotEquals(
+        EntityTags.ofCollection("/api/events?city=Aa", 10, UPDATED),
+        EntityTags.ofCollection("/api/events?city=BB", 10, UPDATED));
+  }
+
+  @Test
+  void emptyCollectionHasTag() {
+    assertEquals(
+        EntityTags.ofCollection("/api/events", 0, null),
+        EntityTags.ofCollection("/api/events", 0, null));
+  }
+}
@@ -0,0 +1,126 @@
+package com.echofinder.api.infra.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.echofinder.api.user.UserRepository;
+import com.echofinder.api.user.UserSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Exports a million users and compares the live heap of streaming them with materializing the same
+ * rows as a list first. Live heap is sampled after a full collection every {@value
+ * #CHECKPOINT_EVERY} rows, so garbage awaiting collection does not count.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class JsonArrayStreamerIT {
+
+  private static final Logger log = LoggerFactory.getLogger(JsonArrayStreamerIT.class);
+  private static final int ROWS = 1_000_000;
+  private static final int CHECKPOINT_EVERY = 100_000;
+  private static final long MIB = 1024 * 1024;
+  private static final long MAX_STREAMING_GROWTH = 32 * MIB;
+
+  @Autowired private JsonArrayStreamer streamer;
+  @Autowired private UserRepository userRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private ObjectMapper objectMapper;
+
+  @AfterEach
+  void cleanUp() {
+    jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'export%@example.com'");
+  }
+
+  @Test
+  void writesSmallArray() throws Exception {
+    jdbcTemplate.update(
+        "INSERT INTO users (id, email, role, status)"
+            + " VALUES (gen_random_uuid(), 'export-a@example.com', 'USER', 'ACTIVE'),"
+            + " (gen_random_uuid(), 'export-b@example.com', 'ADMIN', 'PENDING')");
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    long count = streamer.write(UserSummary.class, userRepository::streamSummaries, out);
+
+    UserSummary[] parsed = objectMapper.readValue(out.toByteArray(), UserSummary[].class);
+    assertThat(count).isEqualTo(parsed.length).isGreaterThanOrEqualTo(2);
+    assertThat(parsed)
+        .extracting(UserSummary::email)
+        .contains("export-a@example.com", "export-b@example.com");
+  }
+
+  @Test
+  void streamingExportKeepsLiveHeapFlat() throws Exception {
+    jdbcTemplate.update(
+        "INSERT INTO users (id, email, display_name, role, status)"
+            + " SELECT gen_random_uuid(), 'export' || g || '@example.com', 'Export ' || g,"
+            + " 'USER', 'ACTIVE' FROM generate_series(1, ?) g",
+        ROWS);
+    long baseline = liveHeap();
+    AtomicLong streamedPeak = new AtomicLong();
+    AtomicLong seen = new AtomicLong();
+    CountingOutputStream out = new CountingOutputStream();
+
+    long count =
+        streamer.write(
+            UserSummary.class,
+            () ->
+                userRepository
+                    .streamSummaries()
+                    .peek(
+                        row -> {
+                          if (seen.incrementAndGet() % CHECKPOINT_EVERY == 0) {
+                            streamedPeak.accumulateAndGet(liveHeap() - baseline, Math::max);
+                          }
+                        }),
+            out);
+
+    List<UserSummary> rows =
+        transactionTemplate.execute(status -> userRepository.streamSummaries().toList());
+    long materialized = liveHeap() - baseline;
+    objectMapper.writeValue(new CountingOutputStream(), rows);
+
+    log.info(
+        "Export of {} rows ({} MiB of JSON): live heap growth streamed {} MiB, materialized {} MiB",
+        count,
+        out.bytes / MIB,
+        streamedPeak.get() / MIB,
+        materialized / MIB);
+    assertThat(count).isGreaterThanOrEqualTo(ROWS);
+    assertThat(streamedPeak.get()).isLessThan(MAX_STREAMING_GROWTH);
+  }
+
+  /** Heap still reachable after a full collection. */
+  private static long liveHeap() {
+    System.gc();
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+
+  private static final class CountingOutputStream extends OutputStream {
+    long bytes;
+
+    @Override
+    public void write(int b) {
+      bytes++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      bytes += len;
+    }
+  }
+}
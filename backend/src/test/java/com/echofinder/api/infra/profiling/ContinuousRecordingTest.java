@@ -0,0 +1,48 @@
+package com.echofinder.api.infra.profiling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+class ContinuousRecordingTest {
+
+  @Test
+  void tokenHashesHaveTheirOwnThreshold() {
+    // Settings rather than recorded events: other recordings in this JVM (a cached test context's)
+    // enable the same events at their own thresholds, and their events land in every dump
+    List<Recording> before = FlightRecorder.getFlightRecorder().getRecordings();
+    try (ContinuousRecording recording =
+        new ContinuousRecording(
+            true,
+            "default",
+            Duration.ofMillis(10),
+            Duration.ZERO,
+            Duration.ofMinutes(1),
+            DataSize.ofMegabytes(16))) {
+      Map<String, String> settings =
+          FlightRecorder.getFlightRecorder().getRecordings().stream()
+              .filter(started -> !before.contains(started))
+              .filter(started -> started.getName().equals(ContinuousRecording.NAME))
+              .findFirst()
+              .orElseThrow()
+              .getSettings();
+
+      assertEquals("0 ns", settings.get(threshold(TokenHashEvent.class)));
+      assertEquals(
+          Duration.ofMillis(10).toNanos() + " ns",
+          settings.get(threshold(RepositoryCallEvent.class)));
+    }
+  }
+
+  private static String threshold(Class<? extends Event> event) {
+    return EventType.getEventType(event).getId() + "#threshold";
+  }
+}
@@ -0,0 +1,95 @@
+package com.echofinder.api.infra.profiling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.echofinder.api.infra.CorrelationIdFilter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class FlightRecordingEndpointIT {
+
+  private static final String ENDPOINT = "/actuator/flightrecording";
+
+  @Autowired private TestRestTemplate restTemplate;
+  @LocalManagementPort private int managementPort;
+
+  @Test
+  void actuatorIsNotServedOnTheApplicationPort() {
+    assertThat(restTemplate.getForEntity("/actuator/metrics", String.class).getStatusCode())
+        .isEqualTo(HttpStatus.NOT_FOUND);
+    assertThat(
+            restTemplate
+                .getForEntity(management("/actuator/metrics"), String.class)
+                .getStatusCode())
+        .isEqualTo(HttpStatus.OK);
+  }
+
+  @Test
+  void refusesDumpsWithoutTheToken() {
+    assertThat(restTemplate.getForEntity(management(ENDPOINT), byte[].class).getStatusCode())
+        .isEqualTo(HttpStatus.UNAUTHORIZED);
+    assertThat(dump("wrong-token").getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+  }
+
+  @Test
+  void dumpTagsRepositoryCallsAndRequestsWithTheCorrelationId() throws Exception {
+    String correlationId = "jfr-" + UUID.randomUUID();
+    HttpHeaders headers = new HttpHeaders();
+    headers.set(CorrelationIdFilter.CORRELATION_ID_HEADER, correlationId);
+    restTemplate.exchange(
+        "/api/users/" + UUID.randomUUID() + "/watches",
+        HttpMethod.GET,
+        new HttpEntity<>(headers),
+        String.class);
+
+    ResponseEntity<byte[]> response = dump("test-dump-token");
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    Path file = Files.createTempFile("dump-", ".jfr");
+    try {
+      Files.write(file, response.getBody());
+      List<RecordedEvent> tagged =
+          RecordingFile.readAllEvents(file).stream()
+              .filter(event -> event.getEventType().getName().startsWith("echofinder."))
+              .filter(event -> correlationId.equals(event.getString("correlationId")))
+              .toList();
+      assertThat(tagged)
+          .extracting(event -> event.getEventType().getName() + " " + event.getString("site"))
+          .contains(
+              "echofinder.RepositoryCall watchStore.list",
+              "echofinder.Request GET /api/users/{userId}/watches");
+      assertThat(FlightRecordingSummary.read(file, 100).latency())
+          .anyMatch(site -> site.site().equals("watchStore.list"));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  private ResponseEntity<byte[]> dump(String token) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setBearerAuth(token);
+    return restTemplate.exchange(
+        management(ENDPOINT), HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+  }
+
+  private String management(String path) {
+    return "http://localhost:" + managementPort + path;
+  }
+}
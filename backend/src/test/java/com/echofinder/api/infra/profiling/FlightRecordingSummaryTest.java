@@ -0,0 +1,134 @@
+package com.echofinder.api.infra.profiling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.echofinder.api.infra.CorrelationIdFilter;
+import com.echofinder.api.infra.profiling.FlightRecordingSummary.LatencySite;
+import com.echofinder.api.infra.profiling.FlightRecordingSummary.SampledSite;
+import com.echofinder.api.security.TokenHasher;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.MDC;
+
+class FlightRecordingSummaryTest {
+
+  private static final String CORRELATION_ID = "summary-test";
+
+  @TempDir static Path dir;
+
+  private static Path file;
+
+  static Object sink;
+
+  @BeforeAll
+  static void record() throws Exception {
+    try (Recording recording = new Recording()) {
+      recording.enable(RepositoryCallEvent.class).withThreshold(Duration.ZERO);
+      recording.enable(TokenHashEvent.class).withThreshold(Duration.ZERO);
+      recording.enable("jdk.ExecutionSample").withPeriod(Duration.ofMillis(10));
+      recording.enable("jdk.ObjectAllocationSample").with("throttle", "1000/s");
+      recording.start();
+
+      MDC.put(CorrelationIdFilter.CORRELATION_ID_MDC_KEY, CORRELATION_ID);
+      try {
+        TokenHasher hasher = new TokenHasher("prefix", "suffix");
+        for (int i = 0; i < 3; i++) {
+          hasher.hash("token-" + i);
+        }
+        for (int i = 0; i < 2; i++) {
+          RepositoryCallEvent slow = new RepositoryCallEvent();
+          slow.begin();
+          Thread.sleep(20);
+          slow.commit("eventRepository.findById");
+        }
+      } finally {
+        MDC.remove(CorrelationIdFilter.CORRELATION_ID_MDC_KEY);
+      }
+      RepositoryCallEvent untagged = new RepositoryCallEvent();
+      untagged.begin();
+      untagged.commit("watchStore.list");
+      spin();
+      allocate();
+
+      recording.stop();
+      file = dir.resolve("test.jfr");
+      recording.dump(file);
+    }
+  }
+
+  @Test
+  void ranksApplicationEventsByTotalTime() throws Exception {
+    List<LatencySite> latency = FlightRecordingSummary.read(file, 10).latency();
+
+    assertEquals("Repository Call", latency.get(0).event());
+    assertEquals("eventRepository.findById", latency.get(0).site());
+    assertEquals(2, latency.get(0).count());
+    assertTrue(latency.get(0).max().toMillis() >= 20);
+    assertTrue(latency.get(0).total().compareTo(latency.get(0).max()) > 0);
+    assertTrue(
+        latency.stream()
+            .anyMatch(site -> site.site().equals("TokenHasher.hash") && site.count() == 3));
+    assertTrue(latency.stream().anyMatch(site -> site.site().equals("watchStore.list")));
+  }
+
+  @Test
+  void limitsEveryListToTop() throws Exception {
+    FlightRecordingSummary summary = FlightRecordingSummary.read(file, 1);
+
+    assertEquals(1, summary.latency().size());
+    assertTrue(summary.cpu().size() <= 1);
+    assertTrue(summary.allocation().size() <= 1);
+  }
+
+  @Test
+  void tagsEventsWithTheCorrelationId() throws Exception {
+    List<RecordedEvent> events =
+        RecordingFile.readAllEvents(file).stream()
+            .filter(event -> event.getEventType().getName().startsWith("echofinder."))
+            .toList();
+
+    assertEquals(6, events.size());
+    for (RecordedEvent event : events) {
+      String expected = event.getString("site").equals("watchStore.list") ? null : CORRELATION_ID;
+      assertEquals(expected, event.getString("correlationId"));
+    }
+  }
+
+  @Test
+  void chargesSamplesToTheApplicationMethod() throws Exception {
+    FlightRecordingSummary summary = FlightRecordingSummary.read(file, 100);
+
+    assertTrue(
+        summary.cpu().stream().map(SampledSite::frame).anyMatch(frame -> frame.endsWith(".spin")),
+        summary.cpu().toString());
+    SampledSite allocating =
+        summary.allocation().stream()
+            .filter(site -> site.frame().endsWith(".allocate"))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError(summary.allocation()));
+    assertTrue(allocating.bytes() > 0);
+  }
+
+  /** Burns CPU for a while; the JDK frames it spends its time in are charged to this method. */
+  private static void spin() {
+    long until = System.nanoTime() + 300_000_000L;
+    long hash = 0;
+    while (System.nanoTime() < until) {
+      hash = Long.toString(hash).hashCode() * 31L + 1;
+    }
+    sink = hash;
+  }
+
+  private static void allocate() {
+    for (int i = 0; i < 20_000; i++) {
+      sink = new byte[16 * 1024];
+    }
+  }
+}
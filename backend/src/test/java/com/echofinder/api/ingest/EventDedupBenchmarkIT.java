@@ -0,0 +1,157 @@
+package com.echofinder.api.ingest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Signs and clusters a synthetic feed the way the ingest path does, without the database, and
+ * checks the result against the known duplicates. Each base event appears one to three times with
+ * the edits real sources make: case, punctuation, filler words, dropped or swapped letters in the
+ * venue. The default size keeps the build fast; the full benchmark is {@code
+ * -Decho.bench.dedup.events=5000000 -DargLine=-Xmx3g}. The throughput floor, signing and clustering
+ * together, suits a single-core CI runner (about 270,000 events per second there).
+ */
+class EventDedupBenchmarkIT {
+
+  private static final Logger log = LoggerFactory.getLogger(EventDedupBenchmarkIT.class);
+
+  private static final int EVENTS = Integer.getInteger("echo.bench.dedup.events", 1_000_000);
+  private static final int MIN_EVENTS_PER_SECOND =
+      Integer.getInteger("echo.bench.dedup.min-per-second", 100_000);
+  private static final int HASHES = 32;
+  private static final int BANDS = 8;
+  private static final double THRESHOLD = 0.7;
+  private static final String[] SYLLABLES = {
+    "ka", "lo", "mi", "ra", "ven", "dor", "si", "tal", "bru", "nek", "ol", "ha", "zu", "fen", "gri",
+    "mo", "tes", "ar", "qui", "pel", "do", "ny", "vas", "lem", "cor", "bi", "sta", "ul", "re", "jo",
+    "wen", "ix"
+  };
+  private static final String[] VENUE_TYPES = {"Hall", "Arena", "Club", "Theater", "Stadium"};
+  private static final String[] SUFFIXES = {"", " Tour", " Unplugged", " Night", " Live"};
+
+  @Test
+  void findsDuplicatesInNearLinearTime() {
+    MinHasher minHasher = new MinHasher(HASHES);
+    LshBands lshBands = new LshBands(BANDS, HASHES);
+    int[] signatures = new int[EVENTS * HASHES];
+    int[] bandKeys = new int[EVENTS * BANDS];
+    int[] truth = new int[EVENTS];
+    SplittableRandom random = new SplittableRandom(7);
+
+    long started = System.nanoTime();
+    int bases = 0;
+    for (int record = 0; record < EVENTS; bases++) {
+      int copies = 1 + random.nextInt(3);
+      String title = title(random);
+      String venue = venue(random);
+      long day = 20_454 + random.nextInt(365);
+      for (int copy = 0; copy < copies && record < EVENTS; copy++, record++) {
+        String key =
+            copy == 0
+                ? EventKey.of(title, venue)
+                : EventKey.of(editTitle(title, random), editVenue(venue, random));
+        int[] signature = minHasher.sign(key);
+        System.arraycopy(signature, 0, signatures, record * HASHES, HASHES);
+        System.arraycopy(lshBands.keys(signature, day), 0, bandKeys, record * BANDS, BANDS);
+        truth[record] = bases;
+      }
+    }
+    long signed = System.nanoTime();
+
+    int[] groups =
+        LshClusterer.cluster(
+            EVENTS,
+            BANDS,
+            (i, band) -> bandKeys[i * BANDS + band],
+            (a, b) -> similarity(signatures, a, b) >= THRESHOLD);
+    long clustered = System.nanoTime();
+
+    int groupCount = 0;
+    int falseMerges = 0;
+    for (int i = 0; i < EVENTS; i++) {
+      if (groups[i] == i) {
+        groupCount++;
+      } else if (truth[groups[i]] != truth[i]) {
+        falseMerges++;
+      }
+    }
+    double recall = (double) (EVENTS - groupCount) / (EVENTS - bases);
+    double signSeconds = (signed - started) / 1e9;
+    double clusterSeconds = (clustered - signed) / 1e9;
+    log.info(
+        "Dedup of {} events ({} distinct): normalize+sign {}/s, cluster {}/s, {} groups,"
+            + " duplicate recall {}, false merges {}",
+        EVENTS,
+        bases,
+        Math.round(EVENTS / signSeconds),
+        Math.round(EVENTS / clusterSeconds),
+        groupCount,
+        String.format(Locale.ROOT, "%.3f", recall),
+        falseMerges);
+    assertThat(recall).isGreaterThan(0.9);
+    assertThat(falseMerges).isLessThan(EVENTS / 1000);
+    assertThat(EVENTS / (signSeconds + clusterSeconds)).isGreaterThan(MIN_EVENTS_PER_SECOND);
+  }
+
+  private static double similarity(int[] signatures, int a, int b) {
+    int equal = 0;
+    for (int i = 0; i < HASHES; i++) {
+      if (signatures[a * HASHES + i] == signatures[b * HASHES + i]) {
+        equal++;
+      }
+    }
+    return (double) equal / HASHES;
+  }
+
+  private static String title(SplittableRandom random) {
+    return capitalize(word(random, 2 + random.nextInt(2)))
+        + " "
+        + capitalize(word(random, 2 + random.nextInt(2)))
+        + SUFFIXES[random.nextInt(SUFFIXES.length)];
+  }
+
+  private static String venue(SplittableRandom random) {
+    return capitalize(word(random, 2 + random.nextInt(2)))
+        + " "
+        + VENUE_TYPES[random.nextInt(VENUE_TYPES.length)];
+  }
+
+  private static String editTitle(String title, SplittableRandom random) {
+    return switch (random.nextInt(4)) {
+      case 0 -> title.toUpperCase(Locale.ROOT);
+      case 1 -> "The " + title.replace(' ', '-') + "!";
+      case 2 -> title + " - Live";
+      default -> title + " (Tickets)";
+    };
+  }
+
+  private static String editVenue(String venue, SplittableRandom random) {
+    int at = 1 + random.nextInt(venue.length() - 2);
+    return switch (random.nextInt(3)) {
+      case 0 -> venue.substring(0, at) + venue.substring(at + 1);
+      case 1 ->
+          venue.substring(0, at)
+              + venue.charAt(at + 1)
+              + venue.charAt(at)
+              + venue.substring(at + 2);
+      default -> venue.toLowerCase(Locale.ROOT);
+    };
+  }
+
+  private static String word(SplittableRandom random, int syllables) {
+    StringBuilder word = new StringBuilder();
+    for (int i = 0; i < syllables; i++) {
+      word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+    }
+    return word.toString();
+  }
+
+  private static String capitalize(String word) {
+    return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+  }
+}
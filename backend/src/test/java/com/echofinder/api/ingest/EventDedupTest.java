@@ -0,0 +1,98 @@
+package com.echofinder.api.ingest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class EventDedupTest {
+
+  private final MinHasher minHasher = new MinHasher(32);
+  private final LshBands lshBands = new LshBands(8, 32);
+
+  @Test
+  void normalizationRemovesCaseAccentsPunctuationAndFiller() {
+    assertEquals(
+        EventKey.of("Sigur Rós – Live at the O2!", "The O2 Arena"),
+        EventKey.of("SIGUR ROS: live @ O2", "o2 arena"));
+  }
+
+  @Test
+  void similarKeysHaveSimilarSignatures() {
+    int[] a = minHasher.sign(EventKey.of("Radiohead World Tour 2026", "Olympiastadion"));
+    int[] b = minHasher.sign(EventKey.of("Radiohead - World Tour", "Olympia Stadion"));
+    int[] c = minHasher.sign(EventKey.of("Berlin Philharmonic", "Philharmonie"));
+
+    assertTrue(MinHasher.similarity(a, b) >= 0.6);
+    assertTrue(MinHasher.similarity(a, c) < 0.2);
+  }
+
+  @Test
+  void signatureBytesRoundTrip() {
+    int[] signature = minHasher.sign("anything");
+
+    assertArrayEquals(signature, MinHasher.fromBytes(MinHasher.toBytes(signature)));
+  }
+
+  @Test
+  void bandKeysDependOnDate() {
+    int[] signature = minHasher.sign("same show same venue");
+
+    assertArrayEquals(lshBands.keys(signature, 100), lshBands.keys(signature, 100));
+    int[] nextDay = lshBands.keys(signature, 101);
+    int[] today = lshBands.keys(signature, 100);
+    for (int band = 0; band < lshBands.bands(); band++) {
+      assertNotEquals(today[band], nextDay[band]);
+    }
+  }
+
+  @Test
+  void bandKeysUseTheUtcDateWhateverTheSourceOffset() {
+    EventDeduplicator deduplicator = new EventDeduplicator(null, 32, 8, 0.7);
+    OffsetDateTime berlin = OffsetDateTime.parse("2026-06-13T00:30:00+02:00");
+    OffsetDateTime utc = berlin.withOffsetSameInstant(ZoneOffset.UTC);
+
+    assertArrayEquals(
+        deduplicator.sign(event(berlin)).lshKeys(), deduplicator.sign(event(utc)).lshKeys());
+  }
+
+  @Test
+  void bandsMustDivideSignature() {
+    assertThrows(IllegalArgumentException.class, () -> new LshBands(5, 32));
+  }
+
+  @Test
+  void clustersCollidingSimilarRecords() {
+    List<String> keys =
+        List.of(
+            EventKey.of("Radiohead World Tour", "Olympiastadion"),
+            EventKey.of("Berlin Philharmonic", "Philharmonie"),
+            EventKey.of("Radiohead: World Tour", "Olympia-Stadion"),
+            EventKey.of("Radiohead World Tour", "Olympiastadion"));
+    List<int[]> signatures = keys.stream().map(minHasher::sign).toList();
+    List<int[]> bandKeys = signatures.stream().map(s -> lshBands.keys(s, 20_000)).toList();
+
+    int[] groups =
+        LshClusterer.cluster(
+            keys.size(),
+            lshBands.bands(),
+            (i, band) -> bandKeys.get(i)[band],
+            (a, b) -> MinHasher.similarity(signatures.get(a), signatures.get(b)) >= 0.7);
+
+    assertArrayEquals(new int[] {0, 1, 0, 0}, groups);
+  }
+
+  @Test
+  void collisionsWithoutSimilarityAreNotMerged() {
+    int[] groups = LshClusterer.cluster(3, 2, (i, band) -> 42, (a, b) -> false);
+
+    assertArrayEquals(new int[] {0, 1, 2}, groups);
+  }
+
+  private static IncomingEvent event(OffsetDateTime startsAt) {
+    return new IncomingEvent(
+        "tix", "1", "Radiohead World Tour", "Olympiastadion", "Berlin", "DE", startsAt, "EUR");
+  }
+}
@@ -0,0 +1,179 @@
+package com.echofinder.api.ingest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.echofinder.api.catalog.Event;
+import com.echofinder.api.catalog.EventRepository;
+import com.echofinder.api.catalog.Venue;
+import com.echofinder.api.catalog.VenueRepository;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EventIngestServiceIT {
+
+  private static final OffsetDateTime EVENING =
+      OffsetDateTime.of(2026, 6, 12, 20, 0, 0, 0, ZoneOffset.ofHours(2));
+
+  @Autowired private EventIngestService ingestService;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private EventRepository eventRepository;
+  @Autowired private VenueRepository venueRepository;
+  @Autowired private DataSourceProperties dataSourceProperties;
+
+  @AfterEach
+  void cleanUp() {
+    jdbcTemplate.update(
+        "DELETE FROM events WHERE id IN (SELECT event_id FROM event_sources"
+            + " WHERE source LIKE 'test-%')");
+    jdbcTemplate.update(
+        "DELETE FROM venues v WHERE NOT EXISTS"
+            + " (SELECT 1 FROM events e WHERE e.venue_id = v.id)");
+  }
+
+  @Test
+  void newCatalogRowsArePersistedNotMerged() {
+    Venue venue = new Venue(UUID.randomUUID(), "Persisted Hall", "Berlin");
+    Event event = new Event(UUID.randomUUID(), "Persisted Show", venue, EVENING, "EUR");
+
+    // merge() would look each row up first and hand back a copy
+    assertThat(venueRepository.save(venue)).isSameAs(venue);
+    assertThat(eventRepository.save(event)).isSameAs(event);
+    assertThat(venue.isNew()).isFalse();
+    assertThat(eventRepository.findById(event.getId()).orElseThrow().isNew()).isFalse();
+
+    jdbcTemplate.update("DELETE FROM events WHERE id = ?", event.getId());
+  }
+
+  @Test
+  void mergesSameShowFromDifferentSources() {
+    IngestSummary summary =
+        ingestService.ingest(
+            List.of(
+                incoming("test-a", "1", "Radiohead World Tour", "Olympiastadion", EVENING),
+                incoming(
+                    "test-b",
+                    "x9",
+                    "RADIOHEAD - World Tour!",
+                    "Olympia Stadion",
+                    EVENING.plusHours(1)),
+                incoming("test-b", "x10", "Berlin Philharmonic", "Philharmonie", EVENING)));
+
+    assertThat(summary).isEqualTo(new IngestSummary(2, 1));
+    assertThat(eventOf("test-a", "1")).isEqualTo(eventOf("test-b", "x9"));
+    assertThat(eventOf("test-b", "x10")).isNotEqualTo(eventOf("test-a", "1"));
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT title FROM events WHERE id = ?", String.class, eventOf("test-b", "x9")))
+        .isEqualTo("Radiohead World Tour");
+  }
+
+  @Test
+  void laterBatchMergesIntoExistingCanonicalEvent() {
+    ingestService.ingest(
+        List.of(incoming("test-a", "1", "Radiohead World Tour", "Olympiastadion", EVENING)));
+
+    IngestSummary summary =
+        ingestService.ingest(
+            List.of(
+                incoming(
+                    "test-c", "77", "Radiohead: World Tour", "Olympiastadion Berlin", EVENING)));
+
+    assertThat(summary).isEqualTo(new IngestSummary(0, 1));
+    assertThat(eventOf("test-c", "77")).isEqualTo(eventOf("test-a", "1"));
+    Map<String, Object> provenance =
+        jdbcTemplate.queryForMap(
+            "SELECT title, similarity FROM event_sources WHERE source = 'test-c'");
+    assertThat(provenance.get("title")).isEqualTo("Radiohead: World Tour");
+    assertThat(((Number) provenance.get("similarity")).doubleValue()).isBetween(0.7, 1.0);
+  }
+
+  @Test
+  void sameShowOnAnotherNightIsSeparate() {
+    IngestSummary summary =
+        ingestService.ingest(
+            List.of(
+                incoming("test-a", "1", "Radiohead World Tour", "Olympiastadion", EVENING),
+                incoming(
+                    "test-a", "2", "Radiohead World Tour", "Olympiastadion", EVENING.plusDays(1))));
+
+    assertThat(summary).isEqualTo(new IngestSummary(2, 0));
+  }
+
+  @Test
+  void reingestedRecordKeepsItsCanonicalEvent() {
+    ingestService.ingest(
+        List.of(incoming("test-a", "1", "Radiohead World Tour", "Olympiastadion", EVENING)));
+    UUID original = eventOf("test-a", "1");
+
+    IngestSummary summary =
+        ingestService.ingest(
+            List.of(incoming("test-a", "1", "Radiohead (rescheduled)", "Stadium", EVENING)));
+
+    assertThat(summary).isEqualTo(new IngestSummary(0, 1));
+    assertThat(eventOf("test-a", "1")).isEqualTo(original);
+  }
+
+  @Test
+  void repeatedRecordInOneBatchKeepsItsLastOccurrence() {
+    ingestService.ingest(
+        List.of(incoming("test-a", "1", "Radiohead World Tour", "Olympiastadion", EVENING)));
+    UUID event = eventOf("test-a", "1");
+    // As in prod, where batches are rewritten into one multi-row upsert
+    DriverManagerDataSource rewriting =
+        new DriverManagerDataSource(
+            dataSourceProperties.determineUrl(),
+            dataSourceProperties.determineUsername(),
+            dataSourceProperties.determinePassword());
+    Properties driver = new Properties();
+    driver.setProperty("reWriteBatchedInserts", "true");
+    rewriting.setConnectionProperties(driver);
+
+    new EventSourceStore(new JdbcTemplate(rewriting))
+        .saveSources(
+            List.of(
+                resolution(event, "Radiohead World Tour"),
+                resolution(event, "Radiohead (rescheduled)")));
+
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT title FROM event_sources WHERE source = 'test-a' AND external_id = '1'",
+                String.class))
+        .isEqualTo("Radiohead (rescheduled)");
+  }
+
+  private static Resolution resolution(UUID eventId, String title) {
+    return new Resolution(
+        new SignedEvent(
+            incoming("test-a", "1", title, "Olympiastadion", EVENING), new int[0], new int[0]),
+        eventId,
+        false,
+        1.0);
+  }
+
+  private UUID eventOf(String source, String externalId) {
+    return jdbcTemplate.queryForObject(
+        "SELECT event_id FROM event_sources WHERE source = ? AND external_id = ?",
+        UUID.class,
+        source,
+        externalId);
+  }
+
+  private static IncomingEvent incoming(
+      String source, String externalId, String title, String venue, OffsetDateTime startsAt) {
+    return new IncomingEvent(source, externalId, title, venue, "Berlin", "DE", startsAt, "EUR");
+  }
+}
@@ -0,0 +1,174 @@
+package com.echofinder.api.ingest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class FeedPipelineIT {
+
+  @Autowired private FeedPipeline pipeline;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private MeterRegistry meterRegistry;
+
+  @TempDir Path inbox;
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate.update(
+        "INSERT INTO geo_places (city_key, city, country_code, latitude, longitude)"
+            + " VALUES ('berlin', 'Berlin', 'DE', 52.52, 13.405),"
+            + " ('paris', 'Paris', 'FR', 48.857, 2.352), ('paris', 'Paris', 'US', 33.661, -95.556)");
+  }
+
+  @AfterEach
+  void cleanUp() {
+    jdbcTemplate.update(
+        "DELETE FROM events WHERE id IN (SELECT event_id FROM event_sources"
+            + " WHERE source LIKE 'feed-%')");
+    jdbcTemplate.update(
+        "DELETE FROM venues v WHERE NOT EXISTS (SELECT 1 FROM events e WHERE e.venue_id = v.id)");
+    jdbcTemplate.update("DELETE FROM geo_places");
+  }
+
+  @Test
+  void ingestsFeedAndDeadLettersBadRecords() throws Exception {
+    Path feed =
+        write(
+            "feed-tix.2026-10-18.ndjson",
+            line("1", "Radiohead World Tour", "Olympiastadion", "Berlin", "EUR"),
+            line("2", "RADIOHEAD - World Tour", "Olympia Stadion", "Berlin", "eur"),
+            line("3", "Berlin Philharmonic", "Philharmonie", "Berlin", "EUR"),
+            line("4", "Somewhere Else", "Town Hall", "Atlantis", "EUR"),
+            "{not json",
+            line("6", "No Currency", "Club", "Berlin", "EURO"),
+            "",
+            line("8", "   ", "Club", "Berlin", "EUR"));
+    Path deadLetters = inbox.resolve("failed").resolve("feed-tix.ndjson");
+
+    FeedRunSummary summary = pipeline.run("feed-tix", feed, deadLetters);
+
+    assertThat(summary).isEqualTo(new FeedRunSummary("feed-tix", 7, 3, 1, 3));
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT count(DISTINCT event_id) FROM event_sources WHERE source = 'feed-tix'",
+                Integer.class))
+        .isEqualTo(3);
+    Map<String, Object> philharmonie =
+        jdbcTemplate.queryForMap(
+            "SELECT latitude, longitude FROM venues WHERE name = 'Philharmonie'");
+    assertThat(philharmonie.get("latitude")).isEqualTo(52.52);
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT latitude FROM venues WHERE name = 'Town Hall'", Double.class))
+        .isNull();
+
+    List<JsonNode> failures = new ArrayList<>();
+    for (String entry : Files.readAllLines(deadLetters)) {
+      failures.add(objectMapper.readTree(entry));
+    }
+    assertThat(failures)
+        .extracting(node -> node.get("line").asLong(), node -> node.get("stage").asText())
+        .containsExactlyInAnyOrder(
+            tuple(5L, "parse"), tuple(6L, "normalize"), tuple(8L, "normalize"));
+    assertThat(failures.get(0).get("record").asText()).isNotEmpty();
+    assertThat(
+            meterRegistry
+                .get("echo.ingest.stage.records")
+                .tags("stage", "persist", "result", "ok")
+                .counter()
+                .count())
+        .isGreaterThanOrEqualTo(4);
+  }
+
+  @Test
+  void geocodesSharedCityNamesOnlyByCountry() throws Exception {
+    Path feed =
+        write(
+            "feed-geo.ndjson",
+            line("1", "Opera Night", "Palais Garnier", "Paris", "EUR", "FR"),
+            line("2", "Rodeo Night", "Love Civic Center", "Paris", "USD", null));
+
+    pipeline.run("feed-geo", feed, inbox.resolve("failed").resolve("feed-geo.ndjson"));
+
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT latitude FROM venues WHERE name = 'Palais Garnier'", Double.class))
+        .isEqualTo(48.857);
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT latitude FROM venues WHERE name = 'Love Civic Center'", Double.class))
+        .isNull();
+  }
+
+  @Test
+  void failedFeedIsSetAsideAndTheInboxMovesOn() throws Exception {
+    // Not UTF-8, so reading the feed fails
+    Path broken = Files.write(inbox.resolve("feed-bad.ndjson"), new byte[] {'{', (byte) 0xff});
+    write("feed-ok.ndjson", line("1", "Show", "Club", "Berlin", "EUR"));
+
+    try (FeedInboxWorker worker = new FeedInboxWorker(pipeline, inbox, false)) {
+      assertThat(worker.drain()).extracting(FeedRunSummary::source).containsExactly("feed-ok");
+    }
+
+    assertThat(broken).doesNotExist();
+    assertThat(inbox.resolve("failed").resolve("feed-bad.ndjson")).exists();
+    assertThat(inbox.resolve("failed").resolve("feed-bad.ndjson.error"))
+        .content()
+        .contains("MalformedInputException");
+    assertThat(inbox.resolve("done").resolve("feed-ok.ndjson")).exists();
+  }
+
+  @Test
+  void cleanFeedLeavesNoDeadLetterFile() throws Exception {
+    Path feed = write("feed-ok.ndjson", line("1", "Show", "Club", "Berlin", "EUR"));
+    Path deadLetters = inbox.resolve("failed").resolve("feed-ok.ndjson");
+
+    FeedRunSummary summary = pipeline.run("feed-ok", feed, deadLetters);
+
+    assertThat(summary.deadLettered()).isZero();
+    assertThat(deadLetters).doesNotExist();
+  }
+
+  private Path write(String name, String... lines) throws Exception {
+    return Files.write(inbox.resolve(name), List.of(lines));
+  }
+
+  private String line(String id, String title, String venue, String city, String currency)
+      throws Exception {
+    return line(id, title, venue, city, currency, null);
+  }
+
+  private String line(
+      String id, String title, String venue, String city, String currency, String country)
+      throws Exception {
+    Map<String, String> record = new HashMap<>();
+    record.put("id", id);
+    record.put("title", title);
+    record.put("venue", venue);
+    record.put("city", city);
+    record.put("country", country);
+    record.put("startsAt", "2026-06-12T20:00:00+02:00");
+    record.put("currency", currency);
+    return objectMapper.writeValueAsString(record);
+  }
+}
@@ -0,0 +1,73 @@
+package com.echofinder.api.ingest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.OffsetDateTime;
+import org.junit.jupiter.api.Test;
+
+class FeedRecordNormalizerTest {
+
+  @Test
+  void cleansWhitespaceAndCurrency() {
+    IncomingEvent event =
+        FeedRecordNormalizer.normalize(
+            "tix",
+            new FeedRecord(
+                " 42 ",
+                "Radiohead \t World  Tour",
+                "Olympiastadion",
+                "Berlin",
+                " de ",
+                "2026-06-12T20:00:00+02:00",
+                "eur"));
+
+    assertEquals("tix", event.source());
+    assertEquals("42", event.externalId());
+    assertEquals("Radiohead World Tour", event.title());
+    assertEquals("EUR", event.currency());
+    assertEquals("DE", event.country());
+    assertEquals(OffsetDateTime.parse("2026-06-12T20:00:00+02:00"), event.startsAt());
+  }
+
+  @Test
+  void rejectsMissingField() {
+    FeedRecord record =
+        new FeedRecord("1", "  ", "Venue", "Berlin", null, "2026-06-12T20:00:00+02:00", "EUR");
+
+    IllegalArgumentException error =
+        assertThrows(
+            IllegalArgumentException.class, () -> FeedRecordNormalizer.normalize("tix", record));
+    assertEquals("title is required", error.getMessage());
+  }
+
+  @Test
+  void rejectsBadCurrency() {
+    FeedRecord record =
+        new FeedRecord("1", "Show", "Venue", "Berlin", null, "2026-06-12T20:00:00+02:00", "euro");
+
+    assertThrows(
+        IllegalArgumentException.class, () -> FeedRecordNormalizer.normalize("tix", record));
+  }
+
+  @Test
+  void countryIsOptionalButMustBeACode() {
+    FeedRecord without =
+        new FeedRecord("1", "Show", "Venue", "Berlin", " ", "2026-06-12T20:00:00+02:00", "EUR");
+    FeedRecord named =
+        new FeedRecord(
+            "1", "Show", "Venue", "Berlin", "Germany", "2026-06-12T20:00:00+02:00", "EUR");
+
+    assertNull(FeedRecordNormalizer.normalize("tix", without).country());
+    assertThrows(
+        IllegalArgumentException.class, () -> FeedRecordNormalizer.normalize("tix", named));
+  }
+
+  @Test
+  void rejectsStartWithoutOffset() {
+    FeedRecord record =
+        new FeedRecord("1", "Show", "Venue", "Berlin", null, "2026-06-12T20:00", "EUR");
+
+    assertThrows(
+        IllegalArgumentException.class, () -> FeedRecordNormalizer.normalize("tix", record));
+  }
+}
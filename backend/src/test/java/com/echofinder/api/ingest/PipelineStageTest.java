@@ -0,0 +1,62 @@
+package com.echofinder.api.ingest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PipelineStageTest {
+
+  @TempDir Path dir;
+
+  private final PipelineStage<String, Void> stage =
+      new PipelineStage<>(
+          "test",
+          1,
+          10,
+          1,
+          0,
+          PipelineStage.each(
+              item -> {
+                if (item.value().equals("boom")) {
+                  throw new StackOverflowError();
+                }
+                return null;
+              }),
+          null,
+          new SimpleMeterRegistry());
+
+  @AfterEach
+  void tearDown() {
+    stage.stop();
+  }
+
+  @Test
+  void errorAbortsTheRunAndTheWorkerCarriesOn() throws Exception {
+    stage.start();
+
+    FeedRun failing = run("boom");
+    ExecutionException error =
+        assertThrows(ExecutionException.class, () -> failing.completion().get(5, TimeUnit.SECONDS));
+    assertInstanceOf(StackOverflowError.class, error.getCause());
+
+    FeedRun next = run("ok");
+    next.completion().get(5, TimeUnit.SECONDS);
+    assertFalse(next.aborted());
+  }
+
+  private FeedRun run(String value) throws InterruptedException {
+    FeedRun run =
+        new FeedRun("test", new DeadLetterFile(dir.resolve("failed.ndjson"), new ObjectMapper()));
+    run.read();
+    stage.put(new FeedItem<>(run, 1, value, value, System.nanoTime()));
+    run.readFinished();
+    return run;
+  }
+}
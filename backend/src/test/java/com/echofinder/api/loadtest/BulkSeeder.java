@@ -0,0 +1,184 @@
+package com.echofinder.api.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.SplittableRandom;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads a {@link SyntheticData} set with {@code COPY ... FROM STDIN}, generating rows as they are
+ * streamed, so millions of rows load in seconds without holding them in memory. Seeding is skipped
+ * when the marker admin already exists; drop the database volume to reseed.
+ */
+final class BulkSeeder {
+
+  private static final Logger log = LoggerFactory.getLogger(BulkSeeder.class);
+  private static final int FLUSH_CHARS = 1 << 16;
+  private static final String[] SOURCES = {"ticketmaster", "eventim", "stubhub", "dice"};
+
+  private final SyntheticData data;
+  private final SplittableRandom random = new SplittableRandom(42);
+  private final Instant now = Instant.now();
+
+  BulkSeeder(SyntheticData data) {
+    this.data = data;
+  }
+
+  /**
+   * @return whether anything was loaded
+   */
+  boolean seed(Connection connection) throws SQLException {
+    if (seeded(connection)) {
+      log.info("Load test data already seeded; skipping");
+      return false;
+    }
+    copy(
+        connection,
+        "users (id, email, display_name, role, status)",
+        data.users(),
+        (i, row) ->
+            row.append(SyntheticData.userId(i))
+                .append(',')
+                .append(i == 0 ? SyntheticData.ADMIN_EMAIL : "user" + i + "@loadtest.invalid")
+                .append(",User ")
+                .append(i)
+                .append(',')
+                .append(i == 0 ? "ADMIN" : "USER")
+                .append(",ACTIVE"));
+    copy(
+        connection,
+        "invites (id, email, token_hash, invited_role, inviter_user_id, expires_at)",
+        data.invites(),
+        (i, row) ->
+            row.append(SyntheticData.inviteId(i))
+                .append(",invitee")
+                .append(i)
+                .append("@loadtest.invalid,loadtest-")
+                .append(i)
+                .append(",USER,")
+                .append(SyntheticData.userId(0))
+                .append(',')
+                .append(now.plus(Duration.ofDays(random.nextInt(-7, 14)))));
+    copy(
+        connection,
+        "venues (id, name, city)",
+        data.venues(),
+        (i, row) ->
+            row.append(SyntheticData.venueId(i))
+                .append(",Venue ")
+                .append(i)
+                .append(',')
+                .append(SyntheticData.city(i)));
+    copy(
+        connection,
+        "events (id, title, venue_id, starts_at, currency)",
+        data.events(),
+        (i, row) ->
+            row.append(SyntheticData.eventId(i))
+                .append(",Artist ")
+                .append(i)
+                .append(" Live,")
+                .append(SyntheticData.venueId(i % data.venues()))
+                .append(',')
+                .append(now.plus(Duration.ofHours(random.nextInt(1, 24 * 180))))
+                .append(",EUR"));
+
+    long firstId = queryLong(connection, "SELECT nextval('price_observations_seq')") + 1;
+    copy(
+        connection,
+        "price_observations (id, event_id, source, price_cents, observed_at)",
+        data.observations(),
+        (i, row) ->
+            row.append(firstId + i)
+                .append(',')
+                .append(SyntheticData.eventId(popular(random, data.events())))
+                .append(',')
+                .append(SOURCES[random.nextInt(SOURCES.length)])
+                .append(',')
+                .append(random.nextInt(2_000, 20_000))
+                .append(',')
+                .append(now.minusSeconds(random.nextLong(Duration.ofDays(90).toSeconds()))));
+    // Past the copied ids and a whole block beyond, for Hibernate's pooled allocation
+    queryLong(
+        connection,
+        "SELECT setval('price_observations_seq', " + (firstId + data.observations() + 50) + ")");
+
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("ANALYZE");
+    }
+    return true;
+  }
+
+  /** Event positions with a long tail, as real demand has: a few events draw most traffic. */
+  static int popular(SplittableRandom random, int events) {
+    double u = random.nextDouble();
+    return (int) (events * u * u * u);
+  }
+
+  private static boolean seeded(Connection connection) throws SQLException {
+    try (var statement = connection.prepareStatement("SELECT 1 FROM users WHERE email = ?")) {
+      statement.setString(1, SyntheticData.ADMIN_EMAIL);
+      try (ResultSet rs = statement.executeQuery()) {
+        return rs.next();
+      }
+    }
+  }
+
+  private static long queryLong(Connection connection, String sql) throws SQLException {
+    try (Statement statement = connection.createStatement();
+        ResultSet rs = statement.executeQuery(sql)) {
+      rs.next();
+      return rs.getLong(1);
+    }
+  }
+
+  private static void copy(Connection connection, String target, long rows, RowWriter writer)
+      throws SQLException {
+    long started = System.nanoTime();
+    CopyIn copy =
+        connection
+            .unwrap(PGConnection.class)
+            .getCopyAPI()
+            .copyIn("COPY " + target + " FROM STDIN (FORMAT csv)");
+    StringBuilder buffer = new StringBuilder(FLUSH_CHARS * 2);
+    try {
+      for (long i = 0; i < rows; i++) {
+        writer.write(i, buffer);
+        buffer.append('\n');
+        if (buffer.length() >= FLUSH_CHARS) {
+          flush(copy, buffer);
+        }
+      }
+      flush(copy, buffer);
+      copy.endCopy();
+    } finally {
+      if (copy.isActive()) {
+        copy.cancelCopy();
+      }
+    }
+    log.info(
+        "Seeded {} rows into {} in {} ms",
+        rows,
+        target.substring(0, target.indexOf(' ')),
+        (System.nanoTime() - started) / 1_000_000);
+  }
+
+  private static void flush(CopyIn copy, StringBuilder buffer) throws SQLException {
+    byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+    copy.writeToCopy(bytes, 0, bytes.length);
+    buffer.setLength(0);
+  }
+
+  @FunctionalInterface
+  private interface RowWriter {
+    void write(long row, StringBuilder out);
+  }
+}
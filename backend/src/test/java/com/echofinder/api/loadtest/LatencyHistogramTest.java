@@ -0,0 +1,63 @@
+package com.echofinder.api.loadtest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+  @Test
+  void smallValuesAreExact() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int micros = 1; micros <= 100; micros++) {
+      histogram.record(micros);
+    }
+
+    assertEquals(50, histogram.percentileMicros(50));
+    assertEquals(99, histogram.percentileMicros(99));
+    assertEquals(100, histogram.maxMicros());
+    assertEquals(50.5, histogram.meanMicros(), 1e-9);
+  }
+
+  @Test
+  void largeValuesStayWithinPrecision() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(123_456);
+
+    long reported = histogram.percentileMicros(99);
+    assertTrue(reported >= 123_456, "never understates");
+    assertTrue(reported < 123_456 * 1.016, "within 1.6%");
+  }
+
+  @Test
+  void bucketsAreContiguous() {
+    for (long micros = 1; micros < 10_000_000; micros += 1 + micros / 100) {
+      int index = LatencyHistogram.index(micros);
+      assertTrue(LatencyHistogram.upperEdge(index) >= micros);
+      assertTrue(index == 0 || LatencyHistogram.upperEdge(index - 1) < micros);
+    }
+  }
+
+  @Test
+  void tailPercentileFindsOutliers() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 0; i < 990; i++) {
+      histogram.record(1_000);
+    }
+    for (int i = 0; i < 10; i++) {
+      histogram.record(500_000);
+    }
+
+    assertTrue(histogram.percentileMicros(99) < 1_100);
+    assertTrue(histogram.percentileMicros(99.9) >= 500_000);
+    assertEquals(1_000, histogram.count());
+  }
+
+  @Test
+  void emptyHistogramReportsZero() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    assertEquals(0, histogram.percentileMicros(99));
+    assertEquals(0, histogram.maxMicros());
+  }
+}
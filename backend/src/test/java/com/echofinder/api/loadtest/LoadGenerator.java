@@ -0,0 +1,130 @@
+package com.echofinder.api.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: requests are started on a fixed schedule whatever the server's response times,
+ * each on its own virtual thread, as independent users would send them. A closed loop of N clients
+ * would slow down with the server and under-report its tail.
+ *
+ * <p>Requests that would exceed {@code maxInFlight} are not sent and count as errors; that bound
+ * keeps a stalled server from exhausting the client's sockets.
+ */
+final class LoadGenerator {
+
+  private final HttpClient client;
+  private final URI baseUrl;
+  private final SyntheticData data;
+  private final int maxInFlight;
+
+  LoadGenerator(HttpClient client, URI baseUrl, SyntheticData data, int maxInFlight) {
+    this.client = client;
+    this.baseUrl = baseUrl;
+    this.data = data;
+    this.maxInFlight = maxInFlight;
+  }
+
+  /** Runs {@code warmup} unmeasured, then {@code duration} measured, at {@code perSecond}. */
+  MixResult run(ScenarioMix mix, double perSecond, Duration warmup, Duration duration)
+      throws InterruptedException {
+    Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+    mix.weights().keySet().forEach(operation -> stats.put(operation, new Stats()));
+    Semaphore inFlight = new Semaphore(maxInFlight);
+    SplittableRandom random = new SplittableRandom(mix.name().hashCode());
+    long interval = (long) (1e9 / perSecond);
+    long started = System.nanoTime();
+    long measureFrom = started + warmup.toNanos();
+    long end = measureFrom + duration.toNanos();
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (long i = 0; ; i++) {
+        long intended = started + i * interval;
+        if (intended >= end) {
+          break;
+        }
+        long wait = intended - System.nanoTime();
+        if (wait > 0) {
+          LockSupport.parkNanos(wait);
+        }
+        Operation operation = mix.pick(random);
+        var request = operation.request(baseUrl, data, random).timeout(Operation.TIMEOUT).build();
+        Stats operationStats = intended >= measureFrom ? stats.get(operation) : null;
+        if (!inFlight.tryAcquire()) {
+          if (operationStats != null) {
+            operationStats.dropped.increment();
+          }
+          continue;
+        }
+        executor.execute(
+            () -> {
+              boolean ok = false;
+              try {
+                ok =
+                    operation.succeeded(
+                        client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+              } catch (IOException e) {
+                // Counted as an error below
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              } finally {
+                inFlight.release();
+                if (operationStats != null) {
+                  operationStats.latency.record((System.nanoTime() - intended) / 1_000);
+                  if (!ok) {
+                    operationStats.errors.increment();
+                  }
+                }
+              }
+            });
+      }
+    }
+    double seconds = duration.toNanos() / 1e9;
+
+    List<OperationResult> operations = new ArrayList<>();
+    long measured = 0;
+    for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+      LatencyHistogram latency = entry.getValue().latency;
+      long dropped = entry.getValue().dropped.sum();
+      // Requests never sent have no latency but count as sent and failed
+      long requests = latency.count() + dropped;
+      long errors = entry.getValue().errors.sum() + dropped;
+      measured += requests;
+      operations.add(
+          new OperationResult(
+              entry.getKey(),
+              requests,
+              errors,
+              millis(latency.percentileMicros(50)),
+              millis(latency.percentileMicros(90)),
+              millis(latency.percentileMicros(99)),
+              millis(latency.percentileMicros(99.9)),
+              millis(latency.maxMicros()),
+              latency.meanMicros() / 1_000));
+    }
+    return new MixResult(mix.name(), perSecond, measured / seconds, seconds, operations);
+  }
+
+  private static double millis(long micros) {
+    return micros / 1_000.0;
+  }
+
+  private static final class Stats {
+    final LatencyHistogram latency = new LatencyHistogram();
+    final LongAdder errors = new LongAdder();
+    final LongAdder dropped = new LongAdder();
+  }
+}
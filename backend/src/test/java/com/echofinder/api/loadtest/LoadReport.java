@@ -0,0 +1,146 @@
+package com.echofinder.api.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Results of a load test run, written as {@code report.json} for comparing runs and {@code
+ * summary.md} for people. Pass a previous {@code report.json} as the baseline to have p99
+ * regressions reported and enforced.
+ */
+record LoadReport(String startedAt, String baseUrl, SyntheticData data, List<MixResult> mixes) {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  static LoadReport read(Path file) throws IOException {
+    return MAPPER.readValue(file.toFile(), LoadReport.class);
+  }
+
+  void write(Path directory, Slo slo, LoadReport baseline) throws IOException {
+    Files.createDirectories(directory);
+    MAPPER
+        .writerWithDefaultPrettyPrinter()
+        .writeValue(directory.resolve("report.json").toFile(), this);
+    Files.writeString(directory.resolve("summary.md"), summary(slo, baseline));
+  }
+
+  /** Every objective this run missed, one line each; empty when the run passed. */
+  List<String> breaches(Slo slo, LoadReport baseline) {
+    List<String> breaches = new ArrayList<>();
+    for (MixResult mix : mixes) {
+      for (OperationResult result : mix.operations()) {
+        String where = mix.mix() + "/" + name(result.operation());
+        double limit = slo.p99Millis().get(result.operation());
+        if (result.p99Millis() > limit) {
+          breaches.add(
+              String.format(
+                  Locale.ROOT, "%s: p99 %.1f ms > %.1f ms", where, result.p99Millis(), limit));
+        }
+        if (result.errorRate() > slo.maxErrorRate()) {
+          breaches.add(
+              String.format(
+                  Locale.ROOT,
+                  "%s: error rate %.3f%% > %.3f%%",
+                  where,
+                  result.errorRate() * 100,
+                  slo.maxErrorRate() * 100));
+        }
+        baselineP99(baseline, mix.mix(), result.operation())
+            .filter(previous -> regressed(previous, result.p99Millis(), slo))
+            .ifPresent(
+                previous ->
+                    breaches.add(
+                        String.format(
+                            Locale.ROOT,
+                            "%s: p99 %.1f ms regressed from %.1f ms (> %.0f%%)",
+                            where,
+                            result.p99Millis(),
+                            previous,
+                            slo.maxP99Regression() * 100)));
+      }
+    }
+    return breaches;
+  }
+
+  String summary(Slo slo, LoadReport baseline) {
+    StringBuilder out = new StringBuilder();
+    out.append("# Load test ").append(startedAt).append("\n\n");
+    out.append(
+        String.format(
+            Locale.ROOT,
+            "Target %s; %,d users, %,d invites, %,d events, %,d price observations.%n",
+            baseUrl,
+            data.users(),
+            data.invites(),
+            data.events(),
+            data.observations()));
+    for (MixResult mix : mixes) {
+      out.append(
+          String.format(
+              Locale.ROOT,
+              "%n## %s: %.0f req/s target, %.0f req/s achieved over %.0f s%n%n",
+              mix.mix(),
+              mix.targetPerSecond(),
+              mix.achievedPerSecond(),
+              mix.seconds()));
+      out.append(
+          "| operation | requests | errors | p50 ms | p90 ms | p99 ms | p99.9 ms | max ms |");
+      out.append(" p99 SLO ms | baseline p99 ms |\n");
+      out.append("|---|---:|---:|---:|---:|---:|---:|---:|---:|---:|\n");
+      for (OperationResult result : mix.operations()) {
+        out.append(
+            String.format(
+                Locale.ROOT,
+                "| %s | %d | %d | %.1f | %.1f | %.1f | %.1f | %.1f | %.0f | %s |%n",
+                name(result.operation()),
+                result.requests(),
+                result.errors(),
+                result.p50Millis(),
+                result.p90Millis(),
+                result.p99Millis(),
+                result.p999Millis(),
+                result.maxMillis(),
+                slo.p99Millis().get(result.operation()),
+                baselineP99(baseline, mix.mix(), result.operation())
+                    .map(previous -> String.format(Locale.ROOT, "%.1f", previous))
+                    .orElse("-")));
+      }
+    }
+    List<String> breaches = breaches(slo, baseline);
+    out.append("\n## Result\n\n");
+    if (breaches.isEmpty()) {
+      out.append("All objectives met.\n");
+    } else {
+      breaches.forEach(breach -> out.append("- ").append(breach).append('\n'));
+    }
+    return out.toString();
+  }
+
+  private static boolean regressed(double previous, double current, Slo slo) {
+    return current - previous > Slo.REGRESSION_FLOOR_MILLIS
+        && current > previous * (1 + slo.maxP99Regression());
+  }
+
+  private static Optional<Double> baselineP99(
+      LoadReport baseline, String mix, Operation operation) {
+    if (baseline == null) {
+      return Optional.empty();
+    }
+    return baseline.mixes().stream()
+        .filter(previous -> previous.mix().equals(mix))
+        .flatMap(previous -> previous.operations().stream())
+        .filter(previous -> previous.operation() == operation)
+        .map(OperationResult::p99Millis)
+        .findFirst();
+  }
+
+  private static String name(Operation operation) {
+    return operation.name().toLowerCase(Locale.ROOT);
+  }
+}
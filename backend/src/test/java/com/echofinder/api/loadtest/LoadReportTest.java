@@ -0,0 +1,81 @@
+package com.echofinder.api.loadtest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LoadReportTest {
+
+  private static final SyntheticData DATA = new SyntheticData(10, 1, 1, 10, 100);
+
+  private final Slo slo = new Slo(limits(50), 0.01, 0.25);
+
+  @Test
+  void passingRunHasNoBreaches() {
+    assertEquals(List.of(), report(event(40, 0)).breaches(slo, null));
+  }
+
+  @Test
+  void reportsP99AboveObjective() {
+    assertEquals(
+        List.of("browse/event: p99 60.0 ms > 50.0 ms"), report(event(60, 0)).breaches(slo, null));
+  }
+
+  @Test
+  void reportsErrorRateAboveObjective() {
+    assertEquals(
+        List.of("browse/event: error rate 2.000% > 1.000%"),
+        report(event(40, 20)).breaches(slo, null));
+  }
+
+  @Test
+  void reportsRegressionAgainstBaseline() {
+    LoadReport baseline = report(event(20, 0));
+
+    assertEquals(
+        List.of("browse/event: p99 30.0 ms regressed from 20.0 ms (> 25%)"),
+        report(event(30, 0)).breaches(slo, baseline));
+    assertEquals(List.of(), report(event(24, 0)).breaches(slo, baseline));
+  }
+
+  @Test
+  void ignoresRegressionsWithinNoiseFloor() {
+    assertEquals(List.of(), report(event(3, 0)).breaches(slo, report(event(1.5, 0))));
+  }
+
+  @Test
+  void roundTripsThroughJson(@TempDir Path directory) throws Exception {
+    LoadReport report = report(event(40, 0));
+
+    report.write(directory, slo, null);
+
+    assertEquals(report, LoadReport.read(directory.resolve("report.json")));
+    assertTrue(Files.readString(directory.resolve("summary.md")).contains("All objectives met."));
+  }
+
+  private static LoadReport report(OperationResult result) {
+    return new LoadReport(
+        "2026-01-01T00:00:00Z",
+        "http://localhost:8080",
+        DATA,
+        List.of(new MixResult("browse", 100, 100, 60, List.of(result))));
+  }
+
+  private static OperationResult event(double p99Millis, long errors) {
+    return new OperationResult(Operation.EVENT, 1_000, errors, 1, 2, p99Millis, 70, 80, 3);
+  }
+
+  private static Map<Operation, Double> limits(double millis) {
+    Map<Operation, Double> limits = new EnumMap<>(Operation.class);
+    for (Operation operation : Operation.values()) {
+      limits.put(operation, millis);
+    }
+    return limits;
+  }
+}
@@ -0,0 +1,11 @@
+package com.echofinder.api.loadtest;
+
+import java.util.List;
+
+/** One mix run at a fixed arrival rate. */
+record MixResult(
+    String mix,
+    double targetPerSecond,
+    double achievedPerSecond,
+    double seconds,
+    List<OperationResult> operations) {}
@@ -0,0 +1,101 @@
+package com.echofinder.api.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/**
+ * One kind of request in a load mix, with its default p99 objective. Events are picked with {@link
+ * BulkSeeder#popular}, so hot rows are hit as often as they would be in production.
+ */
+enum Operation {
+  EVENT(50) {
+    @Override
+    HttpRequest.Builder request(URI base, SyntheticData data, SplittableRandom random) {
+      return get(base, "/api/events/" + event(data, random));
+    }
+  },
+  PRICES(150) {
+    @Override
+    HttpRequest.Builder request(URI base, SyntheticData data, SplittableRandom random) {
+      return get(base, "/api/events/" + event(data, random) + "/prices");
+    }
+  },
+  TRENDING(50) {
+    @Override
+    HttpRequest.Builder request(URI base, SyntheticData data, SplittableRandom random) {
+      String city = SyntheticData.CITIES[random.nextInt(SyntheticData.CITIES.length)];
+      return get(
+          base, "/api/trending?limit=10&city=" + URLEncoder.encode(city, StandardCharsets.UTF_8));
+    }
+  },
+  VIEW(25) {
+    @Override
+    HttpRequest.Builder request(URI base, SyntheticData data, SplittableRandom random) {
+      return HttpRequest.newBuilder(base.resolve("/api/events/" + event(data, random) + "/views"))
+          .POST(HttpRequest.BodyPublishers.noBody());
+    }
+  },
+  WATCH(100) {
+    @Override
+    HttpRequest.Builder request(URI base, SyntheticData data, SplittableRandom random) {
+      return HttpRequest.newBuilder(
+              base.resolve("/api/users/" + user(data, random) + "/watches/" + event(data, random)))
+          .header("Content-Type", "application/json")
+          .PUT(
+              HttpRequest.BodyPublishers.ofString(
+                  "{\"thresholdCents\":" + random.nextInt(1_000, 15_000) + "}"));
+    }
+  },
+  WATCHLIST(100) {
+    @Override
+    HttpRequest.Builder request(URI base, SyntheticData data, SplittableRandom random) {
+      return get(base, "/api/users/" + user(data, random) + "/watches");
+    }
+  },
+  /** Bot scans of paths that do not exist; expected to answer 404. */
+  NOT_FOUND(25) {
+    @Override
+    HttpRequest.Builder request(URI base, SyntheticData data, SplittableRandom random) {
+      return get(base, "/wp-admin/" + random.nextInt(1_000_000));
+    }
+
+    @Override
+    boolean succeeded(int status) {
+      return status == 404;
+    }
+  };
+
+  static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+  private final long defaultP99Millis;
+
+  Operation(long defaultP99Millis) {
+    this.defaultP99Millis = defaultP99Millis;
+  }
+
+  long defaultP99Millis() {
+    return defaultP99Millis;
+  }
+
+  abstract HttpRequest.Builder request(URI base, SyntheticData data, SplittableRandom random);
+
+  boolean succeeded(int status) {
+    return status >= 200 && status < 300;
+  }
+
+  private static HttpRequest.Builder get(URI base, String path) {
+    return HttpRequest.newBuilder(base.resolve(path)).GET();
+  }
+
+  private static Object event(SyntheticData data, SplittableRandom random) {
+    return SyntheticData.eventId(BulkSeeder.popular(random, data.events()));
+  }
+
+  private static Object user(SyntheticData data, SplittableRandom random) {
+    return SyntheticData.userId(1 + random.nextInt(Math.max(1, data.users() - 1)));
+  }
+}
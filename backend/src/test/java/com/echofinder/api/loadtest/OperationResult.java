@@ -0,0 +1,21 @@
+package com.echofinder.api.loadtest;
+
+/**
+ * Measured outcome of one operation in one mix. Latencies are from the intended send time, so a
+ * backlog in the client or server shows up as latency instead of being hidden by fewer sends.
+ */
+record OperationResult(
+    Operation operation,
+    long requests,
+    long errors,
+    double p50Millis,
+    double p90Millis,
+    double p99Millis,
+    double p999Millis,
+    double maxMillis,
+    double meanMillis) {
+
+  double errorRate() {
+    return requests == 0 ? 0 : (double) errors / requests;
+  }
+}
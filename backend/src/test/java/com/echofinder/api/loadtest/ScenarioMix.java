@@ -0,0 +1,60 @@
+package com.echofinder.api.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/** Weighted mix of {@link Operation}s; each request picks one in proportion to its weight. */
+record ScenarioMix(String name, Map<Operation, Integer> weights) {
+
+  /** Anonymous discovery traffic: event pages, price charts, trending lists and their beacons. */
+  static final ScenarioMix BROWSE =
+      parse("browse", "event:40,prices:25,trending:15,view:15,not_found:5");
+
+  /** Signed-in users managing price watches while browsing. */
+  static final ScenarioMix ALERTS = parse("alerts", "watch:30,watchlist:20,event:30,prices:20");
+
+  ScenarioMix {
+    if (weights.isEmpty() || weights.values().stream().anyMatch(weight -> weight < 1)) {
+      throw new IllegalArgumentException("Mix " + name + " needs positive weights");
+    }
+    weights = new EnumMap<>(weights);
+  }
+
+  /** A preset by name, or an inline {@code operation:weight,...} list named {@code custom}. */
+  static ScenarioMix of(String spec) {
+    return switch (spec.trim().toLowerCase(Locale.ROOT)) {
+      case "browse" -> BROWSE;
+      case "alerts" -> ALERTS;
+      default -> parse("custom", spec);
+    };
+  }
+
+  static ScenarioMix parse(String name, String spec) {
+    Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+    for (String entry : spec.split(",")) {
+      String[] parts = entry.trim().split(":");
+      if (parts.length != 2) {
+        throw new IllegalArgumentException("Expected operation:weight, got " + entry);
+      }
+      weights.merge(
+          Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)),
+          Integer.parseInt(parts[1].trim()),
+          Integer::sum);
+    }
+    return new ScenarioMix(name, weights);
+  }
+
+  Operation pick(SplittableRandom random) {
+    int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+    int ticket = random.nextInt(total);
+    for (Map.Entry<Operation, Integer> weight : weights.entrySet()) {
+      ticket -= weight.getValue();
+      if (ticket < 0) {
+        return weight.getKey();
+      }
+    }
+    throw new IllegalStateException("unreachable");
+  }
+}
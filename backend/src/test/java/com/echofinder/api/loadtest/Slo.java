@@ -0,0 +1,32 @@
+package com.echofinder.api.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Latency objectives a run must meet. {@code maxP99Regression} applies only when a baseline report
+ * is given; it is the allowed relative growth of each operation's p99 against that baseline.
+ */
+record Slo(Map<Operation, Double> p99Millis, double maxErrorRate, double maxP99Regression) {
+
+  /** Regressions smaller than this are scheduler noise, whatever their relative size. */
+  static final double REGRESSION_FLOOR_MILLIS = 2;
+
+  /** Defaults from {@link Operation}, overridden by {@code -Dloadtest.slo.p99.<operation>=ms}. */
+  static Slo fromSystemProperties() {
+    Map<Operation, Double> p99Millis = new EnumMap<>(Operation.class);
+    for (Operation operation : Operation.values()) {
+      p99Millis.put(
+          operation,
+          Double.parseDouble(
+              System.getProperty(
+                  "loadtest.slo.p99." + operation.name().toLowerCase(Locale.ROOT),
+                  String.valueOf(operation.defaultP99Millis()))));
+    }
+    return new Slo(
+        p99Millis,
+        Double.parseDouble(System.getProperty("loadtest.slo.max-error-rate", "0.001")),
+        Double.parseDouble(System.getProperty("loadtest.slo.max-p99-regression", "0.25")));
+  }
+}
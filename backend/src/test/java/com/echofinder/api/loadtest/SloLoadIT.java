@@ -0,0 +1,95 @@
+package com.echofinder.api.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Seeds a running stack with a synthetic data set, drives each scenario mix against it and fails
+ * when any latency or error objective is missed. It runs only when pointed at a stack; {@code
+ * scripts/perf/load-test.sh} starts the compose stack and runs it.
+ *
+ * <p>Settings are system properties: {@code loadtest.base-url}, {@code loadtest.db-url} (and {@code
+ * -user}, {@code -password}), {@code loadtest.seed}, the sizes in {@link SyntheticData}, {@code
+ * loadtest.mixes} ({@code ;}-separated presets or {@code operation:weight,...} lists), {@code
+ * loadtest.rate} per second, {@code loadtest.warmup} and {@code loadtest.duration}, the objectives
+ * in {@link Slo}, {@code loadtest.report-dir} and {@code loadtest.baseline}.
+ */
+@EnabledIfSystemProperty(named = "loadtest.base-url", matches = ".+")
+class SloLoadIT {
+
+  private static final Logger log = LoggerFactory.getLogger(SloLoadIT.class);
+
+  @Test
+  void meetsLatencyObjectives() throws Exception {
+    URI baseUrl = URI.create(System.getProperty("loadtest.base-url"));
+    SyntheticData data = SyntheticData.fromSystemProperties();
+    Slo slo = Slo.fromSystemProperties();
+    Instant startedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    Path reportDir =
+        Path.of(System.getProperty("loadtest.report-dir", "target/loadtest"))
+            .resolve(startedAt.toString().replace(':', '-'));
+    String baselinePath = System.getProperty("loadtest.baseline", "");
+    LoadReport baseline = baselinePath.isBlank() ? null : LoadReport.read(Path.of(baselinePath));
+
+    if (Boolean.parseBoolean(System.getProperty("loadtest.seed", "true"))) {
+      try (Connection connection =
+          DriverManager.getConnection(
+              System.getProperty("loadtest.db-url", "jdbc:postgresql://localhost:5432/echofinder"),
+              System.getProperty("loadtest.db-user", "echofinder"),
+              System.getProperty("loadtest.db-password", "echofinder"))) {
+        new BulkSeeder(data).seed(connection);
+      }
+    }
+
+    HttpClient client =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    assertThat(
+            client
+                .send(
+                    HttpRequest.newBuilder(baseUrl.resolve("/api/health")).build(),
+                    HttpResponse.BodyHandlers.discarding())
+                .statusCode())
+        .as("health of %s", baseUrl)
+        .isEqualTo(200);
+
+    LoadGenerator generator =
+        new LoadGenerator(
+            client, baseUrl, data, Integer.getInteger("loadtest.max-in-flight", 2_000));
+    double rate = Double.parseDouble(System.getProperty("loadtest.rate", "500"));
+    Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT30S"));
+    Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT2M"));
+    List<MixResult> mixes = new ArrayList<>();
+    for (String spec : System.getProperty("loadtest.mixes", "browse;alerts").split(";")) {
+      MixResult result = generator.run(ScenarioMix.of(spec), rate, warmup, duration);
+      log.info("Mix {} done: {} req/s", result.mix(), Math.round(result.achievedPerSecond()));
+      mixes.add(result);
+    }
+
+    LoadReport report = new LoadReport(startedAt.toString(), baseUrl.toString(), data, mixes);
+    report.write(reportDir, slo, baseline);
+    log.info("Load test summary:\n{}", Files.readString(reportDir.resolve("summary.md")));
+    assertThat(report.breaches(slo, baseline))
+        .as("objectives missed; report in %s", reportDir.toAbsolutePath())
+        .isEmpty();
+  }
+}
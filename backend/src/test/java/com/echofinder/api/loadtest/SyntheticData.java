@@ -0,0 +1,73 @@
+package com.echofinder.api.loadtest;
+
+import java.util.UUID;
+
+/**
+ * Shape of the seeded data set. Ids are derived from a per-kind prefix and the row number, so the
+ * load client can address any seeded row without reading it back, and reruns see the same rows.
+ */
+record SyntheticData(int users, int invites, int venues, int events, int observations) {
+
+  static final String[] CITIES = {
+    "Berlin",
+    "Hamburg",
+    "Munich",
+    "Cologne",
+    "Vienna",
+    "Zurich",
+    "Amsterdam",
+    "Paris",
+    "London",
+    "Madrid",
+    "Lisbon",
+    "Prague",
+    "Warsaw",
+    "Copenhagen",
+    "Stockholm",
+    "Oslo"
+  };
+
+  /** Marker row; its presence means the data set has already been seeded. */
+  static final String ADMIN_EMAIL = "admin@loadtest.invalid";
+
+  private static final long USER = 0x10AD_0001_0000_0000L;
+  private static final long INVITE = 0x10AD_0002_0000_0000L;
+  private static final long VENUE = 0x10AD_0003_0000_0000L;
+  private static final long EVENT = 0x10AD_0004_0000_0000L;
+
+  SyntheticData {
+    if (users < 1 || venues < 1 || events < 1 || invites < 0 || observations < 0) {
+      throw new IllegalArgumentException("Data set needs at least one user, venue and event");
+    }
+  }
+
+  static SyntheticData fromSystemProperties() {
+    return new SyntheticData(
+        Integer.getInteger("loadtest.users", 1_000_000),
+        Integer.getInteger("loadtest.invites", 250_000),
+        Integer.getInteger("loadtest.venues", 10_000),
+        Integer.getInteger("loadtest.events", 100_000),
+        Integer.getInteger("loadtest.observations", 5_000_000));
+  }
+
+  /** User 0 is the admin who sent every invite. */
+  static UUID userId(long i) {
+    return new UUID(USER, i);
+  }
+
+  static UUID inviteId(long i) {
+    return new UUID(INVITE, i);
+  }
+
+  static UUID venueId(long i) {
+    return new UUID(VENUE, i);
+  }
+
+  static UUID eventId(long i) {
+    return new UUID(EVENT, i);
+  }
+
+  static String city(long venue) {
+    return CITIES[(int) (venue % CITIES.length)];
+  }
+}
@@ -0,0 +1,53 @@
+package com.echofinder.api.outbox;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class OutboxBackoffTest {
+
+  private final OutboxBackoff backoff =
+      new OutboxBackoff(Duration.ofSeconds(5), Duration.ofMinutes(10));
+
+  @Test
+  void firstRetryUsesInitialDelay() {
+    assertEquals(Duration.ofSeconds(5), backoff.delayAfter(1));
+  }
+
+  @Test
+  void delayDoublesWithEachAttempt() {
+    assertEquals(Duration.ofSeconds(10), backoff.delayAfter(2));
+    assertEquals(Duration.ofSeconds(20), backoff.delayAfter(3));
+    assertEquals(Duration.ofSeconds(40), backoff.delayAfter(4));
+  }
+
+  @Test
+  void delayIsCappedAtMax() {
+    assertEquals(Duration.ofMinutes(10), backoff.delayAfter(10));
+  }
+
+  @Test
+  void delayStaysCappedForVeryLargeAttemptCounts() {
+    assertEquals(Duration.ofMinutes(10), backoff.delayAfter(Integer.MAX_VALUE));
+  }
+
+  @Test
+  void delayAfterThrowsForNonPositiveAttempts() {
+    assertThrows(IllegalArgumentException.class, () -> backoff.delayAfter(0));
+  }
+
+  @Test
+  void constructorThrowsWhenInitialIsZero() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new OutboxBackoff(Duration.ZERO, Duration.ofMinutes(1)));
+  }
+
+  @Test
+  void constructorThrowsWhenMaxIsBelowInitial() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new OutboxBackoff(Duration.ofMinutes(2), Duration.ofMinutes(1)));
+  }
+}
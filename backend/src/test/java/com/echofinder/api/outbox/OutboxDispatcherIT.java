@@ -0,0 +1,203 @@
+package com.echofinder.api.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(OutboxDispatcherIT.RecordingSenderConfig.class)
+class OutboxDispatcherIT {
+
+  private static final Logger log = LoggerFactory.getLogger(OutboxDispatcherIT.class);
+  private static final int REPLICAS = 4;
+  private static final int MESSAGES = 10_000;
+  private static final int WARMUP_MESSAGES = 5_000;
+  // Lower it on runners that cannot reach the production target
+  private static final int MIN_MESSAGES_PER_SECOND =
+      Integer.getInteger("echo.bench.outbox.min-per-second", 10_000);
+
+  @Autowired private OutboxDispatcher dispatcher;
+  @Autowired private OutboxService outboxService;
+  @Autowired private OutboxRepository outboxRepository;
+  @Autowired private RecordingSender sender;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  @BeforeEach
+  void setUp() {
+    outboxRepository.deleteAllInBatch();
+    sender.reset();
+  }
+
+  @Test
+  void enqueueRequiresAnActiveTransaction() {
+    assertThatThrownBy(
+            () -> outboxService.enqueue(NotificationType.INVITE_EMAIL, "a@example.com", "{}"))
+        .isInstanceOf(IllegalTransactionStateException.class);
+  }
+
+  @Test
+  void enqueuedMessageIsDeliveredAndMarkedSent() {
+    OutboxMessage queued =
+        transactionTemplate.execute(
+            status ->
+                outboxService.enqueue(
+                    NotificationType.PRICE_ALERT, "fan@example.com", "{\"priceCents\":4200}"));
+
+    int claimed = dispatcher.dispatchBatch();
+
+    assertThat(claimed).isEqualTo(1);
+    assertThat(sender.deliveries).containsEntry(queued.getId(), 1);
+    OutboxMessage stored = outboxRepository.findById(queued.getId()).orElseThrow();
+    assertThat(stored.getStatus()).isEqualTo(OutboxStatus.SENT);
+    assertThat(stored.getSentAt()).isNotNull();
+    assertThat(stored.getAttempts()).isEqualTo(1);
+  }
+
+  @Test
+  void rolledBackTransactionLeavesNoMessage() {
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          outboxService.enqueue(NotificationType.INVITE_EMAIL, "gone@example.com", "{}");
+          status.setRollbackOnly();
+        });
+
+    assertThat(outboxRepository.count()).isZero();
+  }
+
+  @Test
+  void failedDeliveryIsRescheduledWithBackoff() {
+    OutboxMessage queued =
+        transactionTemplate.execute(
+            status ->
+                outboxService.enqueue(
+                    NotificationType.INVITE_EMAIL, RecordingSender.FAILING_RECIPIENT, "{}"));
+
+    dispatcher.dispatchBatch();
+
+    OutboxMessage stored = outboxRepository.findById(queued.getId()).orElseThrow();
+    assertThat(stored.getStatus()).isEqualTo(OutboxStatus.PENDING);
+    assertThat(stored.getAttempts()).isEqualTo(1);
+    assertThat(stored.getLastError()).isEqualTo("simulated outage");
+    assertThat(stored.getAvailableAt()).isAfter(OffsetDateTime.now());
+
+    // Not yet due, so a second pass must not pick it up
+    assertThat(dispatcher.dispatchBatch()).isZero();
+  }
+
+  @Test
+  void concurrentReplicasDrainBacklogExactlyOnce() throws Exception {
+    // Warm up JIT and connection pool so the measured run reflects steady state
+    seed(WARMUP_MESSAGES);
+    drainWithReplicas();
+    outboxRepository.deleteAllInBatch();
+    sender.reset();
+
+    seed(MESSAGES);
+    double seconds = drainWithReplicas();
+
+    double perSecond = MESSAGES / seconds;
+
+    log.info(
+        "Outbox drained {} messages with {} replicas in {} ms ({} msg/s)",
+        MESSAGES,
+        REPLICAS,
+        Math.round(seconds * 1000),
+        Math.round(perSecond));
+    assertThat(sender.deliveries).hasSize(MESSAGES);
+    assertThat(sender.deliveries.values()).allMatch(count -> count == 1);
+    assertThat(outboxRepository.countByStatus(OutboxStatus.SENT)).isEqualTo(MESSAGES);
+    assertThat(perSecond).isGreaterThan(MIN_MESSAGES_PER_SECOND);
+  }
+
+  /** Runs {@link #REPLICAS} dispatchers in parallel until none can claim anything. */
+  private double drainWithReplicas() throws Exception {
+    ExecutorService replicas = Executors.newFixedThreadPool(REPLICAS);
+    long start = System.nanoTime();
+    try {
+      List<Future<?>> workers = new ArrayList<>();
+      for (int i = 0; i < REPLICAS; i++) {
+        workers.add(
+            replicas.submit(
+                () -> {
+                  while (dispatcher.dispatchBatch() > 0) {
+                    // keep draining until this replica finds nothing left to claim
+                  }
+                }));
+      }
+      for (Future<?> worker : workers) {
+        worker.get();
+      }
+    } finally {
+      replicas.shutdown();
+    }
+    return (System.nanoTime() - start) / 1_000_000_000.0;
+  }
+
+  private void seed(int count) {
+    Timestamp now = Timestamp.from(Instant.now());
+    List<Object[]> rows = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      rows.add(new Object[] {UUID.randomUUID(), "user" + i + "@example.com", now});
+    }
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO outbox (id, type, recipient, payload, status, available_at)"
+            + " VALUES (?, 'PRICE_ALERT', ?, '{}', 'PENDING', ?)",
+        rows);
+  }
+
+  static class RecordingSender implements NotificationSender {
+
+    static final String FAILING_RECIPIENT = "bounce@example.com";
+
+    final Map<UUID, Integer> deliveries = new ConcurrentHashMap<>();
+
+    @Override
+    public void send(OutboxMessage message) {
+      if (FAILING_RECIPIENT.equals(message.getRecipient())) {
+        throw new IllegalStateException("simulated outage");
+      }
+      deliveries.merge(message.getId(), 1, Integer::sum);
+    }
+
+    void reset() {
+      deliveries.clear();
+    }
+  }
+
+  @TestConfiguration
+  static class RecordingSenderConfig {
+
+    @Bean
+    @Primary
+    RecordingSender recordingSender() {
+      return new RecordingSender();
+    }
+  }
+}
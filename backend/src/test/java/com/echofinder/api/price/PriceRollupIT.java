@@ -0,0 +1,263 @@
+package com.echofinder.api.price;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.echofinder.api.catalog.Event;
+import com.echofinder.api.catalog.EventRepository;
+import com.echofinder.api.catalog.Venue;
+import com.echofinder.api.catalog.VenueRepository;
+import com.echofinder.api.infra.TransactionWatermarks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class PriceRollupIT {
+
+  private static final Instant HOUR =
+      Instant.now().truncatedTo(ChronoUnit.HOURS).minus(2, ChronoUnit.HOURS);
+
+  @Autowired private PriceRollupWorker worker;
+  @Autowired private PriceSeriesService priceSeriesService;
+  @Autowired private PriceObservationRepository observationRepository;
+  @Autowired private EventRepository eventRepository;
+  @Autowired private VenueRepository venueRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private DataSource dataSource;
+  @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private RollupRetention retention;
+  @Autowired private TransactionWatermarks watermarks;
+  @Autowired private TestRestTemplate restTemplate;
+
+  private UUID venueId;
+  private UUID eventId;
+
+  @BeforeEach
+  void setUp() {
+    Venue venue = venueRepository.save(new Venue(UUID.randomUUID(), "Arena", "Berlin"));
+    Event event =
+        eventRepository.save(
+            new Event(
+                UUID.randomUUID(), "Concert", venue, OffsetDateTime.now().plusMonths(2), "EUR"));
+    venueId = venue.getId();
+    eventId = event.getId();
+    worker.rollUp();
+  }
+
+  @AfterEach
+  void cleanUp() {
+    for (RollupResolution resolution : RollupResolution.values()) {
+      jdbcTemplate.update("DELETE FROM " + resolution.table() + " WHERE event_id = ?", eventId);
+    }
+    jdbcTemplate.update("DELETE FROM price_observations WHERE event_id = ?", eventId);
+    jdbcTemplate.update("DELETE FROM events WHERE id = ?", eventId);
+    jdbcTemplate.update("DELETE FROM venues WHERE id = ?", venueId);
+  }
+
+  @Test
+  void rollsUpNewObservationsIncrementally() {
+    observe(5_000, HOUR.plusSeconds(60));
+    observe(7_000, HOUR.plusSeconds(120));
+    observe(6_000, HOUR.plus(Duration.ofHours(1)));
+    worker.rollUp();
+
+    observe(4_000, HOUR.plusSeconds(180));
+    worker.rollUp();
+
+    List<PricePoint> hourly = series(RollupResolution.HOURLY);
+    assertThat(hourly).hasSize(2);
+    assertThat(hourly.get(0)).isEqualTo(new PricePoint(HOUR, 3, 4_000, 7_000, 5_333));
+    assertThat(hourly.get(1))
+        .isEqualTo(new PricePoint(HOUR.plus(Duration.ofHours(1)), 1, 6_000, 6_000, 6_000));
+
+    List<PricePoint> weekly = series(RollupResolution.WEEKLY);
+    assertThat(weekly).extracting(PricePoint::observations).containsExactly(4L);
+  }
+
+  @Test
+  void rowsFromSlowTransactionsAreNotSkipped() throws Exception {
+    try (Connection slow = dataSource.getConnection()) {
+      slow.setAutoCommit(false);
+      try (PreparedStatement insert =
+          slow.prepareStatement(
+              "INSERT INTO price_observations (id, event_id, source, price_cents, observed_at)"
+                  + " VALUES (nextval('price_observations_seq'), ?, 'slow', 100, ?)")) {
+        insert.setObject(1, eventId);
+        insert.setTimestamp(2, Timestamp.from(HOUR));
+        insert.executeUpdate();
+      }
+      // Written and committed after the slow transaction began
+      observe(200, HOUR);
+      worker.rollUp();
+
+      assertThat(series(RollupResolution.HOURLY)).isEmpty();
+      slow.commit();
+    }
+    worker.rollUp();
+
+    assertThat(series(RollupResolution.HOURLY))
+        .containsExactly(new PricePoint(HOUR, 2, 100, 200, 150));
+  }
+
+  @Test
+  void backlogIsRolledUpInChunks() {
+    PriceRollupWorker chunked =
+        new PriceRollupWorker(
+            new PriceRollupStore(jdbcTemplate),
+            watermarks,
+            transactionTemplate,
+            retention,
+            new SimpleMeterRegistry(),
+            false,
+            2);
+    for (int i = 0; i < 5; i++) {
+      observe(1_000 + i, HOUR);
+    }
+    PriceRollupStore store = new PriceRollupStore(jdbcTemplate);
+    long from = watermarks.read(PriceRollupWorker.WATERMARK);
+    long horizon = watermarks.horizon();
+
+    assertThat(store.chunkEnd(from, horizon, 2)).isGreaterThan(from).isLessThan(horizon);
+    assertThat(chunked.rollUp()).isTrue();
+
+    assertThat(series(RollupResolution.HOURLY))
+        .containsExactly(new PricePoint(HOUR, 5, 1_000, 1_004, 1_002));
+    assertThat(watermarks.read(PriceRollupWorker.WATERMARK)).isGreaterThanOrEqualTo(horizon);
+  }
+
+  @Test
+  void backfillRebuildsRollupsFromRawData() {
+    observe(1_000, HOUR);
+    observe(3_000, HOUR.plus(Duration.ofHours(1)));
+    worker.rollUp();
+    List<PricePoint> hourly = series(RollupResolution.HOURLY);
+    List<PricePoint> daily = series(RollupResolution.DAILY);
+    jdbcTemplate.update("DELETE FROM price_rollups_hourly WHERE event_id = ?", eventId);
+    jdbcTemplate.update(
+        "UPDATE price_rollups_daily SET observations = 99 WHERE event_id = ?", eventId);
+
+    worker.backfill(HOUR, HOUR.plus(Duration.ofHours(2)));
+
+    assertThat(series(RollupResolution.HOURLY)).isEqualTo(hourly);
+    assertThat(series(RollupResolution.DAILY)).isEqualTo(daily);
+  }
+
+  @Test
+  void purgeAppliesRetentionPerLevel() {
+    Instant old = HOUR.minus(Duration.ofDays(60));
+    observe(1_000, old);
+    observe(2_000, HOUR);
+    worker.rollUp();
+
+    worker.applyRetention();
+
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM price_observations WHERE event_id = ?", Long.class, eventId))
+        .isEqualTo(1);
+    assertThat(
+            priceSeriesService.series(eventId, old, HOUR.plusSeconds(1)).points().stream()
+                .map(PricePoint::observations))
+        .isNotEmpty();
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM price_rollups_hourly WHERE event_id = ? AND bucket_start < ?",
+                Long.class,
+                eventId,
+                Timestamp.from(HOUR)))
+        .isZero();
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM price_rollups_daily WHERE event_id = ? AND bucket_start < ?",
+                Long.class,
+                eventId,
+                Timestamp.from(RollupResolution.DAILY.floor(HOUR))))
+        .isEqualTo(1);
+  }
+
+  @Test
+  void priceApiPicksResolutionAndAnswersConditionalRequests() {
+    observe(2_500, HOUR);
+    worker.rollUp();
+    String url =
+        "/api/events/"
+            + eventId
+            + "/prices?from="
+            + HOUR.minus(Duration.ofHours(6))
+            + "&to="
+            + HOUR.plus(Duration.ofHours(6));
+
+    ResponseEntity<Map> first = restTemplate.getForEntity(url, Map.class);
+
+    assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(first.getBody().get("resolution")).isEqualTo("HOURLY");
+    assertThat((List<?>) first.getBody().get("points")).hasSize(1);
+    String etag = first.getHeaders().getETag();
+    assertThat(etag).startsWith("W/");
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setIfNoneMatch(etag);
+    ResponseEntity<Map> second =
+        restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), Map.class);
+    assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+    // The watermark moves on every run; the tag only moves with this event's buckets
+    worker.rollUp();
+    ResponseEntity<Map> unchanged =
+        restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), Map.class);
+    assertThat(unchanged.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+    observe(3_500, HOUR);
+    worker.rollUp();
+    ResponseEntity<Map> third =
+        restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), Map.class);
+    assertThat(third.getStatusCode()).isEqualTo(HttpStatus.OK);
+  }
+
+  @Test
+  void priceApiRejectsInvertedRange() {
+    ResponseEntity<Map> response =
+        restTemplate.getForEntity(
+            "/api/events/" + eventId + "/prices?from=" + HOUR + "&to=" + HOUR.minusSeconds(1),
+            Map.class);
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+
+  private void observe(long priceCents, Instant observedAt) {
+    observationRepository.save(
+        new PriceObservation(
+            eventId, "test", priceCents, OffsetDateTime.ofInstant(observedAt, ZoneOffset.UTC)));
+  }
+
+  private List<PricePoint> series(RollupResolution resolution) {
+    return new PriceRollupStore(jdbcTemplate)
+        .series(
+            resolution, eventId, HOUR.minus(Duration.ofDays(400)), HOUR.plus(Duration.ofDays(7)));
+  }
+}
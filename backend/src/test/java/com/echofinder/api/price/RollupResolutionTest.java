@@ -0,0 +1,90 @@
+package com.echofinder.api.price;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class RollupResolutionTest {
+
+  private static final Instant NOW = Instant.parse("2024-06-12T15:20:00Z");
+  private static final RollupRetention KEEP_FOREVER =
+      new RollupRetention(Duration.ZERO, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+
+  @Test
+  void floorAlignsToUtcBuckets() {
+    Instant instant = Instant.parse("2024-06-12T15:20:31Z"); // a Wednesday
+
+    assertEquals(Instant.parse("2024-06-12T15:00:00Z"), RollupResolution.HOURLY.floor(instant));
+    assertEquals(Instant.parse("2024-06-12T00:00:00Z"), RollupResolution.DAILY.floor(instant));
+    assertEquals(Instant.parse("2024-06-10T00:00:00Z"), RollupResolution.WEEKLY.floor(instant));
+  }
+
+  @Test
+  void floorOfMondayMidnightIsItself() {
+    Instant monday = Instant.parse("2024-06-10T00:00:00Z");
+
+    assertEquals(monday, RollupResolution.WEEKLY.floor(monday));
+  }
+
+  @Test
+  void ceilRoundsUpUnlessAligned() {
+    assertEquals(
+        Instant.parse("2024-06-12T16:00:00Z"),
+        RollupResolution.HOURLY.ceil(Instant.parse("2024-06-12T15:00:01Z")));
+    assertEquals(
+        Instant.parse("2024-06-12T15:00:00Z"),
+        RollupResolution.HOURLY.ceil(Instant.parse("2024-06-12T15:00:00Z")));
+    assertEquals(
+        Instant.parse("2024-06-17T00:00:00Z"),
+        RollupResolution.WEEKLY.ceil(Instant.parse("2024-06-12T15:00:00Z")));
+  }
+
+  @Test
+  void shortRangesUseHourlyBuckets() {
+    assertEquals(
+        RollupResolution.HOURLY,
+        RollupResolution.forRange(NOW.minus(Duration.ofHours(36)), NOW, NOW, KEEP_FOREVER));
+  }
+
+  @Test
+  void ninetyDayRangeUsesDailyBuckets() {
+    assertEquals(
+        RollupResolution.DAILY,
+        RollupResolution.forRange(NOW.minus(Duration.ofDays(90)), NOW, NOW, KEEP_FOREVER));
+  }
+
+  @Test
+  void multiYearRangeUsesWeeklyBuckets() {
+    assertEquals(
+        RollupResolution.WEEKLY,
+        RollupResolution.forRange(NOW.minus(Duration.ofDays(800)), NOW, NOW, KEEP_FOREVER));
+  }
+
+  @Test
+  void expiredLevelsAreSkipped() {
+    RollupRetention retention =
+        new RollupRetention(Duration.ZERO, Duration.ofDays(7), Duration.ofDays(30), Duration.ZERO);
+    Instant from = NOW.minus(Duration.ofDays(40));
+
+    assertEquals(
+        RollupResolution.WEEKLY,
+        RollupResolution.forRange(from, from.plus(Duration.ofDays(1)), NOW, retention));
+  }
+
+  @Test
+  void forRangeThrowsWhenFromIsNotBeforeTo() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> RollupResolution.forRange(NOW, NOW, NOW, KEEP_FOREVER));
+  }
+
+  @Test
+  void retentionRejectsNegativeDurations() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            new RollupRetention(Duration.ofDays(-1), Duration.ZERO, Duration.ZERO, Duration.ZERO));
+  }
+}
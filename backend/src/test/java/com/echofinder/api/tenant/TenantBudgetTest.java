@@ -0,0 +1,64 @@
+package com.echofinder.api.tenant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TenantBudgetTest {
+
+  private final AtomicLong clock = new AtomicLong();
+
+  @Test
+  void admitsOneSecondBurstThenSteadyRate() {
+    TenantBudget budget = new TenantBudget("partner", 0, 4, clock::get);
+
+    for (int i = 0; i < 4; i++) {
+      assertTrue(budget.tryAdmitRequest());
+    }
+    assertFalse(budget.tryAdmitRequest());
+
+    clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+    assertTrue(budget.tryAdmitRequest());
+    assertFalse(budget.tryAdmitRequest());
+  }
+
+  @Test
+  void idleTimeDoesNotBankMoreThanTheBurst() {
+    TenantBudget budget = new TenantBudget("partner", 0, 2, clock::get);
+    clock.addAndGet(TimeUnit.MINUTES.toNanos(1));
+
+    assertTrue(budget.tryAdmitRequest());
+    assertTrue(budget.tryAdmitRequest());
+    assertFalse(budget.tryAdmitRequest());
+  }
+
+  @Test
+  void zeroIsUnlimited() throws InterruptedException {
+    TenantBudget budget = new TenantBudget("partner", 0, 0, clock::get);
+
+    for (int i = 0; i < 10_000; i++) {
+      assertTrue(budget.tryAdmitRequest());
+    }
+    assertFalse(budget.limitsConnections());
+    assertTrue(budget.tryAcquireConnection(0));
+  }
+
+  @Test
+  void connectionsAreReturnedOnRelease() throws InterruptedException {
+    TenantBudget budget = new TenantBudget("partner", 2, 0, clock::get);
+
+    assertTrue(budget.tryAcquireConnection(0));
+    assertTrue(budget.tryAcquireConnection(0));
+    assertFalse(budget.tryAcquireConnection(0));
+
+    budget.releaseConnection();
+    assertTrue(budget.tryAcquireConnection(0));
+  }
+
+  @Test
+  void rejectsNegativeLimits() {
+    assertThrows(IllegalArgumentException.class, () -> new TenantBudget("partner", -1, 0));
+  }
+}
@@ -0,0 +1,280 @@
+package com.echofinder.api.tenant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.echofinder.api.catalog.Event;
+import com.echofinder.api.catalog.EventRepository;
+import com.echofinder.api.catalog.Venue;
+import com.echofinder.api.catalog.VenueRepository;
+import com.echofinder.api.infra.ApiExceptionHandler;
+import com.echofinder.api.infra.datasource.ConnectionBudgetExceededException;
+import com.echofinder.api.invite.Invite;
+import com.echofinder.api.invite.InviteRepository;
+import com.echofinder.api.user.User;
+import com.echofinder.api.user.UserRepository;
+import com.echofinder.api.user.UserRole;
+import com.echofinder.api.user.UserStatus;
+import com.echofinder.api.watch.Watch;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class TenantIsolationIT {
+
+  @Autowired private TenantRegistry registry;
+  @Autowired private UserRepository userRepository;
+  @Autowired private InviteRepository inviteRepository;
+  @Autowired private EventRepository eventRepository;
+  @Autowired private VenueRepository venueRepository;
+  @Autowired private DataSource dataSource;
+  @Autowired private ApiExceptionHandler exceptionHandler;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private TestRestTemplate restTemplate;
+
+  private Venue venue;
+  private Event event;
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate.update(
+        "INSERT INTO tenants (id, name, max_connections, requests_per_second) VALUES"
+            + " ('iso-a', 'A', NULL, NULL), ('iso-b', 'B', NULL, NULL),"
+            + " ('iso-slow', 'Slow', NULL, 1), ('iso-narrow', 'Narrow', 1, NULL)");
+    jdbcTemplate.update(
+        "INSERT INTO tenant_hosts (host, tenant_id) VALUES"
+            + " ('iso-a.test', 'iso-a'), ('iso-b.test', 'iso-b'), ('iso-slow.test', 'iso-slow')");
+    registry.refresh();
+    venue = venueRepository.save(new Venue(UUID.randomUUID(), "Hall", "Tenantville"));
+    event =
+        eventRepository.save(
+            new Event(UUID.randomUUID(), "Gig", venue, OffsetDateTime.now().plusMonths(1), "EUR"));
+  }
+
+  @AfterEach
+  void cleanUp() {
+    jdbcTemplate.update("DELETE FROM watches WHERE event_id = ?", event.getId());
+    jdbcTemplate.update("DELETE FROM invites WHERE tenant_id LIKE 'iso-%'");
+    jdbcTemplate.update("DELETE FROM users WHERE tenant_id LIKE 'iso-%'");
+    jdbcTemplate.update("DELETE FROM users WHERE email = 'unclaimed@example.com'");
+    jdbcTemplate.update("DELETE FROM tenant_hosts WHERE tenant_id LIKE 'iso-%'");
+    jdbcTemplate.update("DELETE FROM tenants WHERE id LIKE 'iso-%'");
+    registry.refresh();
+    eventRepository.delete(event);
+    venueRepository.delete(venue);
+  }
+
+  @Test
+  void repositoriesOnlySeeTheCurrentTenant() {
+    User a = in("iso-a", () -> userRepository.save(user("same@example.com")));
+    User b = in("iso-b", () -> userRepository.save(user("same@example.com")));
+
+    assertThat(a.getTenantId()).isEqualTo("iso-a");
+    assertThat(in("iso-a", () -> userRepository.findById(b.getId()))).isEmpty();
+    assertThat(in("iso-a", () -> userRepository.findByEmail("same@example.com")))
+        .get()
+        .extracting(User::getId)
+        .isEqualTo(a.getId());
+    // Outside a tenant, jobs see every tenant
+    assertThat(userRepository.findById(a.getId())).isPresent();
+    assertThat(userRepository.findById(b.getId())).isPresent();
+  }
+
+  @Test
+  void inviteTokensAreScopedToTheTenant() {
+    User a = in("iso-a", () -> userRepository.save(user("inviter-a@example.com")));
+    User b = in("iso-b", () -> userRepository.save(user("inviter-b@example.com")));
+
+    in("iso-a", () -> inviteRepository.save(invite(a, "iso-token")));
+    in("iso-b", () -> inviteRepository.save(invite(b, "iso-token")));
+
+    assertThat(in("iso-a", () -> inviteRepository.findByTokenHash("iso-token")))
+        .get()
+        .extracting(Invite::getTenantId)
+        .isEqualTo("iso-a");
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM invites WHERE token_hash = 'iso-token'", Integer.class))
+        .isEqualTo(2);
+  }
+
+  @Test
+  void watchEndpointsResolveUsersInTheRequestedTenant() {
+    User a = in("iso-a", () -> userRepository.save(user("watcher@example.com")));
+    String path = "/api/users/" + a.getId() + "/watches";
+
+    ResponseEntity<Watch> created = put(path + "/" + event.getId(), "iso-a", Watch.class);
+    ResponseEntity<String> otherTenant = put(path + "/" + event.getId(), "iso-b", String.class);
+    ResponseEntity<String> defaultTenant = put(path + "/" + event.getId(), null, String.class);
+    ResponseEntity<Watch[]> listedByOwner = get(path, "iso-a", Watch[].class);
+    ResponseEntity<Watch[]> listedByOther = get(path, "iso-b", Watch[].class);
+    ResponseEntity<String> deletedByOther =
+        restTemplate.exchange(
+            path + "/" + event.getId(),
+            HttpMethod.DELETE,
+            new HttpEntity<>(headers("iso-b")),
+            String.class);
+
+    assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(otherTenant.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    assertThat(defaultTenant.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    assertThat(listedByOwner.getBody()).extracting(Watch::eventId).containsExactly(event.getId());
+    assertThat(listedByOther.getBody()).isEmpty();
+    assertThat(deletedByOther.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT tenant_id FROM watches WHERE user_id = ?", String.class, a.getId()))
+        .isEqualTo("iso-a");
+  }
+
+  @Test
+  void hostsNoPartnerClaimsAreTheDefaultTenant() {
+    User user = userRepository.save(user("unclaimed@example.com"));
+    String path = "/api/users/" + user.getId() + "/watches/" + event.getId();
+
+    assertThat(put(path, "no-such-tenant", String.class).getStatusCode())
+        .isEqualTo(HttpStatus.CREATED);
+    assertThat(put(path, "iso-a", String.class).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+  }
+
+  @Test
+  void clientCannotNameItsTenant() {
+    User a = in("iso-a", () -> userRepository.save(user("forger@example.com")));
+    HttpHeaders headers = headers(null);
+    headers.set("X-Tenant-Id", "iso-a");
+    headers.setContentType(MediaType.APPLICATION_JSON);
+
+    ResponseEntity<String> response =
+        restTemplate.exchange(
+            "/api/users/" + a.getId() + "/watches/" + event.getId(),
+            HttpMethod.PUT,
+            new HttpEntity<>("{\"thresholdCents\":5000}", headers),
+            String.class);
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+  }
+
+  @Test
+  void requestsOverTheTenantRateAreRejected() {
+    ResponseEntity<String> first = get(anyWatches(), "iso-slow", String.class);
+    ResponseEntity<String> second = get(anyWatches(), "iso-slow", String.class);
+    ResponseEntity<String> otherTenant = get(anyWatches(), "iso-a", String.class);
+
+    assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(second.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    assertThat(otherTenant.getStatusCode()).isEqualTo(HttpStatus.OK);
+  }
+
+  @Test
+  void healthChecksAreNotTenantRequests() {
+    get(anyWatches(), "iso-slow", String.class);
+
+    assertThat(get("/api/health", "iso-slow", String.class).getStatusCode())
+        .isEqualTo(HttpStatus.OK);
+    assertThat(get("/api/health", "no-such-tenant", String.class).getStatusCode())
+        .isEqualTo(HttpStatus.OK);
+  }
+
+  @Test
+  void connectionsOverTheTenantBudgetWaitThenFail() throws Exception {
+    TenantBudget narrow = registry.find("iso-narrow").orElseThrow();
+    try (TenantContext.Scope scope = TenantContext.enter(narrow)) {
+      try (Connection held = dataSource.getConnection()) {
+        query(held);
+        try (Connection second = dataSource.getConnection()) {
+          assertThatThrownBy(() -> query(second))
+              .isInstanceOf(ConnectionBudgetExceededException.class);
+        }
+        // Other tenants are unaffected
+        try (TenantContext.Scope other = TenantContext.enter(registry.find("iso-a").get());
+            Connection unbudgeted = dataSource.getConnection()) {
+          query(unbudgeted);
+        }
+      }
+      try (Connection afterRelease = dataSource.getConnection()) {
+        query(afterRelease);
+      }
+    }
+  }
+
+  @Test
+  void exhaustedConnectionBudgetIsTooManyRequests() {
+    ResponseEntity<?> response =
+        exceptionHandler.handleGeneric(
+            new DataAccessResourceFailureException(
+                "Unable to acquire JDBC Connection",
+                new ConnectionBudgetExceededException("iso-narrow")));
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+  }
+
+  private static String anyWatches() {
+    return "/api/users/" + UUID.randomUUID() + "/watches";
+  }
+
+  private <T> T in(String tenantId, Supplier<T> work) {
+    try (TenantContext.Scope scope = TenantContext.enter(registry.find(tenantId).orElseThrow())) {
+      return work.get();
+    }
+  }
+
+  private static User user(String email) {
+    return new User(UUID.randomUUID(), email, UserRole.USER, UserStatus.ACTIVE);
+  }
+
+  private static Invite invite(User inviter, String tokenHash) {
+    return new Invite(
+        UUID.randomUUID(),
+        "invitee@example.com",
+        tokenHash,
+        UserRole.USER,
+        inviter,
+        OffsetDateTime.now().plusDays(7));
+  }
+
+  private static void query(Connection connection) throws Exception {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("SELECT 1");
+    }
+  }
+
+  private <T> ResponseEntity<T> put(String path, String tenantId, Class<T> type) {
+    HttpHeaders headers = headers(tenantId);
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    return restTemplate.exchange(
+        path, HttpMethod.PUT, new HttpEntity<>("{\"thresholdCents\":5000}", headers), type);
+  }
+
+  private <T> ResponseEntity<T> get(String path, String tenantId, Class<T> type) {
+    return restTemplate.exchange(path, HttpMethod.GET, new HttpEntity<>(headers(tenantId)), type);
+  }
+
+  /** As the ingress forwards a request it routed for the tenant's host. */
+  private static HttpHeaders headers(String tenantId) {
+    HttpHeaders headers = new HttpHeaders();
+    if (tenantId != null) {
+      headers.set("X-Forwarded-Host", tenantId + ".test");
+    }
+    return headers;
+  }
+}
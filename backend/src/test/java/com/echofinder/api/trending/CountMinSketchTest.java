@@ -0,0 +1,76 @@
+package com.echofinder.api.trending;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class CountMinSketchTest {
+
+  @Test
+  void neverUndercountsAndStaysWithinErrorBound() {
+    CountMinSketch sketch = new CountMinSketch(2048, 4);
+    Map<UUID, Long> exact = new HashMap<>();
+    Random random = new Random(42);
+    long total = 0;
+    for (int i = 0; i < 20_000; i++) {
+      UUID key = new UUID(0, random.nextInt(5_000));
+      long count = 1 + random.nextInt(3);
+      sketch.add(key, count);
+      exact.merge(key, count, Long::sum);
+      total += count;
+    }
+
+    // Standard bound: overestimate <= e/width * total with probability 1 - e^-depth
+    long bound = (long) Math.ceil(Math.E / 2048 * total);
+    int outside = 0;
+    for (Map.Entry<UUID, Long> entry : exact.entrySet()) {
+      long estimate = sketch.estimate(entry.getKey());
+      assertTrue(estimate >= entry.getValue());
+      if (estimate - entry.getValue() > bound) {
+        outside++;
+      }
+    }
+    assertTrue(outside < exact.size() * 0.02, outside + " keys outside the error bound");
+  }
+
+  @Test
+  void mergeAddsCounts() {
+    UUID key = UUID.randomUUID();
+    CountMinSketch a = new CountMinSketch(256, 3);
+    CountMinSketch b = new CountMinSketch(256, 3);
+    a.add(key, 4);
+    b.add(key, 6);
+
+    a.merge(b);
+
+    assertEquals(10, a.estimate(key));
+  }
+
+  @Test
+  void mergeRejectsDifferentShape() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new CountMinSketch(256, 3).merge(new CountMinSketch(512, 3)));
+  }
+
+  @Test
+  void bytesRoundTrip() {
+    UUID key = UUID.randomUUID();
+    CountMinSketch sketch = new CountMinSketch(128, 2);
+    sketch.add(key, 7);
+
+    CountMinSketch copy = CountMinSketch.fromBytes(sketch.toBytes());
+
+    assertTrue(copy.sameShape(sketch));
+    assertEquals(7, copy.estimate(key));
+  }
+
+  @Test
+  void unknownKeyEstimatesZeroOnEmptySketch() {
+    assertEquals(0, new CountMinSketch(64, 2).estimate(UUID.randomUUID()));
+  }
+}
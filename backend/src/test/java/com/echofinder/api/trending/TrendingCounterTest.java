@@ -0,0 +1,65 @@
+package com.echofinder.api.trending;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class TrendingCounterTest {
+
+  private static final Instant NOW = Instant.parse("2026-03-01T12:30:00Z");
+
+  private final TrendingCounter counter =
+      new TrendingCounter(Duration.ofHours(1), 3, 512, 4, 10, 2);
+
+  @Test
+  void countsExpireWithTheWindow() {
+    UUID event = UUID.randomUUID();
+    counter.record(event, "berlin", 5, NOW);
+
+    assertEquals(5, counter.estimate(event, NOW.plus(Duration.ofHours(2))));
+    assertEquals(0, counter.estimate(event, NOW.plus(Duration.ofHours(3))));
+  }
+
+  @Test
+  void candidatesKeepHeaviestEventsPerCity() {
+    UUID light = UUID.randomUUID();
+    UUID medium = UUID.randomUUID();
+    UUID heavy = UUID.randomUUID();
+    counter.record(light, "berlin", 1, NOW);
+    counter.record(medium, "berlin", 3, NOW);
+    counter.record(heavy, "berlin", 9, NOW);
+    UUID other = UUID.randomUUID();
+    counter.record(other, "paris", 1, NOW);
+
+    Map<String, Set<UUID>> candidates = new HashMap<>();
+    TrendingCounter.decodeCandidates(counter.refreshCandidates(NOW), candidates);
+
+    assertEquals(Set.of(medium, heavy), candidates.get("berlin"));
+    assertEquals(Set.of(other), candidates.get("paris"));
+  }
+
+  @Test
+  void citiesWithExpiredCountsAreDropped() {
+    counter.record(UUID.randomUUID(), "berlin", 1, NOW);
+
+    Map<String, Set<UUID>> candidates = new HashMap<>();
+    TrendingCounter.decodeCandidates(
+        counter.refreshCandidates(NOW.plus(Duration.ofHours(4))), candidates);
+
+    assertTrue(candidates.isEmpty());
+  }
+
+  @Test
+  void changedBucketsAreDrainedOnce() {
+    counter.record(UUID.randomUUID(), "berlin", 1, NOW);
+
+    assertEquals(1, counter.drainChangedBuckets().size());
+    assertTrue(counter.drainChangedBuckets().isEmpty());
+  }
+}
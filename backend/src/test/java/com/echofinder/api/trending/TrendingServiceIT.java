@@ -0,0 +1,134 @@
+package com.echofinder.api.trending;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.echofinder.api.catalog.Event;
+import com.echofinder.api.catalog.EventRepository;
+import com.echofinder.api.catalog.Venue;
+import com.echofinder.api.catalog.VenueRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/** Two service instances stand in for two pods sharing the snapshot tables. */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class TrendingServiceIT {
+
+  @Autowired private TrendingService pod;
+  @Autowired private TrendingSnapshotStore store;
+  @Autowired private EventRepository eventRepository;
+  @Autowired private VenueRepository venueRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private TestRestTemplate restTemplate;
+
+  private TrendingService otherPod;
+  private Event concert;
+  private Event opera;
+  private Event lecture;
+
+  @BeforeEach
+  void setUp() {
+    otherPod =
+        new TrendingService(
+            store, eventRepository, false, "other", Duration.ofHours(1), 24, 2048, 4, 1000, 50);
+    Venue berlin = venueRepository.save(new Venue(UUID.randomUUID(), "Arena", "Berlin"));
+    Venue paris = venueRepository.save(new Venue(UUID.randomUUID(), "Salle", "Paris"));
+    concert = event("Concert", berlin);
+    opera = event("Opera", berlin);
+    lecture = event("Lecture", paris);
+  }
+
+  @AfterEach
+  void cleanUp() {
+    jdbcTemplate.update("DELETE FROM trending_sketches");
+    jdbcTemplate.update("DELETE FROM trending_candidates");
+    eventRepository.deleteAll(List.of(concert, opera, lecture));
+    venueRepository.deleteAll(List.of(concert.getVenue(), lecture.getVenue()));
+  }
+
+  @Test
+  void mergesCountsAcrossPods() {
+    record(pod, concert, 3, TrendingSignal.VIEW);
+    record(pod, opera, 4, TrendingSignal.VIEW);
+    record(otherPod, concert, 1, TrendingSignal.WATCH);
+    record(otherPod, lecture, 2, TrendingSignal.VIEW);
+
+    Instant now = Instant.now();
+    pod.synchronize(now);
+    otherPod.synchronize(now);
+    pod.synchronize(now);
+
+    // concert: 3 views on one pod + 1 watch (weight 5) on the other outranks opera's 4 views
+    assertThat(pod.top("Berlin", 10))
+        .extracting(TrendingEvent::eventId, TrendingEvent::score)
+        .containsExactly(tuple(concert.getId(), 8L), tuple(opera.getId(), 4L));
+    assertThat(otherPod.top("berlin", 10)).hasSize(2);
+    assertThat(pod.top("paris", 10)).extracting(TrendingEvent::title).containsExactly("Lecture");
+  }
+
+  @Test
+  void resyncDoesNotDoubleCount() {
+    record(pod, concert, 2, TrendingSignal.VIEW);
+    Instant now = Instant.now();
+    pod.synchronize(now);
+    pod.synchronize(now);
+    record(pod, concert, 1, TrendingSignal.VIEW);
+    pod.synchronize(now);
+
+    assertThat(pod.top("berlin", 1)).extracting(TrendingEvent::score).containsExactly(3L);
+  }
+
+  @Test
+  void viewBeaconAndTrendingEndpoint() {
+    ResponseEntity<Void> accepted =
+        restTemplate.postForEntity("/api/events/" + concert.getId() + "/views", null, Void.class);
+    ResponseEntity<String> unknown =
+        restTemplate.postForEntity(
+            "/api/events/" + UUID.randomUUID() + "/views", null, String.class);
+    pod.synchronize(Instant.now());
+
+    ResponseEntity<TrendingEvent[]> trending =
+        restTemplate.getForEntity("/api/trending?city=Berlin&limit=5", TrendingEvent[].class);
+
+    assertThat(accepted.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+    assertThat(unknown.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    assertThat(trending.getBody())
+        .extracting(TrendingEvent::eventId)
+        .containsExactly(concert.getId());
+  }
+
+  @Test
+  void limitAboveTopKIsRejected() {
+    ResponseEntity<String> response =
+        restTemplate.getForEntity("/api/trending?city=Berlin&limit=500", String.class);
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+
+  private Event event(String title, Venue venue) {
+    return eventRepository.save(
+        new Event(UUID.randomUUID(), title, venue, OffsetDateTime.now().plusMonths(1), "EUR"));
+  }
+
+  private static void record(
+      TrendingService service, Event event, int times, TrendingSignal signal) {
+    String city = event.getTitle().equals("Lecture") ? "Paris" : "Berlin";
+    for (int i = 0; i < times; i++) {
+      service.record(event.getId(), city, signal);
+    }
+  }
+}
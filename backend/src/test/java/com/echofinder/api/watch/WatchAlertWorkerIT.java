@@ -0,0 +1,261 @@
+package com.echofinder.api.watch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.echofinder.api.catalog.Event;
+import com.echofinder.api.catalog.EventRepository;
+import com.echofinder.api.catalog.Venue;
+import com.echofinder.api.catalog.VenueRepository;
+import com.echofinder.api.infra.TransactionWatermarks;
+import com.echofinder.api.price.PriceObservation;
+import com.echofinder.api.price.PriceObservationRepository;
+import com.echofinder.api.tenant.Tenant;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class WatchAlertWorkerIT {
+
+  @Autowired private WatchAlertWorker worker;
+  @Autowired private WatchService watchService;
+  @Autowired private WatchStore store;
+  @Autowired private TransactionWatermarks watermarks;
+  @Autowired private EventRepository eventRepository;
+  @Autowired private VenueRepository venueRepository;
+  @Autowired private PriceObservationRepository observationRepository;
+  @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private TestRestTemplate restTemplate;
+
+  private Venue venue;
+  private Event event;
+  private UUID fan;
+  private UUID bargainHunter;
+
+  @BeforeEach
+  void setUp() {
+    // A city of its own: new watches count towards trending, which other tests read
+    venue = venueRepository.save(new Venue(UUID.randomUUID(), "Arena", "Watchford"));
+    event =
+        eventRepository.save(
+            new Event(
+                UUID.randomUUID(), "Concert", venue, OffsetDateTime.now().plusMonths(1), "EUR"));
+    fan = user("watch-fan@example.com", "ACTIVE");
+    bargainHunter = user("watch-bargain@example.com", "ACTIVE");
+    // Observations from earlier tests are behind the watermark after this
+    worker.run();
+  }
+
+  @AfterEach
+  void cleanUp() {
+    jdbcTemplate.update("DELETE FROM outbox WHERE recipient LIKE 'watch-%@example.com'");
+    jdbcTemplate.update("DELETE FROM price_observations WHERE event_id = ?", event.getId());
+    jdbcTemplate.update("DELETE FROM watches WHERE event_id = ?", event.getId());
+    jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'watch-%@example.com'");
+    eventRepository.delete(event);
+    venueRepository.delete(venue);
+  }
+
+  @Test
+  void alertsOnceWhenPriceDropsToThreshold() {
+    watchService.watch(fan, event.getId(), 5000L);
+    watchService.watch(bargainHunter, event.getId(), 3000L);
+
+    observe(6000);
+    assertThat(worker.run()).isZero();
+    observe(4500);
+    observe(4800);
+    assertThat(worker.run()).isEqualTo(1);
+    observe(4000);
+    assertThat(worker.run()).isZero();
+
+    assertThat(alerts())
+        .containsExactly(
+            "watch-fan@example.com:{\"eventId\" : \""
+                + event.getId()
+                + "\", \"thresholdCents\" : 5000, \"priceCents\" : 4500}");
+    assertThat(store.list(Tenant.DEFAULT_ID, fan))
+        .singleElement()
+        .satisfies(w -> assertThat(w.triggeredAt()).isNotNull());
+    assertThat(store.list(Tenant.DEFAULT_ID, bargainHunter))
+        .singleElement()
+        .satisfies(w -> assertThat(w.triggeredAt()).isNull());
+  }
+
+  @Test
+  void reArmedWatchFiresAgain() {
+    watchService.watch(fan, event.getId(), 5000L);
+    observe(4000);
+    worker.run();
+
+    assertThat(watchService.watch(fan, event.getId(), 3500L).orElseThrow().created()).isFalse();
+    observe(3900);
+    assertThat(worker.run()).isZero();
+    observe(3500);
+    assertThat(worker.run()).isEqualTo(1);
+    assertThat(alerts()).hasSize(2);
+  }
+
+  @Test
+  void deletedWatchesAndDisabledUsersGetNoAlert() {
+    watchService.watch(fan, event.getId(), 5000L);
+    watchService.watch(bargainHunter, event.getId(), 5000L);
+    worker.run();
+    watchService.unwatch(fan, event.getId());
+    jdbcTemplate.update("UPDATE users SET status = 'DISABLED' WHERE id = ?", bargainHunter);
+
+    observe(1000);
+
+    assertThat(worker.run()).isZero();
+    assertThat(alerts()).isEmpty();
+  }
+
+  @Test
+  void everyPodKeepsItsIndexCurrent() {
+    try (WatchIndex otherIndex = new WatchIndex(2)) {
+      WatchAlertWorker otherPod =
+          new WatchAlertWorker(
+              store,
+              watermarks,
+              otherIndex,
+              transactionTemplate,
+              new SimpleMeterRegistry(),
+              false,
+              Duration.ofDays(1));
+      watchService.watch(fan, event.getId(), 5000L);
+      otherPod.reload();
+      long loaded = otherIndex.size();
+
+      watchService.watch(bargainHunter, event.getId(), 4000L);
+      otherPod.run();
+      assertThat(otherIndex.size()).isEqualTo(loaded + 1);
+
+      watchService.unwatch(fan, event.getId());
+      watchService.unwatch(bargainHunter, event.getId());
+      otherPod.run();
+      assertThat(otherIndex.size()).isEqualTo(loaded - 1);
+    }
+  }
+
+  @Test
+  void indexDropsWatchesOfDeletedUsers() {
+    try (WatchIndex otherIndex = new WatchIndex(2)) {
+      WatchAlertWorker otherPod =
+          new WatchAlertWorker(
+              store,
+              watermarks,
+              otherIndex,
+              transactionTemplate,
+              new SimpleMeterRegistry(),
+              false,
+              Duration.ofDays(1));
+      watchService.watch(fan, event.getId(), 5000L);
+      otherPod.reload();
+      long loaded = otherIndex.size();
+
+      // The cascade removes the watch without a soft delete
+      jdbcTemplate.update("DELETE FROM users WHERE id = ?", fan);
+      otherPod.run();
+
+      assertThat(otherIndex.size()).isEqualTo(loaded - 1);
+    }
+  }
+
+  @Test
+  void purgesDeletedWatchesAfterRetention() {
+    watchService.watch(fan, event.getId(), 5000L);
+    watchService.unwatch(fan, event.getId());
+    jdbcTemplate.update(
+        "UPDATE watches SET deleted_at = now() - interval '2 days' WHERE user_id = ?", fan);
+
+    assertThat(worker.purgeDeleted()).isGreaterThanOrEqualTo(1);
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM watches WHERE user_id = ?", Integer.class, fan))
+        .isZero();
+  }
+
+  @Test
+  void watchEndpoints() {
+    String path = "/api/users/" + fan + "/watches/" + event.getId();
+
+    ResponseEntity<Watch> created = put(path, "{\"thresholdCents\":5000}", Watch.class);
+    ResponseEntity<Watch> updated = put(path, "{\"thresholdCents\":4000}", Watch.class);
+    ResponseEntity<String> unknownEvent =
+        put(
+            "/api/users/" + fan + "/watches/" + UUID.randomUUID(),
+            "{\"thresholdCents\":1}",
+            String.class);
+    ResponseEntity<String> unknownUser =
+        put(
+            "/api/users/" + UUID.randomUUID() + "/watches/" + event.getId(),
+            "{\"thresholdCents\":1}",
+            String.class);
+    ResponseEntity<String> zero = put(path, "{\"thresholdCents\":0}", String.class);
+    ResponseEntity<String> malformed = put(path, "{\"thresholdCents\":", String.class);
+    ResponseEntity<Watch[]> listed =
+        restTemplate.getForEntity("/api/users/" + fan + "/watches", Watch[].class);
+    ResponseEntity<Void> deleted = restTemplate.exchange(path, HttpMethod.DELETE, null, Void.class);
+    ResponseEntity<String> deletedAgain =
+        restTemplate.exchange(path, HttpMethod.DELETE, null, String.class);
+
+    assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(updated.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(updated.getBody().thresholdCents()).isEqualTo(4000);
+    assertThat(unknownEvent.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    assertThat(unknownUser.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    assertThat(zero.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    assertThat(malformed.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    assertThat(listed.getBody()).extracting(Watch::eventId).containsExactly(event.getId());
+    assertThat(deleted.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+    assertThat(deletedAgain.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+  }
+
+  private <T> ResponseEntity<T> put(String path, String body, Class<T> type) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    return restTemplate.exchange(path, HttpMethod.PUT, new HttpEntity<>(body, headers), type);
+  }
+
+  private void observe(long priceCents) {
+    observationRepository.save(
+        new PriceObservation(event.getId(), "test", priceCents, OffsetDateTime.now()));
+  }
+
+  private List<String> alerts() {
+    return jdbcTemplate
+        .queryForList(
+            "SELECT recipient, payload FROM outbox WHERE type = 'PRICE_ALERT'"
+                + " AND recipient LIKE 'watch-%@example.com' ORDER BY created_at")
+        .stream()
+        .map((Map<String, Object> row) -> row.get("recipient") + ":" + row.get("payload"))
+        .toList();
+  }
+
+  private UUID user(String email, String status) {
+    UUID id = UUID.randomUUID();
+    jdbcTemplate.update(
+        "INSERT INTO users (id, email, role, status) VALUES (?, ?, 'USER', ?)", id, email, status);
+    return id;
+  }
+}
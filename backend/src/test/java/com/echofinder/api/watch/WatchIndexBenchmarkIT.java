@@ -0,0 +1,109 @@
+package com.echofinder.api.watch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads ten million watches over a hundred thousand events with a skewed popularity, then resolves
+ * observations against the index the way the alert worker does, without the database. Most
+ * observations sit above every threshold, as real prices do, and a few percent fire watches.
+ * Resolving a single observation on one thread, watches firing included, must not allocate at all.
+ */
+class WatchIndexBenchmarkIT {
+
+  private static final Logger log = LoggerFactory.getLogger(WatchIndexBenchmarkIT.class);
+
+  private static final int WATCHES = Integer.getInteger("echo.bench.watches", 10_000_000);
+  private static final int EVENTS = 100_000;
+  private static final int USERS = 1_000_000;
+  private static final int OBSERVATIONS = 2_000_000;
+  private static final int BATCH = 10_000;
+  private static final double MIN_OBSERVATIONS_PER_SECOND = 100_000;
+  private static final WatchSink IGNORE = (event, slot, threshold, price) -> {};
+
+  @Test
+  void resolvesObservationsAtRequiredRate() {
+    SplittableRandom random = new SplittableRandom(11);
+    UUID[] events = uuids(EVENTS, random);
+    UUID[] users = uuids(USERS, random);
+
+    try (WatchIndex index = new WatchIndex(0)) {
+      long started = System.nanoTime();
+      for (int i = 0; i < WATCHES; i++) {
+        index.append(
+            users[random.nextInt(USERS)], events[popular(random)], 1_000 + random.nextInt(9_000));
+      }
+      index.seal();
+      long loaded = System.nanoTime();
+
+      UUID[] eventIds = new UUID[BATCH];
+      long[] prices = new long[BATCH];
+      MatchBuffer[] buffers = new MatchBuffer[index.shardCount()];
+      long fired = 0;
+      long resolveNanos = 0;
+      for (int done = 0; done < OBSERVATIONS; done += BATCH) {
+        for (int i = 0; i < BATCH; i++) {
+          eventIds[i] = events[popular(random)];
+          prices[i] = random.nextInt(100) < 3 ? 5_000 + random.nextInt(5_000) : 10_000;
+        }
+        for (int s = 0; s < buffers.length; s++) {
+          buffers[s] = new MatchBuffer();
+        }
+        long batchStarted = System.nanoTime();
+        fired += index.fireAll(eventIds, prices, BATCH, buffers);
+        resolveNanos += System.nanoTime() - batchStarted;
+      }
+      double perSecond = OBSERVATIONS / (resolveNanos / 1e9);
+
+      // Below every threshold, so each event's remaining watches fire on its first resolution
+      long allocated = allocatedBytes();
+      long singleFired = 0;
+      for (int i = 0; i < 1_000_000; i++) {
+        singleFired += index.fire(events[i % EVENTS], 500, IGNORE);
+      }
+      long singleAllocated = allocatedBytes() - allocated;
+
+      log.info(
+          "Watch index: {} watches on {} shards loaded in {} ms; {} observations at {}/s fired {}"
+              + " watches; 1M single resolutions fired {} and allocated {} bytes",
+          WATCHES,
+          index.shardCount(),
+          (loaded - started) / 1_000_000,
+          OBSERVATIONS,
+          Math.round(perSecond),
+          fired,
+          singleFired,
+          singleAllocated);
+      assertThat(fired).isPositive();
+      assertThat(singleFired).isPositive();
+      assertThat(perSecond).isGreaterThan(MIN_OBSERVATIONS_PER_SECOND);
+      // Allowance for the allocation counter itself
+      assertThat(singleAllocated).isLessThan(64 * 1024);
+    }
+  }
+
+  /** Event positions with a long tail: the first events draw most of the watches and prices. */
+  private static int popular(SplittableRandom random) {
+    double u = random.nextDouble();
+    return (int) (EVENTS * u * u * u);
+  }
+
+  private static UUID[] uuids(int count, SplittableRandom random) {
+    UUID[] uuids = new UUID[count];
+    for (int i = 0; i < count; i++) {
+      uuids[i] = new UUID(random.nextLong(), random.nextLong());
+    }
+    return uuids;
+  }
+
+  private static long allocatedBytes() {
+    return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+        .getCurrentThreadAllocatedBytes();
+  }
+}
@@ -0,0 +1,133 @@
+package com.echofinder.api.watch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class WatchIndexTest {
+
+  private static final UUID EVENT = UUID.randomUUID();
+
+  private final WatchIndex index = new WatchIndex(4);
+  private final List<String> fired = new ArrayList<>();
+  private final WatchSink sink =
+      (eventId, slot, threshold, price) -> fired.add(index.userId(slot) + "@" + threshold);
+
+  @AfterEach
+  void close() {
+    index.close();
+  }
+
+  @Test
+  void firesWatchesAtOrAbovePrice() {
+    UUID low = UUID.randomUUID();
+    UUID exact = UUID.randomUUID();
+    UUID high = UUID.randomUUID();
+    index.put(low, EVENT, 3000);
+    index.put(high, EVENT, 9000);
+    index.put(exact, EVENT, 5000);
+
+    assertEquals(2, index.fire(EVENT, 5000, sink));
+    assertEquals(List.of(exact + "@5000", high + "@9000"), fired);
+    assertEquals(1, index.size());
+  }
+
+  @Test
+  void firedWatchesAreDisarmed() {
+    index.put(UUID.randomUUID(), EVENT, 5000);
+
+    assertEquals(1, index.fire(EVENT, 4000, sink));
+    assertEquals(0, index.fire(EVENT, 1000, sink));
+    assertEquals(0, index.size());
+  }
+
+  @Test
+  void putReplacesTheUsersThreshold() {
+    UUID user = UUID.randomUUID();
+    index.put(user, EVENT, 9000);
+    index.put(user, EVENT, 2000);
+
+    assertEquals(0, index.fire(EVENT, 5000, sink));
+    assertEquals(1, index.fire(EVENT, 2000, sink));
+    assertEquals(List.of(user + "@2000"), fired);
+  }
+
+  @Test
+  void removeDropsOnlyThatUsersWatch() {
+    UUID kept = UUID.randomUUID();
+    UUID removed = UUID.randomUUID();
+    index.put(kept, EVENT, 5000);
+    index.put(removed, EVENT, 5000);
+    index.remove(removed, EVENT);
+    index.remove(UUID.randomUUID(), EVENT);
+
+    assertEquals(1, index.fire(EVENT, 100, sink));
+    assertEquals(List.of(kept + "@5000"), fired);
+  }
+
+  @Test
+  void pricesAboveTheThresholdRangeFireNothing() {
+    index.put(UUID.randomUUID(), EVENT, EventWatches.MAX_THRESHOLD_CENTS);
+
+    assertEquals(0, index.fire(EVENT, EventWatches.MAX_THRESHOLD_CENTS + 1, sink));
+    assertEquals(1, index.fire(EVENT, EventWatches.MAX_THRESHOLD_CENTS, sink));
+  }
+
+  @Test
+  void bulkAppendedWatchesAreSortedBySeal() {
+    UUID user = UUID.randomUUID();
+    index.append(UUID.randomUUID(), EVENT, 9000);
+    index.append(user, EVENT, 1000);
+    index.append(UUID.randomUUID(), EVENT, 5000);
+    index.seal();
+
+    assertEquals(2, index.fire(EVENT, 2000, sink));
+    assertEquals(1, index.size());
+    assertEquals(1, index.fire(EVENT, 1000, sink));
+    assertEquals(List.of(user + "@1000"), fired.subList(2, 3));
+  }
+
+  @Test
+  void fireAllMatchesEveryShard() {
+    UUID[] events = new UUID[64];
+    long[] prices = new long[64];
+    for (int i = 0; i < events.length; i++) {
+      events[i] = UUID.randomUUID();
+      prices[i] = 1000;
+      index.put(UUID.randomUUID(), events[i], 1000 + i % 2);
+      index.put(UUID.randomUUID(), events[i], 999);
+    }
+    MatchBuffer[] buffers = new MatchBuffer[index.shardCount()];
+    for (int i = 0; i < buffers.length; i++) {
+      buffers[i] = new MatchBuffer();
+    }
+
+    assertEquals(64, index.fireAll(events, prices, events.length, buffers));
+    int collected = 0;
+    for (MatchBuffer buffer : buffers) {
+      collected += buffer.size;
+    }
+    assertEquals(64, collected);
+    assertEquals(64, index.size());
+  }
+
+  @Test
+  void rejectsThresholdsOutsideRange() {
+    assertThrows(IllegalArgumentException.class, () -> index.put(UUID.randomUUID(), EVENT, 0));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> index.put(UUID.randomUUID(), EVENT, EventWatches.MAX_THRESHOLD_CENTS + 1));
+  }
+
+  @Test
+  void shardCountIsAPowerOfTwo() {
+    try (WatchIndex six = new WatchIndex(6)) {
+      assertEquals(4, six.shardCount());
+    }
+    assertThrows(IllegalArgumentException.class, () -> new WatchIndex(-1));
+  }
+}
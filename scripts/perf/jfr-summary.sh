@@ -0,0 +1,41 @@
+#!/bin/bash
+#
+# jfr-summary.sh: Dump a backend's continuous flight recording and summarize it
+#
+# Downloads /actuator/flightrecording from the management port (needs the ECHO_PROFILING_DUMP_TOKEN
+# the backend runs with; in Kubernetes, kubectl port-forward the pod's port 8081 first),
+# keeps the .jfr for JDK Mission Control, and prints the top latency, CPU and allocation sites.
+# A .jfr file instead of a URL is summarized as is.
+#
+# Usage: ECHO_PROFILING_DUMP_TOKEN=... ./scripts/perf/jfr-summary.sh [url|file.jfr] [top]
+#
+
+set -e
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+REPO_ROOT="$(cd "$SCRIPT_DIR/../.." && pwd)"
+
+SOURCE=${1:-http://localhost:8081}
+TOP=${2:-20}
+
+if [ -f "$SOURCE" ]; then
+    FILE=$SOURCE
+else
+    if [ -z "$ECHO_PROFILING_DUMP_TOKEN" ]; then
+        echo "ERROR: ECHO_PROFILING_DUMP_TOKEN is not set"
+        exit 1
+    fi
+    FILE="echofinder-$(date -u +%Y%m%dT%H%M%SZ).jfr"
+    echo "=== Dumping $SOURCE to $FILE ==="
+    curl -fsS -H "Authorization: Bearer $ECHO_PROFILING_DUMP_TOKEN" \
+        -o "$FILE" "$SOURCE/actuator/flightrecording"
+fi
+
+CLASSES="$REPO_ROOT/backend/target/classes"
+if [ ! -f "$CLASSES/com/echofinder/api/infra/profiling/FlightRecordingSummary.class" ]; then
+    echo "=== Compiling backend ==="
+    (cd "$REPO_ROOT/backend" && ./mvnw -q compile -Dspotless.check.skip=true)
+fi
+
+echo ""
+java -cp "$CLASSES" com.echofinder.api.infra.profiling.FlightRecordingSummary "$FILE" "$TOP"
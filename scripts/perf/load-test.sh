@@ -0,0 +1,45 @@
+#!/bin/bash
+#
+# load-test.sh: Run the SLO load test against the compose stack
+#
+# Starts Postgres and the backend with docker compose, seeds synthetic users, invites, events and
+# price observations with COPY, then drives each scenario mix at a fixed arrival rate and fails when
+# a p99 objective, the error budget or the regression allowance against a baseline is breached.
+# Reports (report.json, summary.md) are written to backend/target/loadtest/<timestamp>.
+#
+# Extra arguments are passed to Maven, e.g.
+#   ./scripts/perf/load-test.sh -Dloadtest.rate=1000 -Dloadtest.mixes=browse
+#   ./scripts/perf/load-test.sh -Dloadtest.baseline=/path/to/previous/report.json
+#
+# Usage: ./scripts/perf/load-test.sh [maven-args...]
+#
+
+set -e
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+REPO_ROOT="$(cd "$SCRIPT_DIR/../.." && pwd)"
+
+cleanup() {
+    cd "$REPO_ROOT"
+    docker compose down -v --remove-orphans >/dev/null 2>&1 || true
+}
+
+trap cleanup EXIT
+
+cd "$REPO_ROOT"
+
+echo "=== Starting Postgres and backend ==="
+docker compose up -d --build --wait postgres backend
+
+echo ""
+echo "=== Running load test ==="
+cd "$REPO_ROOT/backend"
+./mvnw -B verify \
+    -Dspotless.check.skip=true \
+    -Dtest=none -Dsurefire.failIfNoSpecifiedTests=false \
+    -Dit.test=SloLoadIT \
+    -Dloadtest.base-url=http://localhost:8080 \
+    -Dloadtest.db-url=jdbc:postgresql://localhost:5432/echofinder \
+    -Dloadtest.db-user=echofinder \
+    -Dloadtest.db-password=echofinder \
+    "$@"
@@ -0,0 +1,77 @@
+#!/bin/bash
+#
+# startup-report.sh: Compare backend startup time and memory across launch modes
+#
+# Builds the backend image once, then starts it against the compose Postgres with:
+#   baseline  - plain JVM start (STARTUP_OPTS cleared)
+#   aot-cds   - Spring AOT + class data sharing archive (image default)
+#   lazy      - aot-cds plus the lazy profile and SKIP_IF_CURRENT Flyway mode
+#
+# Usage: ./scripts/perf/startup-report.sh [runs-per-mode]
+#
+
+set -e
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+REPO_ROOT="$(cd "$SCRIPT_DIR/../.." && pwd)"
+
+RUNS=${1:-3}
+IMAGE=echofinder-backend:startup-report
+CONTAINER=echofinder-startup-report
+
+cleanup() {
+    docker rm -f "$CONTAINER" >/dev/null 2>&1 || true
+    cd "$REPO_ROOT"
+    docker compose down -v --remove-orphans >/dev/null 2>&1 || true
+}
+
+trap cleanup EXIT
+
+run_mode() {
+    local mode=$1
+    shift
+
+    for run in $(seq 1 "$RUNS"); do
+        docker rm -f "$CONTAINER" >/dev/null 2>&1 || true
+        docker run -d --name "$CONTAINER" --network "$NETWORK" --memory 512m \
+            -e ECHO_DB_URL=jdbc:postgresql://postgres:5432/echofinder \
+            -e ECHO_DB_USER=echofinder \
+            -e ECHO_DB_PASSWORD=echofinder \
+            -e ECHO_HASH_PREFIX_SALT=report-prefix-salt \
+            -e ECHO_HASH_SUFFIX_SALT=report-suffix-salt \
+            "$@" "$IMAGE" >/dev/null
+
+        local started=""
+        for _ in $(seq 1 120); do
+            started=$(docker logs "$CONTAINER" 2>&1 | grep -o "Started EchoFinderApplication in [0-9.]* seconds" || true)
+            [ -n "$started" ] && break
+            sleep 0.5
+        done
+        if [ -z "$started" ]; then
+            echo "ERROR: $mode run $run did not start"
+            docker logs "$CONTAINER" | tail -20
+            exit 1
+        fi
+
+        local seconds memory
+        seconds=$(echo "$started" | grep -o "[0-9.]*")
+        memory=$(docker stats --no-stream --format "{{.MemUsage}}" "$CONTAINER" | cut -d/ -f1)
+        printf "%-10s %4s %10ss %12s\n" "$mode" "$run" "$seconds" "$memory"
+    done
+}
+
+cd "$REPO_ROOT"
+
+echo "=== Building backend image ==="
+docker build -q -t "$IMAGE" backend >/dev/null
+
+echo "=== Starting Postgres ==="
+docker compose up -d --wait postgres
+NETWORK=$(docker inspect -f '{{range $name, $_ := .NetworkSettings.Networks}}{{$name}}{{end}}' \
+    "$(docker compose ps -q postgres)")
+
+echo ""
+printf "%-10s %4s %11s %12s\n" "mode" "run" "startup" "memory"
+run_mode baseline -e STARTUP_OPTS=
+run_mode aot-cds
+run_mode lazy -e SPRING_PROFILES_ACTIVE=lazy -e ECHO_FLYWAY_STARTUP_MODE=SKIP_IF_CURRENT